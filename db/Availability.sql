@@ -30,3 +30,11 @@ SELECT p.PID, p.Bed,
     FROM Property p
     LEFT JOIN LivesIn li ON p.PID = li.PID
     GROUP BY p.PID;
+
+
+-- Same result read from the maintained summary table
+SELECT p.PID, p.Bed,
+	o.Occupancy,
+	(o.VacantBeds > 0) AS Available
+    FROM Property p
+    JOIN PropertyOccupancy o ON p.PID = o.PID;
@@ -0,0 +1,29 @@
+-- Migration: per-property occupancy summary read by the vacancy queries.
+-- Kept up to date by the DAOs (PropertyDAO, TenantDAO, LandlordDAO, LivesInDAO) in the same transaction
+-- as the Property or LivesIn change, so the queries no longer aggregate Property LEFT JOIN LivesIn.
+USE rogers9879;
+
+CREATE TABLE PropertyOccupancy (
+	PID INT NOT NULL,
+    Occupancy INT NOT NULL DEFAULT 0,
+    VacantBeds INT,
+    PricePerBed DECIMAL(10, 2),
+    PRIMARY KEY (PID),
+    CONSTRAINT fk_occupancy_property FOREIGN KEY (PID) REFERENCES Property(PID),
+    INDEX idx_occupancy_vacant (VacantBeds),
+    INDEX idx_occupancy_priceperbed (PricePerBed)
+);
+
+-- Backfill from the existing data
+INSERT INTO PropertyOccupancy (PID, Occupancy, VacantBeds, PricePerBed)
+SELECT p.PID, COUNT(li.SSN), p.Bed - COUNT(li.SSN), CASE WHEN p.Bed > 0 THEN ROUND(p.Price / p.Bed, 2) END
+    FROM Property p
+    LEFT JOIN LivesIn li ON p.PID = li.PID
+    GROUP BY p.PID, p.Bed, p.Price;
+
+-- Consistency check: should return no rows
+SELECT o.PID, o.Occupancy, COUNT(li.SSN) AS Actual
+    FROM PropertyOccupancy o
+    LEFT JOIN LivesIn li ON o.PID = li.PID
+    GROUP BY o.PID, o.Occupancy
+    HAVING o.Occupancy <> COUNT(li.SSN);
@@ -0,0 +1,22 @@
+-- Migration: secondary indexes for the DAO and advanced queries.
+-- schema.sql only defines primary keys and foreign keys. Check the plans afterwards with
+-- util.IndexAdvisor, which runs EXPLAIN over every DAO statement.
+USE rogers9879;
+
+-- getMostExpensiveProperties: ORDER BY Price DESC, PID DESC LIMIT 11 (Reports.VACANT_PROPERTIES) walks this
+-- index backwards instead of sorting the table; the index ends with the primary key, so the tiebreaker is free
+CREATE INDEX idx_property_price ON Property (Price);
+
+-- getPropertiesAboveLandlordAverage: the correlated AVG(Price) per landlord reads only this index.
+-- It also serves the LLID foreign key and the per-landlord joins and deletes.
+CREATE INDEX idx_property_llid_price ON Property (LLID, Price);
+
+-- LivesIn's primary key leads with SSN, so every join, count and delete by PID needs PID as a leading column.
+-- Including SSN makes the index covering for COUNT(li.SSN) and the joins back to Tenant.
+CREATE INDEX idx_livesin_pid_ssn ON LivesIn (PID, SSN);
+
+-- Same access pattern for the property and landlord deletes
+CREATE INDEX idx_leasesfrom_pid_ssn ON LeasesFrom (PID, SSN);
+
+-- getTenantsWithAboveAverageBudget: budget comparisons and averages
+CREATE INDEX idx_tenant_budget ON Tenant (Budget);
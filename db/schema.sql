@@ -48,4 +48,23 @@ CREATE TABLE LeasesFrom (
     RentAgreement VARCHAR(255),
     FOREIGN KEY (SSN) REFERENCES Tenant(SSN),
     FOREIGN KEY (PID) REFERENCES Property(PID)
-);
\ No newline at end of file
+);
+
+-- Maintained summary of each property's occupancy (see PropertyOccupancy.sql)
+CREATE TABLE PropertyOccupancy (
+	PID INT NOT NULL,
+    Occupancy INT NOT NULL DEFAULT 0,
+    VacantBeds INT,
+    PricePerBed DECIMAL(10, 2),
+    PRIMARY KEY (PID),
+    CONSTRAINT fk_occupancy_property FOREIGN KEY (PID) REFERENCES Property(PID),
+    INDEX idx_occupancy_vacant (VacantBeds),
+    INDEX idx_occupancy_priceperbed (PricePerBed)
+);
+
+-- Secondary indexes (see indexes.sql)
+CREATE INDEX idx_property_price ON Property (Price);
+CREATE INDEX idx_property_llid_price ON Property (LLID, Price);
+CREATE INDEX idx_livesin_pid_ssn ON LivesIn (PID, SSN);
+CREATE INDEX idx_leasesfrom_pid_ssn ON LeasesFrom (PID, SSN);
+CREATE INDEX idx_tenant_budget ON Tenant (Budget);
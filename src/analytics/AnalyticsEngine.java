@@ -0,0 +1,626 @@
+/**
+ * Answers the DAOs' advanced stats queries from an in-memory, column-oriented snapshot of the Property, Tenant,
+ * Landlord and LivesIn tables (see RentalColumns) instead of from MySQL. Each query is a few passes of primitive
+ * loops over the columns: no boxing, no per-row objects except the returned DTOs.
+ *
+ * The snapshot is loaded once by load() and then kept current from the DataChangeBus: every committed write
+ * through the DAOs re-reads the rows it touched and patches the columns on a background thread (see
+ * dao.SnapshotFollower), so a query
+ * may briefly lag a write (awaitRefresh() waits for it). Writes made outside the DAOs are not seen until the
+ * next load().
+ *
+ * Results match the SQL in PropertyDAO, TenantDAO and LandlordDAO, with one difference: where the SQL leaves
+ * the order of ties undefined, rows that tie come out in snapshot order.
+ *
+ * Date Last Modified: October 18, 2026
+ */
+package analytics;
+
+import dao.DataChange;
+import dao.LandlordDAO;
+import dao.LivesInDAO;
+import dao.PropertyDAO;
+import dao.SnapshotFollower;
+import dao.TenantDAO;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import model.Landlord;
+import model.Property;
+import model.Tenant;
+import model.dto.LandlordBedBathStats;
+import model.dto.LandlordPropertyStats;
+import model.dto.LandlordTenantStats;
+import model.dto.OverpayingTenantStats;
+import model.dto.PropertyLandlordStats;
+import model.dto.PropertyTenantStats;
+import model.dto.PropertyVacancyStats;
+import model.dto.TenantBudgetStats;
+
+public final class AnalyticsEngine implements AutoCloseable {
+
+    private static final int FETCH_SIZE = 1000;
+
+    private final PropertyDAO propertyDAO = new PropertyDAO();
+    private final TenantDAO tenantDAO = new TenantDAO();
+    private final LandlordDAO landlordDAO = new LandlordDAO();
+    private final LivesInDAO livesInDAO = new LivesInDAO();
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private RentalColumns columns = new RentalColumns(0); // Guarded by lock
+
+    private final SnapshotFollower follower = new SnapshotFollower("analytics snapshot", "analytics-refresher",
+        EnumSet.of(DataChange.Table.LANDLORD, DataChange.Table.PROPERTY, DataChange.Table.TENANT,
+            DataChange.Table.LIVES_IN),
+        new SnapshotFollower.Snapshot() {
+            @Override
+            public void reload() throws SQLException {
+                AnalyticsEngine.this.reload();
+            }
+
+            @Override
+            public void patch(DataChange change) throws SQLException {
+                AnalyticsEngine.this.patch(change);
+            }
+        });
+
+    private volatile long compactions = 0;
+
+    /**
+     * Load (or reload) the snapshot from the database, and start following DAO writes.
+     * @throws SQLException if the tables cannot be read
+     */
+    public void load() throws SQLException {
+        follower.load();
+    }
+
+    /**
+     * Wait until every change published so far has been applied to the snapshot.
+     */
+    public void awaitRefresh() throws InterruptedException {
+        follower.awaitRefresh();
+    }
+
+    /**
+     * Stop following DAO writes and release the refresher thread.
+     */
+    @Override
+    public void close() {
+        follower.close();
+    }
+
+    /**
+     * Same result as PropertyDAO.getMostExpensiveProperties().
+     * @return Top 10 properties with a vacant bed by price, most expensive first
+     */
+    public List<PropertyVacancyStats> getMostExpensiveProperties() {
+        lock.readLock().lock();
+        try {
+            RentalColumns c = columns;
+            int[] rows = new int[c.propertyCount];
+            int n = 0;
+            for (int p = 0; p < c.propertyCount; p++) {
+                if (c.propertyLive[p] && c.bed[p] - c.occupancy[p] > 0) {
+                    rows[n++] = p;
+                }
+            }
+            double[] price = c.price;
+            int m = RowSorter.top(rows, n, 10, (a, b) -> Double.compare(price[b], price[a]));
+
+            List<PropertyVacancyStats> stats = new ArrayList<>(m);
+            for (int i = 0; i < m; i++) {
+                int p = rows[i];
+                stats.add(new PropertyVacancyStats(c.pid[p], c.strings.decode(c.address[p]), c.price[p], c.bed[p],
+                    c.occupancy[p], c.bed[p] - c.occupancy[p]));
+            }
+            return stats;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Same result as PropertyDAO.getCheapestProperties().
+     * @return Properties with a vacant bed by price per bed, cheapest first, rows 4 to 53
+     */
+    public List<PropertyVacancyStats> getCheapestProperties() {
+        final int offset = 3;
+        final int limit = 50;
+        lock.readLock().lock();
+        try {
+            RentalColumns c = columns;
+            int[] rows = new int[c.propertyCount];
+            double[] perBed = new double[c.propertyCount];
+            int n = 0;
+            for (int p = 0; p < c.propertyCount; p++) {
+                if (c.propertyLive[p] && c.bed[p] > 0 && c.bed[p] - c.occupancy[p] > 0) {
+                    perBed[p] = round2(c.price[p] / c.bed[p]);
+                    rows[n++] = p;
+                }
+            }
+            int m = RowSorter.top(rows, n, offset + limit, (a, b) -> Double.compare(perBed[a], perBed[b]));
+
+            List<PropertyVacancyStats> stats = new ArrayList<>(Math.max(0, m - offset));
+            for (int i = offset; i < m; i++) {
+                int p = rows[i];
+                String landlordName = c.owner[p] < 0 ? null : c.strings.decode(c.landlordName[c.owner[p]]);
+                stats.add(new PropertyVacancyStats(c.pid[p], c.strings.decode(c.address[p]), perBed[p], c.bed[p],
+                    c.occupancy[p], c.bed[p] - c.occupancy[p], landlordName));
+            }
+            return stats;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Same result as PropertyDAO.getPropertyTenantStats().
+     * @return Top 10 properties with 'St' in the address by number of tenants
+     */
+    public List<PropertyTenantStats> getPropertyTenantStats() {
+        lock.readLock().lock();
+        try {
+            RentalColumns c = columns;
+            // LIKE '%St%' under MySQL's default case-insensitive collation, evaluated once per distinct address
+            boolean[] matches = c.strings.matching(s -> s.toLowerCase(Locale.ROOT).contains("st"));
+            int[] rows = new int[c.propertyCount];
+            int n = 0;
+            for (int p = 0; p < c.propertyCount; p++) {
+                if (c.propertyLive[p] && c.occupancy[p] > 0 && c.address[p] >= 0 && matches[c.address[p]]) {
+                    rows[n++] = p;
+                }
+            }
+            int[] occupancy = c.occupancy;
+            int m = RowSorter.top(rows, n, 10, (a, b) -> Integer.compare(occupancy[b], occupancy[a]));
+
+            List<PropertyTenantStats> stats = new ArrayList<>(m);
+            for (int i = 0; i < m; i++) {
+                int p = rows[i];
+                stats.add(new PropertyTenantStats(c.pid[p], c.strings.decode(c.address[p]), c.occupancy[p]));
+            }
+            return stats;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Same result as PropertyDAO.getPropertiesAboveLandlordAverage().
+     * @return Properties whose price is above the average price of their landlord's properties
+     */
+    public List<PropertyLandlordStats> getPropertiesAboveLandlordAverage() {
+        lock.readLock().lock();
+        try {
+            RentalColumns c = columns;
+            // Prices are NUMERIC(6,2): compare whole cents, price * count > sum, so ties are exact
+            long[] sum = new long[c.landlordCount];
+            int[] count = new int[c.landlordCount];
+            for (int p = 0; p < c.propertyCount; p++) {
+                int o = c.owner[p];
+                if (c.propertyLive[p] && o >= 0) {
+                    sum[o] += cents(c.price[p]);
+                    count[o]++;
+                }
+            }
+
+            List<PropertyLandlordStats> stats = new ArrayList<>();
+            for (int p = 0; p < c.propertyCount; p++) {
+                int o = c.owner[p];
+                if (c.propertyLive[p] && o >= 0 && cents(c.price[p]) * count[o] > sum[o]) {
+                    stats.add(new PropertyLandlordStats(c.pid[p], c.strings.decode(c.address[p]), c.price[p],
+                        c.landlordId[o], c.strings.decode(c.landlordName[o])));
+                }
+            }
+            return stats;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Same result as TenantDAO.getTenantsPayingAboveAverageRent().
+     * @return Tenants whose property's rent per bed is above the average for properties with as many beds,
+     *         highest rent per bed first
+     */
+    public List<OverpayingTenantStats> getTenantsPayingAboveAverageRent() {
+        lock.readLock().lock();
+        try {
+            RentalColumns c = columns;
+            int minBed = Integer.MAX_VALUE;
+            int maxBed = Integer.MIN_VALUE;
+            for (int p = 0; p < c.propertyCount; p++) {
+                if (c.propertyLive[p]) {
+                    minBed = Math.min(minBed, c.bed[p]);
+                    maxBed = Math.max(maxBed, c.bed[p]);
+                }
+            }
+            if (minBed > maxBed) {
+                return new ArrayList<>();
+            }
+
+            // Within a bed count, price / bed > AVG(price / bed) is price * count > SUM(price), in whole cents.
+            // Bed = 0 divides by zero, which SQL turns into NULL: those properties are left out of both sides.
+            long[] sum = new long[maxBed - minBed + 1];
+            int[] count = new int[maxBed - minBed + 1];
+            for (int p = 0; p < c.propertyCount; p++) {
+                if (c.propertyLive[p] && c.bed[p] != 0) {
+                    sum[c.bed[p] - minBed] += cents(c.price[p]);
+                    count[c.bed[p] - minBed]++;
+                }
+            }
+
+            int[] rows = new int[c.residenceCount];
+            int n = 0;
+            for (int r = 0; r < c.residenceCount; r++) {
+                int p = c.homeRow[r];
+                if (c.residenceLive[r] && c.bed[p] != 0) {
+                    int b = c.bed[p] - minBed;
+                    if (cents(c.price[p]) * count[b] > sum[b]) {
+                        rows[n++] = r;
+                    }
+                }
+            }
+            // Every selected row has Bed != 0, so the divisions below are safe
+            int[] home = c.homeRow;
+            double[] price = c.price;
+            int[] bed = c.bed;
+            RowSorter.sort(rows, n, (a, b) ->
+                Double.compare(price[home[b]] / bed[home[b]], price[home[a]] / bed[home[a]]));
+
+            List<OverpayingTenantStats> stats = new ArrayList<>(n);
+            for (int i = 0; i < n; i++) {
+                int t = c.residentRow[rows[i]];
+                int p = c.homeRow[rows[i]];
+                stats.add(new OverpayingTenantStats(c.ssn[t],
+                    c.strings.decode(c.firstName[t]) + " " + c.strings.decode(c.lastName[t]),
+                    c.pid[p], c.strings.decode(c.address[p]), c.bed[p], c.price[p], c.price[p] / c.bed[p]));
+            }
+            return stats;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Same result as TenantDAO.getTenantsWithAboveAverageBudget().
+     * @return Tenants whose budget is above the average budget of the tenants in their property,
+     *         highest budget first
+     */
+    public List<TenantBudgetStats> getTenantsWithAboveAverageBudget() {
+        lock.readLock().lock();
+        try {
+            RentalColumns c = columns;
+            double[] sum = new double[c.propertyCount];
+            for (int r = 0; r < c.residenceCount; r++) {
+                if (c.residenceLive[r]) {
+                    sum[c.homeRow[r]] += c.budget[c.residentRow[r]];
+                }
+            }
+
+            int[] rows = new int[c.residenceCount];
+            int n = 0;
+            for (int r = 0; r < c.residenceCount; r++) {
+                int p = c.homeRow[r];
+                if (c.residenceLive[r] && c.budget[c.residentRow[r]] > sum[p] / c.occupancy[p]) {
+                    rows[n++] = r;
+                }
+            }
+            int[] resident = c.residentRow;
+            double[] budget = c.budget;
+            RowSorter.sort(rows, n, (a, b) -> Double.compare(budget[resident[b]], budget[resident[a]]));
+
+            List<TenantBudgetStats> stats = new ArrayList<>(n);
+            for (int i = 0; i < n; i++) {
+                int t = c.residentRow[rows[i]];
+                stats.add(new TenantBudgetStats(c.strings.decode(c.firstName[t]), c.strings.decode(c.lastName[t]),
+                    c.budget[t], c.pid[c.homeRow[rows[i]]]));
+            }
+            return stats;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Same result as LandlordDAO.getLandlordTenantStats().
+     * @return Landlords with more than 2 tenants by tenant count, most first, rows 6 to 25
+     */
+    public List<LandlordTenantStats> getLandlordTenantStats() {
+        final int offset = 5;
+        final int limit = 20;
+        lock.readLock().lock();
+        try {
+            RentalColumns c = columns;
+            int[] tenants = tenantsPerLandlord(c);
+            int[] rows = new int[c.landlordCount];
+            int n = 0;
+            for (int l = 0; l < c.landlordCount; l++) {
+                if (c.landlordLive[l] && tenants[l] > 2) {
+                    rows[n++] = l;
+                }
+            }
+            int m = RowSorter.top(rows, n, offset + limit, (a, b) -> Integer.compare(tenants[b], tenants[a]));
+
+            List<LandlordTenantStats> stats = new ArrayList<>(Math.max(0, m - offset));
+            for (int i = offset; i < m; i++) {
+                int l = rows[i];
+                stats.add(new LandlordTenantStats(c.landlordId[l], c.strings.decode(c.landlordName[l]), tenants[l]));
+            }
+            return stats;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Same result as LandlordDAO.getLandlordsWithAvailableProperties().
+     * @return Landlords with more than 3 properties that nobody lives in
+     */
+    public List<LandlordPropertyStats> getLandlordsWithAvailableProperties() {
+        lock.readLock().lock();
+        try {
+            RentalColumns c = columns;
+            int[] available = new int[c.landlordCount];
+            for (int p = 0; p < c.propertyCount; p++) {
+                if (c.propertyLive[p] && c.owner[p] >= 0 && c.occupancy[p] == 0) {
+                    available[c.owner[p]]++;
+                }
+            }
+
+            List<LandlordPropertyStats> stats = new ArrayList<>();
+            for (int l = 0; l < c.landlordCount; l++) {
+                if (c.landlordLive[l] && available[l] > 3) {
+                    stats.add(new LandlordPropertyStats(c.landlordId[l], c.strings.decode(c.landlordName[l]),
+                        c.strings.decode(c.landlordEmail[l]), available[l]));
+                }
+            }
+            return stats;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Same result as LandlordDAO.getLandlordBedBathStats().
+     * @return Number of properties of each landlord per bed and bath count, by LLID and then most common first
+     */
+    public List<LandlordBedBathStats> getLandlordBedBathStats() {
+        lock.readLock().lock();
+        try {
+            RentalColumns c = columns;
+            int[] rows = new int[c.propertyCount];
+            int n = 0;
+            for (int p = 0; p < c.propertyCount; p++) {
+                if (c.propertyLive[p] && c.owner[p] >= 0) {
+                    rows[n++] = p;
+                }
+            }
+            // Group by sorting on (LLID, Bed, Bath) and counting runs
+            int[] owner = c.owner;
+            int[] landlordId = c.landlordId;
+            int[] bed = c.bed;
+            double[] bath = c.bath;
+            RowSorter.sort(rows, n, (a, b) -> {
+                int cmp = Integer.compare(landlordId[owner[a]], landlordId[owner[b]]);
+                if (cmp == 0) {
+                    cmp = Integer.compare(bed[a], bed[b]);
+                }
+                return cmp != 0 ? cmp : Double.compare(bath[a], bath[b]);
+            });
+
+            int[] groups = new int[n];      // First property row of each group
+            int[] groupSize = new int[n];
+            int g = 0;
+            for (int i = 0; i < n; i++) {
+                int p = rows[i];
+                if (g > 0) {
+                    int q = groups[g - 1];
+                    if (owner[p] == owner[q] && bed[p] == bed[q] && bath[p] == bath[q]) {
+                        groupSize[g - 1]++;
+                        continue;
+                    }
+                }
+                groups[g] = p;
+                groupSize[g] = 1;
+                g++;
+            }
+            int[] order = new int[g];
+            for (int i = 0; i < g; i++) {
+                order[i] = i;
+            }
+            RowSorter.sort(order, g, (a, b) -> {
+                int cmp = Integer.compare(landlordId[owner[groups[a]]], landlordId[owner[groups[b]]]);
+                return cmp != 0 ? cmp : Integer.compare(groupSize[b], groupSize[a]);
+            });
+
+            List<LandlordBedBathStats> stats = new ArrayList<>(g);
+            for (int i = 0; i < g; i++) {
+                int p = groups[order[i]];
+                int l = owner[p];
+                stats.add(new LandlordBedBathStats(c.landlordId[l], c.strings.decode(c.landlordName[l]), bed[p],
+                    bath[p], groupSize[order[i]]));
+            }
+            return stats;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Same result as LandlordDAO.getLandlordTenantsNoOffset().
+     * @return Landlords with at least one tenant by tenant count, most first
+     */
+    public List<LandlordTenantStats> getLandlordTenantsNoOffset() {
+        lock.readLock().lock();
+        try {
+            RentalColumns c = columns;
+            int[] tenants = tenantsPerLandlord(c);
+            int[] rows = new int[c.landlordCount];
+            int n = 0;
+            for (int l = 0; l < c.landlordCount; l++) {
+                if (c.landlordLive[l] && tenants[l] > 0) {
+                    rows[n++] = l;
+                }
+            }
+            RowSorter.sort(rows, n, (a, b) -> Integer.compare(tenants[b], tenants[a]));
+
+            List<LandlordTenantStats> stats = new ArrayList<>(n);
+            for (int i = 0; i < n; i++) {
+                int l = rows[i];
+                stats.add(new LandlordTenantStats(c.landlordId[l], c.strings.decode(c.landlordName[l]), tenants[l]));
+            }
+            return stats;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public long getLoadMillis() {
+        return follower.getLoadMillis();
+    }
+
+    public long getPatches() {
+        return follower.getPatches();
+    }
+
+    public long getReloads() {
+        return follower.getReloads();
+    }
+
+    public long getCompactions() {
+        return compactions;
+    }
+
+    @Override
+    public String toString() {
+        lock.readLock().lock();
+        try {
+            RentalColumns c = columns;
+            return String.format("Analytics snapshot: %d properties, %d tenants, %d landlords, %d residences, "
+                + "%d distinct strings (loaded in %d ms; %d patches, %d reloads, %d compactions)",
+                c.liveProperties(), c.liveTenants(), c.liveLandlords(), c.liveResidences(), c.strings.size(),
+                getLoadMillis(), getPatches(), getReloads(), compactions);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Tenants living in each landlord's properties, by landlord row
+    private static int[] tenantsPerLandlord(RentalColumns c) {
+        int[] tenants = new int[c.landlordCount];
+        for (int p = 0; p < c.propertyCount; p++) {
+            if (c.propertyLive[p] && c.owner[p] >= 0) {
+                tenants[c.owner[p]] += c.occupancy[p];
+            }
+        }
+        return tenants;
+    }
+
+    // Runs on the refresher thread. Reads happen outside the lock so queries are only blocked while patching.
+    private void reload() throws SQLException {
+        RentalColumns fresh = new RentalColumns(propertyDAO.countProperties());
+        landlordDAO.forEachLandlord(FETCH_SIZE, fresh::putLandlord);
+        propertyDAO.forEachProperty(FETCH_SIZE, fresh::putProperty);
+        tenantDAO.forEachTenant(FETCH_SIZE, fresh::putTenant);
+        livesInDAO.forEachResidence(FETCH_SIZE, fresh::addResidence);
+
+        lock.writeLock().lock();
+        try {
+            columns = fresh;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Runs on the refresher thread
+    private void patch(DataChange change) throws SQLException {
+        Consumer<RentalColumns> patch = readPatch(change);
+        lock.writeLock().lock();
+        try {
+            patch.accept(columns);
+            if (columns.needsCompaction()) {
+                columns = columns.compact();
+                compactions++;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Re-read the rows a change touched and return the update to make to the columns
+    private Consumer<RentalColumns> readPatch(DataChange change) throws SQLException {
+        List<Object> keys = change.getKeys();
+        switch (change.getTable()) {
+            case LANDLORD -> {
+                List<Landlord> rows = new ArrayList<>(keys.size());
+                for (Object key : keys) {
+                    rows.add(landlordDAO.getLandlordByID(((Number) key).intValue()));
+                }
+                return c -> {
+                    for (int i = 0; i < keys.size(); i++) {
+                        if (rows.get(i) == null) {
+                            c.removeLandlord(((Number) keys.get(i)).intValue());
+                        } else {
+                            c.putLandlord(rows.get(i));
+                        }
+                    }
+                };
+            }
+            case PROPERTY -> {
+                List<Property> rows = new ArrayList<>(keys.size());
+                for (Object key : keys) {
+                    rows.add(propertyDAO.getPropertyByID(((Number) key).intValue()));
+                }
+                return c -> {
+                    for (int i = 0; i < keys.size(); i++) {
+                        if (rows.get(i) == null) {
+                            c.removeProperty(((Number) keys.get(i)).intValue());
+                        } else {
+                            c.putProperty(rows.get(i));
+                        }
+                    }
+                };
+            }
+            case TENANT -> {
+                List<Tenant> rows = new ArrayList<>(keys.size());
+                for (Object key : keys) {
+                    rows.add(tenantDAO.getTenantBySSN((String) key));
+                }
+                return c -> {
+                    for (int i = 0; i < keys.size(); i++) {
+                        if (rows.get(i) == null) {
+                            c.removeTenant((String) keys.get(i));
+                        } else {
+                            c.putTenant(rows.get(i));
+                        }
+                    }
+                };
+            }
+            default -> {
+                // LIVES_IN: the keys are the PIDs of the properties whose residents changed
+                List<List<String>> residents = new ArrayList<>(keys.size());
+                for (Object key : keys) {
+                    residents.add(livesInDAO.getResidents(((Number) key).intValue()));
+                }
+                return c -> {
+                    for (int i = 0; i < keys.size(); i++) {
+                        c.setResidents(((Number) keys.get(i)).intValue(), residents.get(i));
+                    }
+                };
+            }
+        }
+    }
+
+    private static long cents(double price) {
+        return Math.round(price * 100);
+    }
+
+    // ROUND(x, 2) for the non-negative prices per bed
+    private static double round2(double x) {
+        return Math.round(x * 100) / 100.0;
+    }
+}
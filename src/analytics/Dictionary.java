@@ -0,0 +1,64 @@
+/**
+ * Dictionary encoding for the snapshot's string columns. Each distinct string is stored once and the columns
+ * hold its int code, so a predicate on a string column (e.g. Address LIKE '%St%') is evaluated once per distinct
+ * value instead of once per row. Codes are never reused; strings that are no longer referenced stay until the
+ * next full reload.
+ *
+ * Date Last Modified: October 18, 2026
+ */
+package analytics;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Predicate;
+
+final class Dictionary {
+
+    static final int NULL = -1;
+
+    private final Map<String, Integer> codes = new HashMap<>();
+    private String[] values = new String[1024];
+    private int size = 0;
+
+    /**
+     * @param value String to encode; may be null
+     * @return The string's code, or NULL for null
+     */
+    int encode(String value) {
+        if (value == null) {
+            return NULL;
+        }
+        Integer code = codes.get(value);
+        if (code != null) {
+            return code;
+        }
+        if (size == values.length) {
+            values = Arrays.copyOf(values, size * 2);
+        }
+        values[size] = value;
+        codes.put(value, size);
+        return size++;
+    }
+
+    String decode(int code) {
+        return code == NULL ? null : values[code];
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Evaluate a predicate over every distinct value.
+     * @param predicate Predicate on the decoded string
+     * @return Array indexed by code, true where the predicate holds
+     */
+    boolean[] matching(Predicate<String> predicate) {
+        boolean[] matches = new boolean[size];
+        for (int code = 0; code < size; code++) {
+            matches[code] = predicate.test(values[code]);
+        }
+        return matches;
+    }
+}
@@ -0,0 +1,415 @@
+/**
+ * Column-oriented copy of the Property, Tenant, Landlord and LivesIn tables: one primitive array per column,
+ * strings dictionary-encoded, and the LivesIn relationship stored as pairs of row indexes so joins are array
+ * lookups. Property rows also hold their landlord's row and their occupancy, maintained as rows change.
+ * Each landlord's properties, and each property's and each tenant's LivesIn rows, are doubly linked lists
+ * threaded through the rows, so removing a row or replacing a property's residents touches only the rows
+ * involved instead of scanning a whole table.
+ *
+ * Rows are patched in place. A deleted row is marked dead and skipped by the queries; compact() rebuilds the
+ * arrays without dead rows once they make up most of a table. Not thread safe; AnalyticsEngine guards it.
+ *
+ * Date Last Modified: October 18, 2026
+ */
+package analytics;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import model.Landlord;
+import model.Property;
+import model.Tenant;
+
+final class RentalColumns {
+
+    private static final int MIN_COMPACT = 1024;
+
+    final Dictionary strings = new Dictionary();
+
+    // Property
+    int propertyCount = 0;
+    int propertyDead = 0;
+    int[] pid;
+    int[] llid;
+    int[] bed;
+    double[] price;
+    double[] bath;
+    boolean[] pets;
+    int[] address;
+    int[] owner;        // Landlord row, or -1
+    int[] occupancy;    // Live LivesIn rows of the property
+    boolean[] propertyLive;
+    int[] nextOwned;    // Next and previous property of the same landlord, or -1
+    int[] prevOwned;
+    int[] homeFirst;    // First live LivesIn row of the property, or -1
+    final IntIntMap pidRow;
+
+    // Tenant
+    int tenantCount = 0;
+    int tenantDead = 0;
+    String[] ssn;
+    int[] firstName;
+    int[] lastName;
+    double[] budget;
+    boolean[] tenantLive;
+    int[] residentFirst; // First live LivesIn row of the tenant, or -1
+    final Map<String, Integer> ssnRow = new HashMap<>();
+
+    // Landlord
+    int landlordCount = 0;
+    int landlordDead = 0;
+    int[] landlordId;
+    int[] landlordName;
+    int[] landlordEmail;
+    boolean[] landlordLive;
+    int[] ownedFirst;   // First property of the landlord, or -1
+    final IntIntMap llidRow;
+
+    // LivesIn
+    int residenceCount = 0;
+    int residenceDead = 0;
+    int[] residentRow;  // Tenant row
+    int[] homeRow;      // Property row
+    boolean[] residenceLive;
+    int[] nextAtHome;   // Next and previous live LivesIn row of the same property, or -1
+    int[] prevAtHome;
+    int[] nextOfResident; // Next and previous live LivesIn row of the same tenant, or -1
+    int[] prevOfResident;
+
+    RentalColumns(int expectedProperties) {
+        int capacity = Math.max(16, expectedProperties);
+        pid = new int[capacity];
+        llid = new int[capacity];
+        bed = new int[capacity];
+        price = new double[capacity];
+        bath = new double[capacity];
+        pets = new boolean[capacity];
+        address = new int[capacity];
+        owner = new int[capacity];
+        occupancy = new int[capacity];
+        propertyLive = new boolean[capacity];
+        nextOwned = new int[capacity];
+        prevOwned = new int[capacity];
+        homeFirst = new int[capacity];
+        pidRow = new IntIntMap(capacity);
+
+        ssn = new String[capacity];
+        firstName = new int[capacity];
+        lastName = new int[capacity];
+        budget = new double[capacity];
+        tenantLive = new boolean[capacity];
+        residentFirst = new int[capacity];
+
+        int landlords = Math.max(16, capacity / 8);
+        landlordId = new int[landlords];
+        landlordName = new int[landlords];
+        landlordEmail = new int[landlords];
+        landlordLive = new boolean[landlords];
+        ownedFirst = new int[landlords];
+        llidRow = new IntIntMap(landlords);
+
+        residentRow = new int[capacity];
+        homeRow = new int[capacity];
+        residenceLive = new boolean[capacity];
+        nextAtHome = new int[capacity];
+        prevAtHome = new int[capacity];
+        nextOfResident = new int[capacity];
+        prevOfResident = new int[capacity];
+    }
+
+    int liveProperties() {
+        return propertyCount - propertyDead;
+    }
+
+    int liveTenants() {
+        return tenantCount - tenantDead;
+    }
+
+    int liveLandlords() {
+        return landlordCount - landlordDead;
+    }
+
+    int liveResidences() {
+        return residenceCount - residenceDead;
+    }
+
+    /**
+     * Insert a landlord, or overwrite the row of one already present.
+     * A new landlord owns no properties yet: Property.LLID references Landlord, so its properties come later.
+     */
+    void putLandlord(Landlord l) {
+        int row = llidRow.get(l.getLLID());
+        if (row < 0) {
+            if (landlordCount == landlordId.length) {
+                int capacity = landlordCount * 2;
+                landlordId = Arrays.copyOf(landlordId, capacity);
+                landlordName = Arrays.copyOf(landlordName, capacity);
+                landlordEmail = Arrays.copyOf(landlordEmail, capacity);
+                landlordLive = Arrays.copyOf(landlordLive, capacity);
+                ownedFirst = Arrays.copyOf(ownedFirst, capacity);
+            }
+            row = landlordCount++;
+            landlordId[row] = l.getLLID();
+            landlordLive[row] = true;
+            ownedFirst[row] = -1;
+            llidRow.put(l.getLLID(), row);
+        }
+        landlordName[row] = strings.encode(l.getName());
+        landlordEmail[row] = strings.encode(l.getEmail());
+    }
+
+    void removeLandlord(int id) {
+        int row = llidRow.get(id);
+        if (row < 0) {
+            return;
+        }
+        landlordLive[row] = false;
+        landlordDead++;
+        llidRow.put(id, -1);
+        for (int p = ownedFirst[row]; p >= 0; p = nextOwned[p]) {
+            owner[p] = -1;
+        }
+        ownedFirst[row] = -1;
+    }
+
+    /**
+     * Insert a property, or overwrite the row of one already present. Occupancy is kept.
+     */
+    void putProperty(Property p) {
+        int row = pidRow.get(p.getPID());
+        if (row < 0) {
+            if (propertyCount == pid.length) {
+                growProperties(propertyCount * 2);
+            }
+            row = propertyCount++;
+            pid[row] = p.getPID();
+            occupancy[row] = 0;
+            propertyLive[row] = true;
+            owner[row] = -1;
+            homeFirst[row] = -1;
+            pidRow.put(p.getPID(), row);
+        }
+        llid[row] = p.getLLID();
+        price[row] = p.getPrice();
+        bed[row] = p.getBed();
+        bath[row] = p.getBath();
+        pets[row] = p.isPetsAllowed();
+        address[row] = strings.encode(p.getAddress());
+        int landlord = llidRow.get(p.getLLID());
+        if (landlord != owner[row]) {
+            unlinkOwned(row);
+            owner[row] = landlord;
+            linkOwned(row);
+        }
+    }
+
+    void removeProperty(int id) {
+        int row = pidRow.get(id);
+        if (row < 0) {
+            return;
+        }
+        dropResidencesAtHome(row);
+        unlinkOwned(row);
+        owner[row] = -1;
+        propertyLive[row] = false;
+        propertyDead++;
+        pidRow.put(id, -1);
+    }
+
+    /**
+     * Insert a tenant, or overwrite the row of one already present.
+     */
+    void putTenant(Tenant t) {
+        Integer existing = ssnRow.get(t.getSSN());
+        int row;
+        if (existing == null) {
+            if (tenantCount == ssn.length) {
+                int capacity = tenantCount * 2;
+                ssn = Arrays.copyOf(ssn, capacity);
+                firstName = Arrays.copyOf(firstName, capacity);
+                lastName = Arrays.copyOf(lastName, capacity);
+                budget = Arrays.copyOf(budget, capacity);
+                tenantLive = Arrays.copyOf(tenantLive, capacity);
+                residentFirst = Arrays.copyOf(residentFirst, capacity);
+            }
+            row = tenantCount++;
+            ssn[row] = t.getSSN();
+            tenantLive[row] = true;
+            residentFirst[row] = -1;
+            ssnRow.put(t.getSSN(), row);
+        } else {
+            row = existing;
+        }
+        firstName[row] = strings.encode(t.getFname());
+        lastName[row] = strings.encode(t.getLname());
+        budget[row] = t.getBudget();
+    }
+
+    void removeTenant(String key) {
+        Integer row = ssnRow.remove(key);
+        if (row == null) {
+            return;
+        }
+        dropResidencesOf(row);
+        tenantLive[row] = false;
+        tenantDead++;
+    }
+
+    /**
+     * Add one LivesIn row. Ignored if the tenant or property is not in the snapshot.
+     */
+    void addResidence(String tenant, int property) {
+        Integer t = ssnRow.get(tenant);
+        int p = pidRow.get(property);
+        if (t == null || p < 0) {
+            return;
+        }
+        if (residenceCount == residentRow.length) {
+            int capacity = residenceCount * 2;
+            residentRow = Arrays.copyOf(residentRow, capacity);
+            homeRow = Arrays.copyOf(homeRow, capacity);
+            residenceLive = Arrays.copyOf(residenceLive, capacity);
+            nextAtHome = Arrays.copyOf(nextAtHome, capacity);
+            prevAtHome = Arrays.copyOf(prevAtHome, capacity);
+            nextOfResident = Arrays.copyOf(nextOfResident, capacity);
+            prevOfResident = Arrays.copyOf(prevOfResident, capacity);
+        }
+        int r = residenceCount++;
+        residentRow[r] = t;
+        homeRow[r] = p;
+        residenceLive[r] = true;
+        link(r, homeFirst, p, nextAtHome, prevAtHome);
+        link(r, residentFirst, t, nextOfResident, prevOfResident);
+        occupancy[p]++;
+    }
+
+    /**
+     * Replace the LivesIn rows of a property with its current residents.
+     */
+    void setResidents(int property, List<String> tenants) {
+        int row = pidRow.get(property);
+        if (row < 0) {
+            return;
+        }
+        dropResidencesAtHome(row);
+        for (String t : tenants) {
+            addResidence(t, property);
+        }
+    }
+
+    /**
+     * @return Whether dead rows make up enough of a table that compacting is worth it
+     */
+    boolean needsCompaction() {
+        return wasteful(propertyDead, propertyCount) || wasteful(tenantDead, tenantCount)
+            || wasteful(landlordDead, landlordCount) || wasteful(residenceDead, residenceCount);
+    }
+
+    /**
+     * Copy the live rows into a new, dense set of columns.
+     */
+    RentalColumns compact() {
+        RentalColumns c = new RentalColumns(liveProperties());
+        for (int l = 0; l < landlordCount; l++) {
+            if (landlordLive[l]) {
+                c.putLandlord(new Landlord(landlordId[l], strings.decode(landlordName[l]), null,
+                    strings.decode(landlordEmail[l])));
+            }
+        }
+        for (int p = 0; p < propertyCount; p++) {
+            if (propertyLive[p]) {
+                c.putProperty(new Property(pid[p], llid[p], price[p], bed[p], bath[p], pets[p],
+                    strings.decode(address[p])));
+            }
+        }
+        for (int t = 0; t < tenantCount; t++) {
+            if (tenantLive[t]) {
+                c.putTenant(new Tenant(ssn[t], strings.decode(firstName[t]), null, strings.decode(lastName[t]),
+                    budget[t], null, null, null));
+            }
+        }
+        for (int r = 0; r < residenceCount; r++) {
+            if (residenceLive[r]) {
+                c.addResidence(ssn[residentRow[r]], pid[homeRow[r]]);
+            }
+        }
+        return c;
+    }
+
+    // Mark dead the LivesIn rows of a property row
+    private void dropResidencesAtHome(int row) {
+        for (int r = homeFirst[row]; r >= 0; r = nextAtHome[r]) {
+            residenceLive[r] = false;
+            residenceDead++;
+            occupancy[row]--;
+            unlink(r, residentFirst, residentRow[r], nextOfResident, prevOfResident);
+        }
+        homeFirst[row] = -1;
+    }
+
+    // Mark dead the LivesIn rows of a tenant row
+    private void dropResidencesOf(int row) {
+        for (int r = residentFirst[row]; r >= 0; r = nextOfResident[r]) {
+            residenceLive[r] = false;
+            residenceDead++;
+            occupancy[homeRow[r]]--;
+            unlink(r, homeFirst, homeRow[r], nextAtHome, prevAtHome);
+        }
+        residentFirst[row] = -1;
+    }
+
+    private void linkOwned(int p) {
+        if (owner[p] >= 0) {
+            link(p, ownedFirst, owner[p], nextOwned, prevOwned);
+        }
+    }
+
+    private void unlinkOwned(int p) {
+        if (owner[p] >= 0) {
+            unlink(p, ownedFirst, owner[p], nextOwned, prevOwned);
+        }
+    }
+
+    // Push a row onto the front of the list headed by first[list]
+    private static void link(int row, int[] first, int list, int[] next, int[] prev) {
+        next[row] = first[list];
+        prev[row] = -1;
+        if (first[list] >= 0) {
+            prev[first[list]] = row;
+        }
+        first[list] = row;
+    }
+
+    // Take a row out of the list headed by first[list]
+    private static void unlink(int row, int[] first, int list, int[] next, int[] prev) {
+        if (prev[row] >= 0) {
+            next[prev[row]] = next[row];
+        } else {
+            first[list] = next[row];
+        }
+        if (next[row] >= 0) {
+            prev[next[row]] = prev[row];
+        }
+    }
+
+    private void growProperties(int capacity) {
+        pid = Arrays.copyOf(pid, capacity);
+        llid = Arrays.copyOf(llid, capacity);
+        bed = Arrays.copyOf(bed, capacity);
+        price = Arrays.copyOf(price, capacity);
+        bath = Arrays.copyOf(bath, capacity);
+        pets = Arrays.copyOf(pets, capacity);
+        address = Arrays.copyOf(address, capacity);
+        owner = Arrays.copyOf(owner, capacity);
+        occupancy = Arrays.copyOf(occupancy, capacity);
+        propertyLive = Arrays.copyOf(propertyLive, capacity);
+        nextOwned = Arrays.copyOf(nextOwned, capacity);
+        prevOwned = Arrays.copyOf(prevOwned, capacity);
+        homeFirst = Arrays.copyOf(homeFirst, capacity);
+    }
+
+    private static boolean wasteful(int dead, int count) {
+        return dead >= MIN_COMPACT && dead * 2 > count;
+    }
+}
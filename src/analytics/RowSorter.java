@@ -0,0 +1,121 @@
+/**
+ * Sorting of row indexes by a comparison on the snapshot's columns, without boxing the indexes.
+ * Both sorts are stable, so rows that compare equal keep the order they were passed in.
+ *
+ * Date Last Modified: October 18, 2026
+ */
+package analytics;
+
+final class RowSorter {
+
+    /**
+     * Compares two rows; negative if a comes first.
+     */
+    interface RowOrder {
+        int compare(int a, int b);
+    }
+
+    private RowSorter() { }
+
+    /**
+     * Sort rows[0..n) in place (bottom-up merge sort).
+     */
+    static void sort(int[] rows, int n, RowOrder order) {
+        int[] src = rows;
+        int[] dst = new int[n];
+        for (int width = 1; width < n; width *= 2) {
+            for (int lo = 0; lo < n; lo += 2 * width) {
+                int mid = Math.min(lo + width, n);
+                int hi = Math.min(lo + 2 * width, n);
+                int i = lo;
+                int j = mid;
+                for (int k = lo; k < hi; k++) {
+                    if (j >= hi || (i < mid && order.compare(src[i], src[j]) <= 0)) {
+                        dst[k] = src[i++];
+                    } else {
+                        dst[k] = src[j++];
+                    }
+                }
+            }
+            int[] t = src;
+            src = dst;
+            dst = t;
+        }
+        if (src != rows) {
+            System.arraycopy(src, 0, rows, 0, n);
+        }
+    }
+
+    /**
+     * Move the first k rows in order to rows[0..k) and sort them, in O(n log k): a heap of the best k seen so far,
+     * rooted at the worst of them. Ties are broken by position in the input, as in sort.
+     * @return min(k, n), the number of rows selected
+     */
+    static int top(int[] rows, int n, int k, RowOrder order) {
+        if (k >= n) {
+            sort(rows, n, order);
+            return n;
+        }
+        if (k <= 0) {
+            return 0;
+        }
+        // Position of each heap entry in the input, to keep the selection stable
+        int[] pos = new int[k];
+        for (int i = 0; i < k; i++) {
+            pos[i] = i;
+        }
+        for (int i = k / 2 - 1; i >= 0; i--) {
+            siftDown(rows, pos, i, k, order);
+        }
+        for (int i = k; i < n; i++) {
+            if (order.compare(rows[i], rows[0]) < 0) {
+                rows[0] = rows[i];
+                pos[0] = i;
+                siftDown(rows, pos, 0, k, order);
+            }
+        }
+        // Restore input order among the selected rows, then sort them stably
+        int[] byPos = new int[k];
+        for (int i = 0; i < k; i++) {
+            byPos[i] = i;
+        }
+        sort(byPos, k, (a, b) -> Integer.compare(pos[a], pos[b]));
+        int[] selected = new int[k];
+        for (int i = 0; i < k; i++) {
+            selected[i] = rows[byPos[i]];
+        }
+        System.arraycopy(selected, 0, rows, 0, k);
+        sort(rows, k, order);
+        return k;
+    }
+
+    // Max-heap on (order, input position): the root is the row that would come last
+    private static void siftDown(int[] rows, int[] pos, int i, int size, RowOrder order) {
+        while (true) {
+            int worst = i;
+            int left = 2 * i + 1;
+            int right = left + 1;
+            if (left < size && later(rows, pos, left, worst, order)) {
+                worst = left;
+            }
+            if (right < size && later(rows, pos, right, worst, order)) {
+                worst = right;
+            }
+            if (worst == i) {
+                return;
+            }
+            int r = rows[i];
+            rows[i] = rows[worst];
+            rows[worst] = r;
+            int p = pos[i];
+            pos[i] = pos[worst];
+            pos[worst] = p;
+            i = worst;
+        }
+    }
+
+    private static boolean later(int[] rows, int[] pos, int a, int b, RowOrder order) {
+        int c = order.compare(rows[a], rows[b]);
+        return c > 0 || (c == 0 && pos[a] > pos[b]);
+    }
+}
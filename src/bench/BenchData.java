@@ -0,0 +1,142 @@
+/**
+ * Seeds the configured database with synthetic landlords, properties, tenants and LivesIn rows for the DAO
+ * benchmarks, topping up whatever is already there to the requested number of properties.
+ * Generated data is deterministic for a given seed. Point db.properties at a scratch database first.
+ *
+ * Date Last Modified: October 18, 2026
+ */
+package bench;
+
+import dao.DataChange;
+import dao.DataChangeBus;
+import dao.LandlordDAO;
+import dao.PropertyDAO;
+import dao.TenantDAO;
+import db.DBConnection;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import model.Landlord;
+import model.Property;
+import model.Tenant;
+
+final class BenchData {
+
+    static final int PROPERTIES_PER_LANDLORD = 10;
+    private static final int CHUNK = 10_000;
+
+    private static final String[] STREETS = {
+        "Main St", "Oak Ave", "Water St", "State St", "Clairemont Ave", "Hastings Way", "Lake St", "Barstow St"
+    };
+    private static final String[] FIRST_NAMES = { "Alex", "Jordan", "Sam", "Taylor", "Casey", "Riley", "Morgan" };
+    private static final String[] LAST_NAMES = { "Nguyen", "Smith", "Garcia", "Olson", "Johnson", "Lee", "Hansen" };
+
+    private final Random random;
+    private final LandlordDAO landlordDAO = new LandlordDAO();
+    private final PropertyDAO propertyDAO = new PropertyDAO();
+    private final TenantDAO tenantDAO = new TenantDAO();
+
+    BenchData(long seed) {
+        random = new Random(seed);
+    }
+
+    /**
+     * Insert rows until the database holds at least the given number of properties, one landlord per
+     * PROPERTIES_PER_LANDLORD properties and one tenant per property, each living in a random property.
+     * @param properties Target number of properties
+     * @throws SQLException
+     */
+    void seed(int properties) throws SQLException {
+        int existing = propertyDAO.countProperties();
+        int missing = properties - existing;
+        if (missing <= 0) {
+            System.out.println("Database already holds " + existing + " properties; not seeding");
+            return;
+        }
+        System.out.println("Seeding " + missing + " properties...");
+
+        List<Landlord> landlords = new ArrayList<>();
+        for (int i = 0; i < (missing + PROPERTIES_PER_LANDLORD - 1) / PROPERTIES_PER_LANDLORD; i++) {
+            landlords.add(new Landlord("Bench Landlord " + i, phone(), "landlord" + i + "@bench.invalid"));
+        }
+        landlords = landlordDAO.insertAll(landlords, CHUNK);
+
+        int tenantBase = tenantDAO.countTenants();
+        for (int done = 0; done < missing; done += CHUNK) {
+            int n = Math.min(CHUNK, missing - done);
+            List<Property> chunk = new ArrayList<>(n);
+            for (int i = 0; i < n; i++) {
+                int bed = 1 + random.nextInt(6);
+                chunk.add(new Property(
+                    landlords.get((done + i) / PROPERTIES_PER_LANDLORD).getLLID(),
+                    Math.round((400 + random.nextInt(600)) * bed / 10.0) * 10.0,
+                    bed,
+                    1 + random.nextInt(4) * 0.5,
+                    random.nextBoolean(),
+                    (100 + random.nextInt(9900)) + " " + STREETS[random.nextInt(STREETS.length)]
+                ));
+            }
+            chunk = propertyDAO.insertAll(chunk, CHUNK);
+
+            List<Tenant> tenants = new ArrayList<>(n);
+            for (int i = 0; i < n; i++) {
+                tenants.add(new Tenant(
+                    String.format("B%010d", tenantBase + done + i),
+                    FIRST_NAMES[random.nextInt(FIRST_NAMES.length)],
+                    null,
+                    LAST_NAMES[random.nextInt(LAST_NAMES.length)],
+                    500 + random.nextInt(1500),
+                    phone(),
+                    "tenant" + (tenantBase + done + i) + "@bench.invalid",
+                    LocalDate.of(1960 + random.nextInt(45), 1 + random.nextInt(12), 1 + random.nextInt(28))
+                ));
+            }
+            tenantDAO.insertAll(tenants, CHUNK);
+            moveIn(tenants, chunk);
+            System.out.println("  " + (done + n) + " / " + missing);
+        }
+
+        // LivesIn rows were written in bulk, so recompute the occupancy summary once at the end
+        propertyDAO.rebuildOccupancySummary();
+    }
+
+    // Each tenant moves into a random property of the same chunk, one transaction for the whole chunk
+    private void moveIn(List<Tenant> tenants, List<Property> properties) throws SQLException {
+        String sql = "INSERT INTO LivesIn (SSN, PID) VALUES (?, ?)";
+
+        try (Connection conn = DBConnection.getInstance().getConnection()) {
+            conn.setAutoCommit(false);
+            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                for (Tenant t : tenants) {
+                    stmt.setString(1, t.getSSN());
+                    stmt.setInt(2, properties.get(random.nextInt(properties.size())).getPID());
+                    stmt.addBatch();
+                }
+                stmt.executeBatch();
+                conn.commit();
+                DataChangeBus.getInstance().publish(DataChange.Table.LIVES_IN, DataChange.Kind.INSERT, pidsOf(properties));
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        }
+    }
+
+    private static List<Integer> pidsOf(List<Property> properties) {
+        List<Integer> pids = new ArrayList<>(properties.size());
+        for (Property p : properties) {
+            pids.add(p.getPID());
+        }
+        return pids;
+    }
+
+    private String phone() {
+        return String.format("715-%03d-%04d", random.nextInt(1000), random.nextInt(10000));
+    }
+}
@@ -0,0 +1,154 @@
+/**
+ * A small benchmark harness: runs an operation repeatedly for a warmup period and then a measured period,
+ * recording the latency of every call so throughput and latency percentiles can be reported.
+ *
+ * Date Last Modified: October 18, 2026
+ */
+package bench;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicReference;
+
+final class Benchmark {
+
+    /**
+     * One benchmarked operation. The argument counts calls on the calling thread, so operations can vary
+     * their input without sharing a random number generator.
+     */
+    interface Op {
+        void run(int iteration) throws Exception;
+    }
+
+    /**
+     * Measurements for one benchmark.
+     */
+    static final class Result {
+        final String name;
+        final long operations;
+        final long elapsedNanos;
+        final long p50Nanos;
+        final long p99Nanos;
+        final long maxNanos;
+
+        Result(String name, long operations, long elapsedNanos, long p50Nanos, long p99Nanos, long maxNanos) {
+            this.name = name;
+            this.operations = operations;
+            this.elapsedNanos = elapsedNanos;
+            this.p50Nanos = p50Nanos;
+            this.p99Nanos = p99Nanos;
+            this.maxNanos = maxNanos;
+        }
+
+        double opsPerSecond() {
+            return elapsedNanos == 0 ? 0 : operations * 1e9 / elapsedNanos;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.ROOT, "%-48s %10.1f ops/s   p50 %9.3f ms   p99 %9.3f ms   max %9.3f ms   (%d ops)",
+                name, opsPerSecond(), p50Nanos / 1e6, p99Nanos / 1e6, maxNanos / 1e6, operations);
+        }
+    }
+
+    private final long warmupNanos;
+    private final long measureNanos;
+    private final int minIterations;
+    private final int threads;
+
+    /**
+     * @param warmupMillis Time spent running the operation before measuring
+     * @param measureMillis Minimum time spent measuring
+     * @param minIterations Minimum measured calls per thread, so slow operations still get a usable sample
+     * @param threads Threads calling the operation concurrently
+     */
+    Benchmark(long warmupMillis, long measureMillis, int minIterations, int threads) {
+        this.warmupNanos = warmupMillis * 1_000_000L;
+        this.measureNanos = measureMillis * 1_000_000L;
+        this.minIterations = minIterations;
+        this.threads = threads;
+    }
+
+    /**
+     * Warm up, then measure an operation.
+     * @param name Benchmark name
+     * @param op Operation to run
+     * @return Throughput and latency percentiles over all threads
+     * @throws Exception the first exception thrown by the operation
+     */
+    Result run(String name, Op op) throws Exception {
+        long[][] samples = new long[threads][];
+        int[] counts = new int[threads];
+        AtomicReference<Exception> failure = new AtomicReference<>();
+        CountDownLatch start = new CountDownLatch(1);
+        Thread[] workers = new Thread[threads];
+
+        for (int t = 0; t < threads; t++) {
+            int index = t;
+            workers[t] = new Thread(() -> {
+                try {
+                    start.await();
+                    int i = 0;
+                    long warmupEnd = System.nanoTime() + warmupNanos;
+                    while (System.nanoTime() < warmupEnd) {
+                        op.run(i++);
+                    }
+
+                    long[] latencies = new long[1024];
+                    int n = 0;
+                    long measureEnd = System.nanoTime() + measureNanos;
+                    while (n < minIterations || System.nanoTime() < measureEnd) {
+                        long before = System.nanoTime();
+                        op.run(i++);
+                        if (n == latencies.length) {
+                            latencies = Arrays.copyOf(latencies, n * 2);
+                        }
+                        latencies[n++] = System.nanoTime() - before;
+                    }
+                    samples[index] = latencies;
+                    counts[index] = n;
+                } catch (Exception e) {
+                    failure.compareAndSet(null, e);
+                }
+            }, "bench-" + name + "-" + t);
+        }
+
+        for (Thread w : workers) {
+            w.start();
+        }
+        long began = System.nanoTime();
+        start.countDown();
+        for (Thread w : workers) {
+            w.join();
+        }
+        long elapsed = System.nanoTime() - began - warmupNanos;
+
+        if (failure.get() != null) {
+            throw failure.get();
+        }
+
+        int total = 0;
+        for (int c : counts) {
+            total += c;
+        }
+        long[] all = new long[total];
+        int pos = 0;
+        for (int t = 0; t < threads; t++) {
+            System.arraycopy(samples[t], 0, all, pos, counts[t]);
+            pos += counts[t];
+        }
+        Arrays.sort(all);
+        return new Result(name, total, Math.max(elapsed, 1), percentile(all, 0.50), percentile(all, 0.99),
+            all.length == 0 ? 0 : all[all.length - 1]);
+    }
+
+    // Nearest-rank percentile of sorted samples
+    private static long percentile(long[] sorted, double p) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(p * sorted.length);
+        return sorted[Math.max(0, Math.min(sorted.length - 1, rank - 1))];
+    }
+}
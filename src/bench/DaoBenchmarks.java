@@ -0,0 +1,385 @@
+/**
+ * Benchmarks for the DAO layer: single-row lookups, full scans, every advanced query and the CRUD paths of
+ * PropertyDAO, TenantDAO, LandlordDAO and LivesInDAO, run against the database configured in db.properties.
+ * Reports throughput and p50/p99 latency for each, and can save the results and compare a later run against
+ * them to catch regressions before deploying.
+ *
+ * Usage: DaoBenchmarks [--scale 1k|100k|1m] [--seed N] [--warmup MS] [--time MS] [--threads N]
+ *                      [--only PREFIX] [--out results.csv] [--baseline results.csv] [--tolerance 0.2]
+ *                      [--query-cache]
+ *
+ * --scale seeds the database up to that many properties before running (see BenchData).
+ * The analytics.* benchmarks run the same advanced queries against an AnalyticsEngine snapshot loaded before the
+ * run, for comparison with query.*; analytics.refreshAfterMoveIn measures how long a write takes to reach it.
+ * The search.* benchmarks run PropertySearch queries against its in-memory index, likewise loaded beforehand,
+ * and the match.* benchmarks match tenants to vacant properties with TenantMatcher over the same index.
+ * dashboard.async runs three advanced queries concurrently through AsyncDAO, for comparison with
+ * dashboard.sequential.
+ * The plan.* benchmarks run the correlated-subquery reports with each ReportPlan, bypassing the result cache;
+ * ReportPlanVerifier checks that both plans return the same rows.
+ * The advanced query result cache is turned off so the query benchmarks measure the SQL; --query-cache keeps it on.
+ * With --baseline, a benchmark whose throughput drops or whose p99 grows by more than the tolerance is a
+ * regression and the run exits with status 1.
+ *
+ * Date Last Modified: October 18, 2026
+ */
+package bench;
+
+import analytics.AnalyticsEngine;
+import dao.AsyncDAO;
+import dao.LandlordDAO;
+import dao.LivesInDAO;
+import dao.PropertyDAO;
+import dao.QueryResultCache;
+import dao.ReportPlan;
+import dao.TenantDAO;
+import db.DBConnection;
+import db.QueryMetrics;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import model.Landlord;
+import model.Property;
+import model.Tenant;
+import search.PropertyQuery;
+import search.PropertySearch;
+import search.TenantMatcher;
+import search.TenantNeeds;
+
+public class DaoBenchmarks {
+
+    private static final int SAMPLE_KEYS = 10_000;
+
+    private final PropertyDAO propertyDAO = new PropertyDAO();
+    private final TenantDAO tenantDAO = new TenantDAO();
+    private final LandlordDAO landlordDAO = new LandlordDAO();
+    private final LivesInDAO livesInDAO = new LivesInDAO();
+    private final AsyncDAO async = new AsyncDAO();
+
+    // Keys sampled from the database so lookups hit existing rows
+    private final List<Integer> pids = new ArrayList<>();
+    private final List<String> ssns = new ArrayList<>();
+    private final List<Integer> llids = new ArrayList<>();
+
+    // Loaded only when an analytics.* benchmark is selected
+    private AnalyticsEngine analytics = null;
+
+    // Loaded only when a search.* benchmark is selected
+    private PropertySearch search = null;
+
+    // Makes the SSNs of tenants created by the CRUD benchmarks unique across threads
+    private final AtomicInteger unique = new AtomicInteger();
+
+    /**
+     * Build the benchmark table: name to operation, in the order they run.
+     * @return Benchmarks by name
+     * @throws SQLException if the sample keys cannot be read
+     */
+    Map<String, Benchmark.Op> benchmarks() throws SQLException {
+        sampleKeys();
+        Map<String, Benchmark.Op> ops = new LinkedHashMap<>();
+
+        // Single-row lookups
+        ops.put("lookup.propertyById", i -> propertyDAO.getPropertyByID(pick(pids, i)));
+        ops.put("lookup.tenantBySsn", i -> tenantDAO.getTenantBySSN(pick(ssns, i)));
+        ops.put("lookup.landlordById", i -> landlordDAO.getLandlordByID(pick(llids, i)));
+        ops.put("lookup.propertiesByLandlord", i -> propertyDAO.getPropertiesByLandlordID(pick(llids, i)));
+
+        // Scans and pages
+        ops.put("scan.allProperties", i -> propertyDAO.getAllProperties());
+        ops.put("scan.allTenants", i -> tenantDAO.getAllTenants());
+        ops.put("scan.allLandlords", i -> landlordDAO.getAllLandlords());
+        ops.put("scan.forEachProperty", i -> propertyDAO.forEachProperty(1000, p -> { }));
+        ops.put("scan.propertiesPage", i -> propertyDAO.getPropertiesPage(pick(pids, i), 200));
+        ops.put("scan.countProperties", i -> propertyDAO.countProperties());
+
+        // Advanced queries
+        ops.put("query.mostExpensiveProperties", i -> propertyDAO.getMostExpensiveProperties());
+        ops.put("query.cheapestProperties", i -> propertyDAO.getCheapestProperties());
+        ops.put("query.propertyTenantStats", i -> propertyDAO.getPropertyTenantStats());
+        ops.put("query.propertiesAboveLandlordAverage", i -> propertyDAO.getPropertiesAboveLandlordAverage());
+        ops.put("query.tenantsPayingAboveAverageRent", i -> tenantDAO.getTenantsPayingAboveAverageRent());
+        ops.put("query.tenantsWithAboveAverageBudget", i -> tenantDAO.getTenantsWithAboveAverageBudget());
+        ops.put("query.landlordTenantStats", i -> landlordDAO.getLandlordTenantStats());
+        ops.put("query.landlordsWithAvailableProperties", i -> landlordDAO.getLandlordsWithAvailableProperties());
+        ops.put("query.landlordBedBathStats", i -> landlordDAO.getLandlordBedBathStats());
+        ops.put("query.landlordTenantsNoOffset", i -> landlordDAO.getLandlordTenantsNoOffset());
+
+        // A dashboard's three independent queries, one after another and then concurrently
+        ops.put("dashboard.sequential", i -> {
+            landlordDAO.getLandlordsWithAvailableProperties();
+            landlordDAO.getLandlordTenantStats();
+            tenantDAO.getTenantsPayingAboveAverageRent();
+        });
+        ops.put("dashboard.async", i -> CompletableFuture.allOf(
+            async.getLandlordsWithAvailableProperties(),
+            async.getLandlordTenantStats(),
+            async.getTenantsPayingAboveAverageRent()).join());
+
+        // The correlated-subquery reports, original SQL against the single-pass rewrite, uncached
+        ops.put("plan.propertiesAboveLandlordAverage.correlated",
+            i -> propertyDAO.getPropertiesAboveLandlordAverage(ReportPlan.CORRELATED));
+        ops.put("plan.propertiesAboveLandlordAverage.singlePass",
+            i -> propertyDAO.getPropertiesAboveLandlordAverage(ReportPlan.SINGLE_PASS));
+        ops.put("plan.tenantsPayingAboveAverageRent.correlated",
+            i -> tenantDAO.getTenantsPayingAboveAverageRent(ReportPlan.CORRELATED));
+        ops.put("plan.tenantsPayingAboveAverageRent.singlePass",
+            i -> tenantDAO.getTenantsPayingAboveAverageRent(ReportPlan.SINGLE_PASS));
+        ops.put("plan.tenantsWithAboveAverageBudget.correlated",
+            i -> tenantDAO.getTenantsWithAboveAverageBudget(ReportPlan.CORRELATED));
+        ops.put("plan.tenantsWithAboveAverageBudget.singlePass",
+            i -> tenantDAO.getTenantsWithAboveAverageBudget(ReportPlan.SINGLE_PASS));
+
+        // The advanced queries answered from the in-memory snapshot
+        if (analytics != null) {
+            ops.put("analytics.mostExpensiveProperties", i -> analytics.getMostExpensiveProperties());
+            ops.put("analytics.cheapestProperties", i -> analytics.getCheapestProperties());
+            ops.put("analytics.propertyTenantStats", i -> analytics.getPropertyTenantStats());
+            ops.put("analytics.propertiesAboveLandlordAverage", i -> analytics.getPropertiesAboveLandlordAverage());
+            ops.put("analytics.tenantsPayingAboveAverageRent", i -> analytics.getTenantsPayingAboveAverageRent());
+            ops.put("analytics.tenantsWithAboveAverageBudget", i -> analytics.getTenantsWithAboveAverageBudget());
+            ops.put("analytics.landlordTenantStats", i -> analytics.getLandlordTenantStats());
+            ops.put("analytics.landlordsWithAvailableProperties", i -> analytics.getLandlordsWithAvailableProperties());
+            ops.put("analytics.landlordBedBathStats", i -> analytics.getLandlordBedBathStats());
+            ops.put("analytics.landlordTenantsNoOffset", i -> analytics.getLandlordTenantsNoOffset());
+            // A committed write until the snapshot reflects it, including the move-out
+            ops.put("analytics.refreshAfterMoveIn", i -> {
+                String ssn = String.format("Z%010d", unique.incrementAndGet());
+                tenantDAO.insertTenant(new Tenant(ssn, "Bench", null, "Analyst", 900, "715-555-0100",
+                    "bench@bench.invalid", null));
+                int pid = pick(pids, i);
+                livesInDAO.moveIn(ssn, pid);
+                livesInDAO.moveOut(ssn, pid);
+                tenantDAO.deleteTenant(ssn);
+                analytics.awaitRefresh();
+            });
+        }
+
+        // Multi-criteria search against the in-memory index
+        if (search != null) {
+            ops.put("search.priceRange", i -> search.search(new PropertyQuery().price(1000 + i % 500, 1050 + i % 500)));
+            ops.put("search.combined", i -> search.search(new PropertyQuery()
+                .price(600, 2400).beds(2, 3).baths(1, 2).petsAllowed(true).vacant(1)));
+            ops.put("search.deepPage", i -> search.search(new PropertyQuery()
+                .beds(1 + i % 4, 4).vacant(1).after(pick(pids, i))));
+            ops.put("search.count", i -> search.count(new PropertyQuery().price(500, 2000).petsAllowed(i % 2 == 0)));
+            String[] typed = { "1", "12", "121", "1210 w", "state", "main s", "vien st", "clairemnt" };
+            ops.put("search.addressTypeahead", i -> search.searchAddress(typed[i % typed.length], 10));
+
+            TenantMatcher matcher = new TenantMatcher(search);
+            ops.put("match.oneTenant", i -> matcher.match(new TenantNeeds(pick(ssns, i), 400 + i % 1200, 1 + i % 2,
+                i % 4 == 0), 10, TenantMatcher.Order.CLOSEST_TO_BUDGET));
+            ops.put("match.allTenants", i -> matcher.matchAll(5, TenantMatcher.Order.CLOSEST_TO_BUDGET));
+        }
+
+        // CRUD paths; each operation cleans up after itself so the data set does not drift
+        ops.put("crud.property", i -> {
+            Property p = propertyDAO.insertProperty(new Property(pick(llids, i), 1200, 3, 1.5, true, "1 Benchmark St"));
+            propertyDAO.updateProperty(p.withPrice(1250));
+            propertyDAO.deleteProperty(p.getPID());
+        });
+        ops.put("crud.tenant", i -> {
+            String ssn = String.format("X%010d", unique.incrementAndGet());
+            Tenant t = new Tenant(ssn, "Bench", null, "Tenant", 900, "715-555-0100", "bench@bench.invalid",
+                LocalDate.of(1990, 1, 1));
+            tenantDAO.insertTenant(t);
+            tenantDAO.updateTenant(t.withEmail("bench2@bench.invalid"));
+            tenantDAO.deleteTenant(ssn);
+        });
+        ops.put("crud.landlord", i -> {
+            Landlord ll = landlordDAO.insertAll(List.of(
+                new Landlord("Bench Landlord", "715-555-0100", "bench@bench.invalid"))).get(0); // with the generated LLID
+            landlordDAO.updateLandlord(ll.withEmail("bench2@bench.invalid"));
+            landlordDAO.deleteLandlord(ll.getLLID());
+        });
+        ops.put("crud.moveInOut", i -> {
+            String ssn = String.format("Y%010d", unique.incrementAndGet());
+            tenantDAO.insertTenant(new Tenant(ssn, "Bench", null, "Mover", 900, "715-555-0100",
+                "bench@bench.invalid", null));
+            int pid = pick(pids, i);
+            livesInDAO.moveIn(ssn, pid);
+            livesInDAO.moveOut(ssn, pid);
+            tenantDAO.deleteTenant(ssn);
+        });
+
+        return ops;
+    }
+
+    private void loadAnalytics() throws SQLException {
+        analytics = new AnalyticsEngine();
+        analytics.load();
+        System.out.println(analytics);
+    }
+
+    private void loadSearch() throws SQLException {
+        search = new PropertySearch();
+        search.load();
+        System.out.println(search);
+    }
+
+    private void sampleKeys() throws SQLException {
+        pids.addAll(propertyDAO.getPropertiesPage(0, SAMPLE_KEYS).stream().map(Property::getPID).toList());
+        ssns.addAll(tenantDAO.getTenantsPage("", SAMPLE_KEYS).stream().map(Tenant::getSSN).toList());
+        llids.addAll(landlordDAO.getLandlordsPage(0, SAMPLE_KEYS).stream().map(Landlord::getLLID).toList());
+        if (pids.isEmpty() || ssns.isEmpty() || llids.isEmpty()) {
+            throw new SQLException("The database needs at least one landlord, property and tenant; run with --scale");
+        }
+    }
+
+    // Spread lookups over the sample without a shared Random (Knuth's multiplicative hash)
+    private static <K> K pick(List<K> keys, int iteration) {
+        return keys.get(Math.floorMod(iteration * 0x9E3779B1, keys.size()));
+    }
+
+    static int parseScale(String scale) {
+        String s = scale.toLowerCase(Locale.ROOT);
+        if (s.endsWith("m")) {
+            return Integer.parseInt(s.substring(0, s.length() - 1)) * 1_000_000;
+        }
+        if (s.endsWith("k")) {
+            return Integer.parseInt(s.substring(0, s.length() - 1)) * 1_000;
+        }
+        return Integer.parseInt(s);
+    }
+
+    private static void writeResults(Path file, List<Benchmark.Result> results) throws IOException {
+        List<String> lines = new ArrayList<>();
+        lines.add("name,opsPerSecond,p50Nanos,p99Nanos");
+        for (Benchmark.Result r : results) {
+            lines.add(String.format(Locale.ROOT, "%s,%.3f,%d,%d", r.name, r.opsPerSecond(), r.p50Nanos, r.p99Nanos));
+        }
+        Files.write(file, lines, StandardCharsets.UTF_8);
+    }
+
+    // name -> { opsPerSecond, p99Nanos }
+    private static Map<String, double[]> readResults(Path file) throws IOException {
+        Map<String, double[]> results = new HashMap<>();
+        List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+        for (String line : lines.subList(1, lines.size())) {
+            String[] f = line.split(",");
+            if (f.length == 4) {
+                results.put(f[0], new double[] { Double.parseDouble(f[1]), Double.parseDouble(f[3]) });
+            }
+        }
+        return results;
+    }
+
+    public static void main(String[] args) {
+        Integer scale = null;
+        long seed = 42;
+        long warmup = 2_000;
+        long time = 5_000;
+        int threads = 1;
+        String only = "";
+        Path out = null;
+        Path baseline = null;
+        double tolerance = 0.2;
+        boolean queryCache = false;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--scale" -> scale = parseScale(args[++i]);
+                case "--seed" -> seed = Long.parseLong(args[++i]);
+                case "--warmup" -> warmup = Long.parseLong(args[++i]);
+                case "--time" -> time = Long.parseLong(args[++i]);
+                case "--threads" -> threads = Integer.parseInt(args[++i]);
+                case "--only" -> only = args[++i];
+                case "--out" -> out = Paths.get(args[++i]);
+                case "--baseline" -> baseline = Paths.get(args[++i]);
+                case "--tolerance" -> tolerance = Double.parseDouble(args[++i]);
+                case "--query-cache" -> queryCache = true;
+                default -> System.err.println("Ignoring unknown option " + args[i]);
+            }
+        }
+
+        int regressions = 0;
+        try {
+            DBConnection.getInstance().connect();
+            QueryResultCache.getInstance().setEnabled(queryCache);
+            if (scale != null) {
+                new BenchData(seed).seed(scale);
+            }
+
+            Benchmark harness = new Benchmark(warmup, time, 5, threads);
+            List<Benchmark.Result> results = new ArrayList<>();
+            DaoBenchmarks suite = new DaoBenchmarks();
+            if (only.startsWith("analytics.") || "analytics.".startsWith(only)) {
+                suite.loadAnalytics();
+            }
+            if (only.startsWith("search.") || "search.".startsWith(only)
+                    || only.startsWith("match.") || "match.".startsWith(only)) {
+                suite.loadSearch();
+            }
+            for (Map.Entry<String, Benchmark.Op> b : suite.benchmarks().entrySet()) {
+                if (!b.getKey().startsWith(only)) {
+                    continue;
+                }
+                Benchmark.Result r = harness.run(b.getKey(), b.getValue());
+                results.add(r);
+                System.out.println(r);
+            }
+
+            System.out.println(PropertyDAO.getCache());
+            System.out.println(TenantDAO.getCache());
+            System.out.println(LandlordDAO.getCache());
+            System.out.println(QueryResultCache.getInstance());
+            System.out.println(QueryMetrics.getInstance().report());
+            suite.async.close();
+            if (suite.analytics != null) {
+                System.out.println(suite.analytics);
+                suite.analytics.close();
+            }
+            if (suite.search != null) {
+                System.out.println(suite.search);
+                suite.search.close();
+            }
+
+            if (out != null) {
+                writeResults(out, results);
+                System.out.println("Results written to " + out);
+            }
+            if (baseline != null) {
+                Map<String, double[]> previous = readResults(baseline);
+                for (Benchmark.Result r : results) {
+                    double[] before = previous.get(r.name);
+                    if (before == null) {
+                        continue;
+                    }
+                    boolean slower = r.opsPerSecond() < before[0] * (1 - tolerance);
+                    boolean laggier = r.p99Nanos > before[1] * (1 + tolerance);
+                    if (slower || laggier) {
+                        regressions++;
+                        System.out.printf(Locale.ROOT, "[REGRESSION] %s: %.1f -> %.1f ops/s, p99 %.3f -> %.3f ms%n",
+                            r.name, before[0], r.opsPerSecond(), before[1] / 1e6, r.p99Nanos / 1e6);
+                    }
+                }
+                System.out.println(regressions + " regressions against " + baseline);
+            }
+        } catch (Exception e) {
+            System.err.println("Benchmark run failed: " + e.getMessage());
+            e.printStackTrace();
+            regressions = Math.max(regressions, 1);
+        } finally {
+            try {
+                DBConnection.getInstance().disconnect();
+            } catch (SQLException e) {
+                e.printStackTrace();
+            }
+        }
+
+        if (regressions > 0) {
+            System.exit(1);
+        }
+    }
+}
@@ -0,0 +1,146 @@
+/**
+ * Checks that the single-pass rewrites of the "above the group average" advanced queries (see dao.ReportPlan)
+ * return exactly the rows of the original correlated SQL on the configured database, and times both plans.
+ * Rows are compared as multisets, since ties in ORDER BY may come back in either order; the ordered reports are
+ * also checked to be sorted. Run it after changing either plan and after seeding a realistic data set with
+ * --scale, so the comparison covers more than the handful of sample rows.
+ *
+ * Usage: ReportPlanVerifier [--scale 1k|100k|1m] [--seed N] [--runs N]
+ *
+ * Exits with status 1 if any report differs.
+ *
+ * Date Last Modified: October 18, 2026
+ */
+package bench;
+
+import dao.PropertyDAO;
+import dao.ReportPlan;
+import dao.TenantDAO;
+import db.DBConnection;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+
+public class ReportPlanVerifier {
+
+    /**
+     * One plan of one report.
+     */
+    interface Report<T> {
+        List<T> run(ReportPlan plan) throws SQLException;
+    }
+
+    private final int runs;
+    private int mismatches = 0;
+
+    ReportPlanVerifier(int runs) {
+        this.runs = runs;
+    }
+
+    /**
+     * Run both plans of a report and compare their rows.
+     * @param name Report name for the output
+     * @param report The report, by plan
+     * @param row Values that identify a row, in a stable order; nulls allowed
+     * @param sortKey The ORDER BY value, descending; null if the report is unordered
+     * @throws SQLException
+     */
+    <T> void verify(String name, Report<T> report, Function<T, List<Object>> row, Function<T, Double> sortKey)
+            throws SQLException {
+        List<T> expected = report.run(ReportPlan.CORRELATED);
+        List<T> actual = report.run(ReportPlan.SINGLE_PASS);
+
+        Map<List<Object>, Integer> diff = new HashMap<>();
+        for (T r : expected) {
+            diff.merge(row.apply(r), 1, Integer::sum);
+        }
+        for (T r : actual) {
+            diff.merge(row.apply(r), -1, Integer::sum);
+        }
+        diff.values().removeIf(n -> n == 0);
+
+        int unsorted = 0;
+        if (sortKey != null) {
+            for (int i = 1; i < actual.size(); i++) {
+                if (sortKey.apply(actual.get(i)) > sortKey.apply(actual.get(i - 1))) {
+                    unsorted++;
+                }
+            }
+        }
+
+        if (diff.isEmpty() && unsorted == 0) {
+            System.out.printf(Locale.ROOT, "[OK] %s: %d rows%n", name, expected.size());
+        } else {
+            mismatches++;
+            System.out.printf(Locale.ROOT, "[MISMATCH] %s: %d rows correlated, %d single-pass, %d rows out of order%n",
+                name, expected.size(), actual.size(), unsorted);
+            diff.entrySet().stream().limit(10).forEach(e -> System.out.println("    "
+                + (e.getValue() > 0 ? "missing " : "extra ") + e.getKey() + " x" + Math.abs(e.getValue())));
+        }
+
+        System.out.printf(Locale.ROOT, "    correlated %.1f ms, single-pass %.1f ms (median of %d)%n",
+            median(report, ReportPlan.CORRELATED) / 1e6, median(report, ReportPlan.SINGLE_PASS) / 1e6, runs);
+    }
+
+    private <T> long median(Report<T> report, ReportPlan plan) throws SQLException {
+        long[] nanos = new long[runs];
+        for (int i = 0; i < runs; i++) {
+            long start = System.nanoTime();
+            report.run(plan);
+            nanos[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(nanos);
+        return nanos[runs / 2];
+    }
+
+    public static void main(String[] args) {
+        Integer scale = null;
+        long seed = 42;
+        int runs = 5;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--scale" -> scale = DaoBenchmarks.parseScale(args[++i]);
+                case "--seed" -> seed = Long.parseLong(args[++i]);
+                case "--runs" -> runs = Math.max(1, Integer.parseInt(args[++i]));
+                default -> System.err.println("Ignoring unknown option " + args[i]);
+            }
+        }
+
+        ReportPlanVerifier verifier = new ReportPlanVerifier(runs);
+        boolean failed = false;
+        try {
+            DBConnection.getInstance().connect();
+            if (scale != null) {
+                new BenchData(seed).seed(scale);
+            }
+
+            PropertyDAO propertyDAO = new PropertyDAO();
+            TenantDAO tenantDAO = new TenantDAO();
+            verifier.verify("propertiesAboveLandlordAverage", propertyDAO::getPropertiesAboveLandlordAverage,
+                s -> Arrays.asList(s.getPid(), s.getAddress(), s.getPrice(), s.getLlid(), s.getLandlordName()), null);
+            verifier.verify("tenantsPayingAboveAverageRent", tenantDAO::getTenantsPayingAboveAverageRent,
+                s -> Arrays.asList(s.getSsn(), s.getTenantName(), s.getPid(), s.getAddress(), s.getBed(), s.getPrice()),
+                s -> s.getRentPerBed());
+            verifier.verify("tenantsWithAboveAverageBudget", tenantDAO::getTenantsWithAboveAverageBudget,
+                s -> Arrays.asList(s.getFName(), s.getLName(), s.getBudget(), s.getPid()), s -> s.getBudget());
+        } catch (SQLException e) {
+            System.err.println("Verification failed: " + e.getMessage());
+            e.printStackTrace();
+            failed = true;
+        } finally {
+            try {
+                DBConnection.getInstance().disconnect();
+            } catch (SQLException e) {
+                e.printStackTrace();
+            }
+        }
+
+        if (failed || verifier.mismatches > 0) {
+            System.exit(1);
+        }
+    }
+}
@@ -0,0 +1,301 @@
+/**
+ * Non-blocking facade over PropertyDAO, TenantDAO and LandlordDAO. Every method starts the DAO call on its own
+ * thread and returns a CompletableFuture at once, so independent queries run concurrently and can be combined,
+ * e.g. a dashboard's three queries take about as long as the slowest of them instead of their sum:
+ *
+ *     CompletableFuture<List<LandlordPropertyStats>> vacancy = async.getLandlordsWithAvailableProperties();
+ *     CompletableFuture<List<LandlordTenantStats>> landlords = async.getLandlordTenantStats();
+ *     CompletableFuture<List<OverpayingTenantStats>> overpaying = async.getTenantsPayingAboveAverageRent();
+ *     CompletableFuture.allOf(vacancy, landlords, overpaying).join();
+ *
+ * Each task borrows its own pooled connection for the call, as the DAOs do. At most maxConcurrency tasks run
+ * at once; the rest wait for a permit rather than for a connection, so a burst of tasks cannot exhaust the pool
+ * and time out. Tasks run on virtual threads when the JVM has them (Java 21+), and otherwise on a cached pool of
+ * daemon threads, which behaves the same with a thread per running task.
+ *
+ * A failed call completes its future exceptionally with a CompletionException wrapping the SQLException.
+ *
+ * Date Last Modified: October 18, 2026
+ */
+package dao;
+
+import db.DBConnection;
+import java.sql.SQLException;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import model.Landlord;
+import model.Property;
+import model.Tenant;
+import model.dto.LandlordBedBathStats;
+import model.dto.LandlordPropertyStats;
+import model.dto.LandlordTenantStats;
+import model.dto.OverpayingTenantStats;
+import model.dto.PropertyLandlordStats;
+import model.dto.PropertyTenantStats;
+import model.dto.PropertyVacancyStats;
+import model.dto.TenantBudgetStats;
+
+public final class AsyncDAO implements AutoCloseable {
+
+    /**
+     * One blocking unit of DAO work.
+     */
+    public interface Work<T> {
+        T run() throws SQLException;
+    }
+
+    /**
+     * One blocking unit of DAO work without a result.
+     */
+    public interface VoidWork {
+        void run() throws SQLException;
+    }
+
+    private final PropertyDAO propertyDAO = new PropertyDAO();
+    private final TenantDAO tenantDAO = new TenantDAO();
+    private final LandlordDAO landlordDAO = new LandlordDAO();
+
+    private final ExecutorService executor = newExecutor();
+    private final Semaphore permits;
+    private final int maxConcurrency;
+    private final AtomicInteger running = new AtomicInteger();
+
+    /**
+     * Allow as many concurrent tasks as db.async.maxConcurrency, by default the pool's maximum size.
+     */
+    public AsyncDAO() {
+        this(DBConnection.getInstance().getIntSetting("db.async.maxConcurrency",
+            DBConnection.getInstance().getIntSetting("db.pool.maxSize", DBConnection.DEFAULT_POOL_MAX_SIZE)));
+    }
+
+    /**
+     * @param maxConcurrency Most tasks running at once; keep it at or below the pool's maximum size
+     */
+    public AsyncDAO(int maxConcurrency) {
+        if (maxConcurrency < 1) {
+            throw new IllegalArgumentException("maxConcurrency must be positive: " + maxConcurrency);
+        }
+        this.maxConcurrency = maxConcurrency;
+        this.permits = new Semaphore(maxConcurrency, true);
+    }
+
+    /**
+     * Run any blocking DAO work asynchronously, under the concurrency limit.
+     * @param work Work to run; it should borrow at most one connection at a time
+     * @return The work's result
+     */
+    public <T> CompletableFuture<T> supply(Work<T> work) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                permits.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new CompletionException(new SQLException("Interrupted while waiting to run a query", e));
+            }
+            running.incrementAndGet();
+            try {
+                return work.run();
+            } catch (SQLException e) {
+                throw new CompletionException(e);
+            } finally {
+                running.decrementAndGet();
+                permits.release();
+            }
+        }, executor);
+    }
+
+    /**
+     * Run a write asynchronously, under the concurrency limit.
+     */
+    public CompletableFuture<Void> run(VoidWork work) {
+        return supply(() -> {
+            work.run();
+            return null;
+        });
+    }
+
+    public int getMaxConcurrency() {
+        return maxConcurrency;
+    }
+
+    /**
+     * @return Number of tasks running right now, not counting those waiting for a permit
+     */
+    public int getRunning() {
+        return running.get();
+    }
+
+    /**
+     * Stop accepting tasks. Tasks already started run to completion.
+     */
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+
+    // PROPERTIES
+
+    public CompletableFuture<List<Property>> getAllProperties() {
+        return supply(propertyDAO::getAllProperties);
+    }
+
+    public CompletableFuture<Property> getPropertyByID(int PID) {
+        return supply(() -> propertyDAO.getPropertyByID(PID));
+    }
+
+    public CompletableFuture<List<Property>> getPropertiesPage(int afterPID, int limit) {
+        return supply(() -> propertyDAO.getPropertiesPage(afterPID, limit));
+    }
+
+    public CompletableFuture<Integer> countProperties() {
+        return supply(propertyDAO::countProperties);
+    }
+
+    public CompletableFuture<List<Property>> getPropertiesByLandlordID(int LLID) {
+        return supply(() -> propertyDAO.getPropertiesByLandlordID(LLID));
+    }
+
+    public CompletableFuture<List<PropertyVacancyStats>> getMostExpensiveProperties() {
+        return supply(propertyDAO::getMostExpensiveProperties);
+    }
+
+    public CompletableFuture<List<PropertyVacancyStats>> getCheapestProperties() {
+        return supply(propertyDAO::getCheapestProperties);
+    }
+
+    public CompletableFuture<List<PropertyTenantStats>> getPropertyTenantStats() {
+        return supply(propertyDAO::getPropertyTenantStats);
+    }
+
+    public CompletableFuture<List<PropertyLandlordStats>> getPropertiesAboveLandlordAverage() {
+        return supply(propertyDAO::getPropertiesAboveLandlordAverage);
+    }
+
+    public CompletableFuture<Property> insertProperty(Property p) {
+        return supply(() -> propertyDAO.insertProperty(p));
+    }
+
+    public CompletableFuture<List<Property>> insertProperties(Collection<Property> properties) {
+        return supply(() -> propertyDAO.insertAll(properties));
+    }
+
+    public CompletableFuture<Void> updateProperty(Property p) {
+        return run(() -> propertyDAO.updateProperty(p));
+    }
+
+    public CompletableFuture<Void> deleteProperty(int PID) {
+        return run(() -> propertyDAO.deleteProperty(PID));
+    }
+
+    // TENANTS
+
+    public CompletableFuture<List<Tenant>> getAllTenants() {
+        return supply(tenantDAO::getAllTenants);
+    }
+
+    public CompletableFuture<Tenant> getTenantBySSN(String ssn) {
+        return supply(() -> tenantDAO.getTenantBySSN(ssn));
+    }
+
+    public CompletableFuture<List<Tenant>> getTenantsPage(String afterSSN, int limit) {
+        return supply(() -> tenantDAO.getTenantsPage(afterSSN, limit));
+    }
+
+    public CompletableFuture<Integer> countTenants() {
+        return supply(tenantDAO::countTenants);
+    }
+
+    public CompletableFuture<List<OverpayingTenantStats>> getTenantsPayingAboveAverageRent() {
+        return supply(tenantDAO::getTenantsPayingAboveAverageRent);
+    }
+
+    public CompletableFuture<List<TenantBudgetStats>> getTenantsWithAboveAverageBudget() {
+        return supply(tenantDAO::getTenantsWithAboveAverageBudget);
+    }
+
+    public CompletableFuture<Void> insertTenant(Tenant t) {
+        return run(() -> tenantDAO.insertTenant(t));
+    }
+
+    public CompletableFuture<Void> insertTenants(Collection<Tenant> tenants) {
+        return run(() -> tenantDAO.insertAll(tenants));
+    }
+
+    public CompletableFuture<Void> updateTenant(Tenant t) {
+        return run(() -> tenantDAO.updateTenant(t));
+    }
+
+    public CompletableFuture<Void> deleteTenant(String ssn) {
+        return run(() -> tenantDAO.deleteTenant(ssn));
+    }
+
+    // LANDLORDS
+
+    public CompletableFuture<List<Landlord>> getAllLandlords() {
+        return supply(landlordDAO::getAllLandlords);
+    }
+
+    public CompletableFuture<Landlord> getLandlordByID(int LLID) {
+        return supply(() -> landlordDAO.getLandlordByID(LLID));
+    }
+
+    public CompletableFuture<List<Landlord>> getLandlordsPage(int afterLLID, int limit) {
+        return supply(() -> landlordDAO.getLandlordsPage(afterLLID, limit));
+    }
+
+    public CompletableFuture<Integer> countLandlords() {
+        return supply(landlordDAO::countLandlords);
+    }
+
+    public CompletableFuture<List<LandlordTenantStats>> getLandlordTenantStats() {
+        return supply(landlordDAO::getLandlordTenantStats);
+    }
+
+    public CompletableFuture<List<LandlordPropertyStats>> getLandlordsWithAvailableProperties() {
+        return supply(landlordDAO::getLandlordsWithAvailableProperties);
+    }
+
+    public CompletableFuture<List<LandlordBedBathStats>> getLandlordBedBathStats() {
+        return supply(landlordDAO::getLandlordBedBathStats);
+    }
+
+    public CompletableFuture<List<LandlordTenantStats>> getLandlordTenantsNoOffset() {
+        return supply(landlordDAO::getLandlordTenantsNoOffset);
+    }
+
+    public CompletableFuture<Landlord> insertLandlord(Landlord ll) {
+        return supply(() -> landlordDAO.insertLandlord(ll));
+    }
+
+    public CompletableFuture<List<Landlord>> insertLandlords(Collection<Landlord> landlords) {
+        return supply(() -> landlordDAO.insertAll(landlords));
+    }
+
+    public CompletableFuture<Void> updateLandlord(Landlord ll) {
+        return run(() -> landlordDAO.updateLandlord(ll));
+    }
+
+    public CompletableFuture<Void> deleteLandlord(int LLID) {
+        return run(() -> landlordDAO.deleteLandlord(LLID));
+    }
+
+    // Executors.newVirtualThreadPerTaskExecutor() is looked up reflectively so this compiles on Java 17
+    private static ExecutorService newExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            AtomicInteger threadCount = new AtomicInteger();
+            return Executors.newCachedThreadPool(r -> {
+                Thread t = new Thread(r, "async-dao-" + threadCount.incrementAndGet());
+                t.setDaemon(true);
+                return t;
+            });
+        }
+    }
+}
@@ -0,0 +1,147 @@
+/**
+ * Helper for the DAOs' bulk write methods. Runs one SQL statement over a collection of rows using JDBC batching,
+ * committing one transaction per chunk so a large load never holds locks for the whole collection.
+ * With rewriteBatchedStatements enabled, the driver sends each chunk of inserts as multi-row INSERTs.
+ *
+ * Date Last Modified: October 18, 2026
+ */
+package dao;
+
+import db.DBConnection;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+
+final class BatchExecutor {
+
+    static final int DEFAULT_BATCH_SIZE = 500;
+
+    /**
+     * Binds one row's values to the statement's parameters.
+     */
+    interface Binder<T> {
+        void bind(PreparedStatement stmt, T row) throws SQLException;
+    }
+
+    /**
+     * Receives the generated key for a row after its chunk has been committed.
+     */
+    interface KeyConsumer<T> {
+        void accept(T row, int key);
+    }
+
+    /**
+     * Runs extra statements in a chunk's transaction after the batch has executed and before it commits,
+     * e.g. to keep a summary table in step with the rows just written.
+     */
+    interface ChunkHook<T> {
+        void beforeCommit(Connection conn, List<T> chunk, List<Integer> generatedKeys) throws SQLException;
+    }
+
+    private BatchExecutor() { }
+
+    /**
+     * Execute sql once per row in chunks of batchSize, one transaction per chunk.
+     * If a chunk fails it is rolled back and the exception is rethrown; earlier chunks stay committed.
+     * @param db Connection manager to borrow from
+     * @param sql Parameterized statement to execute for every row
+     * @param rows Rows to write
+     * @param batchSize Rows per batch and per transaction
+     * @param binder Binds a row to the statement
+     * @param keys Receives generated keys in row order, or null if the statement generates none
+     * @throws SQLException if a chunk fails
+     */
+    static <T> void executeInChunks(DBConnection db, String sql, Collection<T> rows, int batchSize,
+                                    Binder<T> binder, KeyConsumer<T> keys) throws SQLException {
+        executeInChunks(db, sql, rows, batchSize, binder, keys, null);
+    }
+
+    /**
+     * Execute sql once per row in chunks of batchSize, one transaction per chunk, running hook in each
+     * chunk's transaction before it commits.
+     * If a chunk fails it is rolled back and the exception is rethrown; earlier chunks stay committed.
+     * @param db Connection manager to borrow from
+     * @param sql Parameterized statement to execute for every row
+     * @param rows Rows to write
+     * @param batchSize Rows per batch and per transaction
+     * @param binder Binds a row to the statement
+     * @param keys Receives generated keys in row order, or null if the statement generates none. A chunk that
+     *        does not generate one key per row is rolled back and fails.
+     * @param hook Runs before each chunk commits, or null
+     * @throws SQLException if a chunk fails
+     */
+    static <T> void executeInChunks(DBConnection db, String sql, Collection<T> rows, int batchSize,
+                                    Binder<T> binder, KeyConsumer<T> keys, ChunkHook<T> hook) throws SQLException {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("batchSize must be positive: " + batchSize);
+        }
+        if (rows.isEmpty()) {
+            return;
+        }
+
+        try (Connection conn = db.getConnection()) {
+            conn.setAutoCommit(false);
+
+            try (
+                PreparedStatement stmt = keys != null
+                    ? conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)
+                    : conn.prepareStatement(sql);
+            ) {
+                Iterator<T> it = rows.iterator();
+                List<T> chunk = new ArrayList<>(Math.min(batchSize, rows.size()));
+
+                while (it.hasNext()) {
+                    chunk.clear();
+                    while (it.hasNext() && chunk.size() < batchSize) {
+                        T row = it.next();
+                        binder.bind(stmt, row);
+                        stmt.addBatch();
+                        chunk.add(row);
+                    }
+
+                    try {
+                        stmt.executeBatch();
+                        List<Integer> generated = keys != null ? readKeys(stmt) : null;
+                        if (generated != null && generated.size() != chunk.size()) {
+                            // Handing out fewer keys would leave rows looking unsaved (ID 0)
+                            throw new SQLException("Expected " + chunk.size() + " generated keys for the batch, got "
+                                + generated.size());
+                        }
+                        if (hook != null) {
+                            hook.beforeCommit(conn, chunk, generated);
+                        }
+                        conn.commit();
+
+                        if (generated != null) {
+                            for (int i = 0; i < chunk.size(); i++) {
+                                keys.accept(chunk.get(i), generated.get(i));
+                            }
+                        }
+                    } catch (SQLException e) {
+                        stmt.clearBatch();
+                        conn.rollback(); // only the failing chunk is undone
+                        throw e;
+                    }
+                }
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        }
+    }
+
+    private static List<Integer> readKeys(PreparedStatement stmt) throws SQLException {
+        List<Integer> generated = new ArrayList<>();
+        try (ResultSet keys = stmt.getGeneratedKeys()) {
+            while (keys.next()) {
+                generated.add(keys.getInt(1));
+            }
+        }
+        return generated;
+    }
+}
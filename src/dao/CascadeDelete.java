@@ -0,0 +1,289 @@
+/**
+ * Set-based cascading delete for the DAOs' bulk delete methods. Deletes many rows of a table together with
+ * every row that depends on them, found by walking the schema's foreign keys (ForeignKeyGraph), so the DAOs do
+ * not hard-code which tables reference which.
+ *
+ * Keys are deleted a chunk at a time, one transaction per chunk, so no transaction holds its locks for longer
+ * than one chunk takes, however many rows the whole delete reaches. Within a chunk each dependent table is
+ * cleared with a single DELETE ... WHERE column IN (...), children before parents. A child table that has
+ * dependents of its own (Property under Landlord) is resolved to its keys and purged first, in chunks of its
+ * own, before the parent chunk's transaction. Every transaction leaves the foreign keys intact, so a delete
+ * that fails part way leaves some parents gone and the rest untouched, never orphans.
+ *
+ * Each committed chunk is published on the DataChangeBus with the keys it removed, and the PropertyOccupancy
+ * summary of properties losing residents is recounted in the same transaction.
+ *
+ * Date Last Modified: October 18, 2026
+ */
+package dao;
+
+import db.DBConnection;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+final class CascadeDelete {
+
+    static final int DEFAULT_CHUNK_SIZE = 500;
+
+    // The schema is read once; a restart picks up new foreign keys
+    private static volatile ForeignKeyGraph graph = null;
+
+    private final DBConnection db;
+    private final int chunkSize;
+    private final Map<String, Long> deleted = new LinkedHashMap<>(); // Rows deleted per table
+    private final Set<String> path = new LinkedHashSet<>();          // Tables being purged, to catch cycles
+
+    private CascadeDelete(DBConnection db, int chunkSize) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("chunkSize must be positive: " + chunkSize);
+        }
+        this.db = db;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Delete rows of a table by key, with everything that depends on them.
+     * @param db Connection manager to borrow from
+     * @param table Table to delete from, e.g. "Landlord"
+     * @param keyColumn Column the keys are in, normally the primary key
+     * @param keys Keys of the rows to delete; keys with no row are ignored
+     * @param chunkSize Keys per transaction, at every level
+     * @return Rows deleted per table, the given table first
+     * @throws SQLException if a chunk fails; chunks committed before it stay deleted
+     */
+    static Map<String, Long> delete(DBConnection db, String table, String keyColumn, Collection<?> keys,
+            int chunkSize) throws SQLException {
+        CascadeDelete delete = new CascadeDelete(db, chunkSize);
+        delete.deleted.put(table, 0L);
+        delete.purge(table, keyColumn, new ArrayList<>(new LinkedHashSet<>(keys)));
+        return delete.deleted;
+    }
+
+    private ForeignKeyGraph graph() throws SQLException {
+        ForeignKeyGraph g = graph;
+        if (g == null) {
+            try (Connection conn = db.getConnection()) {
+                g = ForeignKeyGraph.load(conn);
+            }
+            graph = g;
+        }
+        return g;
+    }
+
+    private void purge(String table, String keyColumn, List<?> keys) throws SQLException {
+        if (!path.add(table.toLowerCase(Locale.ROOT))) {
+            throw new SQLException("Cannot cascade a delete through the foreign key cycle " + path + " -> " + table);
+        }
+        try {
+            for (int from = 0; from < keys.size(); from += chunkSize) {
+                List<?> chunk = keys.subList(from, Math.min(keys.size(), from + chunkSize));
+                try {
+                    purgeChunk(table, keyColumn, chunk);
+                } catch (SQLException e) {
+                    // A dependent row inserted since the children were purged; purge again and retry once
+                    if (e.getSQLState() == null || !e.getSQLState().startsWith("23")) {
+                        throw e;
+                    }
+                    purgeChunk(table, keyColumn, chunk);
+                }
+            }
+        } finally {
+            path.remove(table.toLowerCase(Locale.ROOT));
+        }
+    }
+
+    private void purgeChunk(String table, String keyColumn, List<?> chunk) throws SQLException {
+        List<ForeignKeyGraph.Edge> leaves = new ArrayList<>();
+        for (ForeignKeyGraph.Edge e : graph().childrenOf(table)) {
+            if (graph().childrenOf(e.child).isEmpty()) {
+                leaves.add(e);
+                continue;
+            }
+            // The child has dependents of its own: purge it, by its own key, before this chunk
+            String childKey = graph().primaryKeyOf(e.child);
+            if (childKey == null) {
+                throw new SQLException("Cannot cascade a delete through " + e.child
+                    + ", which has dependents but no single-column primary key");
+            }
+            List<Object> parentValues = referencedValues(table, keyColumn, e, chunk);
+            purge(e.child, childKey, selectDistinct(e.child, childKey, e.column, parentValues));
+        }
+        deleteChunk(table, keyColumn, chunk, leaves);
+    }
+
+    // One transaction: the chunk's leaf dependents, then the chunk itself
+    private void deleteChunk(String table, String keyColumn, List<?> chunk, List<ForeignKeyGraph.Edge> leaves)
+            throws SQLException {
+        Map<DataChange.Table, List<Object>> changes = new EnumMap<>(DataChange.Table.class);
+
+        try (Connection conn = db.getConnection()) {
+            boolean originalAutoCommit = conn.getAutoCommit();
+            conn.setAutoCommit(false);
+
+            try {
+                Map<String, Long> counts = new LinkedHashMap<>();
+                for (ForeignKeyGraph.Edge e : leaves) {
+                    List<Object> values = referencedValues(conn, table, keyColumn, e, chunk);
+                    List<Object> changedKeys = changedKeys(conn, e.child, e.column, values);
+                    counts.merge(e.child, deleteWhereIn(conn, e.child, e.column, values), Long::sum);
+                    afterDelete(conn, e.child, e.column, changedKeys);
+                    record(changes, e.child, changedKeys);
+                }
+                List<Object> changedKeys = changedKeys(conn, table, keyColumn, chunk);
+                counts.merge(table, deleteWhereIn(conn, table, keyColumn, chunk), Long::sum);
+                record(changes, table, changedKeys);
+
+                conn.commit();
+                counts.forEach((t, n) -> deleted.merge(t, n, Long::sum));
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(originalAutoCommit);
+            }
+        }
+
+        DataChangeBus bus = DataChangeBus.getInstance();
+        changes.forEach((t, keys) -> {
+            if (!keys.isEmpty()) {
+                bus.publish(t, DataChange.Kind.DELETE, keys);
+            }
+        });
+    }
+
+    // Keeps the PropertyOccupancy summary right when residents are removed other than with their property
+    private static void afterDelete(Connection conn, String table, String column, List<Object> pids)
+            throws SQLException {
+        if (table.equalsIgnoreCase("LivesIn") && !column.equalsIgnoreCase("PID") && !pids.isEmpty()) {
+            List<Integer> ids = new ArrayList<>(pids.size());
+            for (Object pid : pids) {
+                ids.add(((Number) pid).intValue());
+            }
+            OccupancySummary.recount(conn, ids);
+        }
+    }
+
+    // The keys DataChange uses for a table: its own key, or the PID for LivesIn and LeasesFrom.
+    // Selected before the delete unless they are the keys being deleted by.
+    private static List<Object> changedKeys(Connection conn, String table, String column, List<?> values)
+            throws SQLException {
+        String keyColumn;
+        switch (table.toLowerCase(Locale.ROOT)) {
+            case "landlord":
+                keyColumn = "LLID";
+                break;
+            case "tenant":
+                keyColumn = "SSN";
+                break;
+            case "property":
+            case "livesin":
+            case "leasesfrom":
+                keyColumn = "PID";
+                break;
+            default:
+                return List.of();
+        }
+        if (keyColumn.equalsIgnoreCase(column)) {
+            return new ArrayList<>(values);
+        }
+        return selectDistinct(conn, table, keyColumn, column, values);
+    }
+
+    private static void record(Map<DataChange.Table, List<Object>> changes, String table, List<Object> keys) {
+        DataChange.Table t = switch (table.toLowerCase(Locale.ROOT)) {
+            case "landlord" -> DataChange.Table.LANDLORD;
+            case "property" -> DataChange.Table.PROPERTY;
+            case "tenant" -> DataChange.Table.TENANT;
+            case "livesin" -> DataChange.Table.LIVES_IN;
+            case "leasesfrom" -> DataChange.Table.LEASES_FROM;
+            default -> null;
+        };
+        if (t != null) {
+            changes.computeIfAbsent(t, k -> new ArrayList<>()).addAll(keys);
+        }
+    }
+
+    // The values of the parent column a foreign key references, for the chunk's rows
+    private List<Object> referencedValues(String table, String keyColumn, ForeignKeyGraph.Edge e, List<?> chunk)
+            throws SQLException {
+        if (e.referencedColumn.equalsIgnoreCase(keyColumn)) {
+            return new ArrayList<>(chunk);
+        }
+        try (Connection conn = db.getConnection()) {
+            return selectDistinct(conn, table, e.referencedColumn, keyColumn, chunk);
+        }
+    }
+
+    private static List<Object> referencedValues(Connection conn, String table, String keyColumn,
+            ForeignKeyGraph.Edge e, List<?> chunk) throws SQLException {
+        if (e.referencedColumn.equalsIgnoreCase(keyColumn)) {
+            return new ArrayList<>(chunk);
+        }
+        return selectDistinct(conn, table, e.referencedColumn, keyColumn, chunk);
+    }
+
+    private List<Object> selectDistinct(String table, String column, String whereColumn, List<?> values)
+            throws SQLException {
+        try (Connection conn = db.getConnection()) {
+            return selectDistinct(conn, table, column, whereColumn, values);
+        }
+    }
+
+    // Table and column names come from INFORMATION_SCHEMA or the DAOs, never from user input
+    private static List<Object> selectDistinct(Connection conn, String table, String column, String whereColumn,
+            List<?> values) throws SQLException {
+        List<Object> selected = new ArrayList<>();
+        if (values.isEmpty()) {
+            return selected;
+        }
+        String sql = "SELECT DISTINCT " + column + " FROM " + table + " WHERE " + whereColumn + " IN " + placeholders(values.size());
+
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            bind(stmt, values);
+            try (ResultSet results = stmt.executeQuery();) {
+                while (results.next()) {
+                    selected.add(results.getObject(1));
+                }
+            }
+        }
+        return selected;
+    }
+
+    private static long deleteWhereIn(Connection conn, String table, String column, List<?> values)
+            throws SQLException {
+        if (values.isEmpty()) {
+            return 0;
+        }
+        String sql = "DELETE FROM " + table + " WHERE " + column + " IN " + placeholders(values.size());
+
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            bind(stmt, values);
+            return stmt.executeUpdate();
+        }
+    }
+
+    private static void bind(PreparedStatement stmt, List<?> values) throws SQLException {
+        for (int i = 0; i < values.size(); i++) {
+            stmt.setObject(i + 1, values.get(i));
+        }
+    }
+
+    private static String placeholders(int n) {
+        StringBuilder sb = new StringBuilder(n * 3 + 2).append('(');
+        for (int i = 0; i < n; i++) {
+            sb.append(i == 0 ? "?" : ", ?");
+        }
+        return sb.append(')').toString();
+    }
+}
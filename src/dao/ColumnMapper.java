@@ -0,0 +1,250 @@
+/**
+ * Maps result set rows to objects of one class through its constructor, e.g.
+ *
+ *     ColumnMapper.of(Property.class, "PID", "LLID", "Price", "Bed", "Bath", "PetsAllowed", "Address")
+ *
+ * passes those columns, in that order, to Property's seven-argument constructor. Each column is read with the
+ * getter for its constructor parameter's type (getInt for int, getDouble for double, a LocalDate for LocalDate,
+ * and so on), so there is no per-row lookup by label and no boxing of primitive columns.
+ *
+ * The first time a mapper sees a result set with a given set of columns it resolves the column indexes from the
+ * ResultSetMetaData and compiles a MethodHandle that reads them and calls the constructor; later result sets of
+ * the same query reuse it. A mapper is immutable apart from that cache and can be shared by every DAO instance.
+ *
+ * Date Last Modified: October 18, 2026
+ */
+package dao;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.RecordComponent;
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+public final class ColumnMapper<T> {
+
+    private static final int MAX_PLANS = 64; // Column layouts cached per mapper; one per query is the norm
+    private static final MethodType ROW = MethodType.methodType(Object.class, ResultSet.class);
+    private static final Map<Class<?>, MethodHandle> GETTERS = getters();
+
+    /**
+     * A mapper bound to one result set: maps its current row.
+     */
+    public static final class Bound<T> {
+        private final ResultSet results;
+        private final MethodHandle row; // (ResultSet)Object
+
+        private Bound(ResultSet results, MethodHandle row) {
+            this.results = results;
+            this.row = row;
+        }
+
+        /**
+         * @return An object built from the result set's current row
+         * @throws SQLException if a column cannot be read
+         */
+        @SuppressWarnings("unchecked")
+        public T map() throws SQLException {
+            try {
+                return (T) (Object) row.invokeExact(results);
+            } catch (SQLException | RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new SQLException(e); // Constructors in the model do not throw checked exceptions
+            }
+        }
+    }
+
+    private final Class<T> type;
+    private final List<String> columns;
+    private final MethodHandle constructor;
+    private final Map<String, MethodHandle> plans = new ConcurrentHashMap<>(); // Column labels -> (ResultSet)Object
+
+    private ColumnMapper(Class<T> type, List<String> columns, MethodHandle constructor) {
+        this.type = type;
+        this.columns = columns;
+        this.constructor = constructor;
+    }
+
+    /**
+     * @param type Class to build; it needs exactly one public constructor taking as many arguments as there are
+     *             columns, not counting the canonical constructor of a record that has another, and every
+     *             parameter type must be readable (primitives, their wrappers, String, BigDecimal or LocalDate)
+     * @param columns Column labels to pass to the constructor, in parameter order; matched ignoring case
+     * @throws IllegalArgumentException if there is no such constructor
+     */
+    public static <T> ColumnMapper<T> of(Class<T> type, String... columns) {
+        Constructor<?> match = null;
+        for (Constructor<?> c : type.getConstructors()) {
+            if (c.getParameterCount() == columns.length && !isCompactCanonical(type, c)) {
+                if (match != null) {
+                    throw new IllegalArgumentException(type.getSimpleName() + " has several constructors taking "
+                        + columns.length + " arguments");
+                }
+                match = c;
+            }
+        }
+        if (match == null) {
+            throw new IllegalArgumentException(type.getSimpleName() + " has no public constructor taking "
+                + columns.length + " arguments");
+        }
+        for (Class<?> p : match.getParameterTypes()) {
+            getter(p); // Fail now rather than on the first query
+        }
+        try {
+            return new ColumnMapper<>(type, List.of(columns), MethodHandles.publicLookup().unreflectConstructor(match));
+        } catch (IllegalAccessException e) {
+            throw new IllegalArgumentException("Cannot call the constructor of " + type.getSimpleName(), e);
+        }
+    }
+
+    /**
+     * Bind the mapper to a result set, resolving its columns. Call once per result set, then map() per row.
+     * @param results Result set whose rows to map
+     * @throws SQLException if one of the mapper's columns is not in the result
+     */
+    public Bound<T> bind(ResultSet results) throws SQLException {
+        ResultSetMetaData meta = results.getMetaData();
+        int count = meta.getColumnCount();
+        StringBuilder key = new StringBuilder();
+        for (int i = 1; i <= count; i++) {
+            key.append(meta.getColumnLabel(i)).append('\0');
+        }
+
+        MethodHandle row = plans.get(key.toString());
+        if (row == null) {
+            row = compile(meta);
+            if (plans.size() < MAX_PLANS) {
+                plans.putIfAbsent(key.toString(), row);
+            }
+        }
+        return new Bound<>(results, row);
+    }
+
+    /**
+     * Map every remaining row of a result set.
+     * @param results Result set, before its first row to map
+     * @return The rows, in result set order
+     * @throws SQLException
+     */
+    public List<T> list(ResultSet results) throws SQLException {
+        List<T> rows = new ArrayList<>();
+        Bound<T> bound = bind(results);
+        while (results.next()) {
+            rows.add(bound.map());
+        }
+        return rows;
+    }
+
+    /**
+     * Map the next row of a result set.
+     * @param results Result set, before the row to map
+     * @return The row, or null if there are no more
+     * @throws SQLException
+     */
+    public T first(ResultSet results) throws SQLException {
+        return results.next() ? bind(results).map() : null;
+    }
+
+    @Override
+    public String toString() {
+        return "ColumnMapper [" + type.getSimpleName() + " <- " + columns + ", " + plans.size() + " layouts]";
+    }
+
+    // (ResultSet)Object: read each column with its parameter's getter and pass them all to the constructor
+    private MethodHandle compile(ResultSetMetaData meta) throws SQLException {
+        int count = meta.getColumnCount();
+        Class<?>[] parameters = constructor.type().parameterArray();
+        MethodHandle[] readers = new MethodHandle[parameters.length];
+        for (int p = 0; p < parameters.length; p++) {
+            int index = 0;
+            for (int i = 1; i <= count && index == 0; i++) {
+                if (meta.getColumnLabel(i).equalsIgnoreCase(columns.get(p))) {
+                    index = i;
+                }
+            }
+            if (index == 0) {
+                throw new SQLException("No column " + columns.get(p) + " to map to " + type.getSimpleName());
+            }
+            readers[p] = MethodHandles.insertArguments(getter(parameters[p]), 1, index);
+        }
+
+        MethodHandle row = MethodHandles.filterArguments(constructor, 0, readers);
+        row = MethodHandles.permuteArguments(row, MethodType.methodType(type, ResultSet.class), new int[parameters.length]);
+        return row.asType(ROW);
+    }
+
+    // (ResultSet, int)X for a constructor parameter of type X
+    private static MethodHandle getter(Class<?> type) {
+        MethodHandle getter = GETTERS.get(type);
+        if (getter == null) {
+            throw new IllegalArgumentException("Cannot map a column to a " + type.getSimpleName());
+        }
+        return getter;
+    }
+
+    // A record's canonical constructor when it also declares another one of the same arity (e.g. Property's
+    // taking the price in dollars rather than cents); the other one takes the column values
+    private static boolean isCompactCanonical(Class<?> type, Constructor<?> c) {
+        if (!type.isRecord()) {
+            return false;
+        }
+        RecordComponent[] components = type.getRecordComponents();
+        Class<?>[] parameters = c.getParameterTypes();
+        if (parameters.length != components.length) {
+            return false;
+        }
+        for (int i = 0; i < parameters.length; i++) {
+            if (parameters[i] != components[i].getType()) {
+                return false;
+            }
+        }
+        for (Constructor<?> other : type.getConstructors()) {
+            if (other != c && other.getParameterCount() == c.getParameterCount()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Map<Class<?>, MethodHandle> getters() {
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        Map<Class<?>, MethodHandle> getters = new ConcurrentHashMap<>();
+        try {
+            for (Class<?> type : Arrays.asList(int.class, long.class, double.class, float.class, short.class,
+                    boolean.class, String.class, BigDecimal.class)) {
+                String name = type == BigDecimal.class ? "getBigDecimal" : "get"
+                    + Character.toUpperCase(type.getSimpleName().charAt(0)) + type.getSimpleName().substring(1);
+                getters.put(type, lookup.findVirtual(ResultSet.class, name, MethodType.methodType(type, int.class)));
+            }
+            // Wrappers keep SQL NULL as null
+            MethodHandle getObject = lookup.findVirtual(ResultSet.class, "getObject",
+                MethodType.methodType(Object.class, int.class, Class.class));
+            for (Class<?> type : Arrays.asList(Integer.class, Long.class, Double.class, Boolean.class)) {
+                getters.put(type, MethodHandles.insertArguments(getObject, 2, type)
+                    .asType(MethodType.methodType(type, ResultSet.class, int.class)));
+            }
+            getters.put(LocalDate.class, lookup.findStatic(ColumnMapper.class, "getLocalDate",
+                MethodType.methodType(LocalDate.class, ResultSet.class, int.class)));
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+        return getters;
+    }
+
+    private static LocalDate getLocalDate(ResultSet results, int column) throws SQLException {
+        Date date = results.getDate(column);
+        return date == null ? null : date.toLocalDate();
+    }
+}
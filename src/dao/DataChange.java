@@ -0,0 +1,58 @@
+/**
+ * Describes a committed write made through the DAOs: which table changed, how, and which rows.
+ * Published on the DataChangeBus after the transaction commits, so caches and other derived views can
+ * invalidate or refresh exactly what changed.
+ *
+ * Date Last Modified: October 18, 2026
+ */
+package dao;
+
+import java.util.Collection;
+import java.util.List;
+
+public final class DataChange {
+
+    public enum Table { LANDLORD, PROPERTY, TENANT, LIVES_IN, LEASES_FROM }
+
+    public enum Kind { INSERT, UPDATE, DELETE }
+
+    private final Table table;
+    private final Kind kind;
+    private final List<Object> keys;
+
+    /**
+     * @param table Table that changed
+     * @param kind Kind of change
+     * @param keys Primary keys of the changed rows (LLID, PID or SSN). For LivesIn and LeasesFrom, the PIDs of
+     *             the affected properties. Empty if the rows are unknown, e.g. after a bulk load.
+     */
+    public DataChange(Table table, Kind kind, Collection<?> keys) {
+        this.table = table;
+        this.kind = kind;
+        this.keys = List.copyOf(keys);
+    }
+
+    public Table getTable() {
+        return table;
+    }
+
+    public Kind getKind() {
+        return kind;
+    }
+
+    public List<Object> getKeys() {
+        return keys;
+    }
+
+    /**
+     * @return True if the changed rows are unknown and the whole table should be treated as changed
+     */
+    public boolean isWholeTable() {
+        return keys.isEmpty();
+    }
+
+    @Override
+    public String toString() {
+        return kind + " " + table + (keys.isEmpty() ? " (all rows)" : " " + keys);
+    }
+}
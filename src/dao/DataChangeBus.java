@@ -0,0 +1,71 @@
+/**
+ * Delivers DataChange events from the DAOs to whoever keeps state derived from the database.
+ * Implements the Singleton design pattern so every DAO instance publishes to the same listeners.
+ *
+ * Events are delivered synchronously on the thread that made the write, after its transaction has committed.
+ * Listeners should be quick (e.g. drop a cache entry) and hand anything slow to their own thread.
+ *
+ * Date Last Modified: October 18, 2026
+ */
+package dao;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+public final class DataChangeBus {
+
+    private static final DataChangeBus INSTANCE = new DataChangeBus();
+
+    private final List<Consumer<DataChange>> listeners = new CopyOnWriteArrayList<>();
+
+    private DataChangeBus() { }
+
+    /**
+     * Get the singleton instance of DataChangeBus.
+     * @return The singleton DataChangeBus instance.
+     */
+    public static DataChangeBus getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Register a listener for every future change.
+     * @param listener Called once per change
+     */
+    public void addListener(Consumer<DataChange> listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Stop delivering changes to a listener.
+     * @param listener Previously registered listener
+     */
+    public void removeListener(Consumer<DataChange> listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Deliver a change to every listener. A listener that throws is logged and does not stop the others.
+     * Only call this after the change has been committed.
+     * @param change The committed change
+     */
+    public void publish(DataChange change) {
+        for (Consumer<DataChange> listener : listeners) {
+            try {
+                listener.accept(change);
+            } catch (RuntimeException e) {
+                System.err.println("DataChange listener failed on " + change + ": " + e.getMessage());
+                e.printStackTrace();
+            }
+        }
+    }
+
+    /**
+     * Convenience for publish(new DataChange(table, kind, keys)).
+     */
+    public void publish(DataChange.Table table, DataChange.Kind kind, Collection<?> keys) {
+        publish(new DataChange(table, kind, keys));
+    }
+}
@@ -0,0 +1,170 @@
+/**
+ * A bounded, in-process cache of entities read by primary key, used by the DAOs' single-row lookups.
+ * Entries are evicted least recently used first once the cache is full, and expire after a fixed time to live.
+ * The DAOs invalidate entries from DataChange events, so a committed write is never followed by a stale read.
+ *
+ * Entities are immutable records, so the cache hands out the objects it holds; no caller can change what the
+ * next caller sees.
+ *
+ * Date Last Modified: October 18, 2026
+ */
+package dao;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+public final class EntityCache<K, V> {
+
+    private static final class Entry<V> {
+        final V value;
+        final long expiresAt;
+
+        Entry(V value, long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    private final String name;
+    private final int maxSize;
+    private final long ttlNanos;
+    private final LinkedHashMap<K, Entry<V>> entries;
+
+    // Bumped by every invalidation. A lookup that started before an invalidation does not store its result,
+    // since it may have read the row before the write committed.
+    private long generation = 0;
+
+    private long hits = 0;
+    private long misses = 0;
+    private long evictions = 0;
+    private long expirations = 0;
+
+    /**
+     * @param name Name used in the stats output
+     * @param maxSize Maximum number of entries; 0 disables the cache
+     * @param ttlMillis Time an entry stays valid after it was loaded
+     */
+    EntityCache(String name, int maxSize, long ttlMillis) {
+        this.name = name;
+        this.maxSize = maxSize;
+        this.ttlNanos = ttlMillis * 1_000_000L;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                if (size() > EntityCache.this.maxSize) {
+                    evictions++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * @param key Primary key
+     * @return The cached entity, or null if it is not cached or has expired
+     */
+    synchronized V get(K key) {
+        Entry<V> entry = entries.get(key);
+        if (entry == null) {
+            misses++;
+            return null;
+        }
+        if (System.nanoTime() - entry.expiresAt > 0) {
+            entries.remove(key);
+            expirations++;
+            misses++;
+            return null;
+        }
+        hits++;
+        return entry.value;
+    }
+
+    /**
+     * @return Token to pass to putIfUnchanged; take it before reading from the database
+     */
+    synchronized long generation() {
+        return generation;
+    }
+
+    /**
+     * Cache an entity read from the database, unless something was invalidated since the read started.
+     * @param key Primary key
+     * @param value Entity read from the database
+     * @param readGeneration Value of generation() taken before the read
+     */
+    synchronized void putIfUnchanged(K key, V value, long readGeneration) {
+        if (maxSize > 0 && value != null && readGeneration == generation) {
+            entries.put(key, new Entry<>(value, System.nanoTime() + ttlNanos));
+        }
+    }
+
+    /**
+     * Drop one entity.
+     * @param key Primary key
+     */
+    synchronized void invalidate(Object key) {
+        entries.remove(key);
+        generation++;
+    }
+
+    /**
+     * Drop the entities a change touched, if it is a change to the given table.
+     * @param change Committed change
+     * @param table Table this cache holds rows of
+     */
+    void invalidate(DataChange change, DataChange.Table table) {
+        if (change.getTable() != table) {
+            return;
+        }
+        if (change.isWholeTable()) {
+            invalidateAll();
+            return;
+        }
+        for (Object key : change.getKeys()) {
+            invalidate(key);
+        }
+    }
+
+    /**
+     * Drop every entity.
+     */
+    public synchronized void invalidateAll() {
+        entries.clear();
+        generation++;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    public synchronized long getEvictions() {
+        return evictions;
+    }
+
+    public synchronized long getExpirations() {
+        return expirations;
+    }
+
+    /**
+     * @return Fraction of lookups served from the cache, or 0 before the first lookup
+     */
+    public synchronized double getHitRate() {
+        long lookups = hits + misses;
+        return lookups == 0 ? 0 : (double) hits / lookups;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return String.format("%s cache: %d/%d entries, %.1f%% hit rate (%d hits, %d misses, %d evicted, %d expired)",
+            name, entries.size(), maxSize, getHitRate() * 100, hits, misses, evictions, expirations);
+    }
+}
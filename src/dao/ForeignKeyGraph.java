@@ -0,0 +1,102 @@
+/**
+ * The foreign keys of the current schema, read from INFORMATION_SCHEMA.KEY_COLUMN_USAGE the same way
+ * db/Dependencies.sql finds the tables that reference Tenant. CascadeDelete walks it to find every table a
+ * delete has to reach, so a table added later with a foreign key to Property, say, is cleaned up without
+ * changing the DAOs.
+ *
+ * Date Last Modified: October 18, 2026
+ */
+package dao;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+final class ForeignKeyGraph {
+
+    /**
+     * A foreign key: child.column references parent.referencedColumn.
+     */
+    static final class Edge {
+        final String child;
+        final String column;
+        final String parent;
+        final String referencedColumn;
+
+        Edge(String child, String column, String parent, String referencedColumn) {
+            this.child = child;
+            this.column = column;
+            this.parent = parent;
+            this.referencedColumn = referencedColumn;
+        }
+    }
+
+    private static final String FOREIGN_KEYS =
+        "SELECT TABLE_NAME, COLUMN_NAME, REFERENCED_TABLE_NAME, REFERENCED_COLUMN_NAME " +
+        "FROM INFORMATION_SCHEMA.KEY_COLUMN_USAGE " +
+        "WHERE TABLE_SCHEMA = DATABASE() AND REFERENCED_TABLE_NAME IS NOT NULL " +
+        "ORDER BY TABLE_NAME, COLUMN_NAME";
+
+    private static final String PRIMARY_KEYS =
+        "SELECT TABLE_NAME, COLUMN_NAME " +
+        "FROM INFORMATION_SCHEMA.KEY_COLUMN_USAGE " +
+        "WHERE TABLE_SCHEMA = DATABASE() AND CONSTRAINT_NAME = 'PRIMARY'";
+
+    // Keyed by lower-case table name
+    private final Map<String, List<Edge>> children = new HashMap<>();
+    private final Map<String, List<String>> primaryKeys = new HashMap<>();
+
+    private ForeignKeyGraph() { }
+
+    /**
+     * Read the foreign and primary keys of the connection's current database.
+     * @param conn Connection to read with
+     * @throws SQLException
+     */
+    static ForeignKeyGraph load(Connection conn) throws SQLException {
+        ForeignKeyGraph graph = new ForeignKeyGraph();
+        try (
+            PreparedStatement fks = conn.prepareStatement(FOREIGN_KEYS);
+            ResultSet results = fks.executeQuery();
+        ) {
+            while (results.next()) {
+                Edge e = new Edge(results.getString(1), results.getString(2), results.getString(3), results.getString(4));
+                graph.children.computeIfAbsent(key(e.parent), k -> new ArrayList<>()).add(e);
+            }
+        }
+        try (
+            PreparedStatement pks = conn.prepareStatement(PRIMARY_KEYS);
+            ResultSet results = pks.executeQuery();
+        ) {
+            while (results.next()) {
+                graph.primaryKeys.computeIfAbsent(key(results.getString(1)), k -> new ArrayList<>()).add(results.getString(2));
+            }
+        }
+        return graph;
+    }
+
+    /**
+     * @return The foreign keys that reference table
+     */
+    List<Edge> childrenOf(String table) {
+        return children.getOrDefault(key(table), List.of());
+    }
+
+    /**
+     * @return The table's primary key column, or null if it has none or it spans several columns
+     */
+    String primaryKeyOf(String table) {
+        List<String> columns = primaryKeys.get(key(table));
+        return columns == null || columns.size() != 1 ? null : columns.get(0);
+    }
+
+    private static String key(String table) {
+        return table.toLowerCase(Locale.ROOT);
+    }
+}
@@ -2,7 +2,7 @@
  * Data Access Object (DAO) for Landlord entity.
  * 
  * @author Andrew Peirce
- * Date Last Modified: December 7, 2025
+ * Date Last Modified: October 18, 2026
  */
 package dao;
 
@@ -15,11 +15,37 @@ import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.function.Consumer;
 
 public class LandlordDAO {
+
+    // Shared by every LandlordDAO; invalidated by committed writes to Landlord
+    private static final EntityCache<Integer, Landlord> CACHE = new EntityCache<>(
+        "Landlord",
+        DBConnection.getInstance().getIntSetting("db.cache.maxEntities", 10_000),
+        DBConnection.getInstance().getIntSetting("db.cache.ttlMs", 60_000)
+    );
+
+    static {
+        DataChangeBus.getInstance().addListener(change -> CACHE.invalidate(change, DataChange.Table.LANDLORD));
+    }
+
+    // Row mappers, compiled per query on first use (see ColumnMapper)
+    private static final ColumnMapper<Landlord> LANDLORD = ColumnMapper.of(Landlord.class,
+        "LLID", "Name", "PhoneNum", "Email");
+    private static final ColumnMapper<LandlordBedBathStats> LANDLORD_BED_BATH_STATS = ColumnMapper.of(
+        LandlordBedBathStats.class, "LandlordID", "LandlordName", "Bed", "Bath", "PropertyCount");
+    private static final ColumnMapper<LandlordTenantStats> LANDLORD_TENANTS_NO_OFFSET = ColumnMapper.of(
+        LandlordTenantStats.class, "LLID", "LandlordName", "NumTenants");
+
     private final DBConnection db;
+    private final ReportEngine reports = new ReportEngine(); // Runs the parameterized advanced queries
 
     public LandlordDAO() {
         db = DBConnection.getInstance();
@@ -35,16 +61,13 @@ public class LandlordDAO {
         List<Landlord> landlords = new ArrayList<>();
 
         try (
-            PreparedStatement stmt = db.getConnection().prepareStatement(sql);
+            Connection conn = db.getConnection();
+            PreparedStatement stmt = conn.prepareStatement(sql);
             ResultSet results = stmt.executeQuery();
         ) {
+            ColumnMapper.Bound<Landlord> rows = LANDLORD.bind(results);
             while (results.next()) {
-            landlords.add(new Landlord(
-                results.getInt("LLID"),
-                results.getString("Name"),
-                results.getString("PhoneNum"),
-                results.getString("Email")
-            ));
+                landlords.add(rows.map());
             }
         }
 
@@ -52,33 +75,132 @@ public class LandlordDAO {
     }
 
     /**
-     * Retrieve a landlord by their LLID.
+     * Retrieve a landlord by their LLID. Served from the entity cache when possible.
      * @param LLID Landlord ID
      * @return Landlord object or null if not found
      * @throws SQLException
      */
     public Landlord getLandlordByID(int LLID) throws SQLException {
+        Landlord cached = CACHE.get(LLID);
+        if (cached != null) {
+            return cached;
+        }
+        long generation = CACHE.generation();
+
         String sql = "SELECT * FROM Landlord WHERE LLID = ?";
         Landlord landlord = null;
         try (
-            PreparedStatement stmt = db.getConnection().prepareStatement(sql);
+            Connection conn = db.getConnection();
+            PreparedStatement stmt = conn.prepareStatement(sql);
         ) {
             stmt.setInt(1, LLID);
             try (ResultSet results = stmt.executeQuery();) {
-                if (results.next()) {
-                    landlord = new Landlord(
-                        results.getInt("LLID"),
-                        results.getString("Name"),
-                        results.getString("PhoneNum"),
-                        results.getString("Email")
-                    );
-                }
+                landlord = LANDLORD.first(results);
             }
         }
 
+        CACHE.putIfUnchanged(LLID, landlord, generation);
         return landlord;
     }
 
+    /**
+     * @return The cache in front of getLandlordByID, for its hit-rate statistics
+     */
+    public static EntityCache<Integer, Landlord> getCache() {
+        return CACHE;
+    }
+
+    /**
+     * Stream every landlord to a callback without building the table in memory.
+     * Rows are fetched from a server-side cursor fetchSize rows at a time.
+     * @param fetchSize Rows fetched per round trip
+     * @param action Called once per landlord, in LLID order
+     * @throws SQLException
+     */
+    public void forEachLandlord(int fetchSize, Consumer<Landlord> action) throws SQLException {
+        String sql = "SELECT * FROM Landlord ORDER BY LLID";
+
+        try (
+            Connection conn = db.getConnection();
+            PreparedStatement stmt = conn.prepareStatement(sql);
+        ) {
+            stmt.setFetchSize(fetchSize);
+            try (ResultSet results = stmt.executeQuery();) {
+                ColumnMapper.Bound<Landlord> rows = LANDLORD.bind(results);
+                while (results.next()) {
+                    action.accept(rows.map());
+                }
+            }
+        }
+    }
+
+    /**
+     * Retrieve one page of landlords using keyset pagination on LLID.
+     * Pass 0 for the first page, then the LLID of the last landlord of the previous page.
+     * @param afterLLID Only landlords with an LLID greater than this are returned
+     * @param limit Maximum number of landlords to return
+     * @return Up to limit landlords in LLID order
+     * @throws SQLException
+     */
+    public List<Landlord> getLandlordsPage(int afterLLID, int limit) throws SQLException {
+        String sql = "SELECT * FROM Landlord WHERE LLID > ? ORDER BY LLID LIMIT ?";
+        List<Landlord> landlords = new ArrayList<>(limit);
+
+        try (
+            Connection conn = db.getConnection();
+            PreparedStatement stmt = conn.prepareStatement(sql);
+        ) {
+            stmt.setInt(1, afterLLID);
+            stmt.setInt(2, limit);
+            try (ResultSet results = stmt.executeQuery();) {
+                ColumnMapper.Bound<Landlord> rows = LANDLORD.bind(results);
+                while (results.next()) {
+                    landlords.add(rows.map());
+                }
+            }
+        }
+
+        return landlords;
+    }
+
+    /**
+     * Count the landlords in the database.
+     * @return Number of rows in the Landlord table
+     * @throws SQLException
+     */
+    public int countLandlords() throws SQLException {
+        String sql = "SELECT COUNT(*) FROM Landlord";
+
+        try (
+            Connection conn = db.getConnection();
+            PreparedStatement stmt = conn.prepareStatement(sql);
+            ResultSet results = stmt.executeQuery();
+        ) {
+            return results.next() ? results.getInt(1) : 0;
+        }
+    }
+
+    /**
+     * Find the LLID at a given position in LLID order. Used to start keyset pagination at an arbitrary row;
+     * the scan only touches the primary key index.
+     * @param offset Zero-based position
+     * @return The LLID at that position, or null if offset is past the last row
+     * @throws SQLException
+     */
+    public Integer getLandlordKeyAt(int offset) throws SQLException {
+        String sql = "SELECT LLID FROM Landlord ORDER BY LLID LIMIT 1 OFFSET ?";
+
+        try (
+            Connection conn = db.getConnection();
+            PreparedStatement stmt = conn.prepareStatement(sql);
+        ) {
+            stmt.setInt(1, offset);
+            try (ResultSet results = stmt.executeQuery();) {
+                return results.next() ? results.getInt(1) : null;
+            }
+        }
+    }
+
     /**
      * DEPRECATED: This method is too similar to getLandlordTenantStats().
      * Used previously as an advanced query example.
@@ -123,32 +245,17 @@ public class LandlordDAO {
      * @throws SQLException
      */
     public List<LandlordTenantStats> getLandlordTenantStats() throws SQLException {
-        String sql = "SELECT ll.LLID, ll.Name, COUNT(t.SSN) AS TotalTenants " +
-                     "FROM Landlord ll LEFT JOIN Property p ON ll.LLID = p.LLID " +
-                     "LEFT JOIN LivesIn li ON p.PID = li.PID " +
-                     "LEFT JOIN Tenant t ON li.SSN = t.SSN " +
-                     "GROUP BY ll.LLID, ll.Name " +
-                     "HAVING COUNT(t.SSN) > 2 " +
-                     "ORDER BY TotalTenants DESC " +
-                     "LIMIT 20 " +
-                     "OFFSET 5";
-
-        List<LandlordTenantStats> stats = new ArrayList<>();
-
-        try (
-            PreparedStatement stmt = db.getConnection().prepareStatement(sql);
-            ResultSet results = stmt.executeQuery();
-        ) {
-            while (results.next()) {
-                stats.add(new LandlordTenantStats(
-                    results.getInt("LLID"),
-                    results.getString("Name"),
-                    results.getInt("TotalTenants")
-                ));
-            }
-        }
+        return QueryResultCache.getInstance().get("LandlordDAO.getLandlordTenantStats", List.of(),
+            EnumSet.of(DataChange.Table.LANDLORD, DataChange.Table.PROPERTY, DataChange.Table.LIVES_IN, DataChange.Table.TENANT),
+            this::queryLandlordTenantStats);
+    }
 
-        return stats;
+    // Runs the query behind getLandlordTenantStats; results are cached by QueryResultCache
+    private List<LandlordTenantStats> queryLandlordTenantStats() throws SQLException {
+        return reports.page(Reports.LANDLORD_TENANTS, new ReportQuery()
+            .where(Reports.MIN_TENANTS, 3)
+            .skip(5)
+            .pageSize(20)).getRows();
     }
 
     /**
@@ -159,29 +266,15 @@ public class LandlordDAO {
      * @throws SQLException
      */
     public List<LandlordPropertyStats> getLandlordsWithAvailableProperties() throws SQLException {
-        String sql = "SELECT l.LLID, l.Name, l.Email, COUNT(p.PID) AS AvailableProperties " +
-                     "FROM Landlord l " +
-                     "JOIN Property AS p ON l.LLID = p.LLID " +
-                     "LEFT JOIN LivesIn AS li ON p.PID = li.PID " +
-                     "WHERE li.PID IS NULL " +
-                     "GROUP BY l.LLID, l.Name, l.Email " +
-                     "HAVING COUNT(p.PID) > 3";
-        List<LandlordPropertyStats> stats = new ArrayList<>();
+        return QueryResultCache.getInstance().get("LandlordDAO.getLandlordsWithAvailableProperties", List.of(),
+            EnumSet.of(DataChange.Table.LANDLORD, DataChange.Table.PROPERTY, DataChange.Table.LIVES_IN),
+            this::queryLandlordsWithAvailableProperties);
+    }
 
-        try (
-            PreparedStatement stmt = db.getConnection().prepareStatement(sql);
-            ResultSet results = stmt.executeQuery();
-        ) {
-            while (results.next()) {
-                stats.add(new LandlordPropertyStats(
-                    results.getInt("LLID"),
-                    results.getString("Name"),
-                    results.getString("Email"),
-                    results.getInt("AvailableProperties")
-                ));
-            }
-        }
-        return stats;
+    // Runs the query behind getLandlordsWithAvailableProperties; results are cached by QueryResultCache
+    private List<LandlordPropertyStats> queryLandlordsWithAvailableProperties() throws SQLException {
+        return reports.all(Reports.LANDLORD_VACANCIES, new ReportQuery()
+            .where(Reports.MIN_AVAILABLE, 4));
     }
 
     /**
@@ -192,6 +285,13 @@ public class LandlordDAO {
      * @throws SQLException
      */
     public List<LandlordBedBathStats> getLandlordBedBathStats() throws SQLException {
+        return QueryResultCache.getInstance().get("LandlordDAO.getLandlordBedBathStats", List.of(),
+            EnumSet.of(DataChange.Table.LANDLORD, DataChange.Table.PROPERTY),
+            this::queryLandlordBedBathStats);
+    }
+
+    // Runs the query behind getLandlordBedBathStats; results are cached by QueryResultCache
+    private List<LandlordBedBathStats> queryLandlordBedBathStats() throws SQLException {
         String sql = "SELECT l.LLID AS LandlordID, l.Name AS LandlordName, p.Bed, p.Bath, COUNT(*) AS PropertyCount " +
                      "FROM Landlord AS l JOIN Property AS p ON l.LLID = p.LLID " +
                      "GROUP BY l.LLID, l.Name, p.Bed, p.Bath " +
@@ -200,17 +300,13 @@ public class LandlordDAO {
         List<LandlordBedBathStats> stats = new ArrayList<>();
 
         try (
-            PreparedStatement stmt = db.getConnection().prepareStatement(sql);
+            Connection conn = db.getConnection();
+            PreparedStatement stmt = conn.prepareStatement(sql);
             ResultSet results = stmt.executeQuery();
         ) {
+            ColumnMapper.Bound<LandlordBedBathStats> rows = LANDLORD_BED_BATH_STATS.bind(results);
             while (results.next()) {
-                stats.add(new LandlordBedBathStats(
-                    results.getInt("LandlordID"),
-                    results.getString("LandlordName"),
-                    results.getInt("Bed"),
-                    results.getDouble("Bath"),
-                    results.getInt("PropertyCount")
-                ));
+                stats.add(rows.map());
             }
         }
 
@@ -227,6 +323,13 @@ public class LandlordDAO {
      * @throws SQLException
      */
     public List<LandlordTenantStats> getLandlordTenantsNoOffset() throws SQLException {
+        return QueryResultCache.getInstance().get("LandlordDAO.getLandlordTenantsNoOffset", List.of(),
+            EnumSet.of(DataChange.Table.LANDLORD, DataChange.Table.PROPERTY, DataChange.Table.LIVES_IN, DataChange.Table.TENANT),
+            this::queryLandlordTenantsNoOffset);
+    }
+
+    // Runs the query behind getLandlordTenantsNoOffset; results are cached by QueryResultCache
+    private List<LandlordTenantStats> queryLandlordTenantsNoOffset() throws SQLException {
         String sql = "SELECT l.LLID, l.Name AS LandlordName, COUNT(t.SSN) AS NumTenants " +
                      "FROM Landlord AS l JOIN Property AS p ON l.LLID = p.LLID " +
                      "JOIN LivesIn AS li ON p.PID = li.PID " +
@@ -237,15 +340,13 @@ public class LandlordDAO {
         List<LandlordTenantStats> stats = new ArrayList<>();
 
         try (
-            PreparedStatement stmt = db.getConnection().prepareStatement(sql);
+            Connection conn = db.getConnection();
+            PreparedStatement stmt = conn.prepareStatement(sql);
             ResultSet results = stmt.executeQuery();
         ) {
+            ColumnMapper.Bound<LandlordTenantStats> rows = LANDLORD_TENANTS_NO_OFFSET.bind(results);
             while (results.next()) {
-                stats.add(new LandlordTenantStats(
-                    results.getInt("LLID"),
-                    results.getString("LandlordName"),
-                    results.getInt("NumTenants")
-                ));
+                stats.add(rows.map());
             }
         }
 
@@ -254,19 +355,121 @@ public class LandlordDAO {
 
     /**
      * Insert a new landlord into the database.
-     * @param ll Landlord object to insert
+     * @param ll Landlord object to insert; its LLID is ignored
+     * @return The landlord with its generated LLID
      * @throws SQLException
      */
-    public void insertLandlord(Landlord ll) throws SQLException {
+    public Landlord insertLandlord(Landlord ll) throws SQLException {
         String sql = "INSERT INTO Landlord (Name, PhoneNum, Email) VALUES (?, ?, ?)";
         try (
-            PreparedStatement stmt = db.getConnection().prepareStatement(sql);
+            Connection conn = db.getConnection();
+            PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS);
         ) {
             stmt.setString(1, ll.getName());
             stmt.setString(2, ll.getPhoneNum());
             stmt.setString(3, ll.getEmail());
             stmt.executeUpdate();
+            try (ResultSet keys = stmt.getGeneratedKeys()) {
+                if (keys.next()) {
+                    ll = ll.withLLID(keys.getInt(1));
+                }
+            }
+        }
+        DataChangeBus.getInstance().publish(DataChange.Table.LANDLORD, DataChange.Kind.INSERT, List.of(ll.getLLID()));
+        return ll;
+    }
+
+    /**
+     * Insert many landlords using batched, chunked transactions.
+     * @param landlords Landlords to insert
+     * @return The landlords with their generated LLIDs, in the order given
+     * @throws SQLException
+     */
+    public List<Landlord> insertAll(Collection<Landlord> landlords) throws SQLException {
+        return insertAll(landlords, BatchExecutor.DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * Insert many landlords using batched, chunked transactions.
+     * @param landlords Landlords to insert
+     * @param batchSize Rows per batch and per transaction
+     * @return The landlords with their generated LLIDs, in the order given
+     * @throws SQLException
+     */
+    public List<Landlord> insertAll(Collection<Landlord> landlords, int batchSize) throws SQLException {
+        String sql = "INSERT INTO Landlord (Name, PhoneNum, Email) VALUES (?, ?, ?)";
+        List<Integer> inserted = new ArrayList<>();
+        List<Landlord> saved = new ArrayList<>(landlords.size());
+        try {
+            BatchExecutor.executeInChunks(db, sql, landlords, batchSize, (stmt, ll) -> {
+                stmt.setString(1, ll.getName());
+                stmt.setString(2, ll.getPhoneNum());
+                stmt.setString(3, ll.getEmail());
+            }, (ll, llid) -> {
+                saved.add(ll.withLLID(llid));
+                inserted.add(llid);
+            });
+        } finally {
+            // Chunks committed before a failure stay committed
+            if (!inserted.isEmpty()) {
+                DataChangeBus.getInstance().publish(DataChange.Table.LANDLORD, DataChange.Kind.INSERT, inserted);
+            }
+        }
+        return saved;
+    }
+
+    /**
+     * Insert or update many landlords. Landlords with an LLID are written with
+     * INSERT ... ON DUPLICATE KEY UPDATE; landlords without one are inserted.
+     * @param landlords Landlords to write
+     * @return The landlords with their LLIDs, generated for the inserted ones, in the order given
+     * @throws SQLException
+     */
+    public List<Landlord> upsertAll(Collection<Landlord> landlords) throws SQLException {
+        return upsertAll(landlords, BatchExecutor.DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * Insert or update many landlords. Landlords with an LLID are written with
+     * INSERT ... ON DUPLICATE KEY UPDATE; landlords without one are inserted.
+     * @param landlords Landlords to write
+     * @param batchSize Rows per batch and per transaction
+     * @return The landlords with their LLIDs, generated for the inserted ones, in the order given
+     * @throws SQLException
+     */
+    public List<Landlord> upsertAll(Collection<Landlord> landlords, int batchSize) throws SQLException {
+        String sql = "INSERT INTO Landlord (LLID, Name, PhoneNum, Email) VALUES (?, ?, ?, ?) " +
+                     "ON DUPLICATE KEY UPDATE Name = VALUES(Name), PhoneNum = VALUES(PhoneNum), Email = VALUES(Email)";
+
+        List<Landlord> existing = new ArrayList<>();
+        List<Landlord> fresh = new ArrayList<>();
+        for (Landlord ll : landlords) {
+            (ll.getLLID() > 0 ? existing : fresh).add(ll);
         }
+
+        try {
+            BatchExecutor.executeInChunks(db, sql, existing, batchSize, (stmt, ll) -> {
+                stmt.setInt(1, ll.getLLID());
+                stmt.setString(2, ll.getName());
+                stmt.setString(3, ll.getPhoneNum());
+                stmt.setString(4, ll.getEmail());
+            }, null);
+        } finally {
+            // Some chunks may have committed even if a later one failed, so always invalidate
+            if (!existing.isEmpty()) {
+                List<Integer> llids = new ArrayList<>(existing.size());
+                for (Landlord ll : existing) {
+                    llids.add(ll.getLLID());
+                }
+                DataChangeBus.getInstance().publish(DataChange.Table.LANDLORD, DataChange.Kind.UPDATE, llids);
+            }
+        }
+        Iterator<Landlord> inserted = insertAll(fresh, batchSize).iterator();
+        List<Landlord> saved = new ArrayList<>(landlords.size());
+        for (Landlord ll : landlords) {
+            saved.add(ll.getLLID() > 0 ? ll : inserted.next());
+        }
+        return saved;
     }
 
     /**
@@ -277,7 +480,8 @@ public class LandlordDAO {
     public void updateLandlord(Landlord ll) throws SQLException {
         String sql = "UPDATE Landlord SET Name = ?, PhoneNum = ?, Email = ? WHERE LLID = ?";
         try (
-            PreparedStatement stmt = db.getConnection().prepareStatement(sql);
+            Connection conn = db.getConnection();
+            PreparedStatement stmt = conn.prepareStatement(sql);
         ) {
             stmt.setString(1, ll.getName());
             stmt.setString(2, ll.getPhoneNum());
@@ -285,6 +489,7 @@ public class LandlordDAO {
             stmt.setInt(4, ll.getLLID());
             stmt.executeUpdate();
         }
+        DataChangeBus.getInstance().publish(DataChange.Table.LANDLORD, DataChange.Kind.UPDATE, List.of(ll.getLLID()));
     }
 
     /**
@@ -295,50 +500,96 @@ public class LandlordDAO {
     public void deleteLandlord(int LLID) throws SQLException {
         // To maintain referential integrity, delete related records first
         // (Could call delete method from PropertyDAO but this would create a dependency)
+        String selectProperties = "SELECT PID FROM Property WHERE LLID = ?";
         String deleteFromLivesIn = "DELETE FROM LivesIn WHERE PID IN (SELECT PID FROM Property WHERE LLID = ?)";
         String deleteFromLeasesFrom = "DELETE FROM LeasesFrom WHERE PID IN (SELECT PID FROM Property WHERE LLID = ?)";
         String deleteFromProperty = "DELETE FROM Property WHERE LLID = ?";
         String deleteFromLandlord = "DELETE FROM Landlord WHERE LLID = ?";
 
-        Connection conn = db.getConnection();
-        boolean originalAutoCommit = conn.getAutoCommit();
-        conn.setAutoCommit(false);
+        try (Connection conn = db.getConnection()) {
+            boolean originalAutoCommit = conn.getAutoCommit();
+            conn.setAutoCommit(false);
+
+            try (
+                PreparedStatement stmt0 = conn.prepareStatement(deleteFromLivesIn);
+                PreparedStatement stmt1 = conn.prepareStatement(deleteFromLeasesFrom);
+                PreparedStatement stmt2 = conn.prepareStatement(deleteFromProperty);
+                PreparedStatement stmt3 = conn.prepareStatement(deleteFromLandlord);
+                PreparedStatement select = conn.prepareStatement(selectProperties);
+            ) {
+                // Remember which properties the delete cascades to, for the change events
+                List<Integer> pids = new ArrayList<>();
+                select.setInt(1, LLID);
+                try (ResultSet results = select.executeQuery();) {
+                    while (results.next()) {
+                        pids.add(results.getInt("PID"));
+                    }
+                }
 
-        try (
-            PreparedStatement stmt0 = conn.prepareStatement(deleteFromLivesIn);
-            PreparedStatement stmt1 = conn.prepareStatement(deleteFromLeasesFrom);
-            PreparedStatement stmt2 = conn.prepareStatement(deleteFromProperty);
-            PreparedStatement stmt3 = conn.prepareStatement(deleteFromLandlord);
-        ) {
-            // Delete from LivesIn table
-            stmt0.setInt(1, LLID);
-            stmt0.executeUpdate();
+                // Delete from LivesIn table
+                stmt0.setInt(1, LLID);
+                stmt0.executeUpdate();
 
-            // Delete from LeasesFrom table
-            stmt1.setInt(1, LLID);
-            stmt1.executeUpdate();
+                // Delete from LeasesFrom table
+                stmt1.setInt(1, LLID);
+                stmt1.executeUpdate();
 
-            // Delete from Property table
-            stmt2.setInt(1, LLID);
-            stmt2.executeUpdate();
+                // Drop the occupancy summary rows of the landlord's properties
+                OccupancySummary.removeLandlordProperties(conn, LLID);
 
-            // Delete from Landlord table
-            stmt3.setInt(1, LLID);
-            int rows = stmt3.executeUpdate();
+                // Delete from Property table
+                stmt2.setInt(1, LLID);
+                stmt2.executeUpdate();
 
-            if (rows == 0) {
-                throw new SQLException("No landlord found with LLID: " + LLID);
-            }
+                // Delete from Landlord table
+                stmt3.setInt(1, LLID);
+                int rows = stmt3.executeUpdate();
 
-            conn.commit(); // only commit if all deletions succeed
-        } catch (SQLException e) {
-            conn.rollback(); // undo changes on error
-            throw e;
-        } finally {
-            conn.setAutoCommit(originalAutoCommit); // restore original setting
+                if (rows == 0) {
+                    throw new SQLException("No landlord found with LLID: " + LLID);
+                }
+
+                conn.commit(); // only commit if all deletions succeed
+
+                DataChangeBus bus = DataChangeBus.getInstance();
+                if (!pids.isEmpty()) {
+                    bus.publish(DataChange.Table.LIVES_IN, DataChange.Kind.DELETE, pids);
+                    bus.publish(DataChange.Table.LEASES_FROM, DataChange.Kind.DELETE, pids);
+                    bus.publish(DataChange.Table.PROPERTY, DataChange.Kind.DELETE, pids);
+                }
+                bus.publish(DataChange.Table.LANDLORD, DataChange.Kind.DELETE, List.of(LLID));
+            } catch (SQLException e) {
+                conn.rollback(); // undo changes on error
+                throw e;
+            } finally {
+                conn.setAutoCommit(originalAutoCommit); // restore original setting
+            }
         }
     }
 
+    /**
+     * Delete many landlords with their properties and everything that references those, in chunked
+     * transactions of CascadeDelete.DEFAULT_CHUNK_SIZE. A large portfolio is purged a chunk of properties at a
+     * time, so LivesIn is never locked for the whole portfolio at once. LLIDs with no landlord are ignored.
+     * @param LLIDs Landlord IDs
+     * @return Number of landlords deleted
+     * @throws SQLException if a chunk fails; chunks committed before it stay deleted
+     */
+    public int deleteLandlords(Collection<Integer> LLIDs) throws SQLException {
+        return deleteLandlords(LLIDs, CascadeDelete.DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * Delete many landlords with their properties and everything that references those, in chunked transactions.
+     * @param LLIDs Landlord IDs
+     * @param chunkSize Keys per transaction, for landlords and for their properties
+     * @return Number of landlords deleted
+     * @throws SQLException if a chunk fails; chunks committed before it stay deleted
+     */
+    public int deleteLandlords(Collection<Integer> LLIDs, int chunkSize) throws SQLException {
+        return CascadeDelete.delete(db, "Landlord", "LLID", LLIDs, chunkSize).get("Landlord").intValue();
+    }
+
     // public static void main(String[] args) {
     //     try {
     //         // DBConnection.getInstance().connect();
@@ -0,0 +1,203 @@
+/**
+ * Data Access Object (DAO) for the LivesIn relationship between tenants and properties.
+ * Every change also updates the property's row in the PropertyOccupancy summary, in the same transaction,
+ * and is published on the DataChangeBus once committed.
+ *
+ * Date Last Modified: October 18, 2026
+ */
+package dao;
+
+import db.DBConnection;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiConsumer;
+
+public class LivesInDAO {
+
+    private final DBConnection db; // Singleton connection pool manager
+
+    public LivesInDAO() {
+        db = DBConnection.getInstance(); // Connections are borrowed from the pool per call
+    }
+
+    /**
+     * Stream every LivesIn row to a callback without building the table in memory.
+     * Rows are fetched from a server-side cursor fetchSize rows at a time.
+     * @param fetchSize Rows fetched per round trip
+     * @param action Called with the tenant's SSN and the property's PID of every row, in PID order
+     * @throws SQLException
+     */
+    public void forEachResidence(int fetchSize, BiConsumer<String, Integer> action) throws SQLException {
+        String sql = "SELECT SSN, PID FROM LivesIn ORDER BY PID";
+
+        try (
+            Connection conn = db.getConnection();
+            PreparedStatement stmt = conn.prepareStatement(sql);
+        ) {
+            stmt.setFetchSize(fetchSize);
+            try (ResultSet results = stmt.executeQuery();) {
+                while (results.next()) {
+                    action.accept(results.getString("SSN"), results.getInt("PID"));
+                }
+            }
+        }
+    }
+
+    /**
+     * Retrieve the SSNs of the tenants living in a property.
+     * @param PID Property ID
+     * @return SSNs of the property's residents
+     * @throws SQLException
+     */
+    public List<String> getResidents(int PID) throws SQLException {
+        String sql = "SELECT SSN FROM LivesIn WHERE PID = ?";
+        List<String> residents = new ArrayList<>();
+
+        try (
+            Connection conn = db.getConnection();
+            PreparedStatement stmt = conn.prepareStatement(sql);
+        ) {
+            stmt.setInt(1, PID);
+            try (ResultSet results = stmt.executeQuery();) {
+                while (results.next()) {
+                    residents.add(results.getString("SSN"));
+                }
+            }
+        }
+
+        return residents;
+    }
+
+    /**
+     * Record that a tenant lives in a property.
+     * @param ssn Tenant's SSN
+     * @param PID Property ID
+     * @throws SQLException
+     */
+    public void moveIn(String ssn, int PID) throws SQLException {
+        String sql = "INSERT INTO LivesIn (SSN, PID) VALUES (?, ?)";
+
+        try (Connection conn = db.getConnection()) {
+            boolean originalAutoCommit = conn.getAutoCommit();
+            conn.setAutoCommit(false);
+
+            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                stmt.setString(1, ssn);
+                stmt.setInt(2, PID);
+                stmt.executeUpdate();
+
+                OccupancySummary.adjustOccupancy(conn, PID, 1);
+
+                conn.commit();
+                DataChangeBus.getInstance().publish(DataChange.Table.LIVES_IN, DataChange.Kind.INSERT, List.of(PID));
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(originalAutoCommit);
+            }
+        }
+    }
+
+    /**
+     * Record that a tenant no longer lives in a property.
+     * @param ssn Tenant's SSN
+     * @param PID Property ID
+     * @throws SQLException if the tenant does not live in the property
+     */
+    public void moveOut(String ssn, int PID) throws SQLException {
+        String sql = "DELETE FROM LivesIn WHERE SSN = ? AND PID = ?";
+
+        try (Connection conn = db.getConnection()) {
+            boolean originalAutoCommit = conn.getAutoCommit();
+            conn.setAutoCommit(false);
+
+            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                stmt.setString(1, ssn);
+                stmt.setInt(2, PID);
+                int rows = stmt.executeUpdate();
+
+                if (rows == 0) {
+                    throw new SQLException("Tenant " + ssn + " does not live in Property " + PID);
+                }
+                OccupancySummary.adjustOccupancy(conn, PID, -1);
+
+                conn.commit();
+                DataChangeBus.getInstance().publish(DataChange.Table.LIVES_IN, DataChange.Kind.DELETE, List.of(PID));
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(originalAutoCommit);
+            }
+        }
+    }
+
+    /**
+     * Write many residences at once, with a lease for each, in a single transaction: either every row is
+     * written or none is. LivesIn rows are sent in JDBC batches of batchSize; the matching LeasesFrom rows are
+     * then derived from LivesIn with one INSERT ... SELECT, so the two tables cannot disagree. The
+     * PropertyOccupancy summary is rebuilt in the same transaction.
+     * @param ssns Tenants' SSNs; ssns[i] moves into pids[i]
+     * @param pids Property IDs
+     * @param count Number of residences to write from the arrays
+     * @param rentAgreement RentAgreement of the new leases
+     * @param replace Whether to delete every existing LivesIn and LeasesFrom row first
+     * @param batchSize Rows per JDBC batch
+     * @throws SQLException if any row fails; nothing is written
+     */
+    public void seedResidences(String[] ssns, int[] pids, int count, String rentAgreement, boolean replace,
+            int batchSize) throws SQLException {
+        String sql = "INSERT INTO LivesIn (SSN, PID) VALUES (?, ?)";
+        // Also gives a lease to any existing resident without one
+        String leasesSql = "INSERT INTO LeasesFrom (SSN, PID, RentAgreement) "
+            + "SELECT li.SSN, li.PID, ? FROM LivesIn li "
+            + "LEFT JOIN LeasesFrom lf ON lf.SSN = li.SSN AND lf.PID = li.PID "
+            + "WHERE lf.SSN IS NULL";
+
+        try (Connection conn = db.getConnection()) {
+            boolean originalAutoCommit = conn.getAutoCommit();
+            conn.setAutoCommit(false);
+
+            try (
+                PreparedStatement stmt = conn.prepareStatement(sql);
+                PreparedStatement leases = conn.prepareStatement(leasesSql);
+            ) {
+                if (replace) {
+                    try (Statement clear = conn.createStatement()) {
+                        clear.executeUpdate("DELETE FROM LeasesFrom");
+                        clear.executeUpdate("DELETE FROM LivesIn");
+                    }
+                }
+                for (int i = 0; i < count; i++) {
+                    stmt.setString(1, ssns[i]);
+                    stmt.setInt(2, pids[i]);
+                    stmt.addBatch();
+                    if ((i + 1) % batchSize == 0) {
+                        stmt.executeBatch();
+                    }
+                }
+                stmt.executeBatch();
+
+                leases.setString(1, rentAgreement);
+                leases.executeUpdate();
+
+                OccupancySummary.rebuild(conn);
+
+                conn.commit();
+                DataChangeBus.getInstance().publish(DataChange.Table.LIVES_IN, DataChange.Kind.INSERT, List.of());
+                DataChangeBus.getInstance().publish(DataChange.Table.LEASES_FROM, DataChange.Kind.INSERT, List.of());
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(originalAutoCommit);
+            }
+        }
+    }
+}
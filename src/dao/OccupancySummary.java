@@ -0,0 +1,164 @@
+/**
+ * Maintains the PropertyOccupancy summary table (see db/PropertyOccupancy.sql), which stores each property's
+ * current occupancy, vacant beds and price per bed so the vacancy queries can read them directly instead of
+ * aggregating Property LEFT JOIN LivesIn on every call.
+ *
+ * Every method takes the caller's connection so the summary is updated in the same transaction as the
+ * Property or LivesIn change that caused it.
+ *
+ * Date Last Modified: October 18, 2026
+ */
+package dao;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Collection;
+
+final class OccupancySummary {
+
+    // Creates the row for a new property, or recomputes vacancy and price per bed after Bed or Price changed.
+    // In the UPDATE clause, Occupancy refers to the existing row's value. A property without beds has no price
+    // per bed: strict mode rejects a division by zero in an INSERT ... SELECT, failing the whole write.
+    private static final String REFRESH_PROPERTY =
+        "INSERT INTO PropertyOccupancy (PID, Occupancy, VacantBeds, PricePerBed) " +
+        "SELECT p.PID, 0, p.Bed, CASE WHEN p.Bed > 0 THEN ROUND(p.Price / p.Bed, 2) END FROM Property p WHERE p.PID = ? " +
+        "ON DUPLICATE KEY UPDATE VacantBeds = VALUES(VacantBeds) - Occupancy, PricePerBed = VALUES(PricePerBed)";
+
+    private static final String ADJUST_OCCUPANCY =
+        "UPDATE PropertyOccupancy SET Occupancy = Occupancy + ?, VacantBeds = VacantBeds - ? WHERE PID = ?";
+
+    private static final String REMOVE_TENANT =
+        "UPDATE PropertyOccupancy o JOIN LivesIn li ON li.PID = o.PID " +
+        "SET o.Occupancy = o.Occupancy - 1, o.VacantBeds = o.VacantBeds + 1 " +
+        "WHERE li.SSN = ?";
+
+    private static final String REMOVE_PROPERTY = "DELETE FROM PropertyOccupancy WHERE PID = ?";
+
+    private static final String REMOVE_LANDLORD_PROPERTIES =
+        "DELETE FROM PropertyOccupancy WHERE PID IN (SELECT PID FROM Property WHERE LLID = ?)";
+
+    private static final String RECOUNT =
+        "UPDATE PropertyOccupancy o JOIN Property p ON p.PID = o.PID " +
+        "SET o.Occupancy = (SELECT COUNT(*) FROM LivesIn li WHERE li.PID = o.PID), " +
+        "o.VacantBeds = p.Bed - (SELECT COUNT(*) FROM LivesIn li WHERE li.PID = o.PID) " +
+        "WHERE o.PID IN ";
+
+    private static final String REBUILD =
+        "INSERT INTO PropertyOccupancy (PID, Occupancy, VacantBeds, PricePerBed) " +
+        "SELECT p.PID, COUNT(li.SSN), p.Bed - COUNT(li.SSN), CASE WHEN p.Bed > 0 THEN ROUND(p.Price / p.Bed, 2) END " +
+        "FROM Property p LEFT JOIN LivesIn li ON p.PID = li.PID " +
+        "GROUP BY p.PID, p.Bed, p.Price";
+
+    private OccupancySummary() { }
+
+    /**
+     * Create or refresh the summary rows of properties that were inserted or whose Bed or Price changed.
+     * @param conn Connection holding the caller's transaction
+     * @param pids Property IDs
+     * @throws SQLException
+     */
+    static void refreshProperties(Connection conn, Collection<Integer> pids) throws SQLException {
+        if (pids.isEmpty()) {
+            return;
+        }
+        try (PreparedStatement stmt = conn.prepareStatement(REFRESH_PROPERTY)) {
+            for (int pid : pids) {
+                stmt.setInt(1, pid);
+                stmt.addBatch();
+            }
+            stmt.executeBatch();
+        }
+    }
+
+    /**
+     * Record tenants moving into (positive delta) or out of (negative delta) a property.
+     * @param conn Connection holding the caller's transaction
+     * @param pid Property ID
+     * @param delta Change in the number of tenants
+     * @throws SQLException
+     */
+    static void adjustOccupancy(Connection conn, int pid, int delta) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(ADJUST_OCCUPANCY)) {
+            stmt.setInt(1, delta);
+            stmt.setInt(2, delta);
+            stmt.setInt(3, pid);
+            stmt.executeUpdate();
+        }
+    }
+
+    /**
+     * Free the beds a tenant occupies. Must run before the tenant's LivesIn rows are deleted.
+     * @param conn Connection holding the caller's transaction
+     * @param ssn Tenant's SSN
+     * @throws SQLException
+     */
+    static void removeTenant(Connection conn, String ssn) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(REMOVE_TENANT)) {
+            stmt.setString(1, ssn);
+            stmt.executeUpdate();
+        }
+    }
+
+    /**
+     * Delete a property's summary row. Must run before the Property row is deleted.
+     * @param conn Connection holding the caller's transaction
+     * @param pid Property ID
+     * @throws SQLException
+     */
+    static void removeProperty(Connection conn, int pid) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(REMOVE_PROPERTY)) {
+            stmt.setInt(1, pid);
+            stmt.executeUpdate();
+        }
+    }
+
+    /**
+     * Delete the summary rows of every property a landlord owns. Must run before the Property rows are deleted.
+     * @param conn Connection holding the caller's transaction
+     * @param llid Landlord ID
+     * @throws SQLException
+     */
+    static void removeLandlordProperties(Connection conn, int llid) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(REMOVE_LANDLORD_PROPERTIES)) {
+            stmt.setInt(1, llid);
+            stmt.executeUpdate();
+        }
+    }
+
+    /**
+     * Recount the occupancy of some properties from LivesIn. Used after residents are deleted in bulk.
+     * @param conn Connection holding the caller's transaction
+     * @param pids Property IDs
+     * @throws SQLException
+     */
+    static void recount(Connection conn, Collection<Integer> pids) throws SQLException {
+        if (pids.isEmpty()) {
+            return;
+        }
+        StringBuilder in = new StringBuilder("(");
+        for (int i = 0; i < pids.size(); i++) {
+            in.append(i == 0 ? "?" : ", ?");
+        }
+        try (PreparedStatement stmt = conn.prepareStatement(RECOUNT + in.append(')'))) {
+            int i = 1;
+            for (int pid : pids) {
+                stmt.setInt(i++, pid);
+            }
+            stmt.executeUpdate();
+        }
+    }
+
+    /**
+     * Recompute the whole summary from Property and LivesIn. Used after bulk changes that bypass the DAOs.
+     * @param conn Connection holding the caller's transaction
+     * @throws SQLException
+     */
+    static void rebuild(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            stmt.executeUpdate("DELETE FROM PropertyOccupancy");
+            stmt.executeUpdate(REBUILD);
+        }
+    }
+}
@@ -2,7 +2,7 @@
  * Data Access Object (DAO) class for Property entities.
  * 
  * @author Andrew Peirce
- * Date Last Modified: December 9, 2025
+ * Date Last Modified: October 18, 2026
  */
 package dao;
 
@@ -11,19 +11,43 @@ import model.dto.PropertyTenantStats;
 import model.dto.PropertyVacancyStats;
 import db.DBConnection;
 import model.Property;
+import java.math.BigDecimal;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.function.Consumer;
 
 public class PropertyDAO {
 
-    private final DBConnection db; // Singleton DB connection instance
+    // Shared by every PropertyDAO; invalidated by committed writes to Property, including landlord cascades
+    private static final EntityCache<Integer, Property> CACHE = new EntityCache<>(
+        "Property",
+        DBConnection.getInstance().getIntSetting("db.cache.maxEntities", 10_000),
+        DBConnection.getInstance().getIntSetting("db.cache.ttlMs", 60_000)
+    );
+
+    static {
+        DataChangeBus.getInstance().addListener(change -> CACHE.invalidate(change, DataChange.Table.PROPERTY));
+    }
+
+    // Row mappers, compiled per query on first use (see ColumnMapper)
+    private static final ColumnMapper<Property> PROPERTY = ColumnMapper.of(Property.class,
+        "PID", "LLID", "Price", "Bed", "Bath", "PetsAllowed", "Address");
+    private static final ColumnMapper<PropertyLandlordStats> PROPERTY_LANDLORD_STATS = ColumnMapper.of(
+        PropertyLandlordStats.class, "PID", "Address", "Price", "LLID", "LandlordName");
+
+    private final DBConnection db; // Singleton connection pool manager
+    private final ReportEngine reports = new ReportEngine(); // Runs the parameterized advanced queries
 
     public PropertyDAO() {
-        db = DBConnection.getInstance(); // Initialize DB connection
+        db = DBConnection.getInstance(); // Connections are borrowed from the pool per call
     }
 
     /**
@@ -37,19 +61,13 @@ public class PropertyDAO {
         List<Property> properties = new ArrayList<>();
 
         try (
-            PreparedStatement stmt = db.getConnection().prepareStatement(sql);
+            Connection conn = db.getConnection();
+            PreparedStatement stmt = conn.prepareStatement(sql);
             ResultSet results = stmt.executeQuery();
         ) {
+            ColumnMapper.Bound<Property> rows = PROPERTY.bind(results);
             while (results.next()) {
-                properties.add(new Property(
-                    results.getInt("PID"),
-                    results.getInt("LLID"),
-                    results.getDouble("price"),
-                    results.getInt("bed"),
-                    results.getDouble("bath"),
-                    results.getBoolean("petsAllowed"),
-                    results.getString("address")
-                ));
+                properties.add(rows.map());
             }
         }
 
@@ -57,72 +75,151 @@ public class PropertyDAO {
     }
 
     /**
-     * Retrieve a property by its PID.
+     * Retrieve a property by its PID. Served from the entity cache when possible.
      * @param PID Property ID
      * @return Property object or null if not found
      * @throws SQLException
      */
     public Property getPropertyByID(int PID) throws SQLException {
+        Property cached = CACHE.get(PID);
+        if (cached != null) {
+            return cached;
+        }
+        long generation = CACHE.generation();
+
         String sql = "SELECT * FROM Property WHERE PID = ?";
         Property property = null;
 
         try (
-            PreparedStatement stmt = db.getConnection().prepareStatement(sql);
+            Connection conn = db.getConnection();
+            PreparedStatement stmt = conn.prepareStatement(sql);
         ) {
             stmt.setInt(1, PID);
             try (ResultSet results = stmt.executeQuery();) {
-                if (results.next()) {
-                    property = new Property(
-                        results.getInt("PID"),
-                        results.getInt("LLID"),
-                        results.getDouble("Price"),
-                        results.getInt("Bed"),
-                        results.getDouble("Bath"),
-                        results.getBoolean("PetsAllowed"),
-                        results.getString("Address")
-                    );
-                }
+                property = PROPERTY.first(results);
             }
         }
 
+        CACHE.putIfUnchanged(PID, property, generation);
         return property;
     }
 
     /**
-     * Advanced Query: Retrieve the top 10 most expensive properties with at least one vacant bed.
-     * (Written and integrated by Andrew Peirce)
-     * 
-     * @return List of PropertyVacancyStats objects
+     * @return The cache in front of getPropertyByID, for its hit-rate statistics
+     */
+    public static EntityCache<Integer, Property> getCache() {
+        return CACHE;
+    }
+
+    /**
+     * Stream every property to a callback without building the table in memory.
+     * Rows are fetched from a server-side cursor fetchSize rows at a time.
+     * @param fetchSize Rows fetched per round trip
+     * @param action Called once per property, in PID order
      * @throws SQLException
      */
-    public List<PropertyVacancyStats> getMostExpensiveProperties() throws SQLException {
-        String sql = "SELECT p.PID, p.Address, p.Price, p.Bed, COUNT(li.SSN) As CurrentOccupancy, (p.bed - COUNT(li.SSN)) AS VacantBeds " +
-                     "FROM Property p " +
-                     "LEFT JOIN LivesIn li ON p.PID = li.PID " +
-                     "GROUP BY p.PID, p.Address, p.Price, p.Bed " +
-                     "HAVING VacantBeds > 0 " +
-                     "ORDER BY p.Price DESC " +
-                     "LIMIT 10";
+    public void forEachProperty(int fetchSize, Consumer<Property> action) throws SQLException {
+        String sql = "SELECT * FROM Property ORDER BY PID";
+
+        try (
+            Connection conn = db.getConnection();
+            PreparedStatement stmt = conn.prepareStatement(sql);
+        ) {
+            stmt.setFetchSize(fetchSize);
+            try (ResultSet results = stmt.executeQuery();) {
+                ColumnMapper.Bound<Property> rows = PROPERTY.bind(results);
+                while (results.next()) {
+                    action.accept(rows.map());
+                }
+            }
+        }
+    }
 
-        List<PropertyVacancyStats> stats = new ArrayList<>();
+    /**
+     * Retrieve one page of properties using keyset pagination on PID.
+     * Pass 0 for the first page, then the PID of the last property of the previous page.
+     * @param afterPID Only properties with a PID greater than this are returned
+     * @param limit Maximum number of properties to return
+     * @return Up to limit properties in PID order
+     * @throws SQLException
+     */
+    public List<Property> getPropertiesPage(int afterPID, int limit) throws SQLException {
+        String sql = "SELECT * FROM Property WHERE PID > ? ORDER BY PID LIMIT ?";
+        List<Property> properties = new ArrayList<>(limit);
 
         try (
-            PreparedStatement stmt = db.getConnection().prepareStatement(sql);
+            Connection conn = db.getConnection();
+            PreparedStatement stmt = conn.prepareStatement(sql);
+        ) {
+            stmt.setInt(1, afterPID);
+            stmt.setInt(2, limit);
+            try (ResultSet results = stmt.executeQuery();) {
+                ColumnMapper.Bound<Property> rows = PROPERTY.bind(results);
+                while (results.next()) {
+                    properties.add(rows.map());
+                }
+            }
+        }
+
+        return properties;
+    }
+
+    /**
+     * Count the properties in the database.
+     * @return Number of rows in the Property table
+     * @throws SQLException
+     */
+    public int countProperties() throws SQLException {
+        String sql = "SELECT COUNT(*) FROM Property";
+
+        try (
+            Connection conn = db.getConnection();
+            PreparedStatement stmt = conn.prepareStatement(sql);
             ResultSet results = stmt.executeQuery();
         ) {
-            while (results.next()) {
-                stats.add(new PropertyVacancyStats(
-                    results.getInt("PID"),
-                    results.getString("Address"),
-                    results.getDouble("Price"),
-                    results.getInt("Bed"),
-                    results.getInt("CurrentOccupancy"),
-                    results.getInt("VacantBeds")
-                ));
+            return results.next() ? results.getInt(1) : 0;
+        }
+    }
+
+    /**
+     * Find the PID at a given position in PID order. Used to start keyset pagination at an arbitrary row;
+     * the scan only touches the primary key index.
+     * @param offset Zero-based position
+     * @return The PID at that position, or null if offset is past the last row
+     * @throws SQLException
+     */
+    public Integer getPropertyKeyAt(int offset) throws SQLException {
+        String sql = "SELECT PID FROM Property ORDER BY PID LIMIT 1 OFFSET ?";
+
+        try (
+            Connection conn = db.getConnection();
+            PreparedStatement stmt = conn.prepareStatement(sql);
+        ) {
+            stmt.setInt(1, offset);
+            try (ResultSet results = stmt.executeQuery();) {
+                return results.next() ? results.getInt(1) : null;
             }
         }
+    }
 
-        return stats;
+    /**
+     * Advanced Query: Retrieve the top 10 most expensive properties with at least one vacant bed.
+     * (Written and integrated by Andrew Peirce)
+     * 
+     * @return List of PropertyVacancyStats objects
+     * @throws SQLException
+     */
+    public List<PropertyVacancyStats> getMostExpensiveProperties() throws SQLException {
+        return QueryResultCache.getInstance().get("PropertyDAO.getMostExpensiveProperties", List.of(),
+            EnumSet.of(DataChange.Table.PROPERTY, DataChange.Table.LIVES_IN),
+            this::queryMostExpensiveProperties);
+    }
+
+    // Runs the query behind getMostExpensiveProperties; results are cached by QueryResultCache
+    private List<PropertyVacancyStats> queryMostExpensiveProperties() throws SQLException {
+        return reports.page(Reports.VACANT_PROPERTIES, new ReportQuery()
+            .where(Reports.MIN_VACANT_BEDS, 1)
+            .pageSize(10)).getRows();
     }
 
     /**
@@ -134,36 +231,17 @@ public class PropertyDAO {
      * @throws SQLException
      */
     public List<PropertyVacancyStats> getCheapestProperties() throws SQLException {
-        String sql = "SELECT p.PID, p.Address, ROUND((p.Price / p.Bed), 2) AS PricePerBed, p.Bed, COUNT(li.SSN) AS CurrentOccupancy, (p.Bed - COUNT(li.SSN)) AS VacantBeds, l.Name AS LandlordName " +
-                     "FROM Property AS p LEFT JOIN LivesIn AS li ON p.PID = li.PID " +
-                     "LEFT JOIN Tenant AS t ON li.SSN = t.SSN " +
-                     "LEFT JOIN Landlord AS l ON p.LLID = l.LLID " +
-                     "GROUP BY p.PID, p.Address, p.price, p.Bed, l.Name " +
-                     "HAVING VacantBeds > 0 " +
-                     "ORDER BY PricePerBed ASC " +
-                     "LIMIT 50 " +
-                     "OFFSET 3";
-
-        List<PropertyVacancyStats> stats = new ArrayList<>();
-
-        try (
-            PreparedStatement stmt = db.getConnection().prepareStatement(sql);
-            ResultSet results = stmt.executeQuery();
-        ) {
-            while (results.next()) {
-                stats.add(new PropertyVacancyStats(
-                    results.getInt("PID"),
-                    results.getString("Address"),
-                    results.getDouble("PricePerBed"),
-                    results.getInt("Bed"),
-                    results.getInt("CurrentOccupancy"),
-                    results.getInt("VacantBeds"),
-                    results.getString("LandlordName")
-                ));
-            }
-        }
+        return QueryResultCache.getInstance().get("PropertyDAO.getCheapestProperties", List.of(),
+            EnumSet.of(DataChange.Table.PROPERTY, DataChange.Table.LIVES_IN, DataChange.Table.LANDLORD),
+            this::queryCheapestProperties);
+    }
 
-        return stats;
+    // Runs the query behind getCheapestProperties; results are cached by QueryResultCache
+    private List<PropertyVacancyStats> queryCheapestProperties() throws SQLException {
+        return reports.page(Reports.VACANT_PROPERTIES_PER_BED, new ReportQuery()
+            .where(Reports.MIN_VACANT_BEDS, 1)
+            .skip(3)
+            .pageSize(50)).getRows();
     }
 
     /**
@@ -174,29 +252,16 @@ public class PropertyDAO {
      * @throws SQLException
      */
     public List<PropertyTenantStats> getPropertyTenantStats() throws SQLException {
-        String sql = "SELECT p.PID, p.Address, COUNT(l.SSN) AS NumTenants " +
-                     "FROM Property p JOIN LivesIn l ON p.PID = l.PID " +
-                     "WHERE p.Address LIKE '%St%' " +
-                     "GROUP BY p.PID, p.Address " +
-                     "ORDER BY NumTenants DESC " +
-                     "LIMIT 10";
-
-        List<PropertyTenantStats> stats = new ArrayList<>();
+        return QueryResultCache.getInstance().get("PropertyDAO.getPropertyTenantStats", List.of(),
+            EnumSet.of(DataChange.Table.PROPERTY, DataChange.Table.LIVES_IN),
+            this::queryPropertyTenantStats);
+    }
 
-        try (
-            PreparedStatement stmt = db.getConnection().prepareStatement(sql);
-            ResultSet results = stmt.executeQuery();
-        ) {
-            while (results.next()) {
-                stats.add(new PropertyTenantStats(
-                    results.getInt("PID"),
-                    results.getString("Address"),
-                    results.getInt("NumTenants")
-                ));
-            }
-        }
-        
-        return stats;
+    // Runs the query behind getPropertyTenantStats; results are cached by QueryResultCache
+    private List<PropertyTenantStats> queryPropertyTenantStats() throws SQLException {
+        return reports.page(Reports.PROPERTY_TENANTS, new ReportQuery()
+            .where(Reports.ADDRESS_CONTAINS, "St")
+            .pageSize(10)).getRows();
     }
 
     /**
@@ -207,26 +272,46 @@ public class PropertyDAO {
      * @throws SQLException
      */
     public List<PropertyLandlordStats> getPropertiesAboveLandlordAverage() throws SQLException {
-        String sql = "SELECT p.PID, p.Address, p.Price, l.LLID, l.Name AS LandlordName " +
+        return QueryResultCache.getInstance().get("PropertyDAO.getPropertiesAboveLandlordAverage", List.of(),
+            EnumSet.of(DataChange.Table.PROPERTY, DataChange.Table.LANDLORD),
+            () -> queryPropertiesAboveLandlordAverage(ReportPlan.configured()));
+    }
+
+    /**
+     * Run getPropertiesAboveLandlordAverage with the given plan, bypassing the result cache.
+     * @param plan CORRELATED for the original SQL, SINGLE_PASS for the window function rewrite
+     * @return List of PropertyLandlordStats objects
+     * @throws SQLException
+     */
+    public List<PropertyLandlordStats> getPropertiesAboveLandlordAverage(ReportPlan plan) throws SQLException {
+        return queryPropertiesAboveLandlordAverage(plan);
+    }
+
+    // Runs the query behind getPropertiesAboveLandlordAverage; results are cached by QueryResultCache
+    private List<PropertyLandlordStats> queryPropertiesAboveLandlordAverage(ReportPlan plan) throws SQLException {
+        String correlated = "SELECT p.PID, p.Address, p.Price, l.LLID, l.Name AS LandlordName " +
                      "FROM Property AS p JOIN Landlord AS l ON p.LLID = l.LLID " +
                      "WHERE p.Price > (SELECT AVG(p2.Price) " +
                         "FROM Property AS p2 " +
                         "WHERE p2.LLID = p.LLID)";
+        // Each landlord's average in the same scan of Property; Price is NUMERIC, so both averages are exact
+        String singlePass = "SELECT p.PID, p.Address, p.Price, l.LLID, l.Name AS LandlordName " +
+                     "FROM (SELECT PID, LLID, Price, Address, AVG(Price) OVER (PARTITION BY LLID) AS LandlordAverage " +
+                        "FROM Property) AS p " +
+                     "JOIN Landlord AS l ON p.LLID = l.LLID " +
+                     "WHERE p.Price > p.LandlordAverage";
+        String sql = plan == ReportPlan.CORRELATED ? correlated : singlePass;
 
         List<PropertyLandlordStats> stats = new ArrayList<>();
 
         try (
-            PreparedStatement stmt = db.getConnection().prepareStatement(sql);
+            Connection conn = db.getConnection();
+            PreparedStatement stmt = conn.prepareStatement(sql);
             ResultSet results = stmt.executeQuery();
         ) {
+            ColumnMapper.Bound<PropertyLandlordStats> rows = PROPERTY_LANDLORD_STATS.bind(results);
             while (results.next()) {
-                stats.add(new PropertyLandlordStats(
-                    results.getInt("PID"),
-                    results.getString("Address"),
-                    results.getDouble("Price"),
-                    results.getInt("LLID"),
-                    results.getString("LandlordName")
-                ));
+                stats.add(rows.map());
             }
         }
 
@@ -244,20 +329,14 @@ public class PropertyDAO {
         List<Property> properties = new ArrayList<>();
         
         try (
-            PreparedStatement stmt = db.getConnection().prepareStatement(sql);
+            Connection conn = db.getConnection();
+            PreparedStatement stmt = conn.prepareStatement(sql);
         ) {
             stmt.setInt(1, LLID);
             try (ResultSet results = stmt.executeQuery();) {
+                ColumnMapper.Bound<Property> rows = PROPERTY.bind(results);
                 while (results.next()) {
-                    properties.add(new Property(
-                        results.getInt("PID"),
-                        results.getInt("LLID"),
-                        results.getDouble("Price"),
-                        results.getInt("Bed"),
-                        results.getDouble("Bath"),
-                        results.getBoolean("PetsAllowed"),
-                        results.getString("Address")
-                    ));
+                    properties.add(rows.map());
                 }
             }
         }
@@ -266,42 +345,197 @@ public class PropertyDAO {
     }
 
     /**
-     * Insert a new property into the database.
-     * @param p Property object to insert
+     * Insert a new property into the database, along with its occupancy summary row.
+     * @param p Property object to insert; its PID is ignored
+     * @return The property with its generated PID
      * @throws SQLException
      */
-    public void insertProperty(Property p) throws SQLException {
+    public Property insertProperty(Property p) throws SQLException {
         String sql = "INSERT INTO Property (LLID, Price, Bed, Bath, PetsAllowed, Address) VALUES (?, ?, ?, ?, ?, ?)";
-        try (
-            PreparedStatement stmt = db.getConnection().prepareStatement(sql);
-        ) {
-            stmt.setInt(1, p.getLLID());
-            stmt.setDouble(2, p.getPrice());
-            stmt.setInt(3, p.getBed());
-            stmt.setDouble(4, p.getBath());
-            stmt.setBoolean(5, p.isPetsAllowed());
-            stmt.setString(6, p.getAddress());
-            stmt.executeUpdate();
+
+        try (Connection conn = db.getConnection()) {
+            boolean originalAutoCommit = conn.getAutoCommit();
+            conn.setAutoCommit(false);
+
+            try (PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+                stmt.setInt(1, p.getLLID());
+                stmt.setBigDecimal(2, priceOf(p));
+                stmt.setInt(3, p.getBed());
+                stmt.setDouble(4, p.getBath());
+                stmt.setBoolean(5, p.isPetsAllowed());
+                stmt.setString(6, p.getAddress());
+                stmt.executeUpdate();
+
+                int pid;
+                try (ResultSet keys = stmt.getGeneratedKeys()) {
+                    if (!keys.next()) {
+                        throw new SQLException("No PID generated for inserted Property");
+                    }
+                    pid = keys.getInt(1);
+                }
+                OccupancySummary.refreshProperties(conn, List.of(pid));
+
+                conn.commit();
+                DataChangeBus.getInstance().publish(DataChange.Table.PROPERTY, DataChange.Kind.INSERT, List.of(pid));
+                return p.withPID(pid);
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(originalAutoCommit);
+            }
+        }
+    }
+
+    /**
+     * Insert many properties using batched, chunked transactions.
+     * @param properties Properties to insert
+     * @return The properties with their generated PIDs, in the order given
+     * @throws SQLException
+     */
+    public List<Property> insertAll(Collection<Property> properties) throws SQLException {
+        return insertAll(properties, BatchExecutor.DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * Insert many properties using batched, chunked transactions.
+     * @param properties Properties to insert
+     * @param batchSize Rows per batch and per transaction
+     * @return The properties with their generated PIDs, in the order given
+     * @throws SQLException
+     */
+    public List<Property> insertAll(Collection<Property> properties, int batchSize) throws SQLException {
+        String sql = "INSERT INTO Property (LLID, Price, Bed, Bath, PetsAllowed, Address) VALUES (?, ?, ?, ?, ?, ?)";
+        List<Integer> inserted = new ArrayList<>();
+        List<Property> saved = new ArrayList<>(properties.size());
+        try {
+            BatchExecutor.executeInChunks(db, sql, properties, batchSize, (stmt, p) -> {
+                stmt.setInt(1, p.getLLID());
+                stmt.setBigDecimal(2, priceOf(p));
+                stmt.setInt(3, p.getBed());
+                stmt.setDouble(4, p.getBath());
+                stmt.setBoolean(5, p.isPetsAllowed());
+                stmt.setString(6, p.getAddress());
+            }, (p, pid) -> {
+                saved.add(p.withPID(pid));
+                inserted.add(pid);
+            }, (conn, chunk, keys) -> OccupancySummary.refreshProperties(conn, keys));
+        } finally {
+            // Chunks committed before a failure stay committed
+            if (!inserted.isEmpty()) {
+                DataChangeBus.getInstance().publish(DataChange.Table.PROPERTY, DataChange.Kind.INSERT, inserted);
+            }
         }
+        return saved;
+    }
+
+    /**
+     * Insert or update many properties. Properties with a PID are written with
+     * INSERT ... ON DUPLICATE KEY UPDATE; properties without one are inserted.
+     * @param properties Properties to write
+     * @return The properties with their PIDs, generated for the inserted ones, in the order given
+     * @throws SQLException
+     */
+    public List<Property> upsertAll(Collection<Property> properties) throws SQLException {
+        return upsertAll(properties, BatchExecutor.DEFAULT_BATCH_SIZE);
     }
 
     /**
-     * Update an existing property in the database.
+     * Insert or update many properties. Properties with a PID are written with
+     * INSERT ... ON DUPLICATE KEY UPDATE; properties without one are inserted.
+     * @param properties Properties to write
+     * @param batchSize Rows per batch and per transaction
+     * @return The properties with their PIDs, generated for the inserted ones, in the order given
+     * @throws SQLException
+     */
+    public List<Property> upsertAll(Collection<Property> properties, int batchSize) throws SQLException {
+        String sql = "INSERT INTO Property (PID, LLID, Price, Bed, Bath, PetsAllowed, Address) VALUES (?, ?, ?, ?, ?, ?, ?) " +
+                     "ON DUPLICATE KEY UPDATE LLID = VALUES(LLID), Price = VALUES(Price), Bed = VALUES(Bed), " +
+                     "Bath = VALUES(Bath), PetsAllowed = VALUES(PetsAllowed), Address = VALUES(Address)";
+
+        List<Property> existing = new ArrayList<>();
+        List<Property> fresh = new ArrayList<>();
+        for (Property p : properties) {
+            (p.getPID() > 0 ? existing : fresh).add(p);
+        }
+
+        try {
+            BatchExecutor.executeInChunks(db, sql, existing, batchSize, (stmt, p) -> {
+                stmt.setInt(1, p.getPID());
+                stmt.setInt(2, p.getLLID());
+                stmt.setBigDecimal(3, priceOf(p));
+                stmt.setInt(4, p.getBed());
+                stmt.setDouble(5, p.getBath());
+                stmt.setBoolean(6, p.isPetsAllowed());
+                stmt.setString(7, p.getAddress());
+            }, null, (conn, chunk, keys) -> OccupancySummary.refreshProperties(conn, pidsOf(chunk)));
+        } finally {
+            // Some chunks may have committed even if a later one failed, so always invalidate
+            if (!existing.isEmpty()) {
+                DataChangeBus.getInstance().publish(DataChange.Table.PROPERTY, DataChange.Kind.UPDATE, pidsOf(existing));
+            }
+        }
+        Iterator<Property> inserted = insertAll(fresh, batchSize).iterator();
+        List<Property> saved = new ArrayList<>(properties.size());
+        for (Property p : properties) {
+            saved.add(p.getPID() > 0 ? p : inserted.next());
+        }
+        return saved;
+    }
+
+    /**
+     * Update an existing property in the database, refreshing its vacant beds and price per bed in the
+     * occupancy summary.
      * @param p Property object with updated values
      * @throws SQLException
      */
     public void updateProperty(Property p) throws SQLException {
         String sql = "UPDATE Property SET Price=?, Bed=?, Bath=?, PetsAllowed=?, Address=? WHERE PID=?";
-        try (
-            PreparedStatement stmt = db.getConnection().prepareStatement(sql);
-        ) {
-            stmt.setDouble(1, p.getPrice());
-            stmt.setInt(2, p.getBed());
-            stmt.setDouble(3, p.getBath());
-            stmt.setBoolean(4, p.isPetsAllowed());
-            stmt.setString(5, p.getAddress());
-            stmt.setInt(6, p.getPID());
-            stmt.executeUpdate();
+
+        try (Connection conn = db.getConnection()) {
+            boolean originalAutoCommit = conn.getAutoCommit();
+            conn.setAutoCommit(false);
+
+            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                stmt.setBigDecimal(1, priceOf(p));
+                stmt.setInt(2, p.getBed());
+                stmt.setDouble(3, p.getBath());
+                stmt.setBoolean(4, p.isPetsAllowed());
+                stmt.setString(5, p.getAddress());
+                stmt.setInt(6, p.getPID());
+                if (stmt.executeUpdate() > 0) {
+                    OccupancySummary.refreshProperties(conn, List.of(p.getPID()));
+                }
+                conn.commit();
+                DataChangeBus.getInstance().publish(DataChange.Table.PROPERTY, DataChange.Kind.UPDATE, List.of(p.getPID()));
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(originalAutoCommit);
+            }
+        }
+    }
+
+    /**
+     * Recompute the occupancy summary for every property from the Property and LivesIn tables.
+     * Only needed after rows were changed without going through the DAOs, e.g. by a LOAD DATA bulk load.
+     * @throws SQLException
+     */
+    public void rebuildOccupancySummary() throws SQLException {
+        try (Connection conn = db.getConnection()) {
+            boolean originalAutoCommit = conn.getAutoCommit();
+            conn.setAutoCommit(false);
+
+            try {
+                OccupancySummary.rebuild(conn);
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(originalAutoCommit);
+            }
         }
     }
 
@@ -315,40 +549,85 @@ public class PropertyDAO {
         String deleteLeases = "DELETE FROM LeasesFrom WHERE PID = ?";
         String deleteProperty = "DELETE FROM Property WHERE PID = ?";
 
-        Connection conn = db.getConnection();
-        boolean originalAutoCommit = conn.getAutoCommit();
-        conn.setAutoCommit(false);
+        try (Connection conn = db.getConnection()) {
+            boolean originalAutoCommit = conn.getAutoCommit();
+            conn.setAutoCommit(false);
 
-        try (
-            PreparedStatement stmt0 = conn.prepareStatement(deleteLivesIn);
-            PreparedStatement stmt1 = conn.prepareStatement(deleteLeases);
-            PreparedStatement stmt2 = conn.prepareStatement(deleteProperty)
-        ) {
-            // delete from all child tables first
+            try (
+                PreparedStatement stmt0 = conn.prepareStatement(deleteLivesIn);
+                PreparedStatement stmt1 = conn.prepareStatement(deleteLeases);
+                PreparedStatement stmt2 = conn.prepareStatement(deleteProperty)
+            ) {
+                // delete from all child tables first
+
+                // Delete from LivesIn first
+                stmt0.setInt(1, PID);
+                stmt0.executeUpdate();
+
+                // Delete child rows from LeasesFrom
+                stmt1.setInt(1, PID);
+                stmt1.executeUpdate();
 
-            // Delete from LivesIn first
-            stmt0.setInt(1, PID);
-            stmt0.executeUpdate();
+                // Drop the property's occupancy summary row
+                OccupancySummary.removeProperty(conn, PID);
 
-            // Delete child rows from LeasesFrom
-            stmt1.setInt(1, PID);
-            stmt1.executeUpdate();
+                // Then delete parent row from Property
+                stmt2.setInt(1, PID);
+                int rows = stmt2.executeUpdate();
 
-            // Then delete parent row from Property
-            stmt2.setInt(1, PID);
-            int rows = stmt2.executeUpdate();
+                if (rows == 0) {
+                    throw new SQLException("No Property found with PID = " + PID);
+                }
 
-            if (rows == 0) {
-                throw new SQLException("No Property found with PID = " + PID);
+                conn.commit(); // only commit if both deletions succeed
+
+                DataChangeBus bus = DataChangeBus.getInstance();
+                bus.publish(DataChange.Table.LIVES_IN, DataChange.Kind.DELETE, List.of(PID));
+                bus.publish(DataChange.Table.LEASES_FROM, DataChange.Kind.DELETE, List.of(PID));
+                bus.publish(DataChange.Table.PROPERTY, DataChange.Kind.DELETE, List.of(PID));
+            } catch (SQLException e) {
+                conn.rollback(); // rollback if either deletion fails
+                throw e; // rethrow the exception after rollback
+            } finally {
+                conn.setAutoCommit(originalAutoCommit); // restore original auto-commit setting
             }
+        }
+    }
 
-            conn.commit(); // only commit if both deletions succeed
-        } catch (SQLException e) {
-            conn.rollback(); // rollback if either deletion fails
-            throw e; // rethrow the exception after rollback
-        } finally {
-            conn.setAutoCommit(originalAutoCommit); // restore original auto-commit setting
+    /**
+     * Delete many properties with everything that references them (LivesIn, LeasesFrom, PropertyOccupancy and
+     * any other table with a foreign key to Property), in chunked transactions of CascadeDelete.DEFAULT_CHUNK_SIZE.
+     * PIDs with no property are ignored.
+     * @param PIDs Property IDs
+     * @return Number of properties deleted
+     * @throws SQLException if a chunk fails; chunks committed before it stay deleted
+     */
+    public int deleteProperties(Collection<Integer> PIDs) throws SQLException {
+        return deleteProperties(PIDs, CascadeDelete.DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * Delete many properties with everything that references them, in chunked transactions.
+     * @param PIDs Property IDs
+     * @param chunkSize Keys per transaction
+     * @return Number of properties deleted
+     * @throws SQLException if a chunk fails; chunks committed before it stay deleted
+     */
+    public int deleteProperties(Collection<Integer> PIDs, int chunkSize) throws SQLException {
+        return CascadeDelete.delete(db, "Property", "PID", PIDs, chunkSize).get("Property").intValue();
+    }
+
+    // Price is NUMERIC(6,2); binding the cents as a decimal writes them exactly
+    private static BigDecimal priceOf(Property p) {
+        return BigDecimal.valueOf(p.priceCents(), 2);
+    }
+
+    private static List<Integer> pidsOf(List<Property> properties) {
+        List<Integer> pids = new ArrayList<>(properties.size());
+        for (Property p : properties) {
+            pids.add(p.getPID());
         }
+        return pids;
     }
 
     // public static void main(String[] args) {
@@ -0,0 +1,265 @@
+/**
+ * Caches the results of the DAOs' advanced queries, keyed by query id and parameters.
+ * Implements the Singleton design pattern so every DAO instance shares the same results.
+ *
+ * Each entry records the tables its query reads. A committed write to one of those tables (a DataChange) drops
+ * the entry, so a cached result is never older than the last write made through the DAOs. Entries also expire
+ * after db.cache.queryTtlMs, to pick up writes made outside this application.
+ *
+ * With background refresh on, a dropped entry is recomputed shortly afterwards on a background thread, so the
+ * next view of that query is served from memory. Refreshes are coalesced: a burst of writes (e.g. a bulk load)
+ * recomputes each query once.
+ *
+ * Date Last Modified: October 18, 2026
+ */
+package dao;
+
+import db.DBConnection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+public final class QueryResultCache {
+
+    /**
+     * Runs the query on a cache miss or refresh.
+     */
+    interface Loader<T> {
+        List<T> load() throws SQLException;
+    }
+
+    private static final class Entry {
+        final List<?> rows;
+        final long expiresAt;
+        final Set<DataChange.Table> dependsOn;
+        final Loader<?> loader;
+
+        Entry(List<?> rows, long expiresAt, Set<DataChange.Table> dependsOn, Loader<?> loader) {
+            this.rows = rows;
+            this.expiresAt = expiresAt;
+            this.dependsOn = dependsOn;
+            this.loader = loader;
+        }
+    }
+
+    private static final long REFRESH_DELAY_MS = 500;
+
+    private static final QueryResultCache INSTANCE = new QueryResultCache();
+
+    private final long ttlNanos;
+    private volatile boolean enabled;
+    private volatile boolean backgroundRefresh;
+
+    // Guarded by this
+    private final Map<List<Object>, Entry> entries = new HashMap<>();
+    private final Map<DataChange.Table, Long> versions = new EnumMap<>(DataChange.Table.class);
+    private final Map<List<Object>, Entry> pendingRefresh = new HashMap<>(); // dropped entries awaiting refresh
+    private long hits = 0;
+    private long misses = 0;
+    private long invalidations = 0;
+    private long refreshes = 0;
+
+    private final ScheduledExecutorService refresher = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "query-cache-refresher");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private QueryResultCache() {
+        DBConnection db = DBConnection.getInstance();
+        enabled = db.getIntSetting("db.cache.queryResults", 1) != 0;
+        backgroundRefresh = db.getIntSetting("db.cache.queryRefresh", 1) != 0;
+        ttlNanos = db.getIntSetting("db.cache.queryTtlMs", 300_000) * 1_000_000L;
+        for (DataChange.Table table : DataChange.Table.values()) {
+            versions.put(table, 0L);
+        }
+        DataChangeBus.getInstance().addListener(this::onChange);
+    }
+
+    /**
+     * Get the singleton instance of QueryResultCache.
+     * @return The singleton QueryResultCache instance.
+     */
+    public static QueryResultCache getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Return the cached result of a query, running it on a miss.
+     * @param queryId Identifies the query, e.g. "PropertyDAO.getCheapestProperties"
+     * @param params Query parameters; part of the key
+     * @param dependsOn Tables the query reads
+     * @param loader Runs the query
+     * @return An unmodifiable list of the query's rows
+     * @throws SQLException if the query fails
+     */
+    @SuppressWarnings("unchecked")
+    <T> List<T> get(String queryId, List<?> params, Set<DataChange.Table> dependsOn, Loader<T> loader)
+            throws SQLException {
+        if (!enabled) {
+            return loader.load();
+        }
+        List<Object> key = key(queryId, params);
+        long version;
+        synchronized (this) {
+            Entry entry = entries.get(key);
+            if (entry != null && System.nanoTime() - entry.expiresAt < 0) {
+                hits++;
+                return (List<T>) entry.rows;
+            }
+            misses++;
+            version = version(dependsOn);
+        }
+        List<T> rows = List.copyOf(loader.load());
+        store(key, rows, dependsOn, loader, version);
+        return rows;
+    }
+
+    /**
+     * Turn caching on or off. Turning it off drops every entry; used by the benchmarks to measure the SQL.
+     * @param enabled Whether queries are served from the cache
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+        if (!enabled) {
+            invalidateAll();
+        }
+    }
+
+    /**
+     * @param backgroundRefresh Whether invalidated entries are recomputed in the background
+     */
+    public void setBackgroundRefresh(boolean backgroundRefresh) {
+        this.backgroundRefresh = backgroundRefresh;
+    }
+
+    /**
+     * Drop every cached result.
+     */
+    public synchronized void invalidateAll() {
+        invalidations += entries.size();
+        entries.clear();
+        versions.replaceAll((table, v) -> v + 1);
+    }
+
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    public synchronized long getInvalidations() {
+        return invalidations;
+    }
+
+    public synchronized long getRefreshes() {
+        return refreshes;
+    }
+
+    /**
+     * @return Fraction of lookups served from the cache, or 0 before the first lookup
+     */
+    public synchronized double getHitRate() {
+        long lookups = hits + misses;
+        return lookups == 0 ? 0 : (double) hits / lookups;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return String.format("Query result cache: %d entries, %.1f%% hit rate (%d hits, %d misses, %d invalidated, %d refreshed)",
+            entries.size(), getHitRate() * 100, hits, misses, invalidations, refreshes);
+    }
+
+    private void onChange(DataChange change) {
+        List<List<Object>> toRefresh = new ArrayList<>();
+        synchronized (this) {
+            versions.merge(change.getTable(), 1L, Long::sum);
+            var it = entries.entrySet().iterator();
+            while (it.hasNext()) {
+                Map.Entry<List<Object>, Entry> e = it.next();
+                if (!e.getValue().dependsOn.contains(change.getTable())) {
+                    continue;
+                }
+                it.remove();
+                invalidations++;
+                if (backgroundRefresh && pendingRefresh.putIfAbsent(e.getKey(), e.getValue()) == null) {
+                    toRefresh.add(e.getKey());
+                }
+            }
+        }
+        for (List<Object> key : toRefresh) {
+            refresher.schedule(() -> refresh(key), REFRESH_DELAY_MS, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    // Queue a dropped entry for refresh unless it already is
+    private void scheduleRefresh(List<Object> key, Entry old) {
+        synchronized (this) {
+            if (!backgroundRefresh || pendingRefresh.putIfAbsent(key, old) != null) {
+                return;
+            }
+        }
+        refresher.schedule(() -> refresh(key), REFRESH_DELAY_MS, TimeUnit.MILLISECONDS);
+    }
+
+    // Runs on the refresher thread
+    private void refresh(List<Object> key) {
+        Entry old;
+        long version;
+        synchronized (this) {
+            old = pendingRefresh.remove(key);
+            if (old == null || entries.containsKey(key) || !enabled) {
+                return; // already reloaded by a reader
+            }
+            version = version(old.dependsOn);
+        }
+        try {
+            List<?> rows = List.copyOf(old.loader.load());
+            synchronized (this) {
+                refreshes++;
+            }
+            if (!store(key, rows, old.dependsOn, old.loader, version)) {
+                // A write landed while the query ran; it found nothing to schedule, so queue the next refresh here
+                scheduleRefresh(key, old);
+            }
+        } catch (SQLException e) {
+            // The next reader will run the query itself
+            System.err.println("Background refresh of " + key.get(0) + " failed: " + e.getMessage());
+        }
+    }
+
+    // Store a result unless a table it depends on changed while it was being computed
+    private synchronized boolean store(List<Object> key, List<?> rows, Set<DataChange.Table> dependsOn,
+                                       Loader<?> loader, long version) {
+        if (version != version(dependsOn)) {
+            return false;
+        }
+        entries.put(key, new Entry(rows, System.nanoTime() + ttlNanos, dependsOn, loader));
+        return true;
+    }
+
+    // Sum of the versions of the given tables; changes whenever any of them changes
+    private long version(Set<DataChange.Table> tables) {
+        long sum = 0;
+        for (DataChange.Table table : tables) {
+            sum += versions.get(table);
+        }
+        return sum;
+    }
+
+    private static List<Object> key(String queryId, List<?> params) {
+        List<Object> key = new ArrayList<>(params.size() + 1);
+        key.add(queryId);
+        key.addAll(params);
+        return key;
+    }
+}
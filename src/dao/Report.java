@@ -0,0 +1,256 @@
+/**
+ * Definition of a parameterized report for ReportEngine: the SELECT behind it, the typed filters and sort keys a
+ * ReportQuery may use, and how a row becomes a DTO. Nothing in the SQL is a constant picked for one screen;
+ * thresholds, search text and page sizes are bound as parameters, so one prepared statement serves every value.
+ * The definitions themselves are in Reports.
+ *
+ * A report's SELECT must name every sort column in its output, with an alias, since the keyset page tokens
+ * compare against them. A sort column that can be NULL must be declared with nullableSortKey(); NULLs then
+ * sort first ascending and last descending, as MySQL orders them. Select such a column as it is rather than
+ * COALESCE it, so that an index on it can return the rows in order. In a grouped report the comparison is a
+ * HAVING on the aliases, so they must not clash with another column of the SELECT.
+ *
+ * Date Last Modified: October 18, 2026
+ */
+package dao;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+
+public final class Report<T> {
+
+    public enum Direction { ASC, DESC }
+
+    /**
+     * A condition a ReportQuery can turn on, with a value of type V bound to its single placeholder.
+     */
+    public static final class Filter<V> {
+        final String name;
+        final String predicate;           // SQL with one ?, e.g. "COUNT(t.SSN) >= ?"
+        final boolean having;             // Applies to the groups rather than the rows
+        final Function<V, Object> binder; // Value to bind for a filter value
+
+        Filter(String name, String predicate, boolean having, Function<V, Object> binder) {
+            this.name = name;
+            this.predicate = predicate;
+            this.having = having;
+            this.binder = binder;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+
+    /**
+     * An output column a report can be ordered by. Values are read as type V for page tokens: Integer, Long,
+     * BigDecimal, Double or String.
+     */
+    public static final class SortKey<V> {
+        final String name;
+        final String column; // Alias in the report's SELECT
+        final Class<V> type;
+        final boolean nullable;
+
+        SortKey(String name, String column, Class<V> type, boolean nullable) {
+            if (type != Integer.class && type != Long.class && type != BigDecimal.class && type != Double.class
+                    && type != String.class) {
+                throw new IllegalArgumentException("Unsupported sort key type " + type.getSimpleName());
+            }
+            this.name = name;
+            this.column = column;
+            this.type = type;
+            this.nullable = nullable;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+
+    final String name;
+    final String select;
+    final List<String> conditions;       // Fixed WHERE conditions, ANDed with the filters
+    final String groupBy;                // null if the report does not aggregate
+    final SortKey<?> key;                // Unique per row; the last tiebreaker of every order
+    final String keyExpression;          // The key before grouping, e.g. "p.PID", or null
+    final SortKey<?> defaultSort;
+    final Direction defaultDirection;
+    final List<Filter<?>> filters;
+    final List<SortKey<?>> sortKeys;
+    final Set<DataChange.Table> dependsOn;
+    final ColumnMapper<T> mapper;
+
+    private Report(Builder<T> b) {
+        this.name = b.name;
+        this.select = b.select;
+        this.conditions = List.copyOf(b.conditions);
+        this.groupBy = b.groupBy;
+        this.key = b.key;
+        this.keyExpression = b.keyExpression;
+        this.defaultSort = b.defaultSort == null ? b.key : b.defaultSort;
+        this.defaultDirection = b.defaultDirection;
+        this.filters = List.copyOf(b.filters);
+        this.sortKeys = List.copyOf(b.sortKeys);
+        this.dependsOn = b.dependsOn;
+        this.mapper = b.mapper;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return Tables the report reads
+     */
+    public Set<DataChange.Table> getDependsOn() {
+        return dependsOn;
+    }
+
+    boolean has(Filter<?> filter) {
+        return filters.contains(filter);
+    }
+
+    boolean has(SortKey<?> sortKey) {
+        return sortKey == key || sortKeys.contains(sortKey);
+    }
+
+    @Override
+    public String toString() {
+        return "Report [" + name + ", filters=" + filters + ", sortKeys=" + sortKeys + ", key=" + key + "]";
+    }
+
+    static <T> Builder<T> builder(String name) {
+        return new Builder<>(name);
+    }
+
+    /**
+     * Assembles a report definition; see Reports.
+     */
+    static final class Builder<T> {
+        private final String name;
+        private String select;
+        private final List<String> conditions = new ArrayList<>();
+        private String groupBy = null;
+        private SortKey<?> key;
+        private String keyExpression = null;
+        private SortKey<?> defaultSort = null;
+        private Direction defaultDirection = Direction.ASC;
+        private final List<Filter<?>> filters = new ArrayList<>();
+        private final List<SortKey<?>> sortKeys = new ArrayList<>();
+        private Set<DataChange.Table> dependsOn = EnumSet.noneOf(DataChange.Table.class);
+        private ColumnMapper<T> mapper;
+
+        private Builder(String name) {
+            this.name = name;
+        }
+
+        /**
+         * @param select SELECT ... FROM ... without WHERE, GROUP BY or ORDER BY
+         */
+        Builder<T> select(String select) {
+            this.select = select;
+            return this;
+        }
+
+        /**
+         * @param condition A WHERE condition every row must meet, without placeholders
+         */
+        Builder<T> condition(String condition) {
+            conditions.add(condition);
+            return this;
+        }
+
+        Builder<T> groupBy(String groupBy) {
+            this.groupBy = groupBy;
+            return this;
+        }
+
+        /**
+         * @param key Column unique to each row, after every other sort key and in the same direction, so that an
+         *        index on the sort column (which ends with the primary key) returns the rows in order
+         */
+        Builder<T> key(SortKey<?> key) {
+            this.key = key;
+            return this;
+        }
+
+        /**
+         * @param key Column unique to each group, after every other sort key and in the same direction
+         * @param expression The key's column before grouping, e.g. "p.PID", so that a page ordered by the key
+         *        starts from an index range instead of grouping every row
+         */
+        Builder<T> key(SortKey<?> key, String expression) {
+            this.key = key;
+            this.keyExpression = expression;
+            return this;
+        }
+
+        Builder<T> filter(Filter<?> filter) {
+            filters.add(filter);
+            return this;
+        }
+
+        Builder<T> sortKey(SortKey<?> sortKey) {
+            sortKeys.add(sortKey);
+            return this;
+        }
+
+        Builder<T> defaultSort(SortKey<?> sortKey, Direction direction) {
+            this.defaultSort = sortKey;
+            this.defaultDirection = direction;
+            return sortKeys.contains(sortKey) ? this : sortKey(sortKey);
+        }
+
+        Builder<T> dependsOn(DataChange.Table first, DataChange.Table... rest) {
+            this.dependsOn = EnumSet.of(first, rest);
+            return this;
+        }
+
+        Builder<T> map(ColumnMapper<T> mapper) {
+            this.mapper = mapper;
+            return this;
+        }
+
+        Report<T> build() {
+            if (select == null || key == null || mapper == null) {
+                throw new IllegalStateException("Report " + name + " needs a select, a key and a row mapper");
+            }
+            return new Report<>(this);
+        }
+    }
+
+    static <V> Filter<V> where(String name, String predicate) {
+        return new Filter<>(name, predicate, false, v -> v);
+    }
+
+    static <V> Filter<V> where(String name, String predicate, Function<V, Object> binder) {
+        return new Filter<>(name, predicate, false, binder);
+    }
+
+    static <V> Filter<V> having(String name, String predicate) {
+        return new Filter<>(name, predicate, true, v -> v);
+    }
+
+    static <V> SortKey<V> sortKey(String name, String column, Class<V> type) {
+        return new SortKey<>(name, column, type, false);
+    }
+
+    static <V> SortKey<V> nullableSortKey(String name, String column, Class<V> type) {
+        return new SortKey<>(name, column, type, true);
+    }
+}
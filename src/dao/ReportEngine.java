@@ -0,0 +1,332 @@
+/**
+ * Runs Reports with the parameters of a ReportQuery. The SQL for a report is its SELECT with the query's filters
+ * added as WHERE or HAVING conditions, wrapped as
+ *
+ *     SELECT * FROM (report) AS r WHERE (keyset) ORDER BY r.sort, r.key LIMIT ?
+ *
+ * Filter values, page sizes and the keyset values are all bound, so the SQL text depends only on which filters
+ * are set, the order, and whether a page token is given and which of its values are NULL. Each of those few shapes is prepared once per pooled
+ * connection (see StatementCache) and reused for every value.
+ *
+ * The report's key breaks ties in the direction of the sort key, so an index on the sort column, which ends with
+ * the primary key, returns the rows in order without a filesort.
+ *
+ * The keyset condition compares the sort columns with the last row of the previous page, so a deep page does not
+ * scan and discard everything before it as OFFSET does. Where it goes depends on the report:
+ *
+ *  - A report without GROUP BY is merged into the outer query by MySQL, so the condition on r applies to the
+ *    base rows and a deep page reads only its own rows.
+ *  - A grouped report ordered by its key gets the condition as a WHERE on the key's column (see
+ *    Report.Builder.key), so only the groups from the bound on are built.
+ *  - A grouped report ordered by an aggregate gets the condition as HAVING. Every group's aggregate is still
+ *    computed, since the order is not known until then, but the groups before the bound are dropped before
+ *    they are materialized and sorted. These pages cost about one GROUP BY each however deep they are; they
+ *    are not cheaper than the first page, only no dearer.
+ *
+ * Date Last Modified: October 18, 2026
+ */
+package dao;
+
+import db.DBConnection;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+
+public final class ReportEngine {
+
+    private final DBConnection db; // Singleton connection pool manager
+
+    public ReportEngine() {
+        db = DBConnection.getInstance(); // Connections are borrowed from the pool per call
+    }
+
+    /**
+     * Run one page of a report.
+     * @param report Report to run, from Reports
+     * @param query Filters, order, page size and page token
+     * @return Up to the query's page size of rows, and a token for the next page if there are more
+     * @throws SQLException
+     * @throws IllegalArgumentException if the query uses a filter or sort key of another report, or its page
+     *         token is malformed or was issued for a different report or order
+     */
+    public <T> ReportPage<T> page(Report<T> report, ReportQuery query) throws SQLException {
+        List<Order> order = orderOf(report, query);
+        Object[] after = query.getPageToken() == null ? null : decode(report, order, query.getPageToken());
+        boolean skip = after == null && query.getSkip() > 0;
+
+        List<Object> params = new ArrayList<>();
+        StringBuilder sql = new StringBuilder("SELECT * FROM (")
+            .append(inner(report, query, order, after, params)).append(") AS r");
+        if (after != null && report.groupBy == null) {
+            sql.append(" WHERE ").append(keyset(order, after, "r.", params));
+        }
+        sql.append(orderBy(order)).append(" LIMIT ?");
+        params.add(query.getPageSize() + 1); // One more than a page, to tell whether there is a next page
+        if (skip) {
+            sql.append(" OFFSET ?");
+            params.add(query.getSkip());
+        }
+
+        List<T> rows = new ArrayList<>();
+        Object[] last = new Object[order.size()];
+        boolean more = false;
+        try (
+            Connection conn = db.getConnection();
+            PreparedStatement stmt = conn.prepareStatement(sql.toString());
+        ) {
+            bind(stmt, params);
+            try (ResultSet results = stmt.executeQuery();) {
+                ColumnMapper.Bound<T> mapper = report.mapper.bind(results);
+                while (results.next()) {
+                    if (rows.size() == query.getPageSize()) {
+                        more = true;
+                        break;
+                    }
+                    rows.add(mapper.map());
+                    for (int i = 0; i < order.size(); i++) {
+                        last[i] = results.getObject(order.get(i).key.column, order.get(i).key.type);
+                        if (last[i] == null && !order.get(i).key.nullable) {
+                            throw new SQLException("Sort column " + order.get(i).key.column + " of report "
+                                + report.name + " is NULL; page tokens need non-null sort columns");
+                        }
+                    }
+                }
+            }
+        }
+
+        return new ReportPage<>(rows, more ? encode(report, order, last) : null);
+    }
+
+    /**
+     * Run a report to the end: every row the query's filters accept, in its order. The page size, skip and
+     * page token are ignored.
+     * @param report Report to run, from Reports
+     * @param query Filters and order
+     * @return All matching rows
+     * @throws SQLException
+     */
+    public <T> List<T> all(Report<T> report, ReportQuery query) throws SQLException {
+        List<Order> order = orderOf(report, query);
+        List<Object> params = new ArrayList<>();
+        String sql = "SELECT * FROM (" + inner(report, query, order, null, params) + ") AS r" + orderBy(order);
+
+        try (
+            Connection conn = db.getConnection();
+            PreparedStatement stmt = conn.prepareStatement(sql);
+        ) {
+            bind(stmt, params);
+            try (ResultSet results = stmt.executeQuery();) {
+                return report.mapper.list(results);
+            }
+        }
+    }
+
+    /**
+     * One column of the ORDER BY.
+     */
+    private static final class Order {
+        final Report.SortKey<?> key;
+        final boolean descending;
+
+        Order(Report.SortKey<?> key, boolean descending) {
+            this.key = key;
+            this.descending = descending;
+        }
+    }
+
+    // The query's sort key, then the report's key in the same direction to make the order total
+    private static List<Order> orderOf(Report<?> report, ReportQuery query) {
+        Report.SortKey<?> sortKey = query.getSortKey() == null ? report.defaultSort : query.getSortKey();
+        Report.Direction direction = query.getSortKey() == null ? report.defaultDirection : query.getDirection();
+        if (!report.has(sortKey)) {
+            throw new IllegalArgumentException("Report " + report.name + " cannot be sorted by " + sortKey);
+        }
+        List<Order> order = new ArrayList<>(2);
+        order.add(new Order(sortKey, direction == Report.Direction.DESC));
+        if (sortKey != report.key) {
+            order.add(new Order(report.key, direction == Report.Direction.DESC));
+        }
+        return order;
+    }
+
+    // The report's SELECT with the query's filters, and the keyset condition if the report is grouped
+    private static String inner(Report<?> report, ReportQuery query, List<Order> order, Object[] after,
+                                List<Object> params) {
+        List<String> where = new ArrayList<>(report.conditions);
+        List<String> having = new ArrayList<>();
+        List<Object> havingParams = new ArrayList<>();
+        Map<Report.Filter<?>, Object> values = query.getFilters();
+        for (Report.Filter<?> filter : values.keySet()) {
+            if (!report.has(filter)) {
+                throw new IllegalArgumentException("Report " + report.name + " has no filter " + filter);
+            }
+        }
+        // In the report's order, so setting the same filters in any order gives the same SQL
+        for (Report.Filter<?> filter : report.filters) {
+            if (!values.containsKey(filter)) {
+                continue;
+            }
+            if (filter.having) {
+                having.add(filter.predicate);
+                havingParams.add(bindValue(filter, values.get(filter)));
+            } else {
+                where.add(filter.predicate);
+                params.add(bindValue(filter, values.get(filter)));
+            }
+        }
+        if (after != null && report.groupBy != null) {
+            if (order.size() == 1 && report.keyExpression != null) {
+                // Ordered by the key alone: bound the rows before grouping
+                where.add(report.keyExpression + (order.get(0).descending ? " < ?" : " > ?"));
+                params.add(after[0]);
+            } else {
+                having.add(keyset(order, after, "", havingParams));
+            }
+        }
+        params.addAll(havingParams);
+
+        StringBuilder sql = new StringBuilder(report.select);
+        if (!where.isEmpty()) {
+            sql.append(" WHERE ").append(String.join(" AND ", where));
+        }
+        if (report.groupBy != null) {
+            sql.append(" GROUP BY ").append(report.groupBy);
+        }
+        if (!having.isEmpty()) {
+            sql.append(" HAVING ").append(String.join(" AND ", having));
+        }
+        return sql.toString();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <V> Object bindValue(Report.Filter<V> filter, Object value) {
+        return filter.binder.apply((V) value);
+    }
+
+    // Rows after the given sort values: (a > ?) OR (a = ? AND b > ?), with < for descending columns. NULL is
+    // lowest, as MySQL sorts it: first ascending, last descending.
+    private static String keyset(List<Order> order, Object[] after, String prefix, List<Object> params) {
+        List<String> terms = new ArrayList<>(order.size());
+        for (int i = 0; i < order.size(); i++) {
+            Order o = order.get(i);
+            String column = prefix + o.key.column;
+            String beyond;
+            if (after[i] == null) {
+                if (o.descending) {
+                    continue; // Nothing comes after NULL
+                }
+                beyond = column + " IS NOT NULL";
+            } else if (o.descending && o.key.nullable) {
+                beyond = "(" + column + " < ? OR " + column + " IS NULL)";
+            } else {
+                beyond = column + (o.descending ? " < ?" : " > ?");
+            }
+
+            StringBuilder term = new StringBuilder("(");
+            for (int j = 0; j < i; j++) {
+                String equal = prefix + order.get(j).key.column;
+                if (after[j] == null) {
+                    term.append(equal).append(" IS NULL AND ");
+                } else {
+                    term.append(equal).append(" = ? AND ");
+                    params.add(after[j]);
+                }
+            }
+            term.append(beyond);
+            if (after[i] != null) {
+                params.add(after[i]);
+            }
+            terms.add(term.append(')').toString());
+        }
+        return "(" + String.join(" OR ", terms) + ")";
+    }
+
+    private static String orderBy(List<Order> order) {
+        StringBuilder sql = new StringBuilder(" ORDER BY ");
+        for (int i = 0; i < order.size(); i++) {
+            sql.append(i == 0 ? "" : ", ").append("r.").append(order.get(i).key.column)
+                .append(order.get(i).descending ? " DESC" : " ASC");
+        }
+        return sql.toString();
+    }
+
+    private static void bind(PreparedStatement stmt, List<Object> params) throws SQLException {
+        for (int i = 0; i < params.size(); i++) {
+            stmt.setObject(i + 1, params.get(i));
+        }
+    }
+
+    // A token names the report and order it belongs to, then holds the last row's sort values
+    private static String fingerprint(Report<?> report, List<Order> order) {
+        StringBuilder sb = new StringBuilder(report.name);
+        for (Order o : order) {
+            sb.append('|').append(o.key.name).append(o.descending ? " DESC" : " ASC");
+        }
+        return sb.toString();
+    }
+
+    private static String encode(Report<?> report, List<Order> order, Object[] values) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeUTF(fingerprint(report, order));
+            for (Object v : values) {
+                out.writeBoolean(v != null);
+                if (v != null) {
+                    out.writeUTF(v instanceof BigDecimal ? ((BigDecimal) v).toPlainString() : v.toString());
+                }
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException(e); // Not thrown by a ByteArrayOutputStream
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes.toByteArray());
+    }
+
+    private static Object[] decode(Report<?> report, List<Order> order, String token) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(Base64.getUrlDecoder().decode(token)))) {
+            if (!in.readUTF().equals(fingerprint(report, order))) {
+                throw new IllegalArgumentException("Page token is for a different report or order: " + token);
+            }
+            Object[] values = new Object[order.size()];
+            for (int i = 0; i < values.length; i++) {
+                if (in.readBoolean()) {
+                    values[i] = parse(order.get(i).key.type, in.readUTF());
+                } else if (!order.get(i).key.nullable) {
+                    throw new IllegalArgumentException("Malformed page token: " + token);
+                }
+            }
+            if (in.available() > 0) {
+                throw new IllegalArgumentException("Malformed page token: " + token);
+            }
+            return values;
+        } catch (IOException | NumberFormatException e) {
+            throw new IllegalArgumentException("Malformed page token: " + token, e);
+        }
+    }
+
+    private static Object parse(Class<?> type, String value) {
+        if (type == Integer.class) {
+            return Integer.valueOf(value);
+        }
+        if (type == Long.class) {
+            return Long.valueOf(value);
+        }
+        if (type == BigDecimal.class) {
+            return new BigDecimal(value);
+        }
+        if (type == Double.class) {
+            return Double.valueOf(value);
+        }
+        return value;
+    }
+}
@@ -0,0 +1,42 @@
+/**
+ * One page of a Report's rows, in the query's order.
+ *
+ * Date Last Modified: October 18, 2026
+ */
+package dao;
+
+import java.util.List;
+
+public final class ReportPage<T> {
+
+    private final List<T> rows;
+    private final String nextPageToken;
+
+    ReportPage(List<T> rows, String nextPageToken) {
+        this.rows = List.copyOf(rows);
+        this.nextPageToken = nextPageToken;
+    }
+
+    public List<T> getRows() {
+        return rows;
+    }
+
+    /**
+     * @return Whether more rows match after this page
+     */
+    public boolean hasMore() {
+        return nextPageToken != null;
+    }
+
+    /**
+     * @return Token to pass to ReportQuery.after() for the next page, or null if this is the last page
+     */
+    public String getNextPageToken() {
+        return nextPageToken;
+    }
+
+    @Override
+    public String toString() {
+        return "ReportPage [" + rows.size() + " rows, hasMore=" + hasMore() + "]";
+    }
+}
@@ -0,0 +1,27 @@
+/**
+ * How the three "above the group average" advanced queries are evaluated:
+ * PropertyDAO.getPropertiesAboveLandlordAverage, TenantDAO.getTenantsPayingAboveAverageRent and
+ * TenantDAO.getTenantsWithAboveAverageBudget.
+ *
+ * CORRELATED is the original SQL, whose SELECT AVG(...) subquery is re-evaluated for every outer row.
+ * SINGLE_PASS computes every group's average once, with AVG() OVER (PARTITION BY ...) or a join against a
+ * GROUP BY, and filters against it. Both return the same rows; bench.ReportPlanVerifier checks that against a
+ * live database and DaoBenchmarks times the two side by side (plan.* benchmarks).
+ *
+ * Date Last Modified: October 18, 2026
+ */
+package dao;
+
+import db.DBConnection;
+
+public enum ReportPlan {
+    CORRELATED,
+    SINGLE_PASS;
+
+    /**
+     * @return SINGLE_PASS unless db.reports.singlePass=0
+     */
+    public static ReportPlan configured() {
+        return DBConnection.getInstance().getIntSetting("db.reports.singlePass", 1) == 0 ? CORRELATED : SINGLE_PASS;
+    }
+}
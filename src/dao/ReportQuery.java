@@ -0,0 +1,110 @@
+/**
+ * Parameters for one run of a Report through ReportEngine: filter values, order, page size and where to start.
+ * Every filter is optional; setters return the query so they can be chained:
+ *
+ *     new ReportQuery().where(Reports.MIN_TENANTS, 3).orderBy(Reports.TOTAL_TENANTS, Report.Direction.DESC)
+ *
+ * To get the next page, pass ReportPage.getNextPageToken() of the previous page to after(). Pages are keyset
+ * based: the next page starts right after the last row of the previous one, without reading and discarding the
+ * rows before it. A grouped report ordered by an aggregate still groups every row for each page; see ReportEngine.
+ *
+ * Date Last Modified: October 18, 2026
+ */
+package dao;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+public final class ReportQuery {
+
+    public static final int DEFAULT_PAGE_SIZE = 50;
+
+    private final Map<Report.Filter<?>, Object> filters = new LinkedHashMap<>();
+    private Report.SortKey<?> sortKey = null;     // null for the report's default order
+    private Report.Direction direction = null;
+    private int pageSize = DEFAULT_PAGE_SIZE;
+    private int skip = 0;
+    private String pageToken = null;
+
+    /**
+     * Only rows (or groups) the filter accepts with this value.
+     * @param filter One of the report's filters, from Reports
+     * @param value Value to compare with, or null to remove the filter
+     */
+    public <V> ReportQuery where(Report.Filter<V> filter, V value) {
+        if (value == null) {
+            filters.remove(filter);
+        } else {
+            filters.put(filter, value);
+        }
+        return this;
+    }
+
+    /**
+     * Order by one of the report's sort keys; ties are broken by the report's key, ascending.
+     */
+    public ReportQuery orderBy(Report.SortKey<?> sortKey, Report.Direction direction) {
+        this.sortKey = sortKey;
+        this.direction = direction;
+        return this;
+    }
+
+    public ReportQuery pageSize(int pageSize) {
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException("Page size must be positive: " + pageSize);
+        }
+        this.pageSize = pageSize;
+        return this;
+    }
+
+    /**
+     * Leave out the first rows of the first page, e.g. outliers at the top of a ranking. Later pages continue
+     * from their token and skip nothing.
+     */
+    public ReportQuery skip(int rows) {
+        if (rows < 0) {
+            throw new IllegalArgumentException("Cannot skip a negative number of rows: " + rows);
+        }
+        this.skip = rows;
+        return this;
+    }
+
+    /**
+     * Start after the last row of a previous page; pass ReportPage.getNextPageToken(), or null for the first page.
+     */
+    public ReportQuery after(String pageToken) {
+        this.pageToken = pageToken;
+        return this;
+    }
+
+    Map<Report.Filter<?>, Object> getFilters() {
+        return Collections.unmodifiableMap(filters);
+    }
+
+    Report.SortKey<?> getSortKey() {
+        return sortKey;
+    }
+
+    Report.Direction getDirection() {
+        return direction;
+    }
+
+    public int getPageSize() {
+        return pageSize;
+    }
+
+    public int getSkip() {
+        return skip;
+    }
+
+    public String getPageToken() {
+        return pageToken;
+    }
+
+    @Override
+    public String toString() {
+        return "ReportQuery [filters=" + filters + ", orderBy=" + sortKey + " " + direction + ", pageSize=" + pageSize
+            + ", skip=" + skip + ", after=" + pageToken + "]";
+    }
+}
@@ -0,0 +1,155 @@
+/**
+ * The advanced queries as parameterized Reports for ReportEngine, with the filters and sort keys each accepts.
+ * The DAO methods that used to hard-code their thresholds and LIMIT/OFFSET run these with the same values, e.g.
+ * LandlordDAO.getLandlordTenantStats() is
+ *
+ *     new ReportQuery().where(Reports.MIN_TENANTS, 3).skip(5).pageSize(20)
+ *
+ * on LANDLORD_TENANTS; any other threshold, order or page is the same report with a different query.
+ *
+ * Date Last Modified: October 18, 2026
+ */
+package dao;
+
+import java.math.BigDecimal;
+import model.dto.LandlordPropertyStats;
+import model.dto.LandlordTenantStats;
+import model.dto.PropertyTenantStats;
+import model.dto.PropertyVacancyStats;
+
+public final class Reports {
+
+    private Reports() { }
+
+    // KEYS
+
+    public static final Report.SortKey<Integer> PID = Report.sortKey("pid", "PID", Integer.class);
+    public static final Report.SortKey<Integer> LLID = Report.sortKey("llid", "LLID", Integer.class);
+
+    // FILTERS
+
+    /** Properties with at least this many vacant beds */
+    public static final Report.Filter<Integer> MIN_VACANT_BEDS = Report.where("minVacantBeds", "o.VacantBeds >= ?");
+
+    /** Properties renting for at least this much */
+    public static final Report.Filter<Double> MIN_PRICE = Report.where("minPrice", "p.Price >= ?");
+
+    /** Properties renting for at most this much */
+    public static final Report.Filter<Double> MAX_PRICE = Report.where("maxPrice", "p.Price <= ?");
+
+    /** Properties renting for at most this much per bed */
+    public static final Report.Filter<Double> MAX_PRICE_PER_BED = Report.where("maxPricePerBed", "o.PricePerBed <= ?");
+
+    /** Properties whose address contains this text; % and _ match only themselves */
+    public static final Report.Filter<String> ADDRESS_CONTAINS = Report.where("addressContains", "p.Address LIKE ?",
+        text -> "%" + text.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%");
+
+    /** Properties with at least this many residents */
+    public static final Report.Filter<Integer> MIN_RESIDENTS = Report.having("minResidents", "COUNT(l.SSN) >= ?");
+
+    /** Landlords with at least this many tenants across their properties */
+    public static final Report.Filter<Integer> MIN_TENANTS = Report.having("minTenants", "COUNT(t.SSN) >= ?");
+
+    /** Landlords with at least this many empty properties */
+    public static final Report.Filter<Integer> MIN_AVAILABLE = Report.having("minAvailable", "COUNT(p.PID) >= ?");
+
+    // SORT KEYS
+
+    public static final Report.SortKey<BigDecimal> PRICE = Report.nullableSortKey("price", "Price", BigDecimal.class);
+    public static final Report.SortKey<BigDecimal> PRICE_PER_BED =
+        Report.nullableSortKey("pricePerBed", "PricePerBed", BigDecimal.class);
+    public static final Report.SortKey<Integer> VACANT_BEDS = Report.sortKey("vacantBeds", "VacantBeds", Integer.class);
+    public static final Report.SortKey<Long> NUM_TENANTS = Report.sortKey("numTenants", "NumTenants", Long.class);
+    public static final Report.SortKey<Long> TOTAL_TENANTS = Report.sortKey("totalTenants", "TotalTenants", Long.class);
+    public static final Report.SortKey<Long> AVAILABLE_PROPERTIES =
+        Report.sortKey("availableProperties", "AvailableProperties", Long.class);
+
+    // REPORTS
+
+    /**
+     * Properties with their occupancy, most expensive first by default (PropertyDAO.getMostExpensiveProperties).
+     * Properties without a price come last, with a price of 0. Sorted on p.Price itself, so idx_property_price
+     * returns the rows in order.
+     */
+    public static final Report<PropertyVacancyStats> VACANT_PROPERTIES = Report.<PropertyVacancyStats>builder("vacantProperties")
+        .select("SELECT p.PID, p.Address, p.Price, p.Bed, o.Occupancy AS CurrentOccupancy, o.VacantBeds " +
+                "FROM Property p " +
+                "JOIN PropertyOccupancy o ON p.PID = o.PID")
+        .key(PID)
+        .filter(MIN_VACANT_BEDS)
+        .filter(MIN_PRICE)
+        .filter(MAX_PRICE)
+        .defaultSort(PRICE, Report.Direction.DESC)
+        .sortKey(VACANT_BEDS)
+        .dependsOn(DataChange.Table.PROPERTY, DataChange.Table.LIVES_IN)
+        .map(ColumnMapper.of(PropertyVacancyStats.class, "PID", "Address", "Price", "Bed", "CurrentOccupancy", "VacantBeds"))
+        .build();
+
+    /**
+     * Properties with their occupancy, rent per bed and landlord, cheapest per bed first by default
+     * (PropertyDAO.getCheapestProperties). Properties without a price per bed come first, with a price per bed of
+     * 0. Sorted on o.PricePerBed itself, so idx_occupancy_priceperbed returns the rows in order.
+     */
+    public static final Report<PropertyVacancyStats> VACANT_PROPERTIES_PER_BED = Report.<PropertyVacancyStats>builder("vacantPropertiesPerBed")
+        .select("SELECT p.PID, p.Address, o.PricePerBed, p.Bed, o.Occupancy AS CurrentOccupancy, o.VacantBeds, l.Name AS LandlordName " +
+                "FROM PropertyOccupancy AS o JOIN Property AS p ON p.PID = o.PID " +
+                "LEFT JOIN Landlord AS l ON p.LLID = l.LLID")
+        .key(PID)
+        .filter(MIN_VACANT_BEDS)
+        .filter(MAX_PRICE_PER_BED)
+        .defaultSort(PRICE_PER_BED, Report.Direction.ASC)
+        .sortKey(VACANT_BEDS)
+        .dependsOn(DataChange.Table.PROPERTY, DataChange.Table.LIVES_IN, DataChange.Table.LANDLORD)
+        .map(ColumnMapper.of(PropertyVacancyStats.class, "PID", "Address", "PricePerBed", "Bed", "CurrentOccupancy", "VacantBeds", "LandlordName"))
+        .build();
+
+    /**
+     * Occupied properties by number of residents, most first by default (PropertyDAO.getPropertyTenantStats).
+     */
+    public static final Report<PropertyTenantStats> PROPERTY_TENANTS = Report.<PropertyTenantStats>builder("propertyTenants")
+        .select("SELECT p.PID, p.Address, COUNT(l.SSN) AS NumTenants " +
+                "FROM Property p JOIN LivesIn l ON p.PID = l.PID")
+        .groupBy("p.PID, p.Address")
+        .key(PID, "p.PID")
+        .filter(ADDRESS_CONTAINS)
+        .filter(MIN_RESIDENTS)
+        .defaultSort(NUM_TENANTS, Report.Direction.DESC)
+        .dependsOn(DataChange.Table.PROPERTY, DataChange.Table.LIVES_IN)
+        .map(ColumnMapper.of(PropertyTenantStats.class, "PID", "Address", "NumTenants"))
+        .build();
+
+    /**
+     * Landlords by total tenants across their properties, most first by default
+     * (LandlordDAO.getLandlordTenantStats).
+     */
+    public static final Report<LandlordTenantStats> LANDLORD_TENANTS = Report.<LandlordTenantStats>builder("landlordTenants")
+        .select("SELECT ll.LLID, ll.Name, COUNT(t.SSN) AS TotalTenants " +
+                "FROM Landlord ll LEFT JOIN Property p ON ll.LLID = p.LLID " +
+                "LEFT JOIN LivesIn li ON p.PID = li.PID " +
+                "LEFT JOIN Tenant t ON li.SSN = t.SSN")
+        .groupBy("ll.LLID, ll.Name")
+        .key(LLID, "ll.LLID")
+        .filter(MIN_TENANTS)
+        .defaultSort(TOTAL_TENANTS, Report.Direction.DESC)
+        .dependsOn(DataChange.Table.LANDLORD, DataChange.Table.PROPERTY, DataChange.Table.LIVES_IN, DataChange.Table.TENANT)
+        .map(ColumnMapper.of(LandlordTenantStats.class, "LLID", "Name", "TotalTenants"))
+        .build();
+
+    /**
+     * Landlords by number of empty properties, in LLID order by default
+     * (LandlordDAO.getLandlordsWithAvailableProperties).
+     */
+    public static final Report<LandlordPropertyStats> LANDLORD_VACANCIES = Report.<LandlordPropertyStats>builder("landlordVacancies")
+        .select("SELECT l.LLID, l.Name, l.Email, COUNT(p.PID) AS AvailableProperties " +
+                "FROM Landlord l " +
+                "JOIN Property AS p ON l.LLID = p.LLID " +
+                "JOIN PropertyOccupancy AS o ON p.PID = o.PID")
+        .condition("o.Occupancy = 0")
+        .groupBy("l.LLID, l.Name, l.Email")
+        .key(LLID, "l.LLID")
+        .filter(MIN_AVAILABLE)
+        .sortKey(AVAILABLE_PROPERTIES)
+        .dependsOn(DataChange.Table.LANDLORD, DataChange.Table.PROPERTY, DataChange.Table.LIVES_IN)
+        .map(ColumnMapper.of(LandlordPropertyStats.class, "LLID", "Name", "Email", "AvailableProperties"))
+        .build();
+}
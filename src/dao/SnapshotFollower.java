@@ -0,0 +1,161 @@
+/**
+ * Keeps an in-memory snapshot of some tables current from the DataChangeBus, for the engines that answer
+ * queries from memory (analytics.AnalyticsEngine, search.PropertySearch). The snapshot says how to reload
+ * itself and how to patch in one change; the follower runs both on one background thread, one at a time and in
+ * the order the changes were published, and counts them.
+ *
+ * A change touching more than MAX_PATCH_KEYS rows, or a whole table, reloads the snapshot instead of
+ * re-reading row by row. A patch that fails is logged and skipped; the next change to those rows, or the next
+ * load(), corrects it.
+ *
+ * Date Last Modified: October 18, 2026
+ */
+package dao;
+
+import java.sql.SQLException;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+
+public final class SnapshotFollower implements AutoCloseable {
+
+    /**
+     * The state a follower keeps current. Both methods run on the follower's thread; they should read from the
+     * database before taking whatever lock guards the snapshot, so readers are only blocked while it changes.
+     */
+    public interface Snapshot {
+        /**
+         * Read every row again and replace the snapshot.
+         */
+        void reload() throws SQLException;
+
+        /**
+         * Re-read the rows a change touched and update the snapshot with them.
+         * @param change A change to one of the followed tables, with at most MAX_PATCH_KEYS keys
+         */
+        void patch(DataChange change) throws SQLException;
+    }
+
+    public static final int MAX_PATCH_KEYS = 1000;
+
+    private final String description;
+    private final Set<DataChange.Table> tables;
+    private final Snapshot snapshot;
+
+    // Loads and applies changes one at a time, in the order they were published
+    private final ExecutorService refresher;
+    private final Consumer<DataChange> listener;
+
+    private volatile boolean subscribed = false;
+    private volatile long loadNanos = 0;
+    private volatile long patches = 0;
+    private volatile long reloads = 0;
+
+    /**
+     * @param description What the snapshot is, for messages, e.g. "analytics snapshot"
+     * @param threadName Name of the background thread
+     * @param tables Tables whose changes affect the snapshot; changes to others are ignored
+     * @param snapshot The snapshot to keep current
+     */
+    public SnapshotFollower(String description, String threadName, Set<DataChange.Table> tables,
+                            Snapshot snapshot) {
+        this.description = description;
+        this.tables = tables;
+        this.snapshot = snapshot;
+        this.refresher = Executors.newSingleThreadExecutor(r -> {
+            Thread t = new Thread(r, threadName);
+            t.setDaemon(true);
+            return t;
+        });
+        this.listener = change -> refresher.execute(() -> apply(change));
+    }
+
+    /**
+     * Load (or reload) the snapshot from the database, and start following DAO writes.
+     * @throws SQLException if the tables cannot be read
+     */
+    public void load() throws SQLException {
+        if (!subscribed) {
+            // Subscribe first: a write committed during the load is applied after it, which is harmless if the
+            // load already saw it, since applying a change re-reads the rows
+            DataChangeBus.getInstance().addListener(listener);
+            subscribed = true;
+        }
+        Future<?> done = refresher.submit(() -> {
+            reload();
+            return null;
+        });
+        try {
+            done.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while loading the " + description, e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof SQLException sqlException) {
+                throw sqlException;
+            }
+            throw new SQLException("Loading the " + description + " failed", e.getCause());
+        }
+    }
+
+    /**
+     * Wait until every change published so far has been applied to the snapshot.
+     */
+    public void awaitRefresh() throws InterruptedException {
+        try {
+            refresher.submit(() -> { }).get();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    /**
+     * Stop following DAO writes and release the background thread.
+     */
+    @Override
+    public void close() {
+        DataChangeBus.getInstance().removeListener(listener);
+        subscribed = false;
+        refresher.shutdown();
+    }
+
+    public long getLoadMillis() {
+        return loadNanos / 1_000_000;
+    }
+
+    public long getPatches() {
+        return patches;
+    }
+
+    public long getReloads() {
+        return reloads;
+    }
+
+    // Runs on the refresher thread
+    private void reload() throws SQLException {
+        long start = System.nanoTime();
+        snapshot.reload();
+        loadNanos = System.nanoTime() - start;
+        reloads++;
+    }
+
+    // Runs on the refresher thread
+    private void apply(DataChange change) {
+        if (!tables.contains(change.getTable())) {
+            return;
+        }
+        try {
+            if (change.isWholeTable() || change.getKeys().size() > MAX_PATCH_KEYS) {
+                reload();
+                return;
+            }
+            snapshot.patch(change);
+            patches++;
+        } catch (SQLException e) {
+            System.err.println("Refresh of the " + description + " for " + change + " failed: " + e.getMessage());
+        }
+    }
+}
@@ -2,7 +2,7 @@
  * Data Access Object (DAO) for Tenant entities.
  * 
  * @author Andrew Peirce
- * Date Last Modified: December 7, 2025
+ * Date Last Modified: October 18, 2026
  */
 package dao;
 
@@ -17,14 +17,36 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 // import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.function.Consumer;
 
 public class TenantDAO {
 
-    private final DBConnection db; // Singleton DB connection instance
+    // Shared by every TenantDAO; invalidated by committed writes to Tenant
+    private static final EntityCache<String, Tenant> CACHE = new EntityCache<>(
+        "Tenant",
+        DBConnection.getInstance().getIntSetting("db.cache.maxEntities", 10_000),
+        DBConnection.getInstance().getIntSetting("db.cache.ttlMs", 60_000)
+    );
+
+    static {
+        DataChangeBus.getInstance().addListener(change -> CACHE.invalidate(change, DataChange.Table.TENANT));
+    }
+
+    // Row mappers, compiled per query on first use (see ColumnMapper)
+    private static final ColumnMapper<Tenant> TENANT = ColumnMapper.of(Tenant.class,
+        "SSN", "FName", "MName", "LName", "Budget", "PhoneNum", "Email", "BirthDate");
+    private static final ColumnMapper<OverpayingTenantStats> OVERPAYING_TENANT_STATS = ColumnMapper.of(
+        OverpayingTenantStats.class, "SSN", "TenantName", "PID", "Address", "Bed", "Price", "RentPerBed");
+    private static final ColumnMapper<TenantBudgetStats> TENANT_BUDGET_STATS = ColumnMapper.of(
+        TenantBudgetStats.class, "FName", "LName", "Budget", "PID");
+
+    private final DBConnection db; // Singleton connection pool manager
 
     public TenantDAO() {
-        db = DBConnection.getInstance(); // Initialize DB connection
+        db = DBConnection.getInstance(); // Connections are borrowed from the pool per call
     }
     
     /**
@@ -37,20 +59,13 @@ public class TenantDAO {
         List<Tenant> tenants = new ArrayList<>();
 
         try (
-            PreparedStatement stmt = db.getConnection().prepareStatement(sql);
+            Connection conn = db.getConnection();
+            PreparedStatement stmt = conn.prepareStatement(sql);
             ResultSet results = stmt.executeQuery();
         ) {
+            ColumnMapper.Bound<Tenant> rows = TENANT.bind(results);
             while (results.next()) {
-                tenants.add(new Tenant(
-                    results.getString("SSN"),
-                    results.getString("FName"),
-                    results.getString("MName"),
-                    results.getString("LName"),
-                    results.getDouble("Budget"),
-                    results.getString("PhoneNum"),
-                    results.getString("Email"),
-                    results.getDate("BirthDate").toLocalDate()
-                ));
+                tenants.add(rows.map());
             }
         }
         
@@ -58,38 +73,133 @@ public class TenantDAO {
     }
 
     /**
-     * Retrieve a tenant by their SSN.
+     * Retrieve a tenant by their SSN. Served from the entity cache when possible.
      * @param ssn Tenant's SSN
      * @return Tenant object or null if not found
      * @throws SQLException
      */
     public Tenant getTenantBySSN(String ssn) throws SQLException {
+        Tenant cached = CACHE.get(ssn);
+        if (cached != null) {
+            return cached;
+        }
+        long generation = CACHE.generation();
+
         String sql = "SELECT * FROM Tenant WHERE SSN = ?";
         Tenant tenant = null;
         try (
-            PreparedStatement stmt = db.getConnection().prepareStatement(sql);
+            Connection conn = db.getConnection();
+            PreparedStatement stmt = conn.prepareStatement(sql);
         ) {
             stmt.setString(1, ssn);
 
             try (ResultSet results = stmt.executeQuery();) {
-                if (results.next()) {
-                    tenant = new Tenant(
-                        results.getString("SSN"),
-                        results.getString("FName"),
-                        results.getString("MName"),
-                        results.getString("LName"),
-                        results.getDouble("Budget"),
-                        results.getString("PhoneNum"),
-                        results.getString("Email"),
-                        results.getDate("BirthDate").toLocalDate()
-                    );
-                }
+                tenant = TENANT.first(results);
             }
         }
         
+        CACHE.putIfUnchanged(ssn, tenant, generation);
         return tenant;
     }
 
+    /**
+     * @return The cache in front of getTenantBySSN, for its hit-rate statistics
+     */
+    public static EntityCache<String, Tenant> getCache() {
+        return CACHE;
+    }
+
+    /**
+     * Stream every tenant to a callback without building the table in memory.
+     * Rows are fetched from a server-side cursor fetchSize rows at a time.
+     * @param fetchSize Rows fetched per round trip
+     * @param action Called once per tenant, in SSN order
+     * @throws SQLException
+     */
+    public void forEachTenant(int fetchSize, Consumer<Tenant> action) throws SQLException {
+        String sql = "SELECT * FROM Tenant ORDER BY SSN";
+
+        try (
+            Connection conn = db.getConnection();
+            PreparedStatement stmt = conn.prepareStatement(sql);
+        ) {
+            stmt.setFetchSize(fetchSize);
+            try (ResultSet results = stmt.executeQuery();) {
+                ColumnMapper.Bound<Tenant> rows = TENANT.bind(results);
+                while (results.next()) {
+                    action.accept(rows.map());
+                }
+            }
+        }
+    }
+
+    /**
+     * Retrieve one page of tenants using keyset pagination on SSN.
+     * Pass an empty string for the first page, then the SSN of the last tenant of the previous page.
+     * @param afterSSN Only tenants with an SSN greater than this are returned
+     * @param limit Maximum number of tenants to return
+     * @return Up to limit tenants in SSN order
+     * @throws SQLException
+     */
+    public List<Tenant> getTenantsPage(String afterSSN, int limit) throws SQLException {
+        String sql = "SELECT * FROM Tenant WHERE SSN > ? ORDER BY SSN LIMIT ?";
+        List<Tenant> tenants = new ArrayList<>(limit);
+
+        try (
+            Connection conn = db.getConnection();
+            PreparedStatement stmt = conn.prepareStatement(sql);
+        ) {
+            stmt.setString(1, afterSSN);
+            stmt.setInt(2, limit);
+            try (ResultSet results = stmt.executeQuery();) {
+                ColumnMapper.Bound<Tenant> rows = TENANT.bind(results);
+                while (results.next()) {
+                    tenants.add(rows.map());
+                }
+            }
+        }
+
+        return tenants;
+    }
+
+    /**
+     * Count the tenants in the database.
+     * @return Number of rows in the Tenant table
+     * @throws SQLException
+     */
+    public int countTenants() throws SQLException {
+        String sql = "SELECT COUNT(*) FROM Tenant";
+
+        try (
+            Connection conn = db.getConnection();
+            PreparedStatement stmt = conn.prepareStatement(sql);
+            ResultSet results = stmt.executeQuery();
+        ) {
+            return results.next() ? results.getInt(1) : 0;
+        }
+    }
+
+    /**
+     * Find the SSN at a given position in SSN order. Used to start keyset pagination at an arbitrary row;
+     * the scan only touches the primary key index.
+     * @param offset Zero-based position
+     * @return The SSN at that position, or null if offset is past the last row
+     * @throws SQLException
+     */
+    public String getTenantKeyAt(int offset) throws SQLException {
+        String sql = "SELECT SSN FROM Tenant ORDER BY SSN LIMIT 1 OFFSET ?";
+
+        try (
+            Connection conn = db.getConnection();
+            PreparedStatement stmt = conn.prepareStatement(sql);
+        ) {
+            stmt.setInt(1, offset);
+            try (ResultSet results = stmt.executeQuery();) {
+                return results.next() ? results.getString(1) : null;
+            }
+        }
+    }
+
     /**
      * Advanced Query: Retrieve tenants paying above average rent-per-bedroom for their property type.
      * (Written and integrated by Andrew Peirce)
@@ -98,7 +208,24 @@ public class TenantDAO {
      * @throws SQLException
      */
     public List<OverpayingTenantStats> getTenantsPayingAboveAverageRent() throws SQLException {
-        String sql = "SELECT t.SSN, CONCAT(t.FName, ' ', t.LName) AS TenantName, p.PID, p.Address, p.Bed, p.Price, (p.Price / p.Bed) AS RentPerBed " +
+        return QueryResultCache.getInstance().get("TenantDAO.getTenantsPayingAboveAverageRent", List.of(),
+            EnumSet.of(DataChange.Table.TENANT, DataChange.Table.LIVES_IN, DataChange.Table.PROPERTY),
+            () -> queryTenantsPayingAboveAverageRent(ReportPlan.configured()));
+    }
+
+    /**
+     * Run getTenantsPayingAboveAverageRent with the given plan, bypassing the result cache.
+     * @param plan CORRELATED for the original SQL, SINGLE_PASS for the pre-aggregated join
+     * @return List of OverpayingTenantStats objects
+     * @throws SQLException
+     */
+    public List<OverpayingTenantStats> getTenantsPayingAboveAverageRent(ReportPlan plan) throws SQLException {
+        return queryTenantsPayingAboveAverageRent(plan);
+    }
+
+    // Runs the query behind getTenantsPayingAboveAverageRent; results are cached by QueryResultCache
+    private List<OverpayingTenantStats> queryTenantsPayingAboveAverageRent(ReportPlan plan) throws SQLException {
+        String correlated = "SELECT t.SSN, CONCAT(t.FName, ' ', t.LName) AS TenantName, p.PID, p.Address, p.Bed, p.Price, (p.Price / p.Bed) AS RentPerBed " +
                      "FROM Tenant t " +
                      "JOIN LivesIn li ON t.SSN = li.SSN " +
                      "JOIN Property p ON li.PID = p.PID " +
@@ -108,23 +235,26 @@ public class TenantDAO {
                      "    WHERE p2.Bed = p.Bed " +
                      ") " +
                      "ORDER BY RentPerBed DESC";
+        // There are only a handful of bed counts: average each once in a GROUP BY and join it back
+        String singlePass = "SELECT t.SSN, CONCAT(t.FName, ' ', t.LName) AS TenantName, p.PID, p.Address, p.Bed, p.Price, (p.Price / p.Bed) AS RentPerBed " +
+                     "FROM Tenant t " +
+                     "JOIN LivesIn li ON t.SSN = li.SSN " +
+                     "JOIN Property p ON li.PID = p.PID " +
+                     "JOIN (SELECT Bed, AVG(Price / Bed) AS AverageRentPerBed FROM Property GROUP BY Bed) AS b ON b.Bed = p.Bed " +
+                     "WHERE (p.Price / p.Bed) > b.AverageRentPerBed " +
+                     "ORDER BY RentPerBed DESC";
+        String sql = plan == ReportPlan.CORRELATED ? correlated : singlePass;
 
         List<OverpayingTenantStats> stats = new ArrayList<>();
 
         try (
-            PreparedStatement stmt = db.getConnection().prepareStatement(sql);
+            Connection conn = db.getConnection();
+            PreparedStatement stmt = conn.prepareStatement(sql);
             ResultSet results = stmt.executeQuery();
         ) {
+            ColumnMapper.Bound<OverpayingTenantStats> rows = OVERPAYING_TENANT_STATS.bind(results);
             while (results.next()) {
-                stats.add(new OverpayingTenantStats(
-                    results.getString("SSN"),
-                    results.getString("TenantName"),
-                    results.getInt("PID"),
-                    results.getString("Address"),
-                    results.getInt("Bed"),
-                    results.getDouble("Price"),
-                    results.getDouble("RentPerBed")
-                ));
+                stats.add(rows.map());
             }
         }
         
@@ -139,27 +269,49 @@ public class TenantDAO {
      * @throws SQLException
      */
     public List<TenantBudgetStats> getTenantsWithAboveAverageBudget() throws SQLException {
-        String sql = "SELECT t.FName, t.LName, t.Budget, li.PID " +
+        return QueryResultCache.getInstance().get("TenantDAO.getTenantsWithAboveAverageBudget", List.of(),
+            EnumSet.of(DataChange.Table.TENANT, DataChange.Table.LIVES_IN),
+            () -> queryTenantsWithAboveAverageBudget(ReportPlan.configured()));
+    }
+
+    /**
+     * Run getTenantsWithAboveAverageBudget with the given plan, bypassing the result cache.
+     * @param plan CORRELATED for the original SQL, SINGLE_PASS for the window function rewrite
+     * @return List of TenantBudgetStats objects
+     * @throws SQLException
+     */
+    public List<TenantBudgetStats> getTenantsWithAboveAverageBudget(ReportPlan plan) throws SQLException {
+        return queryTenantsWithAboveAverageBudget(plan);
+    }
+
+    // Runs the query behind getTenantsWithAboveAverageBudget; results are cached by QueryResultCache
+    private List<TenantBudgetStats> queryTenantsWithAboveAverageBudget(ReportPlan plan) throws SQLException {
+        String correlated = "SELECT t.FName, t.LName, t.Budget, li.PID " +
                      "FROM Tenant t JOIN LivesIn li ON t.SSN = li.SSN " +
                      "WHERE t.Budget > ( " +
                         "SELECT AVG(t2.Budget) " +
                             "FROM LivesIn li2 JOIN Tenant t2 ON li2.SSN = t2.SSN " +
                             "WHERE li2.PID = li.PID) " +
                      "ORDER BY t.Budget DESC";
+        // Each property's average budget over the same join. Budget is a DOUBLE, so a budget exactly equal to
+        // its property's average can round either way depending on summation order, in either plan.
+        String singlePass = "SELECT r.FName, r.LName, r.Budget, r.PID " +
+                     "FROM (SELECT t.FName, t.LName, t.Budget, li.PID, AVG(t.Budget) OVER (PARTITION BY li.PID) AS PropertyAverage " +
+                        "FROM Tenant t JOIN LivesIn li ON t.SSN = li.SSN) AS r " +
+                     "WHERE r.Budget > r.PropertyAverage " +
+                     "ORDER BY r.Budget DESC";
+        String sql = plan == ReportPlan.CORRELATED ? correlated : singlePass;
 
         List<TenantBudgetStats> stats = new ArrayList<>();
 
         try (
-            PreparedStatement stmt = db.getConnection().prepareStatement(sql);
+            Connection conn = db.getConnection();
+            PreparedStatement stmt = conn.prepareStatement(sql);
             ResultSet results = stmt.executeQuery();
         ) {
+            ColumnMapper.Bound<TenantBudgetStats> rows = TENANT_BUDGET_STATS.bind(results);
             while (results.next()) {
-                stats.add(new TenantBudgetStats(
-                    results.getString("FName"),
-                    results.getString("LName"),
-                    results.getDouble("Budget"),
-                    results.getInt("PID")
-                ));
+                stats.add(rows.map());
             }
         }
 
@@ -174,7 +326,8 @@ public class TenantDAO {
     public void insertTenant(Tenant t) throws SQLException {
         String sql = "INSERT INTO Tenant (SSN, FName, MName, LName, Budget, PhoneNum, Email, BirthDate) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
         try (
-            PreparedStatement stmt = db.getConnection().prepareStatement(sql);
+            Connection conn = db.getConnection();
+            PreparedStatement stmt = conn.prepareStatement(sql);
         ) {
             stmt.setString(1, t.getSSN());
             stmt.setString(2, t.getFname());
@@ -183,9 +336,10 @@ public class TenantDAO {
             stmt.setDouble(5, t.getBudget());
             stmt.setString(6, t.getPhoneNum());
             stmt.setString(7, t.getEmail());
-            stmt.setDate(8, java.sql.Date.valueOf(t.getBirthDate()));
+            stmt.setDate(8, t.getBirthDate() != null ? java.sql.Date.valueOf(t.getBirthDate()) : null);
             stmt.executeUpdate();
         }
+        DataChangeBus.getInstance().publish(DataChange.Table.TENANT, DataChange.Kind.INSERT, List.of(t.getSSN()));
     }   
 
     /**
@@ -196,7 +350,8 @@ public class TenantDAO {
     public void updateTenant(Tenant t) throws SQLException {
         String sql = "UPDATE Tenant SET FName = ?, MName = ?, LName = ?, Budget = ?, PhoneNum = ?, Email = ?, BirthDate = ? WHERE SSN = ?";
         try (
-            PreparedStatement stmt = db.getConnection().prepareStatement(sql);
+            Connection conn = db.getConnection();
+            PreparedStatement stmt = conn.prepareStatement(sql);
         ) {
             stmt.setString(1, t.getFname());
             stmt.setString(2, t.getMname());
@@ -204,10 +359,78 @@ public class TenantDAO {
             stmt.setDouble(4, t.getBudget());
             stmt.setString(5, t.getPhoneNum());
             stmt.setString(6, t.getEmail());
-            stmt.setDate(7, java.sql.Date.valueOf(t.getBirthDate()));
+            stmt.setDate(7, t.getBirthDate() != null ? java.sql.Date.valueOf(t.getBirthDate()) : null);
             stmt.setString(8, t.getSSN());
             stmt.executeUpdate();
         }
+        DataChangeBus.getInstance().publish(DataChange.Table.TENANT, DataChange.Kind.UPDATE, List.of(t.getSSN()));
+    }
+
+    /**
+     * Insert many tenants using batched, chunked transactions.
+     * @param tenants Tenants to insert
+     * @throws SQLException
+     */
+    public void insertAll(Collection<Tenant> tenants) throws SQLException {
+        insertAll(tenants, BatchExecutor.DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * Insert many tenants using batched, chunked transactions.
+     * @param tenants Tenants to insert
+     * @param batchSize Rows per batch and per transaction
+     * @throws SQLException
+     */
+    public void insertAll(Collection<Tenant> tenants, int batchSize) throws SQLException {
+        String sql = "INSERT INTO Tenant (SSN, FName, MName, LName, Budget, PhoneNum, Email, BirthDate) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+        try {
+            BatchExecutor.executeInChunks(db, sql, tenants, batchSize, TenantDAO::bindTenant, null);
+        } finally {
+            // Chunks committed before a failure stay committed
+            if (!tenants.isEmpty()) {
+                DataChangeBus.getInstance().publish(DataChange.Table.TENANT, DataChange.Kind.INSERT, ssnsOf(tenants));
+            }
+        }
+    }
+
+    /**
+     * Insert or update many tenants, keyed on SSN, using INSERT ... ON DUPLICATE KEY UPDATE.
+     * @param tenants Tenants to write
+     * @throws SQLException
+     */
+    public void upsertAll(Collection<Tenant> tenants) throws SQLException {
+        upsertAll(tenants, BatchExecutor.DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * Insert or update many tenants, keyed on SSN, using INSERT ... ON DUPLICATE KEY UPDATE.
+     * @param tenants Tenants to write
+     * @param batchSize Rows per batch and per transaction
+     * @throws SQLException
+     */
+    public void upsertAll(Collection<Tenant> tenants, int batchSize) throws SQLException {
+        String sql = "INSERT INTO Tenant (SSN, FName, MName, LName, Budget, PhoneNum, Email, BirthDate) VALUES (?, ?, ?, ?, ?, ?, ?, ?) " +
+                     "ON DUPLICATE KEY UPDATE FName = VALUES(FName), MName = VALUES(MName), LName = VALUES(LName), " +
+                     "Budget = VALUES(Budget), PhoneNum = VALUES(PhoneNum), Email = VALUES(Email), BirthDate = VALUES(BirthDate)";
+        try {
+            BatchExecutor.executeInChunks(db, sql, tenants, batchSize, TenantDAO::bindTenant, null);
+        } finally {
+            if (!tenants.isEmpty()) {
+                DataChangeBus.getInstance().publish(DataChange.Table.TENANT, DataChange.Kind.UPDATE, ssnsOf(tenants));
+            }
+        }
+    }
+
+    // Binds a tenant in the column order used by the bulk INSERT statements
+    private static void bindTenant(PreparedStatement stmt, Tenant t) throws SQLException {
+        stmt.setString(1, t.getSSN());
+        stmt.setString(2, t.getFname());
+        stmt.setString(3, t.getMname());
+        stmt.setString(4, t.getLname());
+        stmt.setDouble(5, t.getBudget());
+        stmt.setString(6, t.getPhoneNum());
+        stmt.setString(7, t.getEmail());
+        stmt.setDate(8, t.getBirthDate() != null ? java.sql.Date.valueOf(t.getBirthDate()) : null);
     }
 
     /**
@@ -217,42 +440,105 @@ public class TenantDAO {
      */
     public void deleteTenant(String ssn) throws SQLException {
         // To maintain referential integrity, delete related records first
+        String selectHomes = "SELECT PID FROM LivesIn WHERE SSN = ?";
+        String selectLeases = "SELECT PID FROM LeasesFrom WHERE SSN = ?";
         String deleteFromLivesIn = "DELETE FROM LivesIn WHERE SSN = ?";
         String deleteFromLeasesFrom = "DELETE FROM LeasesFrom WHERE SSN = ?";
         String deleteTenant = "DELETE FROM Tenant WHERE SSN = ?";
 
-        Connection conn = db.getConnection();
-        boolean originalAutoCommit = conn.getAutoCommit();
-        conn.setAutoCommit(false);
+        try (Connection conn = db.getConnection()) {
+            boolean originalAutoCommit = conn.getAutoCommit();
+            conn.setAutoCommit(false);
 
-        try (
-            PreparedStatement stmt0 = conn.prepareStatement(deleteFromLivesIn);
-            PreparedStatement stmt1 = conn.prepareStatement(deleteFromLeasesFrom);
-            PreparedStatement stmt2 = conn.prepareStatement(deleteTenant);
-        ) {
-            // Delete from LivesIn table
-            stmt0.setString(1, ssn);
-            stmt0.executeUpdate();
+            try (
+                PreparedStatement stmt0 = conn.prepareStatement(deleteFromLivesIn);
+                PreparedStatement stmt1 = conn.prepareStatement(deleteFromLeasesFrom);
+                PreparedStatement stmt2 = conn.prepareStatement(deleteTenant);
+            ) {
+                // Remember which properties are affected, for the change events
+                List<Integer> homes = selectPIDs(conn, selectHomes, ssn);
+                List<Integer> leases = selectPIDs(conn, selectLeases, ssn);
 
-            // Delete from LeasesFrom table
-            stmt1.setString(1, ssn);
-            stmt1.executeUpdate();
+                // Free the tenant's beds in the occupancy summary before their LivesIn rows go
+                OccupancySummary.removeTenant(conn, ssn);
 
-            // Delete from Tenant table
-            stmt2.setString(1, ssn);
-            int rows = stmt2.executeUpdate();
+                // Delete from LivesIn table
+                stmt0.setString(1, ssn);
+                stmt0.executeUpdate();
 
-            if (rows == 0) {
-                throw new SQLException("No tenant found with SSN: " + ssn);
-            }
+                // Delete from LeasesFrom table
+                stmt1.setString(1, ssn);
+                stmt1.executeUpdate();
+
+                // Delete from Tenant table
+                stmt2.setString(1, ssn);
+                int rows = stmt2.executeUpdate();
+
+                if (rows == 0) {
+                    throw new SQLException("No tenant found with SSN: " + ssn);
+                }
             
-            conn.commit();
-        } catch (SQLException e) {
-            conn.rollback();
-            throw e;
-        } finally {
-            conn.setAutoCommit(originalAutoCommit);
+                conn.commit();
+
+                DataChangeBus bus = DataChangeBus.getInstance();
+                if (!homes.isEmpty()) {
+                    bus.publish(DataChange.Table.LIVES_IN, DataChange.Kind.DELETE, homes);
+                }
+                if (!leases.isEmpty()) {
+                    bus.publish(DataChange.Table.LEASES_FROM, DataChange.Kind.DELETE, leases);
+                }
+                bus.publish(DataChange.Table.TENANT, DataChange.Kind.DELETE, List.of(ssn));
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(originalAutoCommit);
+            }
+        }
+    }
+
+    /**
+     * Delete many tenants with everything that references them (LivesIn, LeasesFrom and any other table with a
+     * foreign key to Tenant), in chunked transactions of CascadeDelete.DEFAULT_CHUNK_SIZE. The occupancy of the
+     * properties they lived in is recounted. SSNs with no tenant are ignored.
+     * @param ssns Tenants' SSNs
+     * @return Number of tenants deleted
+     * @throws SQLException if a chunk fails; chunks committed before it stay deleted
+     */
+    public int deleteTenants(Collection<String> ssns) throws SQLException {
+        return deleteTenants(ssns, CascadeDelete.DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * Delete many tenants with everything that references them, in chunked transactions.
+     * @param ssns Tenants' SSNs
+     * @param chunkSize Keys per transaction
+     * @return Number of tenants deleted
+     * @throws SQLException if a chunk fails; chunks committed before it stay deleted
+     */
+    public int deleteTenants(Collection<String> ssns, int chunkSize) throws SQLException {
+        return CascadeDelete.delete(db, "Tenant", "SSN", ssns, chunkSize).get("Tenant").intValue();
+    }
+
+    private static List<Integer> selectPIDs(Connection conn, String sql, String ssn) throws SQLException {
+        List<Integer> pids = new ArrayList<>();
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setString(1, ssn);
+            try (ResultSet results = stmt.executeQuery();) {
+                while (results.next()) {
+                    pids.add(results.getInt("PID"));
+                }
+            }
+        }
+        return pids;
+    }
+
+    private static List<String> ssnsOf(Collection<Tenant> tenants) {
+        List<String> ssns = new ArrayList<>(tenants.size());
+        for (Tenant t : tenants) {
+            ssns.add(t.getSSN());
         }
+        return ssns;
     }
 
     // public static void main(String[] args) {
@@ -0,0 +1,430 @@
+/**
+ * A bounded JDBC connection pool exposed through the standard DataSource interface.
+ * Connections are handed out as proxies whose close() returns the physical connection to the pool,
+ * so DAOs can borrow a connection per call with try-with-resources and run concurrently.
+ *
+ * Supports a minimum and maximum pool size, idle eviction, a borrow timeout, and leak detection for connections
+ * held longer than a threshold. Validating a connection is a round trip to the server, so only connections that
+ * sat idle longer than a threshold are validated on borrow; one that broke while recently used fails when the
+ * borrower uses it, and the driver then reports it closed so it is discarded when returned.
+ * Each physical connection keeps an LRU cache of prepared statements keyed by SQL text.
+ * While QueryMetrics is enabled, borrow waits are recorded and statements are handed out wrapped so their
+ * executions are timed.
+ *
+ * Date Last Modified: October 18, 2026
+ */
+package db;
+
+import java.io.PrintWriter;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Statement;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Logger;
+import javax.sql.DataSource;
+
+public class ConnectionPool implements DataSource {
+
+    private static final int VALIDATION_TIMEOUT_SECONDS = 2;
+
+    private final String url;
+    private final int minSize;
+    private final int maxSize;
+    private final long idleTimeoutMillis;
+    private final long borrowTimeoutMillis;
+    private final long leakThresholdMillis;
+    private final int statementCacheSize;
+    private final long validateAfterIdleMillis;
+    private final LongAdder statementCacheHits = new LongAdder();
+    private final LongAdder statementCacheMisses = new LongAdder();
+
+    private final Semaphore permits; // one permit per connection that may be handed out
+    private final Deque<PooledConnection> idle = new ArrayDeque<>(); // guarded by this
+    private final Set<PooledConnection> borrowed = ConcurrentHashMap.newKeySet();
+    private final ScheduledExecutorService housekeeper;
+    private volatile boolean closed = false;
+
+    /**
+     * Create a pool and eagerly open the minimum number of connections.
+     * @param url JDBC URL including credentials
+     * @param minSize Number of idle connections kept open
+     * @param maxSize Maximum number of connections open at once
+     * @param idleTimeoutMillis How long a connection above minSize may sit idle before it is closed
+     * @param borrowTimeoutMillis How long getConnection() waits for a free connection
+     * @param leakThresholdMillis How long a connection may be held before it is reported as leaked (0 disables)
+     * @param statementCacheSize Prepared statements cached per connection (0 disables)
+     * @param validateAfterIdleMillis How long a connection may sit idle before it is validated on borrow
+     *                                (0 validates every borrow)
+     * @throws SQLException if the initial connections cannot be opened
+     */
+    public ConnectionPool(String url, int minSize, int maxSize, long idleTimeoutMillis, long borrowTimeoutMillis,
+                          long leakThresholdMillis, int statementCacheSize, long validateAfterIdleMillis)
+            throws SQLException {
+        if (minSize < 0 || maxSize < 1 || minSize > maxSize) {
+            throw new IllegalArgumentException("Invalid pool size: min=" + minSize + ", max=" + maxSize);
+        }
+        this.url = url;
+        this.minSize = minSize;
+        this.maxSize = maxSize;
+        this.idleTimeoutMillis = idleTimeoutMillis;
+        this.borrowTimeoutMillis = borrowTimeoutMillis;
+        this.leakThresholdMillis = leakThresholdMillis;
+        this.statementCacheSize = statementCacheSize;
+        this.validateAfterIdleMillis = validateAfterIdleMillis;
+        this.permits = new Semaphore(maxSize, true);
+
+        for (int i = 0; i < minSize; i++) {
+            idle.push(new PooledConnection(DriverManager.getConnection(url)));
+        }
+
+        housekeeper = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "connection-pool-housekeeper");
+            t.setDaemon(true);
+            return t;
+        });
+        long period = Math.max(1000, Math.min(idleTimeoutMillis, 30_000) / 2);
+        housekeeper.scheduleWithFixedDelay(this::housekeep, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Borrow a connection from the pool. Close the returned connection to give it back.
+     * @return A connection, validated if it had been idle longer than the validation threshold
+     * @throws SQLException if the pool is closed, the borrow times out, or a connection cannot be opened
+     */
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (closed) {
+            throw new SQLException("Connection pool is closed");
+        }
+        long start = System.nanoTime();
+        try {
+            if (!permits.tryAcquire(borrowTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                throw new SQLException("Timed out after " + borrowTimeoutMillis + " ms waiting for a database connection "
+                        + "(active=" + getActiveCount() + ", max=" + maxSize + ")");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a database connection", e);
+        }
+
+        try {
+            PooledConnection pc = takeValidIdle();
+            if (pc == null) {
+                pc = new PooledConnection(DriverManager.getConnection(url));
+            }
+            pc.borrowedAt = System.currentTimeMillis();
+            pc.borrowSite = leakThresholdMillis > 0 ? new Throwable("Connection borrowed here") : null;
+            borrowed.add(pc);
+            long waited = System.nanoTime() - start;
+            if (QueryMetrics.getInstance().isEnabled()) {
+                QueryMetrics.getInstance().recordPoolWait(waited);
+            }
+            return pc.newHandle(waited);
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Pooled connections use the configured credentials");
+    }
+
+    /**
+     * Close all idle connections and refuse further borrows. Borrowed connections are closed when returned.
+     */
+    public void close() {
+        closed = true;
+        housekeeper.shutdownNow();
+        synchronized (this) {
+            for (PooledConnection pc : idle) {
+                pc.closeQuietly();
+            }
+            idle.clear();
+        }
+    }
+
+    /**
+     * @return Number of connections currently borrowed
+     */
+    public int getActiveCount() {
+        return borrowed.size();
+    }
+
+    /**
+     * @return Number of open connections waiting in the pool
+     */
+    public synchronized int getIdleCount() {
+        return idle.size();
+    }
+
+    /**
+     * @return Maximum number of connections the pool will open
+     */
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * @return Number of prepareStatement(sql) calls served from a statement cache
+     */
+    public long getStatementCacheHits() {
+        return statementCacheHits.sum();
+    }
+
+    /**
+     * @return Number of prepareStatement(sql) calls that had to prepare a new statement
+     */
+    public long getStatementCacheMisses() {
+        return statementCacheMisses.sum();
+    }
+
+    // Pop idle connections (most recently used first) until one was returned recently or passes validation.
+    private PooledConnection takeValidIdle() {
+        while (true) {
+            PooledConnection pc;
+            synchronized (this) {
+                pc = idle.poll();
+            }
+            if (pc == null) {
+                return null;
+            }
+            if (System.currentTimeMillis() - pc.lastReturnedAt < validateAfterIdleMillis || pc.isUsable()) {
+                return pc;
+            }
+            pc.closeQuietly();
+        }
+    }
+
+    // Called when a borrower closes its handle.
+    private void release(PooledConnection pc) {
+        borrowed.remove(pc);
+        pc.borrowSite = null;
+        pc.statements.releaseAll();
+        try {
+            if (closed || !pc.reset()) {
+                pc.closeQuietly();
+            } else {
+                pc.lastReturnedAt = System.currentTimeMillis();
+                synchronized (this) {
+                    idle.push(pc);
+                }
+            }
+        } finally {
+            permits.release();
+        }
+    }
+
+    // Periodic task: evict idle connections above minSize and report leaked connections.
+    private void housekeep() {
+        long now = System.currentTimeMillis();
+        synchronized (this) {
+            // The least recently used connections sit at the tail of the deque
+            Iterator<PooledConnection> it = idle.descendingIterator();
+            while (it.hasNext() && idle.size() > minSize) {
+                PooledConnection pc = it.next();
+                if (now - pc.lastReturnedAt > idleTimeoutMillis) {
+                    it.remove();
+                    pc.closeQuietly();
+                }
+            }
+        }
+
+        if (leakThresholdMillis > 0) {
+            for (PooledConnection pc : borrowed) {
+                Throwable site = pc.borrowSite;
+                if (site != null && now - pc.borrowedAt > leakThresholdMillis && !pc.leakReported) {
+                    pc.leakReported = true;
+                    System.err.println("Possible connection leak: connection held for " + (now - pc.borrowedAt) + " ms");
+                    site.printStackTrace();
+                }
+            }
+        }
+    }
+
+    // DataSource boilerplate
+
+    @Override
+    public PrintWriter getLogWriter() {
+        return DriverManager.getLogWriter();
+    }
+
+    @Override
+    public void setLogWriter(PrintWriter out) {
+        DriverManager.setLogWriter(out);
+    }
+
+    @Override
+    public void setLoginTimeout(int seconds) {
+        DriverManager.setLoginTimeout(seconds);
+    }
+
+    @Override
+    public int getLoginTimeout() {
+        return DriverManager.getLoginTimeout();
+    }
+
+    @Override
+    public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+        throw new SQLFeatureNotSupportedException();
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        if (iface.isInstance(this)) {
+            return iface.cast(this);
+        }
+        throw new SQLException("Not a wrapper for " + iface.getName());
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) {
+        return iface.isInstance(this);
+    }
+
+    /**
+     * A physical connection owned by the pool, plus the bookkeeping needed to hand it out.
+     */
+    private class PooledConnection {
+        private final Connection physical;
+        private final StatementCache statements;
+        private volatile long borrowedAt;
+        private volatile long lastReturnedAt = System.currentTimeMillis();
+        private volatile Throwable borrowSite;
+        private volatile boolean leakReported;
+
+        PooledConnection(Connection physical) {
+            this.physical = physical;
+            this.statements = new StatementCache(physical, statementCacheSize, statementCacheHits, statementCacheMisses);
+        }
+
+        // Validation on borrow, a round trip to the server
+        boolean isUsable() {
+            try {
+                return physical.isValid(VALIDATION_TIMEOUT_SECONDS);
+            } catch (SQLException e) {
+                return false;
+            }
+        }
+
+        // Undo per-borrower state so the next borrower sees a clean connection.
+        boolean reset() {
+            try {
+                if (physical.isClosed()) {
+                    return false;
+                }
+                if (!physical.getAutoCommit()) {
+                    physical.rollback();
+                    physical.setAutoCommit(true);
+                }
+                if (physical.isReadOnly()) {
+                    physical.setReadOnly(false);
+                }
+                physical.clearWarnings();
+                leakReported = false;
+                return true;
+            } catch (SQLException e) {
+                return false;
+            }
+        }
+
+        void closeQuietly() {
+            statements.closeAll();
+            try {
+                physical.close();
+            } catch (SQLException ignored) {
+                // Nothing useful to do if the connection is already broken
+            }
+        }
+
+        Connection newHandle(long borrowWaitNanos) {
+            return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(),
+                new Class<?>[] { Connection.class },
+                new Handle(this, borrowWaitNanos)
+            );
+        }
+    }
+
+    /**
+     * The borrower's view of a pooled connection. Closing it returns the connection to the pool;
+     * any use after close fails instead of touching a connection that now belongs to someone else.
+     */
+    private class Handle implements InvocationHandler {
+        private PooledConnection owner;
+        private long borrowWaitNanos; // Charged to the first statement executed, then -1
+
+        Handle(PooledConnection owner, long borrowWaitNanos) {
+            this.owner = owner;
+            this.borrowWaitNanos = borrowWaitNanos;
+        }
+
+        long takeBorrowWait() {
+            long waited = borrowWaitNanos;
+            borrowWaitNanos = -1;
+            return waited;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            switch (name) {
+                case "close":
+                    synchronized (this) {
+                        if (owner != null) {
+                            PooledConnection pc = owner;
+                            owner = null;
+                            release(pc);
+                        }
+                    }
+                    return null;
+                case "isClosed":
+                    return owner == null || owner.physical.isClosed();
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "PooledConnection[" + (owner == null ? "closed" : owner.physical) + "]";
+                default:
+                    break;
+            }
+
+            PooledConnection pc = owner;
+            if (pc == null) {
+                throw new SQLException("Connection has already been returned to the pool");
+            }
+            Object result;
+            if (name.equals("prepareStatement") && args.length == 1) {
+                result = pc.statements.prepare((String) args[0], (Connection) proxy);
+            } else {
+                try {
+                    result = method.invoke(pc.physical, args);
+                } catch (InvocationTargetException e) {
+                    throw e.getCause();
+                }
+            }
+            if (result instanceof Statement stmt && QueryMetrics.getInstance().isEnabled()) {
+                String sql = name.equals("createStatement") ? null : (String) args[0];
+                return QueryMetrics.getInstance().instrument(stmt, sql, this::takeBorrowWait);
+            }
+            return result;
+        }
+    }
+}
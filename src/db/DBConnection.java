@@ -1,21 +1,29 @@
 /**
- * A class to instantiate a connection to the database using JDBC. Implements the Singleton design pattern 
- * to ensure only one connection instance exists, and provides methods to connect and disconnect from the database.
- * 
+ * A class to manage database connectivity using JDBC. Implements the Singleton design pattern
+ * to ensure only one connection pool exists, and provides methods to connect and disconnect from the database.
+ * Callers borrow a connection per unit of work and close it to return it to the pool.
+ *
  * @author Andrew Peirce
- * Date Last Modified: December 2, 2025
+ * Date Last Modified: October 18, 2026
  */
 package db;
 
 import java.io.FileInputStream;
 import java.io.IOException;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
 import java.sql.*;
 import java.util.*;
 
 public class DBConnection {
-    private String url = getCredentials();
+    /** Pool size when db.pool.maxSize is not set, as in config/db.properties.template */
+    public static final int DEFAULT_POOL_MAX_SIZE = 8;
 
-    private Connection connection;
+    private final Properties properties = loadProperties();
+    private final String url = getCredentials();
+
+    private volatile ConnectionPool pool;
 
     // Singleton pattern
     private static final DBConnection INSTANCE = new DBConnection();
@@ -31,50 +39,129 @@ public class DBConnection {
     }
 
     /**
-     * Connect to the database.
+     * Connect to the database by starting the connection pool.
      * @throws SQLException if a database access error occurs
      */
-    public void connect() throws SQLException {
-        if (connection == null || connection.isClosed()) {
-            connection = DriverManager.getConnection(url);
+    public synchronized void connect() throws SQLException {
+        if (pool == null) {
+            pool = new ConnectionPool(
+                url,
+                getIntSetting("db.pool.minSize", 2),
+                getIntSetting("db.pool.maxSize", DEFAULT_POOL_MAX_SIZE),
+                getIntSetting("db.pool.idleTimeoutMs", 300_000),
+                getIntSetting("db.pool.borrowTimeoutMs", 10_000),
+                getIntSetting("db.pool.leakThresholdMs", 60_000),
+                getIntSetting("db.pool.statementCacheSize", 64),
+                getIntSetting("db.pool.validateAfterIdleMs", 30_000)
+            );
+            configureMetrics();
         }
     }
 
     /**
-     * Disconnect from the database.
+     * Disconnect from the database by closing the connection pool.
      * @throws SQLException if a database access error occurs
      */
-    public void disconnect() throws SQLException {
-        if (connection != null && !connection.isClosed()) {
-            connection.close();
+    public synchronized void disconnect() throws SQLException {
+        if (pool != null) {
+            pool.close();
+            pool = null;
+            QueryMetrics.getInstance().stopExport();
         }
     }
+
     /**
-     * Get the current database connection.
-     * @return The current database connection.
+     * Borrow a connection from the pool. The caller must close it to return it.
+     * @return A pooled database connection.
+     * @throws SQLException if not connected or no connection becomes available in time
      */
-    public Connection getConnection() {
-        return connection;
+    public Connection getConnection() throws SQLException {
+        return getDataSource().getConnection();
     }
 
     /**
-     * A helper method to read JDBC credentials from a properties file.
-     * @return A formatted JDBC URL string.
+     * Get the pool backing this instance.
+     * @return The connection pool.
+     * @throws SQLException if connect() has not been called
      */
-    private String getCredentials() {
-        String url = "", user = "", pass = "";
+    public ConnectionPool getDataSource() throws SQLException {
+        ConnectionPool current = pool;
+        if (current == null) {
+            throw new SQLException("Not connected to the database");
+        }
+        return current;
+    }
+
+    /**
+     * Read an integer setting from db.properties.
+     * @param key Property key
+     * @param defaultValue Value used when the key is missing or malformed
+     * @return The configured value
+     */
+    public int getIntSetting(String key, int defaultValue) {
+        String value = properties.getProperty(key);
+        if (value == null || value.isBlank()) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            System.err.println("Ignoring invalid value for " + key + ": " + value);
+            return defaultValue;
+        }
+    }
 
+    /**
+     * A helper method to apply the db.metrics settings to QueryMetrics.
+     */
+    private void configureMetrics() {
+        QueryMetrics metrics = QueryMetrics.getInstance();
+        metrics.setEnabled(getIntSetting("db.metrics.enabled", 1) != 0);
+        metrics.setSlowQueryThresholdMillis(getIntSetting("db.metrics.slowQueryMs", 500));
+        if (metrics.isEnabled() && getIntSetting("db.metrics.jmx", 1) != 0) {
+            metrics.registerMBean();
+        }
+        String file = properties.getProperty("db.metrics.file");
+        if (metrics.isEnabled() && file != null && !file.isBlank()) {
+            metrics.startExport(Paths.get(file.trim()), getIntSetting("db.metrics.exportIntervalMs", 60_000));
+        }
+    }
+
+    /**
+     * A helper method to read db.properties.
+     * @return The loaded properties (empty if the file is missing).
+     */
+    private Properties loadProperties() {
         Properties properties = new Properties();
         try (FileInputStream fis = new FileInputStream("config/db.properties")) {
             properties.load(fis);
         } catch (IOException e) {
             e.printStackTrace();
         }
+        return properties;
+    }
 
-        url = properties.getProperty("db.url");
-        user = properties.getProperty("db.user");
-        pass = properties.getProperty("db.pass");
+    /**
+     * A helper method to build the JDBC URL from the credentials in db.properties.
+     * @return A formatted JDBC URL string.
+     */
+    private String getCredentials() {
+        String url = properties.getProperty("db.url");
+        String user = properties.getProperty("db.user");
+        String pass = properties.getProperty("db.pass");
+
+        // Server-side prepared statements pair with the per-connection statement cache in ConnectionPool,
+        // batched inserts are rewritten into multi-row INSERTs by the driver,
+        // and a positive fetch size streams results through a server-side cursor
+        String jdbcUrl = "jdbc:mysql://" + url + "?user=" + user + "&password=" + pass
+                + "&useServerPrepStmts=true&rewriteBatchedStatements=true&useCursorFetch=true";
 
-        return "jdbc:mysql://" + url + "?user=" + user + "&password=" + pass;
+        // LOAD DATA LOCAL INFILE is only allowed for files under an explicitly configured directory
+        String infilePath = properties.getProperty("db.localInfilePath");
+        if (infilePath != null && !infilePath.isBlank()) {
+            jdbcUrl += "&allowLoadLocalInfileInPath="
+                    + URLEncoder.encode(Paths.get(infilePath.trim()).toAbsolutePath().toString(), StandardCharsets.UTF_8);
+        }
+        return jdbcUrl;
     }
 }
@@ -0,0 +1,519 @@
+/**
+ * Timing and metrics for every statement run through the connection pool. Implements the Singleton design
+ * pattern so all connections record into the same place.
+ *
+ * ConnectionPool wraps each statement it hands out in a thin proxy that times every execute call, counts the
+ * rows it returned (as they are read) or changed, counts failures, and charges the time the caller waited for
+ * its pooled connection to the first statement run on it. Everything is kept per query id, the DAO method that
+ * runs the statement, e.g. "PropertyDAO.getPropertyByID" (the same ids as QueryResultCache). The id is found
+ * once per SQL text by walking the stack, so a statement shared by two methods is reported under the first.
+ * A query's latency includes reading its results, but not the caller's work between rows.
+ *
+ * Statements slower than db.metrics.slowQueryMs are logged to System.err. The stats can be read with
+ * getQueries() or report(), watched over JMX as db:type=QueryMetrics, and written periodically to the CSV file
+ * named by db.metrics.file.
+ *
+ * Date Last Modified: October 18, 2026
+ */
+package db;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.CallableStatement;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+public final class QueryMetrics implements QueryMetricsMXBean {
+
+    public static final String OBJECT_NAME = "db:type=QueryMetrics";
+
+    private static final int MAX_CACHED_IDS = 4096; // Bounds the SQL -> id map if SQL text is built dynamically
+    private static final int MAX_LOGGED_SQL = 200;
+    private static final StackWalker WALKER = StackWalker.getInstance();
+
+    /**
+     * Everything recorded for one query id.
+     */
+    private static final class Stats {
+        final String queryId;
+        final LatencyHistogram latency = new LatencyHistogram();
+        final LatencyHistogram poolWait = new LatencyHistogram();
+        final LongAdder rows = new LongAdder();
+        final LongAdder errors = new LongAdder();
+        final LongAdder slow = new LongAdder();
+
+        Stats(String queryId) {
+            this.queryId = queryId;
+        }
+    }
+
+    private static final QueryMetrics INSTANCE = new QueryMetrics();
+
+    private final Map<String, Stats> stats = new ConcurrentHashMap<>();
+    private final Map<String, String> idsBySql = new ConcurrentHashMap<>();
+    private final LatencyHistogram poolWait = new LatencyHistogram();
+    private volatile boolean enabled = true;
+    private volatile long slowThresholdNanos = 500_000_000L;
+
+    // Guarded by this
+    private ScheduledExecutorService exporter = null;
+    private Path exportFile = null;
+
+    private QueryMetrics() { }
+
+    /**
+     * Get the singleton instance of QueryMetrics.
+     * @return The singleton QueryMetrics instance.
+     */
+    public static QueryMetrics getInstance() {
+        return INSTANCE;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Turn recording on or off. Only statements prepared while it is on are timed.
+     */
+    @Override
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    @Override
+    public long getSlowQueryThresholdMillis() {
+        return slowThresholdNanos / 1_000_000;
+    }
+
+    /**
+     * @param millis Statements taking at least this long are logged; 0 disables the log
+     */
+    @Override
+    public void setSlowQueryThresholdMillis(long millis) {
+        slowThresholdNanos = millis * 1_000_000;
+    }
+
+    @Override
+    public List<QueryStats> getQueries() {
+        List<QueryStats> snapshot = new ArrayList<>(stats.size());
+        for (Stats s : stats.values()) {
+            snapshot.add(snapshot(s.queryId, s.latency, s.poolWait, s.rows.sum(), s.errors.sum(), s.slow.sum()));
+        }
+        snapshot.sort(Comparator.comparingDouble(QueryStats::getP99Millis).reversed()
+            .thenComparing(QueryStats::getQueryId));
+        return snapshot;
+    }
+
+    /**
+     * @param queryId Query id, e.g. "PropertyDAO.getPropertyByID"
+     * @return Stats for the query, or null if it has not run
+     */
+    public QueryStats get(String queryId) {
+        Stats s = stats.get(queryId);
+        return s == null ? null : snapshot(s.queryId, s.latency, s.poolWait, s.rows.sum(), s.errors.sum(), s.slow.sum());
+    }
+
+    @Override
+    public QueryStats getPoolWait() {
+        return snapshot("pool wait", poolWait, poolWait, 0, 0, 0);
+    }
+
+    @Override
+    public void reset() {
+        stats.clear();
+        poolWait.reset();
+    }
+
+    /**
+     * @return One line per query, slowest p99 first, then the pool wait
+     */
+    public String report() {
+        StringBuilder report = new StringBuilder("Query metrics (slow query threshold ")
+            .append(getSlowQueryThresholdMillis()).append(" ms):");
+        for (QueryStats q : getQueries()) {
+            report.append(System.lineSeparator()).append("  ").append(q);
+        }
+        QueryStats wait = getPoolWait();
+        report.append(System.lineSeparator()).append(String.format(Locale.ROOT,
+            "  Pool wait: %d borrows, p50 %.3f ms, p99 %.3f ms, max %.3f ms",
+            wait.getCount(), wait.getP50Millis(), wait.getP99Millis(), wait.getMaxMillis()));
+        return report.toString();
+    }
+
+    @Override
+    public String toString() {
+        return report();
+    }
+
+    /**
+     * Write the stats as CSV, one row per query. The file is replaced whole, so readers never see half of it.
+     * @param file File to write
+     * @throws IOException if it cannot be written
+     */
+    public void writeTo(Path file) throws IOException {
+        StringBuilder csv = new StringBuilder(
+            "query,calls,errors,slow,rows,mean_ms,p50_ms,p95_ms,p99_ms,max_ms,pool_wait_p99_ms\n");
+        for (QueryStats q : getQueries()) {
+            csv.append(String.format(Locale.ROOT, "%s,%d,%d,%d,%d,%.3f,%.3f,%.3f,%.3f,%.3f,%.3f%n",
+                q.getQueryId(), q.getCount(), q.getErrors(), q.getSlow(), q.getRows(), q.getMeanMillis(),
+                q.getP50Millis(), q.getP95Millis(), q.getP99Millis(), q.getMaxMillis(), q.getPoolWaitP99Millis()));
+        }
+        Path absolute = file.toAbsolutePath();
+        Path tmp = absolute.resolveSibling(absolute.getFileName() + ".tmp");
+        Files.writeString(tmp, csv, StandardCharsets.UTF_8);
+        Files.move(tmp, absolute, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /**
+     * Write the stats to a file every intervalMillis, until stopExport().
+     * @param file CSV file to write
+     * @param intervalMillis Time between writes
+     */
+    public synchronized void startExport(Path file, long intervalMillis) {
+        stopExport();
+        exportFile = file;
+        exporter = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "query-metrics-exporter");
+            t.setDaemon(true);
+            return t;
+        });
+        exporter.scheduleWithFixedDelay(this::export, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stop the periodic export, writing the file one last time.
+     */
+    public synchronized void stopExport() {
+        if (exporter == null) {
+            return;
+        }
+        exporter.shutdownNow();
+        exporter = null;
+        export();
+        exportFile = null;
+    }
+
+    /**
+     * Register this instance with the platform MBean server as db:type=QueryMetrics, if it is not already.
+     */
+    public synchronized void registerMBean() {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(OBJECT_NAME);
+            if (!server.isRegistered(name)) {
+                server.registerMBean(this, name);
+            }
+        } catch (JMException e) {
+            System.err.println("Could not register query metrics with JMX: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Record how long a caller waited to borrow a connection.
+     */
+    void recordPoolWait(long nanos) {
+        poolWait.record(nanos);
+    }
+
+    /**
+     * Wrap a statement so its executions are recorded.
+     * @param stmt Statement to wrap
+     * @param sql SQL it was prepared with, or null for a plain Statement
+     * @param borrowWait Returns the connection's borrow wait the first time it is called, then -1
+     * @return A statement of the same kind as stmt
+     */
+    Statement instrument(Statement stmt, String sql, LongSupplier borrowWait) {
+        Class<?> type = stmt instanceof CallableStatement ? CallableStatement.class
+            : stmt instanceof PreparedStatement ? PreparedStatement.class : Statement.class;
+        return (Statement) Proxy.newProxyInstance(
+            Statement.class.getClassLoader(),
+            new Class<?>[] { type },
+            new StatementHandle(stmt, sql == null ? null : statsFor(sql), sql, borrowWait)
+        );
+    }
+
+    private void export() {
+        Path file;
+        synchronized (this) {
+            file = exportFile;
+        }
+        if (file == null) {
+            return;
+        }
+        try {
+            writeTo(file);
+        } catch (IOException e) {
+            System.err.println("Could not write query metrics to " + file + ": " + e.getMessage());
+        }
+    }
+
+    private void record(Stats s, String sql, long nanos, long rows, boolean failed) {
+        s.latency.record(nanos);
+        s.rows.add(rows);
+        if (failed) {
+            s.errors.increment();
+        }
+        long threshold = slowThresholdNanos;
+        if (threshold > 0 && nanos >= threshold) {
+            s.slow.increment();
+            System.err.printf(Locale.ROOT, "Slow query %s: %.1f ms, %d rows%s: %s%n", s.queryId, nanos / 1e6, rows,
+                failed ? ", failed" : "", abbreviate(sql));
+        }
+    }
+
+    private Stats statsFor(String sql) {
+        String id = sql == null ? null : idsBySql.get(sql);
+        if (id == null) {
+            id = callerId();
+            if (sql != null && idsBySql.size() < MAX_CACHED_IDS) {
+                idsBySql.putIfAbsent(sql, id);
+            }
+        }
+        return stats.computeIfAbsent(id, Stats::new);
+    }
+
+    // The innermost DAO method on the stack, else the innermost other dao frame, else the first application frame
+    private static String callerId() {
+        return WALKER.walk(frames -> {
+            String daoFrame = null;
+            String appFrame = null;
+            for (StackWalker.StackFrame f : (Iterable<StackWalker.StackFrame>) frames::iterator) {
+                String cls = f.getClassName();
+                if (isInfrastructure(cls)) {
+                    continue;
+                }
+                String id = simpleName(cls) + "." + methodName(f.getMethodName());
+                if (cls.startsWith("dao.") && cls.endsWith("DAO")) {
+                    return id;
+                }
+                if (cls.startsWith("dao.")) {
+                    daoFrame = daoFrame == null ? id : daoFrame;
+                } else {
+                    appFrame = appFrame == null ? id : appFrame;
+                }
+            }
+            return daoFrame != null ? daoFrame : appFrame != null ? appFrame : "unknown";
+        });
+    }
+
+    private static boolean isInfrastructure(String cls) {
+        return cls.startsWith("db.") || cls.startsWith("java.") || cls.startsWith("javax.") || cls.startsWith("jdk.")
+            || cls.startsWith("sun.") || cls.startsWith("com.sun.") || cls.startsWith("com.mysql.")
+            || cls.contains("$Proxy");
+    }
+
+    private static String simpleName(String cls) {
+        String name = cls.substring(cls.lastIndexOf('.') + 1);
+        int nested = name.indexOf('$');
+        return nested < 0 ? name : name.substring(0, nested);
+    }
+
+    // lambda$getCheapestProperties$3 -> getCheapestProperties
+    private static String methodName(String method) {
+        if (method.startsWith("lambda$")) {
+            int end = method.indexOf('$', 7);
+            return end < 0 ? method.substring(7) : method.substring(7, end);
+        }
+        return method;
+    }
+
+    private static String abbreviate(String sql) {
+        if (sql == null) {
+            return "(batch)";
+        }
+        String flat = sql.replaceAll("\\s+", " ").trim();
+        return flat.length() <= MAX_LOGGED_SQL ? flat : flat.substring(0, MAX_LOGGED_SQL) + "...";
+    }
+
+    private static QueryStats snapshot(String id, LatencyHistogram latency, LatencyHistogram wait, long rows,
+            long errors, long slow) {
+        return new QueryStats(id, latency.count(), errors, slow, rows, latency.mean() / 1e6,
+            latency.percentile(0.50) / 1e6, latency.percentile(0.95) / 1e6, latency.percentile(0.99) / 1e6,
+            latency.max() / 1e6, wait.percentile(0.99) / 1e6);
+    }
+
+    /**
+     * Times the execute methods of a statement; everything else goes straight through.
+     */
+    private final class StatementHandle implements InvocationHandler {
+        private final Statement target;
+        private final Stats prepared; // Null for a plain Statement, whose SQL comes with each execute
+        private final String sql;
+        private final LongSupplier borrowWait;
+
+        StatementHandle(Statement target, Stats prepared, String sql, LongSupplier borrowWait) {
+            this.target = target;
+            this.prepared = prepared;
+            this.sql = sql;
+            this.borrowWait = borrowWait;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            switch (name) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                default:
+                    break;
+            }
+            if (!name.startsWith("execute")) {
+                try {
+                    return method.invoke(target, args);
+                } catch (InvocationTargetException e) {
+                    throw e.getCause();
+                }
+            }
+
+            String text = args != null && args.length > 0 && args[0] instanceof String s ? s : sql;
+            Stats s = prepared != null && text == sql ? prepared : statsFor(text);
+            long waited = borrowWait.getAsLong();
+            if (waited >= 0) {
+                s.poolWait.record(waited);
+            }
+            long start = System.nanoTime();
+            Object result;
+            try {
+                result = method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                record(s, text, System.nanoTime() - start, 0, true);
+                throw e.getCause();
+            }
+            long elapsed = System.nanoTime() - start;
+
+            switch (name) {
+                case "executeQuery":
+                    return Proxy.newProxyInstance(
+                        ResultSet.class.getClassLoader(),
+                        new Class<?>[] { ResultSet.class },
+                        new ResultSetHandle((ResultSet) result, (Statement) proxy, s, text, elapsed)
+                    );
+                case "executeUpdate":
+                case "executeLargeUpdate":
+                    record(s, text, elapsed, ((Number) result).longValue(), false);
+                    break;
+                case "executeBatch":
+                    record(s, text, elapsed, batchRows((int[]) result), false);
+                    break;
+                case "executeLargeBatch": {
+                    long rows = 0;
+                    for (long c : (long[]) result) {
+                        rows += c == Statement.SUCCESS_NO_INFO ? 1 : Math.max(c, 0);
+                    }
+                    record(s, text, elapsed, rows, false);
+                    break;
+                }
+                default:
+                    record(s, text, elapsed, 0, false);
+                    break;
+            }
+            return result;
+        }
+
+        // Rewritten batches report SUCCESS_NO_INFO; count those as one row each
+        private long batchRows(int[] counts) {
+            long rows = 0;
+            for (int c : counts) {
+                rows += c == Statement.SUCCESS_NO_INFO ? 1 : Math.max(c, 0);
+            }
+            return rows;
+        }
+    }
+
+    /**
+     * Counts rows and adds the time spent fetching them to the query's latency. Recorded once, when the results
+     * run out or the result set is closed.
+     */
+    private final class ResultSetHandle implements InvocationHandler {
+        private final ResultSet target;
+        private final Statement statement;
+        private final Stats stats;
+        private final String sql;
+        private long nanos;
+        private long rows = 0;
+        private boolean recorded = false;
+
+        ResultSetHandle(ResultSet target, Statement statement, Stats stats, String sql, long executeNanos) {
+            this.target = target;
+            this.statement = statement;
+            this.stats = stats;
+            this.sql = sql;
+            this.nanos = executeNanos;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            switch (name) {
+                case "next": {
+                    long start = System.nanoTime();
+                    boolean more;
+                    try {
+                        more = target.next();
+                    } catch (Exception e) {
+                        nanos += System.nanoTime() - start;
+                        finish(true);
+                        throw e;
+                    }
+                    nanos += System.nanoTime() - start;
+                    if (more) {
+                        rows++;
+                    } else {
+                        finish(false);
+                    }
+                    return more;
+                }
+                case "close":
+                    finish(false);
+                    break;
+                case "getStatement":
+                    return statement; // The timed statement, not the one it wraps
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                default:
+                    break;
+            }
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+
+        private void finish(boolean failed) {
+            if (!recorded) {
+                recorded = true;
+                record(stats, sql, nanos, rows, failed);
+            }
+        }
+    }
+}
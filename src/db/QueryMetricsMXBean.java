@@ -0,0 +1,35 @@
+/**
+ * The JMX view of QueryMetrics, registered as db:type=QueryMetrics so per-query latency can be watched with
+ * jconsole or VisualVM while the application is under load.
+ *
+ * Date Last Modified: October 18, 2026
+ */
+package db;
+
+import java.util.List;
+
+public interface QueryMetricsMXBean {
+
+    /**
+     * @return Stats of every query that has run, slowest p99 first
+     */
+    List<QueryStats> getQueries();
+
+    /**
+     * @return Stats of waiting for a pooled connection, over all borrows
+     */
+    QueryStats getPoolWait();
+
+    long getSlowQueryThresholdMillis();
+
+    void setSlowQueryThresholdMillis(long millis);
+
+    boolean isEnabled();
+
+    void setEnabled(boolean enabled);
+
+    /**
+     * Forget everything recorded so far.
+     */
+    void reset();
+}
@@ -0,0 +1,94 @@
+/**
+ * A snapshot of QueryMetrics for one query id: how often it ran, how long it took, how many rows it returned or
+ * changed, how long its callers waited for a pooled connection, and how often it failed or was slow.
+ * Times are in milliseconds. Also the row type of the QueryMetrics MXBean's query list.
+ *
+ * Date Last Modified: October 18, 2026
+ */
+package db;
+
+import java.beans.ConstructorProperties;
+import java.util.Locale;
+
+public final class QueryStats {
+
+    private final String queryId;
+    private final long count;
+    private final long errors;
+    private final long slow;
+    private final long rows;
+    private final double meanMillis;
+    private final double p50Millis;
+    private final double p95Millis;
+    private final double p99Millis;
+    private final double maxMillis;
+    private final double poolWaitP99Millis;
+
+    @ConstructorProperties({ "queryId", "count", "errors", "slow", "rows", "meanMillis", "p50Millis", "p95Millis",
+        "p99Millis", "maxMillis", "poolWaitP99Millis" })
+    public QueryStats(String queryId, long count, long errors, long slow, long rows, double meanMillis,
+            double p50Millis, double p95Millis, double p99Millis, double maxMillis, double poolWaitP99Millis) {
+        this.queryId = queryId;
+        this.count = count;
+        this.errors = errors;
+        this.slow = slow;
+        this.rows = rows;
+        this.meanMillis = meanMillis;
+        this.p50Millis = p50Millis;
+        this.p95Millis = p95Millis;
+        this.p99Millis = p99Millis;
+        this.maxMillis = maxMillis;
+        this.poolWaitP99Millis = poolWaitP99Millis;
+    }
+
+    public String getQueryId() {
+        return queryId;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public long getErrors() {
+        return errors;
+    }
+
+    public long getSlow() {
+        return slow;
+    }
+
+    public long getRows() {
+        return rows;
+    }
+
+    public double getMeanMillis() {
+        return meanMillis;
+    }
+
+    public double getP50Millis() {
+        return p50Millis;
+    }
+
+    public double getP95Millis() {
+        return p95Millis;
+    }
+
+    public double getP99Millis() {
+        return p99Millis;
+    }
+
+    public double getMaxMillis() {
+        return maxMillis;
+    }
+
+    public double getPoolWaitP99Millis() {
+        return poolWaitP99Millis;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.ROOT, "%-48s %8d calls  p50 %9.3f ms  p99 %9.3f ms  max %9.3f ms  %10d rows"
+            + "  pool wait p99 %7.3f ms  %d errors  %d slow",
+            queryId, count, p50Millis, p99Millis, maxMillis, rows, poolWaitP99Millis, errors, slow);
+    }
+}
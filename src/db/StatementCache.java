@@ -0,0 +1,238 @@
+/**
+ * A least-recently-used cache of prepared statements for a single physical connection, keyed by SQL text.
+ * With server-side prepared statements enabled this lets hot queries skip the parse/plan round trip:
+ * closing a statement handed out by the cache closes its open results, clears its parameters and returns it to
+ * the cache. Result sets are handed out as the driver returns them, so every row read goes straight to the
+ * driver; their getStatement() is the physical statement. Closing that one instead of the handle discards the
+ * cached statement, which is prepared again on its next use.
+ *
+ * A cache belongs to one pooled connection and is only used by the thread that currently borrows it.
+ *
+ * Date Last Modified: October 18, 2026
+ */
+package db;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+class StatementCache {
+
+    private final Connection physical;
+    private final int capacity;
+    private final LongAdder hits;
+    private final LongAdder misses;
+
+    // Access-ordered so iteration starts at the least recently used statement
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final List<Entry> leased = new ArrayList<>();
+
+    /**
+     * @param physical The connection statements are prepared on
+     * @param capacity Maximum number of cached statements (0 disables caching)
+     * @param hits Shared counter incremented on every cache hit
+     * @param misses Shared counter incremented on every cache miss
+     */
+    StatementCache(Connection physical, int capacity, LongAdder hits, LongAdder misses) {
+        this.physical = physical;
+        this.capacity = capacity;
+        this.hits = hits;
+        this.misses = misses;
+    }
+
+    /**
+     * Prepare a statement, reusing a cached one for the same SQL when it is not already in use.
+     * @param sql SQL text
+     * @param owner The connection handle the statement should report as its connection
+     * @return A statement whose close() returns it to the cache
+     * @throws SQLException if the statement cannot be prepared
+     */
+    PreparedStatement prepare(String sql, Connection owner) throws SQLException {
+        if (capacity <= 0) {
+            misses.increment();
+            return physical.prepareStatement(sql);
+        }
+
+        Entry entry = entries.get(sql);
+        if (entry != null && !entry.inUse && entry.statement.isClosed()) {
+            // Closed through its result set's getStatement(); prepare it again
+            entries.remove(sql);
+            entry = null;
+        }
+        if (entry != null && !entry.inUse) {
+            hits.increment();
+        } else if (entry != null) {
+            // The same SQL is already open in this unit of work; hand out a private statement
+            misses.increment();
+            return physical.prepareStatement(sql);
+        } else {
+            misses.increment();
+            entry = new Entry(physical.prepareStatement(sql));
+            entries.put(sql, entry);
+            evictOverflow();
+        }
+
+        entry.inUse = true;
+        leased.add(entry);
+        return entry.newHandle(owner);
+    }
+
+    /**
+     * Reclaim statements the last borrower forgot to close. Called when the connection returns to the pool.
+     */
+    void releaseAll() {
+        for (Entry entry : new ArrayList<>(leased)) {
+            entry.release();
+        }
+    }
+
+    /**
+     * Close every cached statement. Called when the physical connection is closed.
+     */
+    void closeAll() {
+        for (Entry entry : entries.values()) {
+            entry.closeQuietly();
+        }
+        entries.clear();
+        leased.clear();
+    }
+
+    private void evictOverflow() {
+        Iterator<Entry> it = entries.values().iterator();
+        while (entries.size() > capacity && it.hasNext()) {
+            Entry eldest = it.next();
+            it.remove();
+            eldest.evicted = true;
+            if (!eldest.inUse) {
+                eldest.closeQuietly();
+            }
+        }
+    }
+
+    /**
+     * A cached physical statement and the state needed to hand it out again.
+     */
+    private class Entry {
+        private final PreparedStatement statement;
+        private boolean inUse;
+        private boolean evicted;
+        private boolean dirty; // fetch size, max rows or timeout changed by the borrower
+        private Handle current;
+
+        Entry(PreparedStatement statement) {
+            this.statement = statement;
+        }
+
+        PreparedStatement newHandle(Connection owner) {
+            current = new Handle(this, owner);
+            return (PreparedStatement) Proxy.newProxyInstance(
+                PreparedStatement.class.getClassLoader(),
+                new Class<?>[] { PreparedStatement.class },
+                current
+            );
+        }
+
+        void release() {
+            if (current != null) {
+                current.entry = null;
+                current = null;
+            }
+            inUse = false;
+            leased.remove(this);
+            if (evicted) {
+                closeQuietly();
+                return;
+            }
+            try {
+                // A result set the borrower left open may hold a server-side cursor (useCursorFetch)
+                ResultSet open = statement.getResultSet();
+                if (open != null) {
+                    open.close();
+                }
+                statement.clearParameters();
+                statement.clearBatch();
+                if (dirty) {
+                    statement.setFetchSize(0);
+                    statement.setMaxRows(0);
+                    statement.setQueryTimeout(0);
+                    dirty = false;
+                }
+            } catch (SQLException e) {
+                // A statement that cannot be reset is not safe to reuse
+                entries.values().remove(this);
+                closeQuietly();
+            }
+        }
+
+        void closeQuietly() {
+            try {
+                statement.close();
+            } catch (SQLException ignored) {
+                // The connection is going away or the statement is already closed
+            }
+        }
+    }
+
+    /**
+     * The borrower's view of a cached statement.
+     */
+    private static class Handle implements InvocationHandler {
+        private Entry entry;
+        private final Connection owner;
+
+        Handle(Entry entry, Connection owner) {
+            this.entry = entry;
+            this.owner = owner;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            switch (name) {
+                case "close":
+                    if (entry != null) {
+                        entry.release();
+                    }
+                    return null;
+                case "isClosed":
+                    return entry == null;
+                case "getConnection":
+                    return owner;
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "setFetchSize":
+                case "setMaxRows":
+                case "setLargeMaxRows":
+                case "setQueryTimeout":
+                    if (entry != null) {
+                        entry.dirty = true;
+                    }
+                    break;
+                default:
+                    break;
+            }
+
+            Entry e = entry;
+            if (e == null) {
+                throw new SQLException("Statement has already been closed");
+            }
+            try {
+                return method.invoke(e.statement, args);
+            } catch (InvocationTargetException ex) {
+                throw ex.getCause();
+            }
+        }
+    }
+}
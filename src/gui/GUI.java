@@ -3,7 +3,7 @@
  * Makes use of Swing components to provide an interactive interface.
  * 
  * @author Andrew Peirce
- * Date Last Modified: December 7, 2025
+ * Date Last Modified: October 18, 2026
  */
 package gui;
 
@@ -12,32 +12,56 @@ import dao.PropertyDAO;
 import dao.TenantDAO;
 import java.awt.*;
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.List;
 import javax.swing.*;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
 import javax.swing.table.DefaultTableModel;
+import javax.swing.table.TableModel;
 import model.Landlord;
 import model.Property;
 import model.Tenant;
+import search.PropertySearch;
 
 public class GUI {
 
     private JFrame frame;
     private JTable mainTable;
-    private DefaultTableModel tableModel;
+    private DefaultTableModel tableModel; // used for advanced query and address search results
+    private PagedTableModel<?, ?> pagedModel; // used for the View All tables, loaded on demand
     private boolean isTenantView = false;
 
+    private static final int PAGE_SIZE = 200;
+    private static final int CACHED_PAGES = 8;
+    private static final int TYPEAHEAD_DELAY_MS = 150;
+    private static final int TYPEAHEAD_RESULTS = 50;
+
     // DAOs for database access
     private PropertyDAO propertyDAO;
     private TenantDAO tenantDAO;
     private LandlordDAO landlordDAO;
 
+    // Runs DAO calls off the Event Dispatch Thread
+    private TaskRunner tasks;
+
+    // In-memory address index for the search box; empty until its background load finishes
+    private PropertySearch propertySearch;
+    private Timer typeaheadTimer;
+
     public GUI() {
         // Initialize DAOs
         propertyDAO = new PropertyDAO();
         tenantDAO = new TenantDAO();
         landlordDAO = new LandlordDAO();
+        tasks = new TaskRunner();
+        propertySearch = new PropertySearch();
 
         initUI();
+        tasks.submit("Loading address search", () -> {
+            propertySearch.load();
+            return null;
+        }, loaded -> { }, e -> System.err.println("Address search unavailable: " + e.getMessage()));
         // loadAllProperties();
     }
 
@@ -47,10 +71,17 @@ public class GUI {
         frame.setSize(1000, 600);
         frame.setLayout(new BorderLayout());
 
-        // Top Title
+        // Top Title and address search box
         JLabel titleLabel = new JLabel("Rental Management System", SwingConstants.CENTER);
         titleLabel.setFont(new Font("Arial", Font.BOLD, 24));
-        frame.add(titleLabel, BorderLayout.NORTH);
+        JTextField searchField = new JTextField(30);
+        JPanel searchPanel = new JPanel(new FlowLayout(FlowLayout.CENTER));
+        searchPanel.add(new JLabel("Search Address:"));
+        searchPanel.add(searchField);
+        JPanel topPanel = new JPanel(new BorderLayout());
+        topPanel.add(titleLabel, BorderLayout.CENTER);
+        topPanel.add(searchPanel, BorderLayout.SOUTH);
+        frame.add(topPanel, BorderLayout.NORTH);
 
         // Center Table
         tableModel = new DefaultTableModel(
@@ -87,6 +118,7 @@ public class GUI {
         leftPanel.add(advancedQueryButton);
         
         frame.add(leftPanel, BorderLayout.WEST);
+        frame.add(tasks.getStatusBar(), BorderLayout.SOUTH);
 
         // Button Actions
         viewPropertiesButton.addActionListener(e -> loadAllProperties());
@@ -109,26 +141,31 @@ public class GUI {
 
         advancedQueryButton.addActionListener(e -> runAdvancedQuery());
 
+        // Search as the user types, once they pause
+        typeaheadTimer = new Timer(TYPEAHEAD_DELAY_MS, e -> searchAddress(searchField.getText()));
+        typeaheadTimer.setRepeats(false);
+        searchField.getDocument().addDocumentListener(new DocumentListener() {
+            public void insertUpdate(DocumentEvent e) { typeaheadTimer.restart(); }
+            public void removeUpdate(DocumentEvent e) { typeaheadTimer.restart(); }
+            public void changedUpdate(DocumentEvent e) { typeaheadTimer.restart(); }
+        });
+
         frame.setVisible(true);
     }
 
     // DAO Calls
     private void loadAllProperties() {
         isTenantView = false;
-        tableModel.setColumnIdentifiers(
-            new Object[]{"PID", "LLID", "Address", "Beds", "Baths", "Price", "Pets"}
-        );
-        tableModel.setRowCount(0); // Clear existing rows
-
-        List<Property> properties = null;
-        try {
-            properties = propertyDAO.getAllProperties();
-        } catch (SQLException e) {
-            e.printStackTrace();
-        }
-
-        for (Property p : properties) {
-            tableModel.addRow(new Object[]{
+        showPagedModel(new PagedTableModel<Property, Integer>(
+            new String[]{"PID", "LLID", "Address", "Beds", "Baths", "Price", "Pets"},
+            new PagedTableModel.PageSource<>() {
+                public int count() throws SQLException { return propertyDAO.countProperties(); }
+                public Integer firstKey() { return 0; }
+                public Integer keyAt(int offset) throws SQLException { return propertyDAO.getPropertyKeyAt(offset); }
+                public List<Property> fetchAfter(Integer pid, int limit) throws SQLException { return propertyDAO.getPropertiesPage(pid, limit); }
+                public Integer keyOf(Property p) { return p.getPID(); }
+            },
+            p -> new Object[]{
                 p.getPID(),
                 p.getLLID(),
                 p.getAddress(),
@@ -136,53 +173,104 @@ public class GUI {
                 p.getBath(),
                 p.getPrice(),
                 p.isPetsAllowed() ? "Yes" : "No"
-            });
-        }
+            },
+            PAGE_SIZE, CACHED_PAGES,
+            e -> JOptionPane.showMessageDialog(frame, "Failed to load properties: " + e.getMessage())
+        ));
     }
 
     private void loadAllTenants() {
         isTenantView = true;
-        tableModel.setColumnIdentifiers(
-            new Object[]{"SSN", "First Name", "Last Name", "Budget", "Phone", "Email"}
-        );
-        tableModel.setRowCount(0); // Clear existing rows
-
-        try {
-            List<Tenant> tenants = tenantDAO.getAllTenants();
-            for (Tenant t : tenants) {
-                tableModel.addRow(new Object[]{
-                    t.getSSN(),
-                    t.getFname(),
-                    t.getLname(),
-                    t.getBudget(),
-                    t.getPhoneNum(),
-                    t.getEmail()
-                });
-            }
-        } catch (SQLException e) {
-            JOptionPane.showMessageDialog(frame, "Failed to load tenants: " + e.getMessage());
-        }
+        showPagedModel(new PagedTableModel<Tenant, String>(
+            new String[]{"SSN", "First Name", "Last Name", "Budget", "Phone", "Email"},
+            new PagedTableModel.PageSource<>() {
+                public int count() throws SQLException { return tenantDAO.countTenants(); }
+                public String firstKey() { return ""; }
+                public String keyAt(int offset) throws SQLException { return tenantDAO.getTenantKeyAt(offset); }
+                public List<Tenant> fetchAfter(String ssn, int limit) throws SQLException { return tenantDAO.getTenantsPage(ssn, limit); }
+                public String keyOf(Tenant t) { return t.getSSN(); }
+            },
+            t -> new Object[]{
+                t.getSSN(),
+                t.getFname(),
+                t.getLname(),
+                t.getBudget(),
+                t.getPhoneNum(),
+                t.getEmail()
+            },
+            PAGE_SIZE, CACHED_PAGES,
+            e -> JOptionPane.showMessageDialog(frame, "Failed to load tenants: " + e.getMessage())
+        ));
     }
 
     private void loadAllLandlords() {
         isTenantView = false;
-        tableModel.setColumnIdentifiers(
-            new Object[]{"LLID", "Name", "PhoneNum", "Email"}
-        );
-        tableModel.setRowCount(0);
-        try {
-            List<Landlord> landlords = landlordDAO.getAllLandlords();
-            for(Landlord l : landlords) {
-                tableModel.addRow(new Object[]{
-                    l.getLLID(),
-                    l.getName(),
-                    l.getPhoneNum(),
-                    l.getEmail()
-                });
+        showPagedModel(new PagedTableModel<Landlord, Integer>(
+            new String[]{"LLID", "Name", "PhoneNum", "Email"},
+            new PagedTableModel.PageSource<>() {
+                public int count() throws SQLException { return landlordDAO.countLandlords(); }
+                public Integer firstKey() { return 0; }
+                public Integer keyAt(int offset) throws SQLException { return landlordDAO.getLandlordKeyAt(offset); }
+                public List<Landlord> fetchAfter(Integer llid, int limit) throws SQLException { return landlordDAO.getLandlordsPage(llid, limit); }
+                public Integer keyOf(Landlord l) { return l.getLLID(); }
+            },
+            l -> new Object[]{
+                l.getLLID(),
+                l.getName(),
+                l.getPhoneNum(),
+                l.getEmail()
+            },
+            PAGE_SIZE, CACHED_PAGES,
+            e -> JOptionPane.showMessageDialog(frame, "Failed to load landlords: " + e.getMessage())
+        ));
+    }
+
+    // Show the properties whose address best matches the search box, best match first
+    private void searchAddress(String text) {
+        if (text.isBlank()) {
+            return;
+        }
+        tasks.load("Searching addresses", () -> propertySearch.searchAddress(text, TYPEAHEAD_RESULTS), properties -> {
+            isTenantView = false;
+            showModel(tableModel);
+            Object[][] rows = new Object[properties.size()][];
+            for (int i = 0; i < rows.length; i++) {
+                Property p = properties.get(i);
+                rows[i] = new Object[]{
+                    p.getPID(),
+                    p.getLLID(),
+                    p.getAddress(),
+                    p.getBed(),
+                    p.getBath(),
+                    p.getPrice(),
+                    p.isPetsAllowed() ? "Yes" : "No"
+                };
             }
-        } catch (SQLException e) {
-            JOptionPane.showMessageDialog(frame, "Failed to load landlords: " + e.getMessage());
+            tableModel.setDataVector(rows, new Object[]{"PID", "LLID", "Address", "Beds", "Baths", "Price", "Pets"});
+        }, e -> JOptionPane.showMessageDialog(frame, "Address search failed: " + e.getMessage()));
+    }
+
+    // Switch the table to a lazily loaded model and start loading it
+    private void showPagedModel(PagedTableModel<?, ?> model) {
+        tasks.cancelLoad(); // a slower query started earlier must not overwrite this view
+        showModel(model);
+        pagedModel = model;
+        model.load();
+    }
+
+    // Switch the table to another model, releasing the previous paged model if there was one
+    private void showModel(TableModel model) {
+        if (pagedModel != null) {
+            pagedModel.dispose();
+            pagedModel = null;
         }
+        mainTable.setModel(model);
+    }
+
+    // The value in the first column of the selected row, or null if nothing is selected or the row is still loading
+    private Object selectedKey() {
+        int selectedRow = mainTable.getSelectedRow();
+        return selectedRow == -1 ? null : mainTable.getModel().getValueAt(selectedRow, 0);
     }
 
     private void runAddTenantDialog() {
@@ -214,8 +302,9 @@ public class GUI {
         );
 
         if (result == JOptionPane.OK_OPTION) {
+            Tenant tenant;
             try {
-                Tenant tenant = new Tenant(
+                tenant = new Tenant(
                     ssnField.getText(),
                     fNameField.getText(),
                     mNameField.getText(),
@@ -223,15 +312,20 @@ public class GUI {
                     Double.parseDouble(budgetField.getText()),
                     phoneField.getText(),
                     emailField.getText(),
-                    java.time.LocalDate.parse(birthDateField.getText())
+                    parseBirthDate(birthDateField.getText())
                 );
+            } catch (Exception e) {
+                JOptionPane.showMessageDialog(frame, "Invalid input:\n" + e.getMessage());
+                return;
+            }
 
+            tasks.submit("Adding tenant", () -> {
                 tenantDAO.insertTenant(tenant);
+                return null;
+            }, done -> {
                 JOptionPane.showMessageDialog(frame, "Tenant added successfully.");
                 loadAllTenants();
-            } catch (Exception e) {
-                JOptionPane.showMessageDialog(frame, "Invalid input:\n" + e.getMessage());
-            }
+            }, e -> JOptionPane.showMessageDialog(frame, "Failed to add tenant:\n" + e.getMessage()));
         }
     }
 
@@ -241,16 +335,19 @@ public class GUI {
             return;
         }
 
-        int selectedRow = mainTable.getSelectedRow();
-        if (selectedRow == -1) {
+        Object selected = selectedKey();
+        if (selected == null) {
             JOptionPane.showMessageDialog(frame, "Select a tenant first");
             return;
         }
 
-        String ssn = tableModel.getValueAt(selectedRow, 0).toString();
+        String ssn = selected.toString();
 
-        try {
-            Tenant t = tenantDAO.getTenantBySSN(ssn);
+        tasks.load("Loading tenant " + ssn, () -> tenantDAO.getTenantBySSN(ssn), t -> {
+            if (t == null) {
+                JOptionPane.showMessageDialog(frame, "Tenant " + ssn + " no longer exists.");
+                return;
+            }
 
             JTextField fNameField = new JTextField(t.getFname());
             JTextField mNameField = new JTextField(t.getMname());
@@ -258,7 +355,7 @@ public class GUI {
             JTextField budgetField = new JTextField(String.valueOf(t.getBudget()));
             JTextField phoneField = new JTextField(t.getPhoneNum());
             JTextField emailField = new JTextField(t.getEmail());
-            JTextField birthDateField = new JTextField(t.getBirthDate().toString());
+            JTextField birthDateField = new JTextField(t.getBirthDate() == null ? "" : t.getBirthDate().toString());
             
             JPanel panel = new JPanel(new GridLayout(0, 2, 5, 5));
             panel.add(new JLabel("First Name:")); panel.add(fNameField);
@@ -274,26 +371,37 @@ public class GUI {
             );
 
             if (result == JOptionPane.OK_OPTION) {
-                Tenant updated = new Tenant(
-                    ssn,
-                    fNameField.getText(),
-                    mNameField.getText(),
-                    lNameField.getText(),
-                    Double.parseDouble(budgetField.getText()),
-                    phoneField.getText(),
-                    emailField.getText(),
-                    java.time.LocalDate.parse(birthDateField.getText())
-                );
-
-                tenantDAO.updateTenant(updated);
-                JOptionPane.showMessageDialog(frame, "Tenant updated successfully!");
-                loadAllTenants();
+                Tenant updated;
+                try {
+                    updated = new Tenant(
+                        ssn,
+                        fNameField.getText(),
+                        mNameField.getText(),
+                        lNameField.getText(),
+                        Double.parseDouble(budgetField.getText()),
+                        phoneField.getText(),
+                        emailField.getText(),
+                        parseBirthDate(birthDateField.getText())
+                    );
+                } catch (Exception e) {
+                    JOptionPane.showMessageDialog(frame, "Invalid input:\n" + e.getMessage());
+                    return;
+                }
+
+                tasks.submit("Updating tenant", () -> {
+                    tenantDAO.updateTenant(updated);
+                    return null;
+                }, done -> {
+                    JOptionPane.showMessageDialog(frame, "Tenant updated successfully!");
+                    loadAllTenants();
+                }, e -> JOptionPane.showMessageDialog(frame, "Failed to update tenant:\n" + e.getMessage()));
             }
+        }, e -> JOptionPane.showMessageDialog(frame, "Failed to load tenant:\n" + e.getMessage()));
+    }
 
-        } catch (SQLException e) {
-            e.printStackTrace();
-            return;
-        }
+    // A blank birth date field means the tenant has none
+    private static java.time.LocalDate parseBirthDate(String text) {
+        return text.isBlank() ? null : java.time.LocalDate.parse(text.trim());
     }
 
     private void deleteSelectedTenant() {
@@ -302,20 +410,23 @@ public class GUI {
             return;
         }
 
-        int selectedRow = mainTable.getSelectedRow();
-        if (selectedRow == -1) {
+        Object selected = selectedKey();
+        if (selected == null) {
             JOptionPane.showMessageDialog(frame, "Select a tenant first");
             return;
         }
 
-        String ssn = (String) tableModel.getValueAt(selectedRow, 0);
-        try {
+        String ssn = selected.toString();
+        tasks.submit("Deleting tenant " + ssn, () -> {
             tenantDAO.deleteTenant(ssn);
+            return null;
+        }, done -> {
             JOptionPane.showMessageDialog(frame, "Tenant deleted successfully.");
-        } catch (SQLException e) {
-            e.printStackTrace();
-        }
-        loadAllTenants();
+            loadAllTenants();
+        }, e -> {
+            JOptionPane.showMessageDialog(frame, "Failed to delete tenant:\n" + e.getMessage());
+            loadAllTenants();
+        });
     }
 
     private void addProperty(){
@@ -345,8 +456,9 @@ public class GUI {
         );
 
         if (result == JOptionPane.OK_OPTION) {
+            Property property;
             try {
-                Property property = new Property(
+                property = new Property(
                     // Integer.parseInt(PIDField.getText()),
                     Integer.parseInt(LLIDField.getText()),
                     Double.parseDouble(priceField.getText()),
@@ -355,13 +467,18 @@ public class GUI {
                     Boolean.parseBoolean(petsField.getText()),
                     addressField.getText()
                 );
+            } catch (Exception e) {
+                JOptionPane.showMessageDialog(frame, "Invalid input:\n" + e.getMessage());
+                return;
+            }
 
+            tasks.submit("Adding property", () -> {
                 propertyDAO.insertProperty(property);
+                return null;
+            }, done -> {
                 JOptionPane.showMessageDialog(frame, "Property added successfully.");
                 loadAllProperties();
-            } catch ( Exception e) {
-                JOptionPane.showMessageDialog(frame, "Invalid input:\n" + e.getMessage());
-            }
+            }, e -> JOptionPane.showMessageDialog(frame, "Failed to add property:\n" + e.getMessage()));
         }
     }
 
@@ -371,16 +488,19 @@ public class GUI {
             return;
         }
 
-        int selectedRow = mainTable.getSelectedRow();
-        if (selectedRow == -1) {
+        Object selected = selectedKey();
+        if (selected == null) {
             JOptionPane.showMessageDialog(frame, "Select a property first");
             return;
         }
 
-        String pid = tableModel.getValueAt(selectedRow,0).toString();
+        String pid = selected.toString();
 
-        try {
-            Property p = propertyDAO.getPropertyByID(Integer.parseInt(pid));
+        tasks.load("Loading property " + pid, () -> propertyDAO.getPropertyByID(Integer.parseInt(pid)), p -> {
+            if (p == null) {
+                JOptionPane.showMessageDialog(frame, "Property " + pid + " no longer exists.");
+                return;
+            }
 
             JTextField LLIDField = new JTextField(String.valueOf(p.getLLID()));
             JTextField priceField = new JTextField(String.valueOf(p.getPrice()));
@@ -402,24 +522,31 @@ public class GUI {
             );
 
             if (result == JOptionPane.OK_OPTION) {
-                Property updated = new Property(
-                    Integer.parseInt(pid),
-                    Integer.parseInt(LLIDField.getText()),
-                    Double.parseDouble(priceField.getText()),
-                    Integer.parseInt(bedField.getText()),
-                    Double.parseDouble(bathField.getText()),
-                    Boolean.parseBoolean(petsField.getText()),
-                    addressField.getText()
-                );
-
-                propertyDAO.updateProperty(updated);
-                JOptionPane.showMessageDialog(frame, "Property updated successfully!");
-                loadAllProperties();
+                Property updated;
+                try {
+                    updated = new Property(
+                        Integer.parseInt(pid),
+                        Integer.parseInt(LLIDField.getText()),
+                        Double.parseDouble(priceField.getText()),
+                        Integer.parseInt(bedField.getText()),
+                        Double.parseDouble(bathField.getText()),
+                        Boolean.parseBoolean(petsField.getText()),
+                        addressField.getText()
+                    );
+                } catch (Exception e) {
+                    JOptionPane.showMessageDialog(frame, "Invalid input:\n" + e.getMessage());
+                    return;
+                }
+
+                tasks.submit("Updating property", () -> {
+                    propertyDAO.updateProperty(updated);
+                    return null;
+                }, done -> {
+                    JOptionPane.showMessageDialog(frame, "Property updated successfully!");
+                    loadAllProperties();
+                }, e -> JOptionPane.showMessageDialog(frame, "Failed to update property:\n" + e.getMessage()));
             }
-        } catch (SQLException e) {
-            e.printStackTrace();
-            return;
-        }
+        }, e -> JOptionPane.showMessageDialog(frame, "Failed to load property:\n" + e.getMessage()));
     }
 
 
@@ -431,20 +558,22 @@ public class GUI {
             return;
         }
         
-        int selectedRow = mainTable.getSelectedRow();
-        if (selectedRow == -1) {
+        Object selected = selectedKey();
+        if (selected == null) {
             JOptionPane.showMessageDialog(frame, "Select a property first");
             return;
         }
-        System.out.println("Selected Row: " + selectedRow); // Debugging line
-        int pid = (int) tableModel.getValueAt(selectedRow, 0);
-        try {
+        int pid = Integer.parseInt(selected.toString());
+        tasks.submit("Deleting property " + pid, () -> {
             propertyDAO.deleteProperty(pid);
+            return null;
+        }, done -> {
             JOptionPane.showMessageDialog(frame, "Property deleted successfully.");
-        } catch (SQLException e) {
-            e.printStackTrace();
-        }
-        loadAllProperties();
+            loadAllProperties();
+        }, e -> {
+            JOptionPane.showMessageDialog(frame, "Failed to delete property:\n" + e.getMessage());
+            loadAllProperties();
+        });
     }
 
 
@@ -483,246 +612,239 @@ public class GUI {
             options[0]
         );
 
-        try {
-            switch (choiceStr != null ? java.util.Arrays.asList(options).indexOf(choiceStr) : -1) {
-                case 0 -> runPropertyVacancyStatsQuery();
-                case 1 -> runCheapestPropertiesAboveOffsetQuery();
-                case 2 -> runPropertiesRentHigherThanLandlordAverageQuery();
-                case 3 -> runPropertiesWStInAddressByTenantsQuery();
-                case 4 -> runLandlordPropertyStatsQuery();
-                case 5 -> runFirst20LandlordsWithMoreThan2TenantsQuery();
-                case 6 -> runLandlordBedBathStatsQuery();
-                case 7 -> runTenantBudgetStatsQuery();
-                case 8 -> runOverpayingTenantsQuery();
-                default -> {}
-            }
-        } catch (SQLException e) {
-            JOptionPane.showMessageDialog(frame, "Advanced Query failed: " + e.getMessage());
+        switch (choiceStr != null ? java.util.Arrays.asList(options).indexOf(choiceStr) : -1) {
+            case 0 -> runPropertyVacancyStatsQuery();
+            case 1 -> runCheapestPropertiesAboveOffsetQuery();
+            case 2 -> runPropertiesRentHigherThanLandlordAverageQuery();
+            case 3 -> runPropertiesWStInAddressByTenantsQuery();
+            case 4 -> runLandlordPropertyStatsQuery();
+            case 5 -> runFirst20LandlordsWithMoreThan2TenantsQuery();
+            case 6 -> runLandlordBedBathStatsQuery();
+            case 7 -> runTenantBudgetStatsQuery();
+            case 8 -> runOverpayingTenantsQuery();
+            default -> {}
         }
     }
 
+    /**
+     * Run an advanced query in the background and show its rows with a single table update.
+     * Query results are small, so they use the plain table model rather than a paged one.
+     * @param tenantView Whether the results are tenant rows
+     * @param columns Column names
+     * @param query Runs the query and converts its results to table rows
+     */
+    private void showQueryResults(boolean tenantView, Object[] columns, TaskRunner.Work<List<Object[]>> query) {
+        tasks.load("Running advanced query", query, rows -> {
+            isTenantView = tenantView;
+            showModel(tableModel);
+            tableModel.setDataVector(rows.toArray(new Object[0][]), columns);
+        }, e -> JOptionPane.showMessageDialog(frame, "Advanced Query failed: " + e.getMessage()));
+    }
+
     /**
      * Advanced Query: Retrieve landlords and their properties with bed and bath counts.
      * (Written by Jacob Rogers, integrated by Andrew Peirce)
-     * 
-     * @throws SQLException
      */
-    public void runLandlordBedBathStatsQuery() throws SQLException {
-        isTenantView = false;
-        tableModel.setColumnIdentifiers(new Object[] {
+    public void runLandlordBedBathStatsQuery() {
+        showQueryResults(false, new Object[] {
             "LLID", "Name", "Bed Count", "Bath Count", "Property Count"
+        }, () -> {
+            var stats = landlordDAO.getLandlordBedBathStats();
+            List<Object[]> rows = new ArrayList<>(stats.size());
+            for (var s : stats) {
+                rows.add(new Object[] {
+                    s.getLlid(),
+                    s.getName(),
+                    s.getBedCount(),
+                    s.getBathCount(),
+                    s.getPropertyCount()
+                });
+            }
+            return rows;
         });
-        tableModel.setRowCount(0); // Clear existing rows
-
-        var stats = landlordDAO.getLandlordBedBathStats();
-        for (var s : stats) {
-            tableModel.addRow(new Object[] {
-                s.getLlid(),
-                s.getName(),
-                s.getBedCount(),
-                s.getBathCount(),
-                s.getPropertyCount()
-            });
-        }
     }
 
     /**
      * Advanced Query: Retrieve the 50 cheapest properties with at least one vacant bed.
      * Offset the first 3 cheapest properties because they might be too good to be true.
      * (Written and integrated by Andrew Peirce)
-     * 
-     * @throws SQLException
      */
-    private void runCheapestPropertiesAboveOffsetQuery() throws SQLException {
-        isTenantView = false;
-        tableModel.setColumnIdentifiers(new Object[] {
+    private void runCheapestPropertiesAboveOffsetQuery() {
+        showQueryResults(false, new Object[] {
             "PID", "Address", "Price", "Beds", "Current Occupancy", "Vacant Beds"
+        }, () -> {
+            var stats = propertyDAO.getCheapestProperties();
+            List<Object[]> rows = new ArrayList<>(stats.size());
+            for (var s : stats) {
+                rows.add(new Object[] {
+                    s.getPid(),
+                    s.getAddress(),
+                    s.getPrice(),
+                    s.getBed(),
+                    s.getCurrentOccupancy(),
+                    s.getVacantBeds()
+                });
+            }
+            return rows;
         });
-        tableModel.setRowCount(0); // Clear existing rows
-
-        var stats = propertyDAO.getCheapestProperties();
-        for (var s : stats) {
-            tableModel.addRow(new Object[] {
-                s.getPid(),
-                s.getAddress(),
-                s.getPrice(),
-                s.getBed(),
-                s.getCurrentOccupancy(),
-                s.getVacantBeds()
-            });
-        }
     }
 
     /**
      * Advanced Query: Retrieve properties whose rent is higher than that landlord's average.
      * (Written by Jacob Rogers, integrated by Andrew Peirce)
-     * 
-     * @throws SQLException
      */
-    private void runPropertiesRentHigherThanLandlordAverageQuery() throws SQLException {
-        isTenantView = false;
-        tableModel.setColumnIdentifiers(new Object[] {
+    private void runPropertiesRentHigherThanLandlordAverageQuery() {
+        showQueryResults(false, new Object[] {
             "PID", "Address", "Price", "LLID", "Landlord Name"
+        }, () -> {
+            var stats = propertyDAO.getPropertiesAboveLandlordAverage();
+            List<Object[]> rows = new ArrayList<>(stats.size());
+            for (var s : stats) {
+                rows.add(new Object[] {
+                    s.getPid(),
+                    s.getAddress(),
+                    s.getPrice(),
+                    s.getLlid(),
+                    s.getLandlordName()
+                });
+            }
+            return rows;
         });
-        tableModel.setRowCount(0); // Clear existing rows
-
-        var stats = propertyDAO.getPropertiesAboveLandlordAverage();
-        for (var s : stats) {
-            tableModel.addRow(new Object[] {
-                s.getPid(),
-                s.getAddress(),
-                s.getPrice(),
-                s.getLlid(),
-                s.getLandlordName()
-            });
-        }
     }
 
     /**
      * Advanced Query: Retrieve properties with 'St' in the address by number of tenants.
      * (Written by Rohan Hari, integrated by Andrew Peirce)
-     * 
-     * @throws SQLException
      */
-    private void runPropertiesWStInAddressByTenantsQuery() throws SQLException {
-        isTenantView = false;
-        tableModel.setColumnIdentifiers(new Object[] {
+    private void runPropertiesWStInAddressByTenantsQuery() {
+        showQueryResults(false, new Object[] {
             "PID", "Address", "Total Tenants"
+        }, () -> {
+            var stats = propertyDAO.getPropertyTenantStats();
+            List<Object[]> rows = new ArrayList<>(stats.size());
+            for (var s : stats) {
+                rows.add(new Object[] {
+                    s.getPid(),
+                    s.getAddress(),
+                    s.getNumTenants()
+                });
+            }
+            return rows;
         });
-        tableModel.setRowCount(0); // Clear existing rows
-
-        var stats = propertyDAO.getPropertyTenantStats();
-        for (var s : stats) {
-            tableModel.addRow(new Object[] {
-                s.getPid(),
-                s.getAddress(),
-                s.getNumTenants()
-            });
-        }
     }
 
     /**
      * Advanced Query: Retrieve first 20 landlords with properties having more than 2 tenants (offset 5).
      * (Written by Rohan Hari, integrated by Andrew Peirce)
-     * 
-     * @throws SQLException
      */
-    private void runFirst20LandlordsWithMoreThan2TenantsQuery() throws SQLException {
-        isTenantView = false;
-        tableModel.setColumnIdentifiers(new Object[] {
+    private void runFirst20LandlordsWithMoreThan2TenantsQuery() {
+        showQueryResults(false, new Object[] {
             "LLID", "Name", "Total Tenants"
+        }, () -> {
+            var stats = landlordDAO.getLandlordTenantStats();
+            List<Object[]> rows = new ArrayList<>(stats.size());
+            for (var s : stats) {
+                rows.add(new Object[] {
+                    s.getLlid(),
+                    s.getName(),
+                    s.getTotalTenants()
+                });
+            }
+            return rows;
         });
-        tableModel.setRowCount(0); // Clear existing rows
-
-        var stats = landlordDAO.getLandlordTenantStats();
-        for (var s : stats) {
-            tableModel.addRow(new Object[] {
-                s.getLlid(),
-                s.getName(),
-                s.getTotalTenants()
-            });
-        }
     }
 
     /**
      * Advanced Query: Retrieve tenants paying above average rent-per-bedroom for their property type.
      * (Written and integrated by Andrew Peirce)
-     * 
-     * @throws SQLException
      */
-    private void runOverpayingTenantsQuery() throws SQLException {
-        isTenantView = true;
-        tableModel.setColumnIdentifiers(new Object[] {
+    private void runOverpayingTenantsQuery() {
+        showQueryResults(true, new Object[] {
             "SSN", "Tenant Name", "PID", "Address", "Beds", "Price", "Rent/Bed"
+        }, () -> {
+            var stats = tenantDAO.getTenantsPayingAboveAverageRent();
+            List<Object[]> rows = new ArrayList<>(stats.size());
+            for (var s : stats) {
+                rows.add(new Object[] {
+                    s.getSsn(),
+                    s.getTenantName(),
+                    s.getPid(),
+                    s.getAddress(),
+                    s.getBed(),
+                    s.getPrice(),
+                    s.getRentPerBed()
+                });
+            }
+            return rows;
         });
-        tableModel.setRowCount(0); // Clear existing rows
-
-        var stats = tenantDAO.getTenantsPayingAboveAverageRent();
-        for (var s : stats) {
-            tableModel.addRow(new Object[] {
-                s.getSsn(),
-                s.getTenantName(),
-                s.getPid(),
-                s.getAddress(),
-                s.getBed(),
-                s.getPrice(),
-                s.getRentPerBed()
-            });
-        }
     }
 
     /**
      * Advanced Query: Retrieve tenants with budgets above the average budget for their properties.
      * (Written by Rohan Hari, integrated by Andrew Peirce)
-     * 
-     * @throws SQLException
      */
-    private void runTenantBudgetStatsQuery() throws SQLException {
-        isTenantView = false;
-        tableModel.setColumnIdentifiers(new Object[] {
+    private void runTenantBudgetStatsQuery() {
+        showQueryResults(false, new Object[] {
             "First Name", "Last Name", "Budget", "PID"
+        }, () -> {
+            var stats = tenantDAO.getTenantsWithAboveAverageBudget();
+            List<Object[]> rows = new ArrayList<>(stats.size());
+            for (var s : stats) {
+                rows.add(new Object[] {
+                    s.getFName(),
+                    s.getLName(),
+                    s.getBudget(),
+                    s.getPid()
+                });
+            }
+            return rows;
         });
-        tableModel.setRowCount(0); // Clear existing rows
-
-        var stats = tenantDAO.getTenantsWithAboveAverageBudget();
-        for (var s : stats) {
-            tableModel.addRow(new Object[] {
-                s.getFName(),
-                s.getLName(),
-                s.getBudget(),
-                s.getPid()
-            });
-        }
     }
 
     /**
      * Advanced Query: Retrieve landlords with available properties.
      * (Written by Jacob Rogers, integrated by Andrew Peirce)
-     * 
-     * @throws SQLException
      */
-    private void runLandlordPropertyStatsQuery() throws SQLException {
-        isTenantView = false;
-        tableModel.setColumnIdentifiers(new Object[] {
+    private void runLandlordPropertyStatsQuery() {
+        showQueryResults(false, new Object[] {
             "LLID", "Name", "Email", "Available Properties"
+        }, () -> {
+            var stats = landlordDAO.getLandlordsWithAvailableProperties();
+            List<Object[]> rows = new ArrayList<>(stats.size());
+            for (var s : stats) {
+                rows.add(new Object[] {
+                    s.getLlid(),
+                    s.getName(),
+                    s.getEmail(),
+                    s.getAvailableProperties()
+                });
+            }
+            return rows;
         });
-        tableModel.setRowCount(0); // Clear existing rows
-
-        var stats = landlordDAO.getLandlordsWithAvailableProperties();
-        for (var s : stats) {
-            tableModel.addRow(new Object[] {
-                s.getLlid(),
-                s.getName(),
-                s.getEmail(),
-                s.getAvailableProperties()
-            });
-        }
     }
 
     /**
      * Advanced Query: Retrieve the top 10 most expensive properties with at least one vacant bed.
      * (Written and integrated by Andrew Peirce)
-     * 
-     * @throws SQLException
      */
-    private void runPropertyVacancyStatsQuery() throws SQLException {
-        isTenantView = false;
-        tableModel.setColumnIdentifiers(new Object[] {
+    private void runPropertyVacancyStatsQuery() {
+        showQueryResults(false, new Object[] {
             "PID", "Address", "Price", "Beds", "Occupied", "Vacant"
+        }, () -> {
+            var stats = propertyDAO.getMostExpensiveProperties();
+            List<Object[]> rows = new ArrayList<>(stats.size());
+            for (var s : stats) {
+                rows.add(new Object[] {
+                    s.getPid(),
+                    s.getAddress(),
+                    s.getPrice(),
+                    s.getBed(),
+                    s.getCurrentOccupancy(),
+                    s.getVacantBeds()
+                });
+            }
+            return rows;
         });
-        tableModel.setRowCount(0); // Clear existing rows
-
-        var stats = propertyDAO.getMostExpensiveProperties();
-        for (var s : stats) {
-            tableModel.addRow(new Object[] {
-                s.getPid(),
-                s.getAddress(),
-                s.getPrice(),
-                s.getBed(),
-                s.getCurrentOccupancy(),
-                s.getVacantBeds()
-            });
-        }
     }
 
     // private void runLandlordTenantStatsQuery() throws SQLException {
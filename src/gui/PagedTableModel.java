@@ -0,0 +1,227 @@
+/**
+ * A table model that loads rows lazily, one page at a time, as the table asks for them.
+ * Only a small number of pages are kept in memory, and the page after the last one loaded is prefetched,
+ * so scrolling through a table of any size stays responsive and uses bounded memory.
+ *
+ * Pages are fetched on a background thread with keyset pagination. When the user jumps straight to a page whose
+ * starting key is unknown (e.g. by dragging the scrollbar), the key is looked up by offset first.
+ * Rows that have not been loaded yet render as empty cells until their page arrives.
+ *
+ * Date Last Modified: October 18, 2026
+ */
+package gui;
+
+import java.sql.SQLException;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import javax.swing.SwingUtilities;
+import javax.swing.table.AbstractTableModel;
+
+public class PagedTableModel<T, K> extends AbstractTableModel {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Where the pages come from. Implementations call the DAOs and are only invoked off the EDT.
+     * @param <T> Row type
+     * @param <K> Type of the key the rows are ordered by
+     */
+    public interface PageSource<T, K> {
+        /** @return Total number of rows */
+        int count() throws SQLException;
+
+        /** @return A key that sorts before every row, used to fetch the first page */
+        K firstKey();
+
+        /** @return The key of the row at the given offset in key order */
+        K keyAt(int offset) throws SQLException;
+
+        /** @return Up to limit rows whose key is greater than afterKey, in key order */
+        List<T> fetchAfter(K afterKey, int limit) throws SQLException;
+
+        /** @return The key of a row */
+        K keyOf(T row);
+    }
+
+    private final String[] columns;
+    private final PageSource<T, K> source;
+    private final Function<T, Object[]> toRow;
+    private final int pageSize;
+    private final int maxCachedPages;
+    private final Consumer<Exception> onError;
+
+    private final ExecutorService loader = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "table-page-loader");
+        t.setDaemon(true);
+        return t;
+    });
+
+    // The following are only touched on the EDT
+    private int rowCount = 0;
+    private final Map<Integer, Object[][]> pages;
+    private final Set<Integer> pending = new HashSet<>();
+    private final Set<Integer> failed = new HashSet<>(); // not retried until the next load()
+
+    // Set on the EDT, read by the loader too so queued fetches are skipped after dispose()
+    private volatile boolean disposed = false;
+
+    // Key to fetch after for a page, learned from the last row of the previous page
+    private final Map<Integer, K> startKeys = new ConcurrentHashMap<>();
+
+    /**
+     * @param columns Column names
+     * @param source Page source backed by a DAO
+     * @param toRow Converts a row object into the table's cell values
+     * @param pageSize Rows per page
+     * @param maxCachedPages Pages kept in memory before the least recently used one is dropped
+     * @param onError Called on the EDT when a page fails to load
+     */
+    public PagedTableModel(String[] columns, PageSource<T, K> source, Function<T, Object[]> toRow,
+                           int pageSize, int maxCachedPages, Consumer<Exception> onError) {
+        this.columns = columns;
+        this.source = source;
+        this.toRow = toRow;
+        this.pageSize = pageSize;
+        this.maxCachedPages = maxCachedPages;
+        this.onError = onError;
+        this.pages = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, Object[][]> eldest) {
+                return size() > PagedTableModel.this.maxCachedPages;
+            }
+        };
+    }
+
+    /**
+     * Count the rows in the background and then show the first page, dropping the pages and keyset bounds
+     * learned before, which may be stale after writes. Returns immediately.
+     */
+    public void load() {
+        loader.execute(() -> {
+            if (disposed) {
+                return;
+            }
+            // Fetches queued before this one have run, so no stale bound can be put back after this
+            startKeys.clear();
+            try {
+                int count = source.count();
+                SwingUtilities.invokeLater(() -> {
+                    if (disposed) {
+                        return;
+                    }
+                    rowCount = count;
+                    pages.clear();
+                    failed.clear();
+                    fireTableDataChanged();
+                });
+            } catch (SQLException | RuntimeException e) {
+                SwingUtilities.invokeLater(() -> onError.accept(e));
+            }
+        });
+    }
+
+    /**
+     * Stop loading pages. Called when the table switches to another model.
+     * A page being fetched finishes normally, so its pooled connection is returned intact rather than
+     * interrupted mid-query; pages still queued are skipped.
+     */
+    public void dispose() {
+        disposed = true;
+        loader.shutdown();
+    }
+
+    @Override
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    @Override
+    public int getColumnCount() {
+        return columns.length;
+    }
+
+    @Override
+    public String getColumnName(int column) {
+        return columns[column];
+    }
+
+    @Override
+    public Object getValueAt(int rowIndex, int columnIndex) {
+        int page = rowIndex / pageSize;
+        Object[][] rows = pages.get(page);
+        if (rows == null) {
+            request(page, false);
+            return null;
+        }
+        int offset = rowIndex % pageSize;
+        if (offset >= rows.length) {
+            return null; // the table shrank since the row count was taken
+        }
+        return rows[offset][columnIndex];
+    }
+
+    // Schedule a page to be loaded if it is not already loaded or loading.
+    private void request(int page, boolean prefetch) {
+        if (disposed || pages.containsKey(page) || failed.contains(page) || !pending.add(page)) {
+            return;
+        }
+        loader.execute(() -> fetch(page, prefetch));
+    }
+
+    // Runs on the loader thread.
+    private void fetch(int page, boolean prefetch) {
+        if (disposed) {
+            return;
+        }
+        try {
+            K after = startKeys.get(page);
+            if (after == null) {
+                after = page == 0 ? source.firstKey() : source.keyAt(page * pageSize - 1);
+            }
+
+            // A null key means the offset is past the end of the table
+            List<T> rows = after == null ? List.of() : source.fetchAfter(after, pageSize);
+            Object[][] cells = new Object[rows.size()][];
+            for (int i = 0; i < cells.length; i++) {
+                cells[i] = toRow.apply(rows.get(i));
+            }
+            if (!rows.isEmpty()) {
+                startKeys.put(page + 1, source.keyOf(rows.get(rows.size() - 1)));
+            }
+
+            SwingUtilities.invokeLater(() -> {
+                pending.remove(page);
+                if (disposed) {
+                    return;
+                }
+                pages.put(page, cells);
+                int first = page * pageSize;
+                int last = Math.min(rowCount, first + pageSize) - 1;
+                if (last >= first) {
+                    fireTableRowsUpdated(first, last);
+                }
+
+                // Prefetch the next page so scrolling down does not wait on the database
+                if (!prefetch && (page + 1) * pageSize < rowCount) {
+                    request(page + 1, true);
+                }
+            });
+        } catch (SQLException | RuntimeException e) {
+            SwingUtilities.invokeLater(() -> {
+                pending.remove(page);
+                failed.add(page);
+                if (!disposed) {
+                    onError.accept(e);
+                }
+            });
+        }
+    }
+}
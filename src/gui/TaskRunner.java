@@ -0,0 +1,154 @@
+/**
+ * Runs database work off the Event Dispatch Thread and delivers the results back on it.
+ * Owns the status bar shown at the bottom of the window: a message, a busy indicator and a Cancel button.
+ *
+ * Loads (anything that refreshes what the table shows) supersede each other: starting a new load cancels the
+ * previous one, and a result that arrives after it has been superseded is dropped. A cancelled load is not
+ * interrupted, since interrupting a JDBC call can hand a broken connection back to the pool; its query runs to
+ * the end and the result is discarded. Writes are never cancelled by later actions, so an insert, update or
+ * delete always runs to completion.
+ *
+ * Date Last Modified: October 18, 2026
+ */
+package gui;
+
+import java.awt.BorderLayout;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Consumer;
+import javax.swing.BorderFactory;
+import javax.swing.JButton;
+import javax.swing.JLabel;
+import javax.swing.JPanel;
+import javax.swing.JProgressBar;
+import javax.swing.SwingWorker;
+
+public class TaskRunner {
+
+    /**
+     * A unit of background work, typically one or more DAO calls.
+     */
+    public interface Work<T> {
+        T run() throws Exception;
+    }
+
+    private final JPanel statusBar = new JPanel(new BorderLayout(10, 0));
+    private final JLabel statusLabel = new JLabel("Ready");
+    private final JProgressBar busy = new JProgressBar();
+    private final JButton cancelButton = new JButton("Cancel");
+
+    // Only touched on the EDT
+    private SwingWorker<?, ?> currentLoad;
+    private long loadGeneration = 0;
+    private int running = 0;
+
+    public TaskRunner() {
+        busy.setIndeterminate(true);
+        busy.setVisible(false);
+        cancelButton.setVisible(false);
+        cancelButton.addActionListener(e -> cancelLoad());
+
+        statusBar.setBorder(BorderFactory.createEmptyBorder(2, 8, 2, 8));
+        statusBar.add(statusLabel, BorderLayout.CENTER);
+        JPanel right = new JPanel(new BorderLayout(5, 0));
+        right.add(busy, BorderLayout.CENTER);
+        right.add(cancelButton, BorderLayout.EAST);
+        statusBar.add(right, BorderLayout.EAST);
+    }
+
+    /**
+     * @return The status bar component to add to the window
+     */
+    public JPanel getStatusBar() {
+        return statusBar;
+    }
+
+    /**
+     * Run a load in the background, cancelling any load still in progress. Must be called on the EDT.
+     * @param description Shown in the status bar while the load runs
+     * @param work Background work
+     * @param onSuccess Receives the result on the EDT, unless a newer load has started
+     * @param onError Receives the failure on the EDT, unless a newer load has started
+     */
+    public <T> void load(String description, Work<T> work, Consumer<T> onSuccess, Consumer<Exception> onError) {
+        if (currentLoad != null) {
+            currentLoad.cancel(false);
+        }
+        long generation = ++loadGeneration;
+        currentLoad = start(description, work, result -> {
+            if (generation == loadGeneration) {
+                currentLoad = null;
+                onSuccess.accept(result);
+            }
+        }, e -> {
+            if (generation == loadGeneration) {
+                currentLoad = null;
+                onError.accept(e);
+            }
+        });
+        cancelButton.setVisible(true);
+    }
+
+    /**
+     * Run a write in the background. Writes are not cancelled by later loads. Must be called on the EDT.
+     * @param description Shown in the status bar while the write runs
+     * @param work Background work
+     * @param onSuccess Receives the result on the EDT
+     * @param onError Receives the failure on the EDT
+     */
+    public <T> void submit(String description, Work<T> work, Consumer<T> onSuccess, Consumer<Exception> onError) {
+        start(description, work, onSuccess, onError);
+    }
+
+    /**
+     * Cancel the load in progress, if any. Its result will be ignored.
+     */
+    public void cancelLoad() {
+        if (currentLoad != null) {
+            currentLoad.cancel(false);
+            currentLoad = null;
+            loadGeneration++;
+            statusLabel.setText("Cancelled");
+        }
+        cancelButton.setVisible(false);
+    }
+
+    private <T> SwingWorker<T, Void> start(String description, Work<T> work,
+                                           Consumer<T> onSuccess, Consumer<Exception> onError) {
+        running++;
+        statusLabel.setText(description + "...");
+        busy.setVisible(true);
+
+        SwingWorker<T, Void> worker = new SwingWorker<>() {
+            @Override
+            protected T doInBackground() throws Exception {
+                return work.run();
+            }
+
+            @Override
+            protected void done() {
+                running--;
+                if (running == 0) {
+                    busy.setVisible(false);
+                    cancelButton.setVisible(false);
+                }
+                if (isCancelled()) {
+                    return;
+                }
+                try {
+                    T result = get();
+                    statusLabel.setText("Ready");
+                    onSuccess.accept(result);
+                } catch (CancellationException | InterruptedException e) {
+                    // superseded; nothing to report
+                } catch (ExecutionException e) {
+                    statusLabel.setText(description + " failed");
+                    Throwable cause = e.getCause();
+                    onError.accept(cause instanceof Exception ? (Exception) cause : new Exception(cause));
+                }
+            }
+        };
+        worker.execute();
+        return worker;
+    }
+}
@@ -1,31 +1,25 @@
 /**
- * A POJO class representing a Landlord entity.
+ * An immutable record representing a Landlord entity. The name is deduplicated, as it is repeated in every
+ * report row and cached result that mentions the landlord.
+ *
+ * Two landlords are equal if they have the same LLID, whatever their other values. A landlord that was not
+ * inserted yet (LLID 0) is only equal to itself.
+ *
  * @author Andrew Peirce
- * Date Last Modified: December 1, 2025
+ * Date Last Modified: October 18, 2026
  */
 package model;
 
-public class Landlord {
-    // Attributes
-    private int LLID; // Primary Key
-    private String name;
-    private String phoneNum;
-    private String email;
+public record Landlord(int LLID, String name, String phoneNum, String email) {
 
     // Constructor
-    public Landlord(int LLID, String name, String phoneNum, String email) {
-        this.LLID = LLID;
-        this.name = name;
-        this.phoneNum = phoneNum;
-        this.email = email;
+    public Landlord {
+        name = Strings.dedupe(name);
     }
 
     // Overloaded Constructor without LLID (for inserts)
     public Landlord(String name, String phoneNum, String email) {
-        // this.LLID = LLID;
-        this.name = name;
-        this.phoneNum = phoneNum;
-        this.email = email;
+        this(0, name, phoneNum, email);
     }
 
     // Getters
@@ -45,21 +39,27 @@ public class Landlord {
         return email;
     }
 
-    // Setters
-    public void setLLID(int LLID) {
-        this.LLID = LLID;
+    // Copies with one value changed
+    public Landlord withLLID(int LLID) {
+        return new Landlord(LLID, name, phoneNum, email);
     }
 
-    public void setName(String name) {
-        this.name = name;
+    public Landlord withEmail(String email) {
+        return new Landlord(LLID, name, phoneNum, email);
     }
 
-    public void setPhoneNum(String phoneNum) {
-        this.phoneNum = phoneNum;
+    // Equality on the primary key, once there is one
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        return LLID != 0 && o instanceof Landlord other && other.LLID == LLID;
     }
 
-    public void setEmail(String email) {
-        this.email = email;
+    @Override
+    public int hashCode() {
+        return LLID != 0 ? Integer.hashCode(LLID) : System.identityHashCode(this);
     }
 
     // To String
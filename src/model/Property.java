@@ -1,40 +1,29 @@
 /**
- * A POJO class representing a Property entity.
- * 
+ * An immutable record representing a Property entity.
+ *
+ * The components hold the compact form: the price in whole cents (Price is NUMERIC(6,2)) and the baths in
+ * hundredths, so a property takes 40 bytes besides its address. The constructors taking the price and baths as
+ * doubles are the ones to use; the canonical constructor is for code that already has the compact values.
+ *
+ * Two properties are equal if they have the same PID, whatever their other values. A property that was not
+ * inserted yet (PID 0) is only equal to itself.
+ *
  * @author Andrew Peirce
- * Date Last Modified: December 1, 2025
+ * Date Last Modified: October 18, 2026
  */
 package model;
 
-public class Property {
-    // Attributes
-    private int PID; // Primary Key
-    private int LLID; // Foreign Key
-    private double price;
-    private int bed;
-    private double bath;
-    private boolean petsAllowed;
-    private String address;
-    
+public record Property(int PID, int LLID, int priceCents, int bed, short bathHundredths, boolean petsAllowed,
+                       String address) {
+
     // Constructor
     public Property(int PID, int LLID, double price, int bed, double bath, boolean petsAllowed, String address) {
-        this.PID = PID;
-        this.LLID = LLID;
-        this.price = price;
-        this.bed = bed;
-        this.bath = bath;
-        this.petsAllowed = petsAllowed;
-        this.address = address;
+        this(PID, LLID, cents(price), bed, hundredths(bath), petsAllowed, address);
     }
 
     // Overloaded Constructor without PID (for inserts)
     public Property(int LLID, double price, int bed, double bath, boolean petsAllowed, String address) {
-        this.LLID = LLID;
-        this.price = price;
-        this.bed = bed;
-        this.bath = bath;
-        this.petsAllowed = petsAllowed;
-        this.address = address;
+        this(0, LLID, price, bed, bath, petsAllowed, address);
     }
 
     // Getters
@@ -47,7 +36,7 @@ public class Property {
     }
 
     public double getPrice() {
-        return price;
+        return priceCents / 100.0;
     }
 
     public int getBed() {
@@ -55,7 +44,7 @@ public class Property {
     }
 
     public double getBath() {
-        return bath;
+        return bathHundredths / 100.0;
     }
 
     public boolean isPetsAllowed() {
@@ -66,33 +55,27 @@ public class Property {
         return address;
     }
 
-    // Setters
-    public void setPID(int PID) {
-        this.PID = PID;
-    }
-
-    public void setLLID(int LLID) {
-        this.LLID = LLID;
-    }
-
-    public void setPrice(double price) {
-        this.price = price;
-    }
-
-    public void setBed(int bed) {
-        this.bed = bed;
+    // Copies with one value changed
+    public Property withPID(int PID) {
+        return new Property(PID, LLID, priceCents, bed, bathHundredths, petsAllowed, address);
     }
 
-    public void setBath(double bath) {
-        this.bath = bath;
+    public Property withPrice(double price) {
+        return new Property(PID, LLID, cents(price), bed, bathHundredths, petsAllowed, address);
     }
 
-    public void setPetsAllowed(boolean petsAllowed) {
-        this.petsAllowed = petsAllowed;
+    // Equality on the primary key, once there is one
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        return PID != 0 && o instanceof Property other && other.PID == PID;
     }
 
-    public void setAddress(String address) {
-        this.address = address;
+    @Override
+    public int hashCode() {
+        return PID != 0 ? Integer.hashCode(PID) : System.identityHashCode(this);
     }
 
     // To String
@@ -103,4 +86,20 @@ public class Property {
                 ", bed=" + bed +
                 '}';
     }
+
+    private static int cents(double price) {
+        long cents = Math.round(price * 100);
+        if (cents < Integer.MIN_VALUE || cents > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Price out of range: " + price);
+        }
+        return (int) cents;
+    }
+
+    private static short hundredths(double bath) {
+        long hundredths = Math.round(bath * 100);
+        if (hundredths < Short.MIN_VALUE || hundredths > Short.MAX_VALUE) {
+            throw new IllegalArgumentException("Baths out of range: " + bath);
+        }
+        return (short) hundredths;
+    }
 }
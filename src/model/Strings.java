@@ -0,0 +1,35 @@
+/**
+ * Deduplicates the low-cardinality strings the model records hold, such as tenant first and last names and
+ * landlord names. The same name read by several queries (the entity caches, the result cache, the search index)
+ * is kept once instead of once per row. The table is local and bounded: once it holds MAX_SIZE distinct strings,
+ * new ones are kept as they are, so a column that turns out to be mostly unique costs at most that many entries.
+ *
+ * Date Last Modified: October 18, 2026
+ */
+package model;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+final class Strings {
+
+    private static final int MAX_SIZE = 65_536;
+    private static final Map<String, String> CANONICAL = new ConcurrentHashMap<>();
+
+    private Strings() { }
+
+    static String dedupe(String s) {
+        if (s == null) {
+            return null;
+        }
+        String canonical = CANONICAL.get(s);
+        if (canonical != null) {
+            return canonical;
+        }
+        if (CANONICAL.size() >= MAX_SIZE) {
+            return s;
+        }
+        canonical = CANONICAL.putIfAbsent(s, s);
+        return canonical == null ? s : canonical;
+    }
+}
@@ -1,33 +1,37 @@
 /**
- * A POJO class representing a Tenant entity.
+ * An immutable record representing a Tenant entity.
+ *
+ * The birth date is held as a day number (LocalDate.toEpochDay()) rather than a LocalDate object, and the
+ * names are deduplicated, since many tenants share a first or last name. The constructor taking a LocalDate is
+ * the one to use; the canonical constructor is for code that already has the day number.
+ *
+ * Two tenants are equal if they have the same SSN, whatever their other values. A tenant without an SSN is
+ * only equal to itself.
+ *
  * @author Andrew Peirce
- * Date Last Modified: December 1, 2025
- */ 
+ * Date Last Modified: October 18, 2026
+ */
 package model;
 
 import java.time.LocalDate;
 
-public class Tenant {
-    // Attributes
-    private String SSN; // Primary Key
-    private String Fname;
-    private String Mname;
-    private String Lname;
-    private double budget;
-    private String phoneNum;
-    private String email;
-    private LocalDate birthDate;
+public record Tenant(String SSN, String Fname, String Mname, String Lname, double budget, String phoneNum,
+                     String email, int birthEpochDay) {
+
+    /** birthEpochDay of a tenant without a birth date */
+    public static final int NO_BIRTH_DATE = Integer.MIN_VALUE;
+
+    // Canonical constructor
+    public Tenant {
+        Fname = Strings.dedupe(Fname);
+        Mname = Strings.dedupe(Mname);
+        Lname = Strings.dedupe(Lname);
+    }
 
     // Constructor
     public Tenant(String SSN, String Fname, String Mname, String Lname, double budget, String phoneNum, String email, LocalDate birthDate) {
-        this.SSN = SSN;
-        this.Fname = Fname;
-        this.Mname = Mname;
-        this.Lname = Lname;
-        this.budget = budget;
-        this.phoneNum = phoneNum;
-        this.email = email;
-        this.birthDate = birthDate;
+        this(SSN, Fname, Mname, Lname, budget, phoneNum, email,
+            birthDate == null ? NO_BIRTH_DATE : Math.toIntExact(birthDate.toEpochDay()));
     }
 
     // Getters
@@ -60,40 +64,26 @@ public class Tenant {
     }
 
     public LocalDate getBirthDate() {
-        return birthDate;
-    }
-
-    // Setters
-    public void setSSN(String SSN) {
-        this.SSN = SSN;
-    }
-
-    public void setFname(String Fname) {
-        this.Fname = Fname;
+        return birthEpochDay == NO_BIRTH_DATE ? null : LocalDate.ofEpochDay(birthEpochDay);
     }
 
-    public void setMname(String Mname) {
-        this.Mname = Mname;
+    // Copies with one value changed
+    public Tenant withEmail(String email) {
+        return new Tenant(SSN, Fname, Mname, Lname, budget, phoneNum, email, birthEpochDay);
     }
 
-    public void setLname(String Lname) {
-        this.Lname = Lname;
-    }
-
-    public void setBudget(double budget) {
-        this.budget = budget;
-    }
-
-    public void setPhoneNum(String phoneNum) {
-        this.phoneNum = phoneNum;
-    }
-
-    public void setEmail(String email) {
-        this.email = email;
+    // Equality on the primary key, once there is one
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        return SSN != null && o instanceof Tenant other && SSN.equals(other.SSN);
     }
 
-    public void setBirthDate(LocalDate birthDate) {
-        this.birthDate = birthDate;
+    @Override
+    public int hashCode() {
+        return SSN != null ? SSN.hashCode() : System.identityHashCode(this);
     }
 
     // To String
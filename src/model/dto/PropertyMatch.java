@@ -0,0 +1,65 @@
+/**
+ * A Data Transfer Object (DTO) class representing a vacant property matched to a tenant.
+ * Produced by the tenant matching engine (search.TenantMatcher).
+ *
+ * Date Last Modified: October 18, 2026
+ */
+package model.dto;
+
+public class PropertyMatch {
+
+    private final String ssn;
+    private final int pid;
+    private final String address;
+    private final double pricePerBed;
+    private final int bed;
+    private final int vacantBeds;
+    private final boolean petsAllowed;
+
+    /**
+     * @param ssn Tenant's SSN
+     * @param pid
+     * @param address
+     * @param pricePerBed Price divided by beds, rounded to cents
+     * @param bed
+     * @param vacantBeds
+     * @param petsAllowed
+     */
+    public PropertyMatch(String ssn, int pid, String address, double pricePerBed, int bed, int vacantBeds, boolean petsAllowed) {
+        this.ssn = ssn;
+        this.pid = pid;
+        this.address = address;
+        this.pricePerBed = pricePerBed;
+        this.bed = bed;
+        this.vacantBeds = vacantBeds;
+        this.petsAllowed = petsAllowed;
+    }
+
+    public String getSsn() {
+        return ssn;
+    }
+
+    public int getPid() {
+        return pid;
+    }
+
+    public String getAddress() {
+        return address;
+    }
+
+    public double getPricePerBed() {
+        return pricePerBed;
+    }
+
+    public int getBed() {
+        return bed;
+    }
+
+    public int getVacantBeds() {
+        return vacantBeds;
+    }
+
+    public boolean isPetsAllowed() {
+        return petsAllowed;
+    }
+}
@@ -0,0 +1,396 @@
+/**
+ * Inverted index over Property.Address for typeahead search, replacing LIKE '%...%' scans.
+ *
+ * Addresses are split into lower-case alphanumeric tokens ("1210 Water St." -> 1210, water, st). Each distinct
+ * token (term) has a posting list of the PIDs whose address contains it, and each term is also indexed by its
+ * trigrams ("$wa", "wat", "ate", "ter", "er$") so terms a few typos away from a query token can be found
+ * without comparing against every term. Short tokens share too few trigrams with a misspelling ("mian" and
+ * "main" share none), so they are looked up by bigrams ("$m", "ma", "ai", "in", "n$") instead.
+ *
+ * Every query token must match a token of the address, in one of three ways, weighted in this order:
+ *  - exactly
+ *  - as a prefix of the address token (only the last query token, which is usually still being typed)
+ *  - within a small edit distance (1 for tokens of 3 to 5 characters, 2 for longer), found through shared n-grams
+ * A match scores its weight times the term's inverse document frequency, so rare tokens such as house numbers
+ * count for more than "st". Addresses that start with the query as typed get a bonus.
+ *
+ * Not thread safe; PropertySearch guards it.
+ *
+ * Date Last Modified: October 18, 2026
+ */
+package search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+final class AddressIndex {
+
+    private static final float EXACT = 1.0f;
+    private static final float PREFIX = 0.8f;
+    private static final float FUZZY = 0.6f;
+    private static final float STARTS_WITH_BONUS = 2.0f;
+
+    // Cap on the terms a prefix expands to, most frequent first, so a one-letter prefix stays cheap
+    private static final int MAX_PREFIX_TERMS = 64;
+
+    // Tokens shorter than this are matched to misspellings by bigrams rather than trigrams
+    private static final int SHORT_TOKEN = 6;
+
+    // Term dictionary; ids are never reused, a term whose postings empty out just stops matching
+    private final TreeMap<String, Integer> termIds = new TreeMap<>();
+    private final List<String> terms = new ArrayList<>();
+    private final List<Postings> postings = new ArrayList<>();
+    private final Map<String, Postings> termsByGram = new HashMap<>(); // Bigram or trigram -> term ids
+
+    // Forward index: PID -> its address and its address's term ids, to remove or rescore a property
+    private final Map<Integer, String> addresses = new HashMap<>();
+    private final Map<Integer, int[]> termsOf = new HashMap<>();
+
+    /**
+     * A sorted, growable list of ints (PIDs or term ids).
+     */
+    static final class Postings {
+        int[] ids = new int[4];
+        int size = 0;
+
+        void add(int id) {
+            if (size > 0 && ids[size - 1] < id) {
+                append(id); // The common case: a new property has the highest PID yet
+                return;
+            }
+            int i = Arrays.binarySearch(ids, 0, size, id);
+            if (i >= 0) {
+                return;
+            }
+            i = -i - 1;
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            System.arraycopy(ids, i, ids, i + 1, size - i);
+            ids[i] = id;
+            size++;
+        }
+
+        void remove(int id) {
+            int i = Arrays.binarySearch(ids, 0, size, id);
+            if (i >= 0) {
+                System.arraycopy(ids, i + 1, ids, i, size - i - 1);
+                size--;
+            }
+        }
+
+        private void append(int id) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            ids[size++] = id;
+        }
+    }
+
+    int size() {
+        return addresses.size();
+    }
+
+    int termCount() {
+        return terms.size();
+    }
+
+    /**
+     * Index a property's address, replacing what was indexed for it before.
+     */
+    void put(int pid, String address) {
+        String old = addresses.get(pid);
+        if (old != null && old.equals(address)) {
+            return;
+        }
+        remove(pid);
+        if (address == null) {
+            return;
+        }
+        List<String> tokens = tokenize(address);
+        int[] ids = new int[tokens.size()];
+        int n = 0;
+        for (String token : tokens) {
+            int id = termId(token);
+            if (!contains(ids, n, id)) {
+                ids[n++] = id;
+                postings.get(id).add(pid);
+            }
+        }
+        int[] distinct = Arrays.copyOf(ids, n);
+        Arrays.sort(distinct);
+        addresses.put(pid, address);
+        termsOf.put(pid, distinct);
+    }
+
+    void remove(int pid) {
+        int[] ids = termsOf.remove(pid);
+        addresses.remove(pid);
+        if (ids != null) {
+            for (int id : ids) {
+                postings.get(id).remove(pid);
+            }
+        }
+    }
+
+    /**
+     * Find the addresses best matching a query.
+     * @param query Text as typed
+     * @param limit Maximum number of results
+     * @param out Receives the PIDs of the best matches, best first
+     */
+    void search(String query, int limit, List<Integer> out) {
+        List<String> tokens = tokenize(query);
+        if (tokens.isEmpty() || addresses.isEmpty()) {
+            return;
+        }
+        // The terms each query token can match, as sorted term ids with their weighted scores
+        int tokenCount = tokens.size();
+        int[][] matchIds = new int[tokenCount][];
+        float[][] matchScores = new float[tokenCount][];
+        int driver = -1;
+        long driverCost = Long.MAX_VALUE;
+        for (int t = 0; t < tokenCount; t++) {
+            expand(tokens.get(t), t == tokenCount - 1 && !endsWithSeparator(query), t, matchIds, matchScores);
+            long cost = 0;
+            for (int id : matchIds[t]) {
+                cost += postings.get(id).size;
+            }
+            if (cost == 0) {
+                return; // Every token must match
+            }
+            if (cost < driverCost) {
+                driverCost = cost;
+                driver = t;
+            }
+        }
+
+        // Candidates: the PIDs of the rarest token's terms. The other tokens are checked per candidate.
+        int[] candidates = union(matchIds[driver]);
+        String typed = query.trim().toLowerCase(Locale.ROOT);
+        long[] ranked = new long[candidates.length];
+        int n = 0;
+        for (int pid : candidates) {
+            int[] docTerms = termsOf.get(pid);
+            float score = 0;
+            boolean matchesAll = true;
+            for (int t = 0; t < tokenCount && matchesAll; t++) {
+                float best = 0;
+                for (int id : docTerms) {
+                    int i = Arrays.binarySearch(matchIds[t], id);
+                    if (i >= 0 && matchScores[t][i] > best) {
+                        best = matchScores[t][i];
+                    }
+                }
+                matchesAll = best > 0;
+                score += best;
+            }
+            if (!matchesAll) {
+                continue;
+            }
+            if (addresses.get(pid).toLowerCase(Locale.ROOT).startsWith(typed)) {
+                score += STARTS_WITH_BONUS;
+            }
+            // Best score first, then lowest PID: (inverted score bits << 32 | PID) sorts ascending
+            ranked[n++] = ((long) ~Float.floatToIntBits(score) << 32) | (pid & 0xFFFFFFFFL);
+        }
+        Arrays.sort(ranked, 0, n);
+        for (int i = 0; i < Math.min(n, limit); i++) {
+            out.add((int) ranked[i]);
+        }
+    }
+
+    // Fill matchIds[t] and matchScores[t] with the terms token can match, sorted by id
+    private void expand(String token, boolean prefix, int t, int[][] matchIds, float[][] matchScores) {
+        Map<Integer, Float> matches = new HashMap<>();
+        Integer exact = termIds.get(token);
+        if (exact != null) {
+            matches.put(exact, EXACT);
+        }
+        if (prefix) {
+            List<Integer> expansions = new ArrayList<>(termIds.subMap(token, false, token + Character.MAX_VALUE, false).values());
+            if (expansions.size() > MAX_PREFIX_TERMS) {
+                expansions.sort((a, b) -> Integer.compare(postings.get(b).size, postings.get(a).size));
+                expansions = expansions.subList(0, MAX_PREFIX_TERMS);
+            }
+            for (int id : expansions) {
+                matches.merge(id, PREFIX, Math::max);
+            }
+        }
+        int maxEdits = token.length() < 3 ? 0 : token.length() < SHORT_TOKEN ? 1 : 2;
+        if (maxEdits > 0) {
+            for (int id : similarTerms(token)) {
+                String term = terms.get(id);
+                // A prefix token is compared with the start of the term, so "watr" still finds "waterford"
+                String compared = prefix && term.length() > token.length() + maxEdits
+                    ? term.substring(0, token.length()) : term;
+                int edits = editDistance(token, compared, maxEdits);
+                if (edits > 0 && edits <= maxEdits) {
+                    matches.merge(id, FUZZY * (1 - (float) edits / (token.length() + 1)), Math::max);
+                }
+            }
+        }
+
+        int[] ids = new int[matches.size()];
+        int i = 0;
+        for (int id : matches.keySet()) {
+            ids[i++] = id;
+        }
+        Arrays.sort(ids);
+        float[] scores = new float[ids.length];
+        for (i = 0; i < ids.length; i++) {
+            scores[i] = matches.get(ids[i]) * idf(ids[i]);
+        }
+        matchIds[t] = ids;
+        matchScores[t] = scores;
+    }
+
+    // Terms sharing at least a third of the token's n-grams
+    private List<Integer> similarTerms(String token) {
+        List<String> grams = grams(token, token.length() < SHORT_TOKEN ? 2 : 3);
+        Map<Integer, Integer> shared = new HashMap<>();
+        for (String gram : grams) {
+            Postings p = termsByGram.get(gram);
+            if (p != null) {
+                for (int i = 0; i < p.size; i++) {
+                    shared.merge(p.ids[i], 1, Integer::sum);
+                }
+            }
+        }
+        List<Integer> similar = new ArrayList<>();
+        int needed = Math.max(1, grams.size() / 3);
+        for (Map.Entry<Integer, Integer> e : shared.entrySet()) {
+            if (e.getValue() >= needed && postings.get(e.getKey()).size > 0) {
+                similar.add(e.getKey());
+            }
+        }
+        return similar;
+    }
+
+    // Sorted, distinct PIDs of all the given terms
+    private int[] union(int[] ids) {
+        int total = 0;
+        for (int id : ids) {
+            total += postings.get(id).size;
+        }
+        int[] pids = new int[total];
+        int n = 0;
+        for (int id : ids) {
+            Postings p = postings.get(id);
+            System.arraycopy(p.ids, 0, pids, n, p.size);
+            n += p.size;
+        }
+        if (ids.length > 1) {
+            Arrays.sort(pids);
+            int distinct = 0;
+            for (int i = 0; i < n; i++) {
+                if (distinct == 0 || pids[distinct - 1] != pids[i]) {
+                    pids[distinct++] = pids[i];
+                }
+            }
+            n = distinct;
+        }
+        return n == pids.length ? pids : Arrays.copyOf(pids, n);
+    }
+
+    private float idf(int id) {
+        return (float) Math.log(1 + (double) addresses.size() / (1 + postings.get(id).size));
+    }
+
+    private int termId(String term) {
+        Integer id = termIds.get(term);
+        if (id != null) {
+            return id;
+        }
+        int newId = terms.size();
+        terms.add(term);
+        postings.add(new Postings());
+        termIds.put(term, newId);
+        for (String gram : grams(term, 2)) {
+            termsByGram.computeIfAbsent(gram, g -> new Postings()).add(newId);
+        }
+        for (String gram : grams(term, 3)) {
+            termsByGram.computeIfAbsent(gram, g -> new Postings()).add(newId);
+        }
+        return newId;
+    }
+
+    static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        StringBuilder token = new StringBuilder();
+        for (int i = 0; i <= text.length(); i++) {
+            char c = i < text.length() ? text.charAt(i) : ' ';
+            if (Character.isLetterOrDigit(c)) {
+                token.append(Character.toLowerCase(c));
+            } else if (token.length() > 0) {
+                tokens.add(token.toString());
+                token.setLength(0);
+            }
+        }
+        return tokens;
+    }
+
+    // n-grams of a term padded with '$' at both ends, so short terms have some and ends weigh more
+    private static List<String> grams(String term, int n) {
+        String padded = "$" + term + "$";
+        List<String> grams = new ArrayList<>(padded.length());
+        for (int i = 0; i + n <= padded.length(); i++) {
+            grams.add(padded.substring(i, i + n));
+        }
+        return grams;
+    }
+
+    private static boolean contains(int[] ids, int n, int id) {
+        for (int i = 0; i < n; i++) {
+            if (ids[i] == id) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean endsWithSeparator(String query) {
+        return !query.isEmpty() && !Character.isLetterOrDigit(query.charAt(query.length() - 1));
+    }
+
+    /**
+     * Optimal string alignment distance (Levenshtein plus adjacent transpositions), giving up past max.
+     * @return The distance, or max + 1 if it exceeds max
+     */
+    static int editDistance(String a, String b, int max) {
+        if (Math.abs(a.length() - b.length()) > max) {
+            return max + 1;
+        }
+        int[] prev2 = new int[b.length() + 1];
+        int[] prev = new int[b.length() + 1];
+        int[] cur = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            prev[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            cur[0] = i;
+            int rowMin = cur[0];
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                cur[j] = Math.min(Math.min(cur[j - 1] + 1, prev[j] + 1), prev[j - 1] + cost);
+                if (i > 1 && j > 1 && a.charAt(i - 1) == b.charAt(j - 2) && a.charAt(i - 2) == b.charAt(j - 1)) {
+                    cur[j] = Math.min(cur[j], prev2[j - 2] + 1);
+                }
+                rowMin = Math.min(rowMin, cur[j]);
+            }
+            if (rowMin > max) {
+                return max + 1;
+            }
+            int[] t = prev2;
+            prev2 = prev;
+            prev = cur;
+            cur = t;
+        }
+        return Math.min(prev[b.length()], max + 1);
+    }
+}
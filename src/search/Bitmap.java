@@ -0,0 +1,61 @@
+/**
+ * A growable bit set over row numbers, stored as 64-bit words so filters combine a word (64 rows) at a time.
+ *
+ * Date Last Modified: October 18, 2026
+ */
+package search;
+
+import java.util.Arrays;
+
+final class Bitmap {
+
+    long[] words;
+
+    Bitmap(int rows) {
+        words = new long[Math.max(1, (rows + 63) >>> 6)];
+    }
+
+    void set(int row, boolean value) {
+        int w = row >>> 6;
+        if (w >= words.length) {
+            if (!value) {
+                return;
+            }
+            words = Arrays.copyOf(words, Math.max(words.length * 2, w + 1));
+        }
+        if (value) {
+            words[w] |= 1L << row;
+        } else {
+            words[w] &= ~(1L << row);
+        }
+    }
+
+    boolean get(int row) {
+        int w = row >>> 6;
+        return w < words.length && (words[w] & (1L << row)) != 0;
+    }
+
+    long word(int w) {
+        return w < words.length ? words[w] : 0L;
+    }
+
+    /**
+     * OR another bitmap into this one.
+     */
+    void or(Bitmap other) {
+        if (other.words.length > words.length) {
+            words = Arrays.copyOf(words, other.words.length);
+        }
+        for (int w = 0; w < other.words.length; w++) {
+            words[w] |= other.words[w];
+        }
+    }
+
+    int cardinality() {
+        int count = 0;
+        for (long word : words) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+}
@@ -0,0 +1,70 @@
+/**
+ * The properties with a vacant bed, sorted by price per bed, as parallel primitive arrays, for TenantMatcher.
+ * The properties a tenant can afford are a prefix of the arrays, found by binary search on the budget.
+ * Immutable once built; TenantMatcher rebuilds it when the property search index changes.
+ *
+ * Date Last Modified: October 18, 2026
+ */
+package search;
+
+import java.util.Arrays;
+
+final class PricePerBedIndex {
+
+    final int size;
+    final double[] perBed;     // ROUND(Price / Bed, 2), ascending
+    final int[] pid;
+    final int[] bed;
+    final int[] vacant;
+    final boolean[] pets;
+    final String[] address;
+
+    /**
+     * Build from the live, vacant rows of a property index. The caller holds the index's read lock.
+     */
+    PricePerBedIndex(PropertyIndex index) {
+        // Sort (cents per bed << 32 | row) to order rows without boxing
+        long[] keys = new long[index.count];
+        int n = 0;
+        for (int row = 0; row < index.count; row++) {
+            if (index.live.get(row) && index.bed[row] > 0 && index.bed[row] - index.occupancy[row] > 0) {
+                keys[n++] = (Math.round(index.price[row] / index.bed[row] * 100) << 32) | row;
+            }
+        }
+        Arrays.sort(keys, 0, n);
+
+        size = n;
+        perBed = new double[n];
+        pid = new int[n];
+        bed = new int[n];
+        vacant = new int[n];
+        pets = new boolean[n];
+        address = new String[n];
+        for (int i = 0; i < n; i++) {
+            int row = (int) keys[i];
+            perBed[i] = (keys[i] >>> 32) / 100.0;
+            pid[i] = index.pid[row];
+            bed[i] = index.bed[row];
+            vacant[i] = index.bed[row] - index.occupancy[row];
+            pets[i] = index.pets[row];
+            address[i] = index.address[row];
+        }
+    }
+
+    /**
+     * @return Number of properties priced at most maxPerBed per bed; they are the first entries
+     */
+    int affordable(double maxPerBed) {
+        int lo = 0;
+        int hi = size;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (perBed[mid] <= maxPerBed) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+}
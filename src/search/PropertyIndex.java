@@ -0,0 +1,380 @@
+/**
+ * In-memory index of every property for PropertySearch. Rows are kept in PID order, one primitive array per
+ * column, with these indexes over them:
+ *  - a bitmap per distinct Bed and per distinct Bath value, so a range filter is an OR of a few bitmaps
+ *  - a bitmap of pet-friendly properties and one of properties with a vacant bed
+ *  - the rows sorted by price, for narrow price ranges
+ * A query ANDs the bitmaps a word (64 rows) at a time, starting at the page's first PID, and stops when the
+ * page is full, so a page costs about the same however many properties match in total.
+ *
+ * Rows are patched in place as properties change. A deleted row stays as a dead row until the next rebuild.
+ * The price order is rebuilt lazily: rows whose price changed since the last sort are marked stale and kept in
+ * a short list that range queries check separately. Not thread safe; PropertySearch guards it.
+ *
+ * Date Last Modified: October 18, 2026
+ */
+package search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import model.Property;
+
+final class PropertyIndex {
+
+    private static final int MIN_RESORT = 1024;
+
+    // Columns, by row
+    int count = 0;
+    int dead = 0;
+    int[] pid;
+    int[] llid;
+    int[] bed;
+    int[] occupancy;
+    double[] price;
+    double[] bath;
+    boolean[] pets;
+    String[] address;
+
+    // Bitmap indexes
+    final Bitmap live;
+    final Bitmap petsAllowed;
+    final Bitmap vacant;
+    final TreeMap<Integer, Bitmap> byBed = new TreeMap<>();
+    final TreeMap<Double, Bitmap> byBath = new TreeMap<>();
+
+    // Price order: (cents << 32 | row), sorted, as of the last sort
+    private long[] byPrice = new long[0];
+    private final Bitmap stale;
+    private int[] changed = new int[64];   // Rows added or repriced since the last sort
+    private int changedCount = 0;
+
+    PropertyIndex(int expected) {
+        int capacity = Math.max(16, expected);
+        pid = new int[capacity];
+        llid = new int[capacity];
+        bed = new int[capacity];
+        occupancy = new int[capacity];
+        price = new double[capacity];
+        bath = new double[capacity];
+        pets = new boolean[capacity];
+        address = new String[capacity];
+        live = new Bitmap(capacity);
+        petsAllowed = new Bitmap(capacity);
+        vacant = new Bitmap(capacity);
+        stale = new Bitmap(capacity);
+    }
+
+    int liveCount() {
+        return count - dead;
+    }
+
+    /**
+     * Insert or overwrite a property. Occupancy is kept for an existing property.
+     * @return false if the property is new and its PID is below the highest PID indexed, which would break the
+     *         PID order of the rows; the caller must rebuild the index instead
+     */
+    boolean put(Property p) {
+        int row = rowOf(p.getPID());
+        if (row < 0) {
+            if (count > 0 && p.getPID() < pid[count - 1]) {
+                return false;
+            }
+            row = append(p.getPID());
+            markChanged(row);
+        } else {
+            if (!live.get(row)) {
+                live.set(row, true); // Deleted and inserted again under the same PID
+                dead--;
+                occupancy[row] = 0;
+            }
+            if (price[row] != p.getPrice()) {
+                markChanged(row);
+            }
+            bitmap(byBed, bed[row]).set(row, false);
+            bitmap(byBath, bath[row]).set(row, false);
+        }
+
+        llid[row] = p.getLLID();
+        price[row] = p.getPrice();
+        bed[row] = p.getBed();
+        bath[row] = p.getBath();
+        pets[row] = p.isPetsAllowed();
+        address[row] = p.getAddress();
+        bitmap(byBed, bed[row]).set(row, true);
+        bitmap(byBath, bath[row]).set(row, true);
+        petsAllowed.set(row, pets[row]);
+        vacant.set(row, bed[row] - occupancy[row] > 0);
+        return true;
+    }
+
+    void remove(int id) {
+        int row = rowOf(id);
+        if (row < 0 || !live.get(row)) {
+            return;
+        }
+        live.set(row, false);
+        vacant.set(row, false);
+        dead++;
+    }
+
+    void setOccupancy(int id, int residents) {
+        int row = rowOf(id);
+        if (row < 0 || !live.get(row)) {
+            return;
+        }
+        occupancy[row] = residents;
+        vacant.set(row, bed[row] - residents > 0);
+    }
+
+    /**
+     * Count one more resident of a property; used while loading.
+     */
+    void addResident(int id) {
+        int row = rowOf(id);
+        if (row >= 0) {
+            setOccupancy(id, occupancy[row] + 1);
+        }
+    }
+
+    /**
+     * @return Row of the property, or -1 if it was never indexed
+     */
+    int rowOf(int id) {
+        int row = Arrays.binarySearch(pid, 0, count, id);
+        return row >= 0 ? row : -1;
+    }
+
+    /**
+     * @return Whether dead rows make up enough of the index that rebuilding it is worth it
+     */
+    boolean needsRebuild() {
+        return dead >= MIN_RESORT && dead * 2 > count;
+    }
+
+    Property toProperty(int row) {
+        return new Property(pid[row], llid[row], price[row], bed[row], bath[row], pets[row], address[row]);
+    }
+
+    /**
+     * Find the matching properties in PID order.
+     * @param query Filters; its page size is ignored
+     * @param limit Stop after this many matches
+     * @param out Receives the matching rows' properties; may be null to only count
+     * @return Number of matches found, at most limit
+     */
+    int scan(PropertyQuery query, int limit, List<Property> out) {
+        int start = firstRowAfter(query.getAfterPID());
+        Bitmap beds = query.getMinBed() == Integer.MIN_VALUE && query.getMaxBed() == Integer.MAX_VALUE
+            ? null : union(byBed.subMap(query.getMinBed(), true, query.getMaxBed(), true));
+        Bitmap baths = query.getMinBath() == Double.NEGATIVE_INFINITY && query.getMaxBath() == Double.POSITIVE_INFINITY
+            ? null : union(byBath.subMap(query.getMinBath(), true, query.getMaxBath(), true));
+        boolean pricePredicate = query.getMinPrice() != Double.NEGATIVE_INFINITY
+            || query.getMaxPrice() != Double.POSITIVE_INFINITY;
+        Bitmap prices = pricePredicate ? priceRange(query.getMinPrice(), query.getMaxPrice()) : null;
+        boolean checkPrice = pricePredicate && prices == null; // Range too wide for the sorted index
+        Boolean wantPets = query.getPetsAllowed();
+        int minVacant = query.getMinVacantBeds();
+
+        int found = 0;
+        int lastWord = (count - 1) >> 6;
+        for (int w = start >>> 6; w <= lastWord; w++) {
+            long bits = live.word(w);
+            if (w == start >>> 6) {
+                bits &= -1L << (start & 63);
+            }
+            if (beds != null) {
+                bits &= beds.word(w);
+            }
+            if (baths != null) {
+                bits &= baths.word(w);
+            }
+            if (prices != null) {
+                bits &= prices.word(w);
+            }
+            if (wantPets != null) {
+                bits &= wantPets ? petsAllowed.word(w) : ~petsAllowed.word(w);
+            }
+            if (minVacant > 0) {
+                bits &= vacant.word(w);
+            }
+            while (bits != 0) {
+                int row = (w << 6) | Long.numberOfTrailingZeros(bits);
+                bits &= bits - 1;
+                if (checkPrice && (price[row] < query.getMinPrice() || price[row] > query.getMaxPrice())) {
+                    continue;
+                }
+                if (minVacant > 1 && bed[row] - occupancy[row] < minVacant) {
+                    continue;
+                }
+                if (found == limit) {
+                    return found;
+                }
+                found++;
+                if (out != null) {
+                    out.add(toProperty(row));
+                }
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Copy the live rows into a new index without dead rows, in PID order.
+     * @param pending New properties to add that could not be put in PID order
+     */
+    PropertyIndex rebuild(List<Property> pending) {
+        List<Property> rows = new ArrayList<>(liveCount() + pending.size());
+        List<Integer> residents = new ArrayList<>(liveCount() + pending.size());
+        for (int row = 0; row < count; row++) {
+            if (live.get(row)) {
+                rows.add(toProperty(row));
+                residents.add(occupancy[row]);
+            }
+        }
+        for (Property p : pending) {
+            rows.add(p);
+            residents.add(0);
+        }
+        // Sort positions by PID without boxing: (PID << 32 | position); PIDs are AUTO_INCREMENT, so non-negative
+        long[] order = new long[rows.size()];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = ((long) rows.get(i).getPID() << 32) | i;
+        }
+        Arrays.sort(order);
+        PropertyIndex index = new PropertyIndex(order.length);
+        for (long key : order) {
+            int i = (int) key;
+            index.put(rows.get(i));
+            index.setOccupancy(rows.get(i).getPID(), residents.get(i));
+        }
+        index.sortByPrice();
+        return index;
+    }
+
+    /**
+     * Re-sort the price order if enough rows changed since the last sort.
+     */
+    void maintain() {
+        if (changedCount > Math.max(MIN_RESORT, count / 8)) {
+            sortByPrice();
+        }
+    }
+
+    void sortByPrice() {
+        long[] keys = new long[count];
+        int n = 0;
+        for (int row = 0; row < count; row++) {
+            if (live.get(row)) {
+                keys[n++] = (cents(price[row]) << 32) | row;
+            }
+        }
+        byPrice = Arrays.copyOf(keys, n);
+        Arrays.sort(byPrice);
+        for (int w = 0; w < stale.words.length; w++) {
+            stale.words[w] = 0;
+        }
+        changedCount = 0;
+    }
+
+    // Rows priced between min and max, or null if the range holds too many rows for the sorted index to help
+    private Bitmap priceRange(double min, double max) {
+        int lo = min == Double.NEGATIVE_INFINITY ? 0 : lowerBound(byPrice, centsCeil(min) << 32);
+        int hi = max == Double.POSITIVE_INFINITY ? byPrice.length : lowerBound(byPrice, (centsFloor(max) + 1) << 32);
+        if ((hi - lo) + changedCount > count / 16) {
+            return null;
+        }
+        Bitmap range = new Bitmap(count);
+        for (int i = lo; i < hi; i++) {
+            int row = (int) byPrice[i];
+            if (!stale.get(row)) {
+                range.set(row, true);
+            }
+        }
+        for (int i = 0; i < changedCount; i++) {
+            int row = changed[i];
+            range.set(row, price[row] >= min && price[row] <= max);
+        }
+        return range;
+    }
+
+    private void markChanged(int row) {
+        if (stale.get(row)) {
+            return; // Already in the changed list; its current price is checked there
+        }
+        stale.set(row, true);
+        if (changedCount == changed.length) {
+            changed = Arrays.copyOf(changed, changedCount * 2);
+        }
+        changed[changedCount++] = row;
+    }
+
+    private int append(int id) {
+        if (count == pid.length) {
+            int capacity = count * 2;
+            pid = Arrays.copyOf(pid, capacity);
+            llid = Arrays.copyOf(llid, capacity);
+            bed = Arrays.copyOf(bed, capacity);
+            occupancy = Arrays.copyOf(occupancy, capacity);
+            price = Arrays.copyOf(price, capacity);
+            bath = Arrays.copyOf(bath, capacity);
+            pets = Arrays.copyOf(pets, capacity);
+            address = Arrays.copyOf(address, capacity);
+        }
+        int row = count++;
+        pid[row] = id;
+        occupancy[row] = 0;
+        live.set(row, true);
+        return row;
+    }
+
+    // First row whose PID is greater than the given PID
+    private int firstRowAfter(int id) {
+        if (id == Integer.MIN_VALUE) {
+            return 0;
+        }
+        int row = Arrays.binarySearch(pid, 0, count, id);
+        return row >= 0 ? row + 1 : -row - 1;
+    }
+
+    private static <K> Bitmap bitmap(Map<K, Bitmap> index, K key) {
+        return index.computeIfAbsent(key, k -> new Bitmap(64));
+    }
+
+    private Bitmap union(NavigableMap<?, Bitmap> bitmaps) {
+        Bitmap union = new Bitmap(count);
+        for (Bitmap b : bitmaps.values()) {
+            union.or(b);
+        }
+        return union;
+    }
+
+    private static int lowerBound(long[] keys, long key) {
+        int lo = 0;
+        int hi = keys.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (keys[mid] < key) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    private static long cents(double amount) {
+        return Math.round(amount * 100);
+    }
+
+    private static long centsCeil(double amount) {
+        return (long) Math.ceil(amount * 100 - 1e-6);
+    }
+
+    private static long centsFloor(double amount) {
+        return (long) Math.floor(amount * 100 + 1e-6);
+    }
+}
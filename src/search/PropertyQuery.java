@@ -0,0 +1,145 @@
+/**
+ * Filters and paging for PropertySearch. Every filter is optional; a new query matches every property.
+ * Setters return the query so filters can be chained:
+ *
+ *     new PropertyQuery().price(800, 1500).beds(2, 3).petsAllowed(true).vacant(1).pageSize(25)
+ *
+ * Results come back in PID order. To get the next page, pass the last PID of the previous page to after().
+ *
+ * Date Last Modified: October 18, 2026
+ */
+package search;
+
+public final class PropertyQuery {
+
+    public static final int DEFAULT_PAGE_SIZE = 50;
+
+    private double minPrice = Double.NEGATIVE_INFINITY;
+    private double maxPrice = Double.POSITIVE_INFINITY;
+    private int minBed = Integer.MIN_VALUE;
+    private int maxBed = Integer.MAX_VALUE;
+    private double minBath = Double.NEGATIVE_INFINITY;
+    private double maxBath = Double.POSITIVE_INFINITY;
+    private Boolean petsAllowed = null;
+    private int minVacantBeds = 0;
+    private int afterPID = Integer.MIN_VALUE;
+    private int pageSize = DEFAULT_PAGE_SIZE;
+
+    /**
+     * Rent between min and max, inclusive.
+     */
+    public PropertyQuery price(double min, double max) {
+        checkRange(min, max);
+        this.minPrice = min;
+        this.maxPrice = max;
+        return this;
+    }
+
+    /**
+     * Bedrooms between min and max, inclusive.
+     */
+    public PropertyQuery beds(int min, int max) {
+        checkRange(min, max);
+        this.minBed = min;
+        this.maxBed = max;
+        return this;
+    }
+
+    /**
+     * Bathrooms between min and max, inclusive.
+     */
+    public PropertyQuery baths(double min, double max) {
+        checkRange(min, max);
+        this.minBath = min;
+        this.maxBath = max;
+        return this;
+    }
+
+    /**
+     * Only properties that do (true) or do not (false) allow pets.
+     */
+    public PropertyQuery petsAllowed(boolean allowed) {
+        this.petsAllowed = allowed;
+        return this;
+    }
+
+    /**
+     * Only properties with at least this many vacant beds.
+     */
+    public PropertyQuery vacant(int minVacantBeds) {
+        this.minVacantBeds = minVacantBeds;
+        return this;
+    }
+
+    /**
+     * Start after this PID; pass SearchPage.getLastPID() of the previous page.
+     */
+    public PropertyQuery after(int PID) {
+        this.afterPID = PID;
+        return this;
+    }
+
+    public PropertyQuery pageSize(int pageSize) {
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException("Page size must be positive: " + pageSize);
+        }
+        this.pageSize = pageSize;
+        return this;
+    }
+
+    public double getMinPrice() {
+        return minPrice;
+    }
+
+    public double getMaxPrice() {
+        return maxPrice;
+    }
+
+    public int getMinBed() {
+        return minBed;
+    }
+
+    public int getMaxBed() {
+        return maxBed;
+    }
+
+    public double getMinBath() {
+        return minBath;
+    }
+
+    public double getMaxBath() {
+        return maxBath;
+    }
+
+    /**
+     * @return Required PetsAllowed value, or null for either
+     */
+    public Boolean getPetsAllowed() {
+        return petsAllowed;
+    }
+
+    public int getMinVacantBeds() {
+        return minVacantBeds;
+    }
+
+    public int getAfterPID() {
+        return afterPID;
+    }
+
+    public int getPageSize() {
+        return pageSize;
+    }
+
+    private static void checkRange(double min, double max) {
+        if (min > max) {
+            throw new IllegalArgumentException("Empty range: " + min + " > " + max);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "PropertyQuery [price=" + minPrice + ".." + maxPrice + ", beds=" + minBed + ".." + maxBed +
+               ", baths=" + minBath + ".." + maxBath + ", petsAllowed=" + petsAllowed +
+               ", minVacantBeds=" + minVacantBeds + ", after=" + afterPID + ", pageSize=" + pageSize + "]";
+    }
+}
@@ -0,0 +1,249 @@
+/**
+ * Multi-criteria property search: price range, bed and bath counts, pets and vacancy, combined freely and
+ * returned a page at a time in PID order (see PropertyQuery). Searches run against an in-memory PropertyIndex
+ * rather than the database, so a combined filter takes microseconds instead of a scan of the Property table.
+ * searchAddress() does ranked, typo-tolerant typeahead over addresses through an AddressIndex, in place of
+ * LIKE '%...%', which cannot use an index.
+ *
+ * The index is loaded by load() and kept current from the DataChangeBus: committed writes to Property and
+ * LivesIn are re-read and patched into it on a background thread (see dao.SnapshotFollower), so a search may
+ * briefly lag a write (awaitRefresh() waits for it).
+ *
+ * Date Last Modified: October 18, 2026
+ */
+package search;
+
+import dao.DataChange;
+import dao.LivesInDAO;
+import dao.PropertyDAO;
+import dao.SnapshotFollower;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import model.Property;
+
+public final class PropertySearch implements AutoCloseable {
+
+    private static final int FETCH_SIZE = 1000;
+
+    private final PropertyDAO propertyDAO = new PropertyDAO();
+    private final LivesInDAO livesInDAO = new LivesInDAO();
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private PropertyIndex index = new PropertyIndex(0); // Guarded by lock
+    private AddressIndex addresses = new AddressIndex(); // Guarded by lock
+
+    private final SnapshotFollower follower = new SnapshotFollower("property search index",
+        "property-search-refresher", EnumSet.of(DataChange.Table.PROPERTY, DataChange.Table.LIVES_IN),
+        new SnapshotFollower.Snapshot() {
+            @Override
+            public void reload() throws SQLException {
+                PropertySearch.this.reload();
+            }
+
+            @Override
+            public void patch(DataChange change) throws SQLException {
+                PropertySearch.this.patch(change);
+            }
+        });
+
+    private volatile long version = 0; // Bumped after every change to the index
+
+    /**
+     * Load (or reload) the index from the database, and start following DAO writes.
+     * @throws SQLException if the tables cannot be read
+     */
+    public void load() throws SQLException {
+        follower.load();
+    }
+
+    /**
+     * Find one page of the properties matching a query.
+     * @param query Filters, page size and the PID to start after
+     * @return Matching properties in PID order
+     */
+    public SearchPage search(PropertyQuery query) {
+        List<Property> properties = new ArrayList<>(query.getPageSize() + 1);
+        lock.readLock().lock();
+        try {
+            index.scan(query, query.getPageSize() + 1, properties);
+        } finally {
+            lock.readLock().unlock();
+        }
+        boolean hasMore = properties.size() > query.getPageSize();
+        if (hasMore) {
+            properties.remove(properties.size() - 1);
+        }
+        return new SearchPage(properties, hasMore);
+    }
+
+    /**
+     * Count the properties matching a query, ignoring its page size.
+     * @param query Filters; counting starts after its after() PID
+     * @return Number of matching properties
+     */
+    public int count(PropertyQuery query) {
+        lock.readLock().lock();
+        try {
+            return index.scan(query, Integer.MAX_VALUE, null);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Find the properties whose address best matches text as typed so far. The last word may be incomplete,
+     * and words may have a typo or two.
+     * @param text Address text, e.g. "1210 wat"
+     * @param limit Maximum number of results
+     * @return Matching properties, best match first
+     */
+    public List<Property> searchAddress(String text, int limit) {
+        List<Integer> pids = new ArrayList<>(limit);
+        List<Property> properties = new ArrayList<>(limit);
+        lock.readLock().lock();
+        try {
+            addresses.search(text, limit, pids);
+            for (int pid : pids) {
+                properties.add(index.toProperty(index.rowOf(pid)));
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return properties;
+    }
+
+    /**
+     * @return A number that changes whenever the index does
+     */
+    long version() {
+        return version;
+    }
+
+    /**
+     * @return The vacant properties sorted by price per bed, as of now
+     */
+    PricePerBedIndex pricePerBedIndex() {
+        lock.readLock().lock();
+        try {
+            return new PricePerBedIndex(index);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Wait until every change published so far has been applied to the index.
+     */
+    public void awaitRefresh() throws InterruptedException {
+        follower.awaitRefresh();
+    }
+
+    /**
+     * Stop following DAO writes and release the refresher thread.
+     */
+    @Override
+    public void close() {
+        follower.close();
+    }
+
+    public long getLoadMillis() {
+        return follower.getLoadMillis();
+    }
+
+    public long getPatches() {
+        return follower.getPatches();
+    }
+
+    public long getReloads() {
+        return follower.getReloads();
+    }
+
+    @Override
+    public String toString() {
+        lock.readLock().lock();
+        try {
+            return String.format("Property search index: %d properties, %d bed and %d bath values, "
+                + "%d address terms (loaded in %d ms; %d patches, %d reloads)",
+                index.liveCount(), index.byBed.size(), index.byBath.size(), addresses.termCount(),
+                getLoadMillis(), getPatches(), getReloads());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Runs on the refresher thread. Reads happen outside the lock so searches are only blocked while patching.
+    private void reload() throws SQLException {
+        PropertyIndex fresh = new PropertyIndex(propertyDAO.countProperties());
+        AddressIndex freshAddresses = new AddressIndex();
+        List<Property> outOfOrder = new ArrayList<>();
+        propertyDAO.forEachProperty(FETCH_SIZE, p -> {
+            freshAddresses.put(p.getPID(), p.getAddress());
+            if (!fresh.put(p)) {
+                outOfOrder.add(p); // Cannot happen with the ORDER BY PID scan; kept for safety
+            }
+        });
+        livesInDAO.forEachResidence(FETCH_SIZE, (ssn, pid) -> fresh.addResident(pid));
+        PropertyIndex loaded = outOfOrder.isEmpty() ? fresh : fresh.rebuild(outOfOrder);
+        loaded.sortByPrice();
+
+        lock.writeLock().lock();
+        try {
+            index = loaded;
+            addresses = freshAddresses;
+            version++;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Runs on the refresher thread
+    private void patch(DataChange change) throws SQLException {
+        List<Object> keys = change.getKeys();
+        if (change.getTable() == DataChange.Table.PROPERTY) {
+            List<Property> rows = new ArrayList<>(keys.size());
+            for (Object key : keys) {
+                rows.add(propertyDAO.getPropertyByID(((Number) key).intValue()));
+            }
+            lock.writeLock().lock();
+            try {
+                List<Property> outOfOrder = new ArrayList<>();
+                for (int i = 0; i < keys.size(); i++) {
+                    if (rows.get(i) == null) {
+                        index.remove(((Number) keys.get(i)).intValue());
+                        addresses.remove(((Number) keys.get(i)).intValue());
+                        continue;
+                    }
+                    addresses.put(rows.get(i).getPID(), rows.get(i).getAddress());
+                    if (!index.put(rows.get(i))) {
+                        outOfOrder.add(rows.get(i));
+                    }
+                }
+                if (!outOfOrder.isEmpty() || index.needsRebuild()) {
+                    index = index.rebuild(outOfOrder);
+                }
+                index.maintain();
+                version++;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        } else {
+            // LIVES_IN: the keys are the PIDs of the properties whose residents changed
+            int[] residents = new int[keys.size()];
+            for (int i = 0; i < keys.size(); i++) {
+                residents[i] = livesInDAO.getResidents(((Number) keys.get(i)).intValue()).size();
+            }
+            lock.writeLock().lock();
+            try {
+                for (int i = 0; i < keys.size(); i++) {
+                    index.setOccupancy(((Number) keys.get(i)).intValue(), residents[i]);
+                }
+                version++;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+}
@@ -0,0 +1,43 @@
+/**
+ * One page of PropertySearch results, in PID order.
+ *
+ * Date Last Modified: October 18, 2026
+ */
+package search;
+
+import java.util.List;
+import model.Property;
+
+public final class SearchPage {
+
+    private final List<Property> properties;
+    private final boolean hasMore;
+
+    SearchPage(List<Property> properties, boolean hasMore) {
+        this.properties = List.copyOf(properties);
+        this.hasMore = hasMore;
+    }
+
+    public List<Property> getProperties() {
+        return properties;
+    }
+
+    /**
+     * @return Whether more properties match after this page
+     */
+    public boolean hasMore() {
+        return hasMore;
+    }
+
+    /**
+     * @return PID to pass to PropertyQuery.after() for the next page, or Integer.MIN_VALUE if the page is empty
+     */
+    public int getLastPID() {
+        return properties.isEmpty() ? Integer.MIN_VALUE : properties.get(properties.size() - 1).getPID();
+    }
+
+    @Override
+    public String toString() {
+        return "SearchPage [" + properties.size() + " properties, hasMore=" + hasMore + "]";
+    }
+}
@@ -0,0 +1,135 @@
+/**
+ * Matches tenants to vacant properties they can afford. A property matches when it has as many vacant beds as
+ * the tenant needs, allows pets if the tenant has them, and its price per bed times the beds needed is within
+ * the tenant's budget. Matches are ranked by Order.
+ *
+ * Works from a PropertySearch index, so vacancy is current as of the last committed LivesIn change. Properties
+ * are kept sorted by price per bed (see PricePerBedIndex), so a tenant's affordable properties are found by
+ * binary search and scanned from the best end until enough match. Bulk matching runs tenants in parallel.
+ *
+ * Date Last Modified: October 18, 2026
+ */
+package search;
+
+import dao.TenantDAO;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import model.Tenant;
+import model.dto.PropertyMatch;
+
+public final class TenantMatcher {
+
+    /**
+     * How matches are ranked.
+     */
+    public enum Order {
+        /** Highest price per bed within budget first: the best place the tenant can afford */
+        CLOSEST_TO_BUDGET,
+        /** Lowest price per bed first */
+        CHEAPEST
+    }
+
+    private static final int FETCH_SIZE = 1000;
+
+    private final PropertySearch search;
+    private final TenantDAO tenantDAO = new TenantDAO();
+
+    // Rebuilt when the search index has changed since it was built
+    private PricePerBedIndex index = null;
+    private long indexVersion = -1;
+
+    /**
+     * @param search Loaded property search index to match against
+     */
+    public TenantMatcher(PropertySearch search) {
+        this.search = search;
+    }
+
+    /**
+     * Find the best vacant properties for one tenant.
+     * @param needs Budget, beds and pets
+     * @param limit Maximum number of matches
+     * @param order Ranking
+     * @return Matches, best first
+     */
+    public List<PropertyMatch> match(TenantNeeds needs, int limit, Order order) {
+        return match(currentIndex(), needs, limit, order);
+    }
+
+    /**
+     * Match every tenant in the database, by their stored budget, needing one bed and no pets.
+     * @param limit Maximum number of matches per tenant
+     * @param order Ranking
+     * @return Matches by SSN, in SSN order; tenants without a match have an empty list
+     * @throws SQLException if the tenants cannot be read
+     */
+    public Map<String, List<PropertyMatch>> matchAll(int limit, Order order) throws SQLException {
+        return matchAll(limit, order, TenantNeeds::of);
+    }
+
+    /**
+     * Match every tenant in the database.
+     * @param limit Maximum number of matches per tenant
+     * @param order Ranking
+     * @param needsOf Needs of each tenant
+     * @return Matches by SSN, in SSN order; tenants without a match have an empty list
+     * @throws SQLException if the tenants cannot be read
+     */
+    public Map<String, List<PropertyMatch>> matchAll(int limit, Order order, Function<Tenant, TenantNeeds> needsOf)
+            throws SQLException {
+        List<TenantNeeds> tenants = new ArrayList<>();
+        tenantDAO.forEachTenant(FETCH_SIZE, t -> tenants.add(needsOf.apply(t)));
+        return matchAll(tenants, limit, order);
+    }
+
+    /**
+     * Match many tenants against the same snapshot of vacancies, in parallel.
+     * @param tenants Needs of each tenant
+     * @param limit Maximum number of matches per tenant
+     * @param order Ranking
+     * @return Matches by SSN, in the order given
+     */
+    public Map<String, List<PropertyMatch>> matchAll(List<TenantNeeds> tenants, int limit, Order order) {
+        PricePerBedIndex snapshot = currentIndex();
+        // An ordered parallel stream keeps the results in the order of the tenants
+        List<List<PropertyMatch>> matches = IntStream.range(0, tenants.size()).parallel()
+            .mapToObj(i -> match(snapshot, tenants.get(i), limit, order))
+            .collect(Collectors.toList());
+
+        Map<String, List<PropertyMatch>> bySsn = new LinkedHashMap<>(tenants.size() * 2);
+        for (int i = 0; i < matches.size(); i++) {
+            bySsn.put(tenants.get(i).getSsn(), matches.get(i));
+        }
+        return bySsn;
+    }
+
+    private static List<PropertyMatch> match(PricePerBedIndex index, TenantNeeds needs, int limit, Order order) {
+        List<PropertyMatch> matches = new ArrayList<>(Math.min(limit, 16));
+        int affordable = index.affordable(needs.getBudget() / needs.getBeds());
+        boolean closest = order == Order.CLOSEST_TO_BUDGET;
+        for (int k = 0; k < affordable && matches.size() < limit; k++) {
+            int i = closest ? affordable - 1 - k : k;
+            if (index.vacant[i] < needs.getBeds() || (needs.hasPets() && !index.pets[i])) {
+                continue;
+            }
+            matches.add(new PropertyMatch(needs.getSsn(), index.pid[i], index.address[i], index.perBed[i],
+                index.bed[i], index.vacant[i], index.pets[i]));
+        }
+        return matches;
+    }
+
+    private synchronized PricePerBedIndex currentIndex() {
+        long version = search.version();
+        if (index == null || version != indexVersion) {
+            index = search.pricePerBedIndex();
+            indexVersion = version;
+        }
+        return index;
+    }
+}
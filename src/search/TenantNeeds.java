@@ -0,0 +1,56 @@
+/**
+ * What a tenant is looking for, for TenantMatcher. Only the budget is stored in the Tenant table, so the other
+ * needs default to one bed and no pets unless given.
+ *
+ * Date Last Modified: October 18, 2026
+ */
+package search;
+
+import model.Tenant;
+
+public final class TenantNeeds {
+
+    private final String ssn;
+    private final double budget;
+    private final int beds;
+    private final boolean hasPets;
+
+    /**
+     * @param ssn Tenant's SSN, copied into the matches
+     * @param budget Monthly rent the tenant can pay for all the beds they need
+     * @param beds Beds needed, at least 1
+     * @param hasPets Whether the property must allow pets
+     */
+    public TenantNeeds(String ssn, double budget, int beds, boolean hasPets) {
+        if (beds < 1) {
+            throw new IllegalArgumentException("A tenant needs at least one bed: " + beds);
+        }
+        this.ssn = ssn;
+        this.budget = budget;
+        this.beds = beds;
+        this.hasPets = hasPets;
+    }
+
+    /**
+     * Needs of a tenant as stored: their budget, one bed, no pets.
+     */
+    public static TenantNeeds of(Tenant t) {
+        return new TenantNeeds(t.getSSN(), t.getBudget(), 1, false);
+    }
+
+    public String getSsn() {
+        return ssn;
+    }
+
+    public double getBudget() {
+        return budget;
+    }
+
+    public int getBeds() {
+        return beds;
+    }
+
+    public boolean hasPets() {
+        return hasPets;
+    }
+}
@@ -0,0 +1,547 @@
+/**
+ * Bulk import tool for the CSV files in data/ (landlords.csv, properties_clean.csv, tenants.csv).
+ *
+ * Rows are streamed through a three-stage pipeline with bounded queues, so memory use does not grow with file size:
+ * a reader thread parses CSV records into chunks, a pool of converter threads validates and converts them
+ * into model objects, and the calling thread writes each chunk through the DAOs' batched insertAll methods.
+ * Invalid rows are rejected and reported with their line number instead of aborting the load.
+ *
+ * With --infile the file is instead handed to MySQL with LOAD DATA LOCAL INFILE. This is faster but the server
+ * does the parsing, so rows are not validated here. It requires db.localInfilePath in db.properties.
+ * Loading properties this way rebuilds the PropertyOccupancy summary afterwards.
+ *
+ * Usage: CsvBulkLoader <landlords|properties|tenants> <file.csv> [--batch N] [--threads N] [--infile]
+ *
+ * Date Last Modified: October 18, 2026
+ */
+package util;
+
+import dao.DataChange;
+import dao.DataChangeBus;
+import dao.LandlordDAO;
+import dao.PropertyDAO;
+import dao.TenantDAO;
+import db.DBConnection;
+import model.Landlord;
+import model.Property;
+import model.Tenant;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+public class CsvBulkLoader {
+
+    private static final int MAX_REPORTED_REJECTS = 20;
+    private static final Pattern SSN_PATTERN = Pattern.compile("\\d{3}-\\d{2}-\\d{4}");
+
+    // Marks the end of a queue; compared by identity
+    private static final List<Object> END = new ArrayList<>();
+
+    /**
+     * The tables this tool can load.
+     */
+    public enum Target { LANDLORDS, PROPERTIES, TENANTS }
+
+    /**
+     * Converts one CSV record to a model object, throwing IllegalArgumentException if it is invalid.
+     */
+    private interface RowConverter<T> {
+        T convert(Columns row);
+    }
+
+    /**
+     * Writes one converted chunk to the database.
+     */
+    private interface ChunkWriter<T> {
+        void write(List<T> chunk) throws SQLException;
+    }
+
+    /**
+     * Counts reported at the end of a load.
+     */
+    public static class LoadReport {
+        private final long rowsRead;
+        private final long rowsLoaded;
+        private final long rowsRejected;
+        private final long elapsedMillis;
+
+        LoadReport(long rowsRead, long rowsLoaded, long rowsRejected, long elapsedMillis) {
+            this.rowsRead = rowsRead;
+            this.rowsLoaded = rowsLoaded;
+            this.rowsRejected = rowsRejected;
+            this.elapsedMillis = elapsedMillis;
+        }
+
+        public long getRowsRead() {
+            return rowsRead;
+        }
+
+        public long getRowsLoaded() {
+            return rowsLoaded;
+        }
+
+        public long getRowsRejected() {
+            return rowsRejected;
+        }
+
+        public long getElapsedMillis() {
+            return elapsedMillis;
+        }
+
+        public double getRowsPerSecond() {
+            return elapsedMillis == 0 ? rowsLoaded : rowsLoaded * 1000.0 / elapsedMillis;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("read=%d loaded=%d rejected=%d elapsed=%.1fs rate=%.0f rows/sec",
+                    rowsRead, rowsLoaded, rowsRejected, elapsedMillis / 1000.0, getRowsPerSecond());
+        }
+    }
+
+    private final int batchSize;
+    private final int threads;
+
+    /**
+     * @param batchSize Rows per chunk, batch and transaction
+     * @param threads Number of converter threads
+     */
+    public CsvBulkLoader(int batchSize, int threads) {
+        if (batchSize < 1 || threads < 1) {
+            throw new IllegalArgumentException("batchSize and threads must be positive");
+        }
+        this.batchSize = batchSize;
+        this.threads = threads;
+    }
+
+    /**
+     * Stream a CSV file into its table through the validating pipeline.
+     * @param target Table to load
+     * @param file CSV file with a header row
+     * @return Counts for the load
+     * @throws IOException if the file cannot be read
+     * @throws SQLException if a chunk cannot be written
+     */
+    public LoadReport load(Target target, Path file) throws IOException, SQLException {
+        switch (target) {
+            case LANDLORDS: {
+                LandlordDAO dao = new LandlordDAO();
+                return run(file, CsvBulkLoader::toLandlord, chunk -> dao.insertAll(chunk, batchSize));
+            }
+            case PROPERTIES: {
+                PropertyDAO dao = new PropertyDAO();
+                return run(file, CsvBulkLoader::toProperty, chunk -> dao.insertAll(chunk, batchSize));
+            }
+            case TENANTS: {
+                TenantDAO dao = new TenantDAO();
+                return run(file, CsvBulkLoader::toTenant, chunk -> dao.insertAll(chunk, batchSize));
+            }
+            default:
+                throw new IllegalArgumentException("Unknown target: " + target);
+        }
+    }
+
+    /**
+     * Load a CSV file with LOAD DATA LOCAL INFILE. The server parses the file, so rows are not validated here.
+     * @param target Table to load
+     * @param file CSV file with a header row, inside db.localInfilePath
+     * @return Counts for the load (rejected rows are those the server skipped)
+     * @throws IOException if the header cannot be read
+     * @throws SQLException if the server rejects the load
+     */
+    public LoadReport loadInfile(Target target, Path file) throws IOException, SQLException {
+        String[] header;
+        long dataLines = 0;
+        try (CsvReader reader = new CsvReader(Files.newBufferedReader(file, StandardCharsets.UTF_8))) {
+            header = reader.next();
+            while (reader.next() != null) {
+                dataLines++;
+            }
+        }
+        if (header == null) {
+            return new LoadReport(0, 0, 0, 0);
+        }
+
+        String sql = buildLoadDataSql(target, file.toAbsolutePath(), header);
+        long start = System.currentTimeMillis();
+        long loaded;
+        try (
+            Connection conn = DBConnection.getInstance().getConnection();
+            Statement stmt = conn.createStatement();
+        ) {
+            loaded = stmt.executeLargeUpdate(sql);
+        }
+        if (target == Target.PROPERTIES) {
+            new PropertyDAO().rebuildOccupancySummary(); // LOAD DATA bypasses the DAO's summary maintenance
+        }
+        // The loaded keys are unknown, so report the whole table as changed
+        DataChange.Table table = target == Target.LANDLORDS ? DataChange.Table.LANDLORD
+            : target == Target.PROPERTIES ? DataChange.Table.PROPERTY : DataChange.Table.TENANT;
+        DataChangeBus.getInstance().publish(table, DataChange.Kind.INSERT, List.of());
+        return new LoadReport(dataLines, loaded, dataLines - loaded, System.currentTimeMillis() - start);
+    }
+
+    // Reader -> converters -> writer, connected by bounded queues.
+    @SuppressWarnings("unchecked")
+    private <T> LoadReport run(Path file, RowConverter<T> converter, ChunkWriter<T> writer)
+            throws IOException, SQLException {
+        long start = System.currentTimeMillis();
+        BlockingQueue<List<Object>> raw = new ArrayBlockingQueue<>(threads * 2);
+        BlockingQueue<List<Object>> converted = new ArrayBlockingQueue<>(threads * 2);
+        AtomicLong rowsRead = new AtomicLong();
+        AtomicLong rejected = new AtomicLong();
+        long loaded = 0;
+
+        CsvReader reader = new CsvReader(Files.newBufferedReader(file, StandardCharsets.UTF_8));
+        String[] header = reader.next();
+        if (header == null) {
+            reader.close();
+            return new LoadReport(0, 0, 0, 0);
+        }
+        Map<String, Integer> columns = indexHeader(header);
+
+        IOException[] readFailure = new IOException[1];
+        Thread readerThread = new Thread(() -> {
+            try (reader) {
+                List<Object> chunk = new ArrayList<>(batchSize);
+                long line = reader.getLineNumber();
+                String[] record;
+                while ((record = reader.next()) != null) {
+                    if (!(record.length == 1 && record[0].isBlank())) {
+                        chunk.add(new Columns(columns, record, line));
+                        rowsRead.incrementAndGet();
+                        if (chunk.size() == batchSize) {
+                            raw.put(chunk);
+                            chunk = new ArrayList<>(batchSize);
+                        }
+                    }
+                    line = reader.getLineNumber();
+                }
+                if (!chunk.isEmpty()) {
+                    raw.put(chunk);
+                }
+            } catch (IOException e) {
+                readFailure[0] = e;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                for (int i = 0; i < threads; i++) {
+                    if (!putEnd(raw)) {
+                        break;
+                    }
+                }
+            }
+        }, "csv-reader");
+
+        ExecutorService converters = Executors.newFixedThreadPool(threads, r -> {
+            Thread t = new Thread(r, "csv-converter");
+            t.setDaemon(true);
+            return t;
+        });
+        for (int i = 0; i < threads; i++) {
+            converters.execute(() -> {
+                try {
+                    List<Object> chunk;
+                    while ((chunk = raw.take()) != END) {
+                        List<Object> out = new ArrayList<>(chunk.size());
+                        for (Object o : chunk) {
+                            Columns row = (Columns) o;
+                            try {
+                                out.add(converter.convert(row));
+                            } catch (RuntimeException e) {
+                                if (rejected.incrementAndGet() <= MAX_REPORTED_REJECTS) {
+                                    System.err.println("Rejected line " + row.line + ": " + e.getMessage());
+                                }
+                            }
+                        }
+                        if (!out.isEmpty()) {
+                            converted.put(out);
+                        }
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    putEnd(converted);
+                }
+            });
+        }
+
+        readerThread.setDaemon(true);
+        readerThread.start();
+
+        try {
+            int finished = 0;
+            while (finished < threads) {
+                List<Object> chunk = converted.take();
+                if (chunk == END) {
+                    finished++;
+                    continue;
+                }
+                writer.write((List<T>) chunk);
+                loaded += chunk.size();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while loading " + file, e);
+        } finally {
+            readerThread.interrupt();
+            converters.shutdownNow();
+        }
+
+        if (readFailure[0] != null) {
+            throw readFailure[0];
+        }
+        return new LoadReport(rowsRead.get(), loaded, rejected.get(), System.currentTimeMillis() - start);
+    }
+
+    // Blocks until the end marker is queued; gives up if the load is being aborted.
+    private static boolean putEnd(BlockingQueue<List<Object>> queue) {
+        try {
+            queue.put(END);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    // Converters
+
+    private static Landlord toLandlord(Columns row) {
+        return new Landlord(
+            row.required("Name"),
+            row.required("PhoneNum"),
+            row.required("Email")
+        );
+    }
+
+    private static Property toProperty(Columns row) {
+        int bed = row.parseInt("Bed");
+        double bath = row.parseDouble("Bath");
+        double price = parsePrice(row.required("Price"));
+        if (bed < 0 || bath < 0 || price < 0) {
+            throw new IllegalArgumentException("negative Bed, Bath or Price");
+        }
+        return new Property(
+            row.parseInt("LLID"),
+            price,
+            bed,
+            bath,
+            parseBoolean(row.required("PetsAllowed")),
+            row.required("Address")
+        );
+    }
+
+    private static Tenant toTenant(Columns row) {
+        String ssn = row.required("SSN");
+        if (!SSN_PATTERN.matcher(ssn).matches()) {
+            throw new IllegalArgumentException("malformed SSN '" + ssn + "'");
+        }
+        String birthDate = row.optional("BirthDate");
+        try {
+            return new Tenant(
+                ssn,
+                row.required("FName"),
+                row.optional("MName"),
+                row.required("LName"),
+                row.parseDouble("Budget"),
+                row.required("PhoneNum"),
+                row.required("Email"),
+                birthDate == null ? null : LocalDate.parse(birthDate)
+            );
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("malformed BirthDate '" + birthDate + "'");
+        }
+    }
+
+    /**
+     * Parse a price such as "2375", "$950 " or "$2,375 ".
+     * @param value Raw price text
+     * @return The price
+     */
+    static double parsePrice(String value) {
+        String cleaned = value.replace("$", "").replace(",", "").trim();
+        try {
+            return Double.parseDouble(cleaned);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("malformed price '" + value + "'");
+        }
+    }
+
+    /**
+     * Parse a boolean written as 1/0, true/false or yes/no.
+     * @param value Raw text
+     * @return The boolean value
+     */
+    static boolean parseBoolean(String value) {
+        switch (value.trim().toLowerCase(Locale.ROOT)) {
+            case "1": case "true": case "yes": case "y":
+                return true;
+            case "0": case "false": case "no": case "n":
+                return false;
+            default:
+                throw new IllegalArgumentException("malformed boolean '" + value + "'");
+        }
+    }
+
+    // LOAD DATA
+
+    private static String buildLoadDataSql(Target target, Path file, String[] header) {
+        String table;
+        List<String> known;
+        switch (target) {
+            case LANDLORDS:
+                table = "Landlord";
+                known = List.of("Name", "PhoneNum", "Email");
+                break;
+            case PROPERTIES:
+                table = "Property";
+                known = List.of("LLID", "Bed", "Bath", "Address");
+                break;
+            case TENANTS:
+                table = "Tenant";
+                known = List.of("SSN", "FName", "MName", "LName", "Budget", "PhoneNum", "Email", "BirthDate");
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown target: " + target);
+        }
+
+        List<String> columns = new ArrayList<>();
+        List<String> assignments = new ArrayList<>();
+        for (String h : header) {
+            String name = h.trim();
+            if (known.stream().anyMatch(k -> k.equalsIgnoreCase(name))) {
+                columns.add(name);
+            } else if (target == Target.PROPERTIES && name.equalsIgnoreCase("Price")) {
+                columns.add("@Price");
+                assignments.add("Price = REPLACE(REPLACE(TRIM(@Price), '$', ''), ',', '')");
+            } else if (target == Target.PROPERTIES && name.equalsIgnoreCase("PetsAllowed")) {
+                columns.add("@PetsAllowed");
+                assignments.add("PetsAllowed = UPPER(TRIM(@PetsAllowed)) IN ('1', 'TRUE', 'YES', 'Y')");
+            } else {
+                columns.add("@ignored");
+            }
+        }
+
+        String path = file.toString().replace("\\", "\\\\").replace("'", "\\'");
+        return "LOAD DATA LOCAL INFILE '" + path + "' INTO TABLE " + table + " " +
+               "FIELDS TERMINATED BY ',' OPTIONALLY ENCLOSED BY '\"' " +
+               "LINES TERMINATED BY '\\n' IGNORE 1 LINES " +
+               "(" + String.join(", ", columns) + ")" +
+               (assignments.isEmpty() ? "" : " SET " + String.join(", ", assignments));
+    }
+
+    private static Map<String, Integer> indexHeader(String[] header) {
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.length; i++) {
+            columns.put(header[i].trim().toLowerCase(Locale.ROOT), i);
+        }
+        return columns;
+    }
+
+    /**
+     * One CSV record with access to fields by header name.
+     */
+    private static class Columns {
+        private final Map<String, Integer> index;
+        private final String[] values;
+        private final long line;
+
+        Columns(Map<String, Integer> index, String[] values, long line) {
+            this.index = index;
+            this.values = values;
+            this.line = line;
+        }
+
+        String optional(String name) {
+            Integer i = index.get(name.toLowerCase(Locale.ROOT));
+            if (i == null || i >= values.length) {
+                return null;
+            }
+            String v = values[i].trim();
+            return v.isEmpty() ? null : v;
+        }
+
+        String required(String name) {
+            String v = optional(name);
+            if (v == null) {
+                throw new IllegalArgumentException("missing " + name);
+            }
+            return v;
+        }
+
+        int parseInt(String name) {
+            String v = required(name);
+            try {
+                return Integer.parseInt(v);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("malformed " + name + " '" + v + "'");
+            }
+        }
+
+        double parseDouble(String name) {
+            String v = required(name);
+            try {
+                return Double.parseDouble(v);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("malformed " + name + " '" + v + "'");
+            }
+        }
+    }
+
+    public static void main(String[] args) {
+        if (args.length < 2) {
+            System.err.println("Usage: CsvBulkLoader <landlords|properties|tenants> <file.csv> [--batch N] [--threads N] [--infile]");
+            return;
+        }
+
+        Target target = Target.valueOf(args[0].toUpperCase(Locale.ROOT));
+        Path file = Paths.get(args[1]);
+        int batchSize = 1000;
+        int threads = Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+        boolean infile = false;
+        for (int i = 2; i < args.length; i++) {
+            switch (args[i]) {
+                case "--batch" -> batchSize = Integer.parseInt(args[++i]);
+                case "--threads" -> threads = Integer.parseInt(args[++i]);
+                case "--infile" -> infile = true;
+                default -> System.err.println("Ignoring unknown option " + args[i]);
+            }
+        }
+
+        try {
+            DBConnection.getInstance().connect();
+            CsvBulkLoader loader = new CsvBulkLoader(batchSize, threads);
+            LoadReport report = infile ? loader.loadInfile(target, file) : loader.load(target, file);
+            System.out.println("Loaded " + file + " into " + target + ": " + report);
+        } catch (IOException | SQLException e) {
+            System.err.println("Bulk load failed: " + e.getMessage());
+            e.printStackTrace();
+        } finally {
+            try {
+                DBConnection.getInstance().disconnect();
+            } catch (SQLException e) {
+                e.printStackTrace();
+            }
+        }
+    }
+}
@@ -0,0 +1,115 @@
+/**
+ * A small streaming CSV reader. Reads one record at a time, so files of any size can be processed
+ * in constant memory. Handles quoted fields (including commas, doubled quotes and line breaks inside quotes)
+ * and both LF and CRLF line endings.
+ *
+ * Date Last Modified: October 18, 2026
+ */
+package util;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+public class CsvReader implements Closeable {
+
+    private final Reader in;
+    private final StringBuilder field = new StringBuilder();
+    private long lineNumber = 1;
+    private int peeked = -2; // -2 means nothing peeked
+
+    public CsvReader(Reader in) {
+        this.in = in instanceof BufferedReader ? in : new BufferedReader(in, 1 << 16);
+    }
+
+    /**
+     * Read the next record.
+     * @return The record's fields, or null at end of input
+     * @throws IOException if reading fails or a quoted field is never closed
+     */
+    public String[] next() throws IOException {
+        int c = read();
+        if (c == -1) {
+            return null;
+        }
+
+        List<String> fields = new ArrayList<>();
+        field.setLength(0);
+        boolean quoted = false;
+        long startLine = lineNumber;
+
+        while (true) {
+            if (quoted) {
+                if (c == -1) {
+                    throw new IOException("Unterminated quoted field starting on line " + startLine);
+                }
+                if (c == '"') {
+                    int n = read();
+                    if (n == '"') {
+                        field.append('"'); // escaped quote
+                    } else {
+                        quoted = false;
+                        c = n;
+                        continue;
+                    }
+                } else {
+                    if (c == '\n') {
+                        lineNumber++;
+                    }
+                    field.append((char) c);
+                }
+            } else if (c == '"' && field.length() == 0) {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n' || c == -1) {
+                if (c == '\n') {
+                    lineNumber++;
+                }
+                break;
+            } else if (c == '\r') {
+                int n = read();
+                if (n != '\n') {
+                    unread(n);
+                }
+                lineNumber++;
+                break;
+            } else {
+                field.append((char) c);
+            }
+            c = read();
+        }
+
+        fields.add(field.toString());
+        return fields.toArray(new String[0]);
+    }
+
+    /**
+     * @return The line number the next record starts on (1-based)
+     */
+    public long getLineNumber() {
+        return lineNumber;
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    private int read() throws IOException {
+        if (peeked != -2) {
+            int c = peeked;
+            peeked = -2;
+            return c;
+        }
+        return in.read();
+    }
+
+    private void unread(int c) {
+        peeked = c;
+    }
+}
@@ -0,0 +1,155 @@
+/**
+ * Value distributions of the real data in data/, for SyntheticDataGenerator. Listings are kept whole, so a
+ * sampled property keeps the real correlation between beds, baths, price per bed and pets; landlord portfolio
+ * sizes, tenant budgets, names and birth dates are sampled from their observed values.
+ *
+ * Date Last Modified: October 18, 2026
+ */
+package util;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+final class DataProfile {
+
+    // Listings, as parallel arrays
+    final int[] bed;
+    final double[] bath;
+    final double[] pricePerBed;
+    final boolean[] pets;
+    final String[] streets;      // Address without the house number, e.g. "Vine St La Crosse WI"
+
+    final int[] portfolioSizes;  // Properties per landlord
+    final String[] landlordNames;
+    final String[] emailDomains;
+
+    final double[] budgets;
+    final String[] firstNames;
+    final String[] middleNames;  // Empty strings for tenants without one
+    final String[] lastNames;
+    final long[] birthDays;      // LocalDate.toEpochDay()
+
+    final int tenantCount;
+
+    private DataProfile(List<String[]> properties, Map<String, Integer> p, List<String[]> landlords,
+            Map<String, Integer> l, List<String[]> tenants, Map<String, Integer> t) {
+        int n = properties.size();
+        bed = new int[n];
+        bath = new double[n];
+        pricePerBed = new double[n];
+        pets = new boolean[n];
+        streets = new String[n];
+        Map<String, Integer> portfolios = new HashMap<>();
+        for (int i = 0; i < n; i++) {
+            String[] row = properties.get(i);
+            bed[i] = Math.max(1, Integer.parseInt(row[p.get("bed")].trim()));
+            bath[i] = Double.parseDouble(row[p.get("bath")].trim());
+            pricePerBed[i] = CsvBulkLoader.parsePrice(row[p.get("price")]) / bed[i];
+            pets[i] = CsvBulkLoader.parseBoolean(row[p.get("petsallowed")]);
+            String address = row[p.get("address")].trim();
+            int space = address.indexOf(' ');
+            streets[i] = space < 0 ? address : address.substring(space + 1);
+            portfolios.merge(row[p.get("llid")].trim(), 1, Integer::sum);
+        }
+        portfolioSizes = portfolios.values().stream().mapToInt(Integer::intValue).toArray();
+
+        landlordNames = new String[landlords.size()];
+        List<String> domains = new ArrayList<>();
+        for (int i = 0; i < landlords.size(); i++) {
+            landlordNames[i] = landlords.get(i)[l.get("name")].trim();
+            domains.add(domainOf(landlords.get(i)[l.get("email")]));
+        }
+
+        tenantCount = tenants.size();
+        budgets = new double[tenantCount];
+        firstNames = new String[tenantCount];
+        middleNames = new String[tenantCount];
+        lastNames = new String[tenantCount];
+        birthDays = new long[tenantCount];
+        for (int i = 0; i < tenantCount; i++) {
+            String[] row = tenants.get(i);
+            budgets[i] = Double.parseDouble(row[t.get("budget")].trim());
+            firstNames[i] = row[t.get("fname")].trim();
+            middleNames[i] = row[t.get("mname")].trim();
+            lastNames[i] = row[t.get("lname")].trim();
+            birthDays[i] = LocalDate.parse(row[t.get("birthdate")].trim()).toEpochDay();
+            domains.add(domainOf(row[t.get("email")]));
+        }
+        emailDomains = domains.toArray(new String[0]);
+
+        if (n == 0 || landlordNames.length == 0 || tenantCount == 0) {
+            throw new IllegalArgumentException("The sample data must hold at least one landlord, property and tenant");
+        }
+    }
+
+    /**
+     * Read the profile from landlords.csv, properties_clean.csv and tenants.csv.
+     * @param dataDir Directory holding the CSV files
+     * @throws IOException if a file cannot be read
+     */
+    static DataProfile load(Path dataDir) throws IOException {
+        Map<String, Integer> p = new HashMap<>();
+        Map<String, Integer> l = new HashMap<>();
+        Map<String, Integer> t = new HashMap<>();
+        List<String[]> properties = read(dataDir.resolve("properties_clean.csv"), p);
+        List<String[]> landlords = read(dataDir.resolve("landlords.csv"), l);
+        List<String[]> tenants = read(dataDir.resolve("tenants.csv"), t);
+        return new DataProfile(properties, p, landlords, l, tenants, t);
+    }
+
+    /**
+     * @return Number of properties in the sample, i.e. at scale factor 1
+     */
+    int propertyCount() {
+        return bed.length;
+    }
+
+    /**
+     * @return Index of a random listing
+     */
+    int listing(SplittableRandom random) {
+        return random.nextInt(bed.length);
+    }
+
+    int portfolioSize(SplittableRandom random) {
+        return portfolioSizes[random.nextInt(portfolioSizes.length)];
+    }
+
+    static <T> T pick(T[] values, SplittableRandom random) {
+        return values[random.nextInt(values.length)];
+    }
+
+    private static String domainOf(String email) {
+        int at = email.indexOf('@');
+        return at < 0 ? "example.com" : email.substring(at + 1).trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static List<String[]> read(Path file, Map<String, Integer> columns) throws IOException {
+        List<String[]> rows = new ArrayList<>();
+        try (CsvReader reader = new CsvReader(Files.newBufferedReader(file, StandardCharsets.UTF_8))) {
+            String[] header = reader.next();
+            if (header == null) {
+                return rows;
+            }
+            for (int i = 0; i < header.length; i++) {
+                columns.put(header[i].trim().toLowerCase(Locale.ROOT), i);
+            }
+            String[] row;
+            while ((row = reader.next()) != null) {
+                if (row.length == header.length) {
+                    rows.add(row);
+                }
+            }
+        }
+        return rows;
+    }
+}
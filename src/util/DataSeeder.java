@@ -1,92 +1,152 @@
 /**
- * This class seeds LivesIn relationships between Tenants and Properties into the database.
- * 
+ * This class seeds LivesIn and LeasesFrom relationships between Tenants and Properties into the database.
+ * Each property gets a random number of residents between 0 and its vacant beds, drawn from shuffled tenants,
+ * and every resident gets a lease on the property they live in. The assignment is derived in one pass and
+ * written in a single transaction (see LivesInDAO.seedResidences), so the two tables always agree.
+ *
+ * The same seed over the same tables gives the same assignment. Tenants and properties are streamed into
+ * primitive arrays rather than model objects, so millions of tenants fit in a modest heap.
+ *
  * @author Andrew Peirce
- * Date Last Modified: December 4, 2025
+ * Date Last Modified: October 18, 2026
  */
 package util;
+import dao.LivesInDAO;
 import dao.PropertyDAO;
 import dao.TenantDAO;
-import model.Property;
-import model.Tenant;
+import db.DBConnection;
 
 import java.sql.SQLException;
 import java.util.ArrayList;
-import java.util.Collections;
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
-import java.util.Map;
 import java.util.Random;
 import java.util.Set;
 
 public class DataSeeder {
 
+    public static final String RENT_AGREEMENT = "Standard Lease"; // As in db/Availability.sql
 
-    // TODO - change this class such that LeasesFrom are derived in the same method as LivesIn to ensure consistency
-    public void seedLivesInRelationships() {
-        // Implementation here
-        List<Tenant> tenants = null;
-        try {
-            tenants = new TenantDAO().getAllTenants();
-        } catch (SQLException e) {
-            e.printStackTrace();
-        }
-        List<Property> properties = null;
-        try {
-            properties = new PropertyDAO().getAllProperties();
-        } catch (SQLException e) {
-            e.printStackTrace();
-        }
+    private static final int FETCH_SIZE = 1000;
 
-        Map<Property, List<Tenant>> occupancyMap = new HashMap<>();
-        Map<Property, Integer> capacityMap = new HashMap<>();
-        Random rand = new Random();
-        Set<Tenant> usedTenants = new HashSet<>();
+    private final long seed;
+    private final int batchSize;
 
-        // Initialize occupancyMap
-        for (Property p : properties) {
-            occupancyMap.put(p, new ArrayList<>());
-        }
-
-        // Randomly determine target occupancy for each property
-        for (Property p : occupancyMap.keySet()) {
-            int maxCapacity = p.getBed();
-            int targetOccupancy = rand.nextInt(maxCapacity + 1); // 0 to maxCapacity
+    /**
+     * @param seed Seed for the shuffle and the target occupancies
+     * @param batchSize Rows per JDBC batch
+     */
+    public DataSeeder(long seed, int batchSize) {
+        this.seed = seed;
+        this.batchSize = batchSize;
+    }
 
-            capacityMap.put(p, targetOccupancy);
+    /**
+     * Assign tenants to properties and write the LivesIn and LeasesFrom rows.
+     * Unless replace is set, tenants who already live somewhere are left where they are, and existing
+     * residents count against a property's beds.
+     * @param replace Whether to clear LivesIn and LeasesFrom first and reseed every tenant
+     * @return Number of residences written
+     * @throws SQLException if the tables cannot be read or the write fails; nothing is written then
+     */
+    public int seedRelationships(boolean replace) throws SQLException {
+        // Existing residents, unless they are about to be deleted
+        Set<String> housed = new HashSet<>();
+        List<Integer> occupiedPids = new ArrayList<>();
+        if (!replace) {
+            new LivesInDAO().forEachResidence(FETCH_SIZE, (ssn, pid) -> {
+                housed.add(ssn);
+                occupiedPids.add(pid);
+            });
         }
 
-        Collections.shuffle(tenants);
-        // Assign shuffled tenants to properties
-        int tenantIndex = 0;
-        for (Property p : occupancyMap.keySet()) {
-            int slots = capacityMap.get(p);
-
-            while (slots > 0 && tenantIndex < tenants.size()) {
-                Tenant t = tenants.get(tenantIndex);
-
-                if (!usedTenants.contains(t)) {
-                    occupancyMap.get(p).add(t);
-                    usedTenants.add(t);
-                    slots--;
-                }
-
-                tenantIndex++;
+        // Tenants in SSN order and properties in PID order, so the seed alone fixes the result
+        List<String> tenantList = new ArrayList<>();
+        new TenantDAO().forEachTenant(FETCH_SIZE, t -> {
+            if (!housed.contains(t.getSSN())) {
+                tenantList.add(t.getSSN());
+            }
+        });
+        String[] tenants = tenantList.toArray(new String[0]);
+        tenantList.clear();
+
+        int propertyCount = new PropertyDAO().countProperties();
+        int[] pids = new int[propertyCount];
+        int[] vacantBeds = new int[propertyCount];
+        int[] n = {0};
+        new PropertyDAO().forEachProperty(FETCH_SIZE, p -> {
+            if (n[0] == pids.length) {
+                return; // Inserted since the count; left out of this run
+            }
+            pids[n[0]] = p.getPID();
+            vacantBeds[n[0]] = p.getBed();
+            n[0]++;
+        });
+        // Both lists are in PID order
+        int row = 0;
+        for (int pid : occupiedPids) {
+            while (row < n[0] && pids[row] < pid) {
+                row++;
+            }
+            if (row < n[0] && pids[row] == pid) {
+                vacantBeds[row]--;
             }
         }
 
-    }
+        Random rand = new Random(seed);
+        // Fisher-Yates shuffle of the tenants
+        for (int i = tenants.length - 1; i > 0; i--) {
+            int j = rand.nextInt(i + 1);
+            String swap = tenants[i];
+            tenants[i] = tenants[j];
+            tenants[j] = swap;
+        }
 
-    // TODO - implement this method
-    public void seedLeasesFromRelationships() {
-        // Implementation here
+        // Randomly determine a target occupancy for each property and fill it from the shuffled tenants
+        String[] residentSsns = new String[tenants.length];
+        int[] residentPids = new int[tenants.length];
+        int assigned = 0;
+        for (int i = 0; i < n[0] && assigned < tenants.length; i++) {
+            int targetOccupancy = rand.nextInt(Math.max(vacantBeds[i], 0) + 1); // 0 to vacant beds
+            for (int slot = 0; slot < targetOccupancy && assigned < tenants.length; slot++) {
+                residentSsns[assigned] = tenants[assigned];
+                residentPids[assigned] = pids[i];
+                assigned++;
+            }
+        }
 
+        new LivesInDAO().seedResidences(residentSsns, residentPids, assigned, RENT_AGREEMENT, replace, batchSize);
+        return assigned;
     }
 
     public static void main(String[] args) {
-        DataSeeder seeder = new DataSeeder();
-        seeder.seedLivesInRelationships();
-        seeder.seedLeasesFromRelationships();
+        long seed = 42;
+        int batchSize = 1000;
+        boolean replace = false;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--seed" -> seed = Long.parseLong(args[++i]);
+                case "--batch" -> batchSize = Integer.parseInt(args[++i]);
+                case "--replace" -> replace = true;
+                default -> System.err.println("Ignoring unknown option " + args[i]);
+            }
+        }
+
+        try {
+            DBConnection.getInstance().connect();
+            long start = System.nanoTime();
+            int seeded = new DataSeeder(seed, batchSize).seedRelationships(replace);
+            System.out.printf("Seeded %d LivesIn and LeasesFrom rows (seed %d) in %d ms%n",
+                seeded, seed, (System.nanoTime() - start) / 1_000_000);
+        } catch (SQLException e) {
+            System.err.println("Seeding failed: " + e.getMessage());
+            e.printStackTrace();
+        } finally {
+            try {
+                DBConnection.getInstance().disconnect();
+            } catch (SQLException e) {
+                e.printStackTrace();
+            }
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,369 @@
+/**
+ * Runs EXPLAIN over every SQL statement in the DAOs and flags full table scans, filesorts and temporary tables.
+ * The statements are read straight from the DAO source files (string literals assigned to a String variable or
+ * constant), so nothing has to be registered by hand and a new query is checked as soon as it is written.
+ * Placeholders are replaced with dummy literals whose type is guessed from the column they are compared with.
+ *
+ * Plans can be saved to a baseline file and later runs compare against it: a plan that gains a full scan,
+ * filesort or temporary table, or stops using an index it used before, is reported as a regression and the
+ * tool exits with status 1.
+ *
+ * Usage: IndexAdvisor [--src src/dao] [--baseline db/explain-baseline.txt] [--write-baseline]
+ *
+ * Date Last Modified: October 18, 2026
+ */
+package util;
+
+import db.DBConnection;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+public class IndexAdvisor {
+
+    // String name = "..." + "..." ; made only of literals
+    private static final Pattern SQL_ASSIGNMENT = Pattern.compile(
+        "String\\s+(\\w+)\\s*=\\s*((?:\"(?:[^\"\\\\]|\\\\.)*\"\\s*\\+?\\s*)+);");
+    private static final Pattern STRING_LITERAL = Pattern.compile("\"((?:[^\"\\\\]|\\\\.)*)\"");
+    private static final Pattern METHOD = Pattern.compile(
+        "^\\s*(?:public|protected|private|static|final|synchronized|\\s)+[\\w<>\\[\\], ?]+\\s+(\\w+)\\s*\\([^;{]*\\{",
+        Pattern.MULTILINE);
+    private static final Pattern COMPARED_COLUMN = Pattern.compile(
+        "([\\w.]+)\\s*(?:=|<>|!=|>=|<=|>|<|LIKE|IN\\s*\\()\\s*$", Pattern.CASE_INSENSITIVE);
+    private static final Pattern STRING_COLUMN = Pattern.compile(
+        "(?i).*(ssn|name|email|address|phonenum|agreement)$");
+    private static final Pattern DATE_COLUMN = Pattern.compile("(?i).*date$");
+
+    /**
+     * A statement found in a DAO source file.
+     */
+    static final class Query {
+        final String id;    // Class.method.variable, or Class.CONSTANT
+        final String sql;
+
+        Query(String id, String sql) {
+            this.id = id;
+            this.sql = sql;
+        }
+    }
+
+    /**
+     * One row of EXPLAIN output.
+     */
+    static final class PlanRow {
+        final String table;
+        final String type;
+        final String key;
+        final long rows;
+        final String extra;
+
+        PlanRow(String table, String type, String key, long rows, String extra) {
+            this.table = table;
+            this.type = type;
+            this.key = key;
+            this.rows = rows;
+            this.extra = extra;
+        }
+
+        boolean fullScan() {
+            return "ALL".equals(type);
+        }
+
+        boolean filesort() {
+            return extra != null && extra.contains("Using filesort");
+        }
+
+        boolean temporary() {
+            return extra != null && extra.contains("Using temporary");
+        }
+
+        // Stable description of the access path, used for the baseline
+        String signature() {
+            return table + ":" + type + ":" + (key == null ? "-" : key)
+                + (filesort() ? ":filesort" : "") + (temporary() ? ":temporary" : "");
+        }
+    }
+
+    /**
+     * Find every SQL statement assigned to a String in the .java files of a directory.
+     * Commented-out lines are ignored.
+     * @param srcDir Directory holding the DAO sources
+     * @return Statements in file and source order
+     * @throws IOException if a file cannot be read
+     */
+    static List<Query> extractQueries(Path srcDir) throws IOException {
+        List<Path> files;
+        try (Stream<Path> listing = Files.list(srcDir)) {
+            files = listing.filter(f -> f.toString().endsWith(".java")).sorted().collect(Collectors.toList());
+        }
+
+        List<Query> queries = new ArrayList<>();
+        Map<String, Integer> seen = new LinkedHashMap<>();
+        for (Path file : files) {
+            String className = file.getFileName().toString().replace(".java", "");
+            String source = Files.readAllLines(file, StandardCharsets.UTF_8).stream()
+                .map(line -> line.trim().startsWith("//") ? "" : line)
+                .collect(Collectors.joining("\n"));
+
+            Matcher m = SQL_ASSIGNMENT.matcher(source);
+            while (m.find()) {
+                String sql = joinLiterals(m.group(2)).trim();
+                if (!isSql(sql)) {
+                    continue;
+                }
+                String method = enclosingMethod(source, m.start());
+                String id = className + "." + (method == null ? "" : method + ".") + m.group(1);
+                int n = seen.merge(id, 1, Integer::sum);
+                queries.add(new Query(n == 1 ? id : id + "#" + n, sql));
+            }
+        }
+        return queries;
+    }
+
+    /**
+     * Run EXPLAIN for a statement.
+     * @param conn Connection to run on
+     * @param sql Statement with ? placeholders
+     * @return The plan, one row per table access
+     * @throws SQLException if the statement cannot be explained
+     */
+    static List<PlanRow> explain(Connection conn, String sql) throws SQLException {
+        List<PlanRow> plan = new ArrayList<>();
+        try (
+            Statement stmt = conn.createStatement();
+            ResultSet results = stmt.executeQuery("EXPLAIN " + bindDummies(sql));
+        ) {
+            while (results.next()) {
+                plan.add(new PlanRow(
+                    results.getString("table"),
+                    results.getString("type"),
+                    results.getString("key"),
+                    results.getLong("rows"),
+                    results.getString("Extra")
+                ));
+            }
+        }
+        return plan;
+    }
+
+    /**
+     * Replace each ? outside a quoted string with a literal: 10 after LIMIT or OFFSET, a string or date when the
+     * placeholder is compared with a text or date column, and 1 otherwise.
+     * @param sql Statement with ? placeholders
+     * @return Statement with literals in their place
+     */
+    static String bindDummies(String sql) {
+        StringBuilder out = new StringBuilder(sql.length() + 16);
+        boolean quoted = false;
+        for (int i = 0; i < sql.length(); i++) {
+            char c = sql.charAt(i);
+            if (c == '\'') {
+                quoted = !quoted;
+            }
+            if (c != '?' || quoted) {
+                out.append(c);
+                continue;
+            }
+
+            String before = out.toString().trim();
+            String upper = before.toUpperCase(Locale.ROOT);
+            if (upper.endsWith("LIMIT") || upper.endsWith("OFFSET")) {
+                out.append("10");
+                continue;
+            }
+            Matcher column = COMPARED_COLUMN.matcher(before);
+            String name = column.find() ? column.group(1) : "";
+            if (STRING_COLUMN.matcher(name).matches()) {
+                out.append("'000-00-0000'");
+            } else if (DATE_COLUMN.matcher(name).matches()) {
+                out.append("'2000-01-01'");
+            } else {
+                out.append('1');
+            }
+        }
+        return out.toString();
+    }
+
+    private static boolean isSql(String sql) {
+        String upper = sql.toUpperCase(Locale.ROOT);
+        if (upper.startsWith("INSERT")) {
+            return upper.contains("SELECT"); // plain INSERT ... VALUES has no plan worth checking
+        }
+        return upper.startsWith("SELECT") || upper.startsWith("UPDATE") || upper.startsWith("DELETE");
+    }
+
+    private static String joinLiterals(String concatenation) {
+        StringBuilder sql = new StringBuilder();
+        Matcher m = STRING_LITERAL.matcher(concatenation);
+        while (m.find()) {
+            sql.append(m.group(1).replace("\\\"", "\"").replace("\\\\", "\\"));
+        }
+        return sql.toString();
+    }
+
+    // The last method declaration before offset, or null for a field initializer that precedes every method
+    private static String enclosingMethod(String source, int offset) {
+        Matcher m = METHOD.matcher(source);
+        String name = null;
+        while (m.find() && m.start() < offset) {
+            name = m.group(1);
+        }
+        return name;
+    }
+
+    private static String signature(List<PlanRow> plan) {
+        return plan.stream().map(PlanRow::signature).collect(Collectors.joining(" "));
+    }
+
+    private static int badness(String signature) {
+        int score = 0;
+        for (String access : signature.split(" ")) {
+            String[] parts = access.split(":");
+            if (parts.length > 1 && "ALL".equals(parts[1])) {
+                score += 2;
+            }
+            if (access.contains(":filesort")) {
+                score++;
+            }
+            if (access.contains(":temporary")) {
+                score++;
+            }
+        }
+        return score;
+    }
+
+    // True if a table that was read through an index is no longer read through that index
+    private static boolean dropsIndex(String oldSignature, String newSignature) {
+        Map<String, String> newKeys = new LinkedHashMap<>();
+        for (String access : newSignature.split(" ")) {
+            String[] parts = access.split(":");
+            if (parts.length > 2) {
+                newKeys.merge(parts[0], parts[2], (a, b) -> a + "," + b);
+            }
+        }
+        for (String access : oldSignature.split(" ")) {
+            String[] parts = access.split(":");
+            if (parts.length > 2 && !"-".equals(parts[2])) {
+                String keys = newKeys.get(parts[0]);
+                if (keys == null || !List.of(keys.split(",")).contains(parts[2])) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static Map<String, String> readBaseline(Path file) throws IOException {
+        Map<String, String> baseline = new LinkedHashMap<>();
+        if (!Files.exists(file)) {
+            return baseline;
+        }
+        for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+            int tab = line.indexOf('\t');
+            if (!line.startsWith("#") && tab > 0) {
+                baseline.put(line.substring(0, tab), line.substring(tab + 1));
+            }
+        }
+        return baseline;
+    }
+
+    public static void main(String[] args) {
+        Path srcDir = Paths.get("src", "dao");
+        Path baselineFile = Paths.get("db", "explain-baseline.txt");
+        boolean writeBaseline = false;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--src" -> srcDir = Paths.get(args[++i]);
+                case "--baseline" -> baselineFile = Paths.get(args[++i]);
+                case "--write-baseline" -> writeBaseline = true;
+                default -> System.err.println("Ignoring unknown option " + args[i]);
+            }
+        }
+
+        int regressions = 0;
+        try {
+            List<Query> queries = extractQueries(srcDir);
+            Map<String, String> baseline = readBaseline(baselineFile);
+            Map<String, String> current = new LinkedHashMap<>();
+
+            DBConnection.getInstance().connect();
+            try (Connection conn = DBConnection.getInstance().getConnection()) {
+                for (Query q : queries) {
+                    List<PlanRow> plan;
+                    try {
+                        plan = explain(conn, q.sql);
+                    } catch (SQLException e) {
+                        System.err.println("[ERROR]    " + q.id + ": " + e.getMessage());
+                        continue;
+                    }
+                    String sig = signature(plan);
+                    current.put(q.id, sig);
+
+                    for (PlanRow row : plan) {
+                        if (row.fullScan()) {
+                            System.out.println("[SCAN]     " + q.id + ": full scan of " + row.table + " (~" + row.rows + " rows)");
+                        }
+                        if (row.filesort()) {
+                            System.out.println("[FILESORT] " + q.id + ": filesort on " + row.table);
+                        }
+                        if (row.temporary()) {
+                            System.out.println("[TEMP]     " + q.id + ": temporary table on " + row.table);
+                        }
+                    }
+
+                    String old = baseline.get(q.id);
+                    if (old == null) {
+                        if (!baseline.isEmpty()) {
+                            System.out.println("[NEW]      " + q.id + ": " + sig);
+                        }
+                    } else if (!old.equals(sig)) {
+                        boolean worse = badness(sig) > badness(old) || dropsIndex(old, sig);
+                        if (worse) {
+                            regressions++;
+                        }
+                        System.out.println((worse ? "[REGRESSION] " : "[CHANGED]  ") + q.id
+                            + "\n    was: " + old + "\n    now: " + sig);
+                    }
+                }
+            }
+            System.out.println(queries.size() + " statements explained, " + regressions + " regressions");
+
+            if (writeBaseline) {
+                List<String> lines = new ArrayList<>();
+                lines.add("# EXPLAIN baseline written by util.IndexAdvisor: id<TAB>table:type:key[:filesort][:temporary] ...");
+                current.forEach((id, sig) -> lines.add(id + "\t" + sig));
+                Files.write(baselineFile, lines, StandardCharsets.UTF_8);
+                System.out.println("Baseline written to " + baselineFile);
+            }
+        } catch (IOException | SQLException e) {
+            System.err.println("Index advisor failed: " + e.getMessage());
+            e.printStackTrace();
+            regressions = Math.max(regressions, 1);
+        } finally {
+            try {
+                DBConnection.getInstance().disconnect();
+            } catch (SQLException e) {
+                e.printStackTrace();
+            }
+        }
+
+        if (regressions > 0 && !writeBaseline) {
+            System.exit(1);
+        }
+    }
+}
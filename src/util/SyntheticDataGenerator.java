@@ -0,0 +1,531 @@
+/**
+ * Generates Landlord, Property, Tenant, LivesIn and LeasesFrom data at any multiple of the real data's size,
+ * for load testing. Values follow the distributions of the sample in data/ (see DataProfile): bed/bath mixes,
+ * price per bed and pets are drawn from whole real listings, landlords own as many properties as real
+ * landlords do, and each property has 0 to Bed residents, as DataSeeder assigns them.
+ *
+ * Rows are generated in fixed-size chunks on a pool of threads. Each chunk has its own random stream derived
+ * from the seed, the table and the chunk number, so the output depends only on the seed and scale factor, not
+ * on the thread count or timing. Chunks are either written straight to the database, one transaction each on
+ * the worker's own pooled connection, or appended in order to CSV files; either way memory use does not grow
+ * with the scale factor beyond a few ints per property.
+ *
+ * Keys are explicit: LLIDs and PIDs continue from the current maximum in the database (from 1 for CSV), and
+ * SSNs are drawn from the unissued 9xx area, so generated rows never collide with the real ones. Running the
+ * same scale twice against one database fails on duplicate SSNs; use a scratch database.
+ *
+ * Usage: SyntheticDataGenerator --scale N [--seed N] [--threads N] [--chunk N] [--data DIR] [--csv DIR]
+ *
+ * Date Last Modified: October 18, 2026
+ */
+package util;
+
+import dao.DataChange;
+import dao.DataChangeBus;
+import dao.PropertyDAO;
+import db.DBConnection;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+public class SyntheticDataGenerator {
+
+    /**
+     * The generated tables, in the order they are written.
+     */
+    public enum Table {
+        LANDLORDS("landlords.csv", "LLID,Name,PhoneNum,Email"),
+        PROPERTIES("properties.csv", "PID,LLID,Price,Bed,Bath,PetsAllowed,Address"),
+        TENANTS("tenants.csv", "SSN,FName,MName,LName,Budget,PhoneNum,Email,BirthDate"),
+        RESIDENCES("livesin.csv", "SSN,PID"); // Also leasesfrom.csv
+
+        private final String file;
+        private final String header;
+
+        Table(String file, String header) {
+            this.file = file;
+            this.header = header;
+        }
+    }
+
+    /**
+     * Generates and writes rows [from, to) of a table. Returns the chunk as CSV text, or null once written to
+     * the database.
+     */
+    private interface ChunkTask {
+        String run(SplittableRandom random, int from, int to) throws SQLException;
+    }
+
+    static final int MAX_SSNS = 100_000_000; // 9xx-xx-xxxx
+    private static final double MAX_PRICE = 9999.99; // Price is NUMERIC(6, 2)
+
+    private final DataProfile profile;
+    private final long seed;
+    private final int threads;
+    private final int chunkSize;
+    private final Path csvDir; // Null to write to the database
+
+    private final int propertyCount;
+    private final int tenantCount;
+    private int landlordCount;
+    private long residenceCount;
+
+    // landlordStart[i] is the index of landlord i's first property; properties of one landlord are adjacent
+    private int[] landlordStart;
+    private int[] occupancy;      // Residents of each property
+    private long[] residentStart; // Index of the first resident of each property chunk
+    private int llidBase = 1;
+    private int pidBase = 1;
+
+    /**
+     * @param profile Distributions to follow
+     * @param scale Multiple of the sample's property and tenant counts to generate
+     * @param seed Seed for every random stream
+     * @param threads Generator threads
+     * @param chunkSize Rows per chunk, batch and transaction
+     * @param csvDir Directory to write CSV files to, or null to write to the database
+     */
+    SyntheticDataGenerator(DataProfile profile, double scale, long seed, int threads, int chunkSize, Path csvDir) {
+        if (scale <= 0 || threads < 1 || chunkSize < 1) {
+            throw new IllegalArgumentException("scale, threads and chunkSize must be positive");
+        }
+        this.profile = profile;
+        this.seed = seed;
+        this.threads = threads;
+        this.chunkSize = chunkSize;
+        this.csvDir = csvDir;
+        propertyCount = (int) Math.min(Integer.MAX_VALUE - 1, Math.max(1, Math.round(profile.propertyCount() * scale)));
+        tenantCount = (int) Math.min(MAX_SSNS, Math.max(1, Math.round(profile.tenantCount * scale)));
+    }
+
+    /**
+     * Generate every table.
+     * @throws IOException if a CSV file cannot be written
+     * @throws SQLException if a chunk cannot be written to the database
+     */
+    public void generate() throws IOException, SQLException {
+        planLandlords();
+        if (csvDir == null) {
+            readKeyBases();
+        } else {
+            Files.createDirectories(csvDir);
+        }
+        occupancy = new int[propertyCount];
+
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            run(pool, Table.LANDLORDS, landlordCount, this::landlords);
+            run(pool, Table.PROPERTIES, propertyCount, this::properties);
+            run(pool, Table.TENANTS, tenantCount, this::tenants);
+            planResidences();
+            run(pool, Table.RESIDENCES, propertyCount, this::residences);
+        } finally {
+            pool.shutdown();
+        }
+
+        if (csvDir == null) {
+            // The rows bypassed the DAOs, so rebuild the summary and report every table as changed
+            new PropertyDAO().rebuildOccupancySummary();
+            for (DataChange.Table table : DataChange.Table.values()) {
+                DataChangeBus.getInstance().publish(table, DataChange.Kind.INSERT, List.of());
+            }
+        }
+    }
+
+    public int getLandlordCount() {
+        return landlordCount;
+    }
+
+    public int getPropertyCount() {
+        return propertyCount;
+    }
+
+    public int getTenantCount() {
+        return tenantCount;
+    }
+
+    public long getResidenceCount() {
+        return residenceCount;
+    }
+
+    // Chunks are submitted in order and collected in order, at most threads * 2 in flight
+    private void run(ExecutorService pool, Table table, int rows, ChunkTask task) throws IOException, SQLException {
+        long start = System.nanoTime();
+        int chunks = (int) ((rows + (long) chunkSize - 1) / chunkSize);
+        ArrayDeque<Future<String>> inFlight = new ArrayDeque<>();
+        try (
+            BufferedWriter out = csvDir == null ? null : open(table.file, table.header);
+            BufferedWriter leases = csvDir == null || table != Table.RESIDENCES
+                ? null : open("leasesfrom.csv", "SSN,PID,RentAgreement");
+        ) {
+            for (int c = 0; c < chunks; c++) {
+                int from = c * chunkSize;
+                int to = (int) Math.min(rows, (long) from + chunkSize);
+                SplittableRandom random = new SplittableRandom(streamSeed(table, c));
+                inFlight.add(pool.submit(() -> task.run(random, from, to)));
+                if (inFlight.size() >= threads * 2) {
+                    append(inFlight.poll(), out, leases);
+                }
+            }
+            while (!inFlight.isEmpty()) {
+                append(inFlight.poll(), out, leases);
+            }
+        } finally {
+            for (Future<String> f : inFlight) {
+                f.cancel(true);
+            }
+        }
+        System.out.printf("  %s: %d rows in %d ms%n", table.name().toLowerCase(Locale.ROOT),
+            table == Table.RESIDENCES ? residenceCount : rows, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private static void append(Future<String> chunk, BufferedWriter out, BufferedWriter leases)
+            throws IOException, SQLException {
+        String text;
+        try {
+            text = chunk.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while generating data", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof SQLException sqlException) {
+                throw sqlException;
+            }
+            throw new IllegalStateException("Generating a chunk failed", e.getCause());
+        }
+        if (out != null && text != null) {
+            out.write(text);
+            if (leases != null) {
+                // Residence chunks are "SSN,PID" lines; every resident leases where they live
+                leases.write(text.replace("\n", "," + DataSeeder.RENT_AGREEMENT + "\n"));
+            }
+        }
+    }
+
+    private BufferedWriter open(String file, String header) throws IOException {
+        BufferedWriter out = Files.newBufferedWriter(csvDir.resolve(file), StandardCharsets.UTF_8);
+        out.write(header);
+        out.write('\n');
+        return out;
+    }
+
+    // SplitMix64 finalizer over (seed, table, chunk), so neighbouring chunks get unrelated streams
+    private long streamSeed(Table table, int chunk) {
+        long z = seed + (table.ordinal() + 1) * 0x9E3779B97F4A7C15L + chunk * 0xD1B54A32D192ED03L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    // Portfolio sizes are drawn in one sequential pass so landlords' shares follow the sample's skew
+    private void planLandlords() {
+        SplittableRandom random = new SplittableRandom(streamSeed(Table.LANDLORDS, -1));
+        int[] starts = new int[16];
+        int n = 0;
+        for (int assigned = 0; assigned < propertyCount; assigned += profile.portfolioSize(random)) {
+            if (n == starts.length) {
+                starts = Arrays.copyOf(starts, n * 2);
+            }
+            starts[n++] = assigned;
+        }
+        landlordCount = n;
+        landlordStart = Arrays.copyOf(starts, n);
+    }
+
+    private int landlordOf(int property) {
+        int i = Arrays.binarySearch(landlordStart, property);
+        return i >= 0 ? i : -i - 2;
+    }
+
+    // Residents are numbered consecutively through the properties, so each chunk's first one is a prefix sum
+    private void planResidences() {
+        int chunks = (propertyCount + chunkSize - 1) / chunkSize;
+        residentStart = new long[chunks];
+        long total = 0;
+        for (int c = 0; c < chunks; c++) {
+            residentStart[c] = total;
+            for (int i = c * chunkSize; i < Math.min(propertyCount, c * chunkSize + chunkSize); i++) {
+                total += occupancy[i];
+            }
+        }
+        residenceCount = Math.min(total, tenantCount);
+    }
+
+    private void readKeyBases() throws SQLException {
+        try (
+            Connection conn = DBConnection.getInstance().getConnection();
+            Statement stmt = conn.createStatement();
+        ) {
+            try (ResultSet results = stmt.executeQuery("SELECT COALESCE(MAX(LLID), 0) FROM Landlord")) {
+                results.next();
+                llidBase = results.getInt(1) + 1;
+            }
+            try (ResultSet results = stmt.executeQuery("SELECT COALESCE(MAX(PID), 0) FROM Property")) {
+                results.next();
+                pidBase = results.getInt(1) + 1;
+            }
+        }
+    }
+
+    // CHUNK TASKS
+
+    private String landlords(SplittableRandom random, int from, int to) throws SQLException {
+        String sql = "INSERT INTO Landlord (LLID, Name, PhoneNum, Email) VALUES (?, ?, ?, ?)";
+        StringBuilder csv = new StringBuilder();
+        try (Writer writer = new Writer(sql)) {
+            for (int i = from; i < to; i++) {
+                String name = DataProfile.pick(profile.landlordNames, random) + " " + (i + 1);
+                String email = "landlord" + (i + 1) + "@" + DataProfile.pick(profile.emailDomains, random);
+                writer.row(csv, llidBase + i, name, phone(random), email);
+            }
+            writer.commit();
+        }
+        return csvDir == null ? null : csv.toString();
+    }
+
+    private String properties(SplittableRandom random, int from, int to) throws SQLException {
+        String sql = "INSERT INTO Property (PID, LLID, Price, Bed, Bath, PetsAllowed, Address) VALUES (?, ?, ?, ?, ?, ?, ?)";
+        StringBuilder csv = new StringBuilder();
+        try (Writer writer = new Writer(sql)) {
+            for (int i = from; i < to; i++) {
+                int listing = profile.listing(random);
+                int bed = profile.bed[listing];
+                // The listing's price per bed, give or take 10%, to the nearest $5
+                double price = Math.round(profile.pricePerBed[listing] * bed * (0.9 + 0.2 * random.nextDouble()) / 5) * 5.0;
+                String address = (100 + random.nextInt(2900)) + " " + profile.streets[listing];
+                occupancy[i] = random.nextInt(bed + 1); // 0 to Bed, as DataSeeder does
+                writer.row(csv, pidBase + i, llidBase + landlordOf(i), Math.min(price, MAX_PRICE), bed,
+                    profile.bath[listing], profile.pets[listing], address);
+            }
+            writer.commit();
+        }
+        return csvDir == null ? null : csv.toString();
+    }
+
+    private String tenants(SplittableRandom random, int from, int to) throws SQLException {
+        String sql = "INSERT INTO Tenant (SSN, FName, MName, LName, Budget, PhoneNum, Email, BirthDate) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+        StringBuilder csv = new StringBuilder();
+        try (Writer writer = new Writer(sql)) {
+            for (int i = from; i < to; i++) {
+                String first = DataProfile.pick(profile.firstNames, random);
+                String middle = DataProfile.pick(profile.middleNames, random);
+                String last = DataProfile.pick(profile.lastNames, random);
+                double budget = Math.round(profile.budgets[random.nextInt(profile.budgets.length)]
+                    * (0.9 + 0.2 * random.nextDouble()) * 100) / 100.0;
+                String email = (first.isEmpty() ? "t" : first.substring(0, 1)).toLowerCase(Locale.ROOT)
+                    + last.toLowerCase(Locale.ROOT).replaceAll("[^a-z]", "") + i
+                    + "@" + DataProfile.pick(profile.emailDomains, random);
+                // A real birth date, moved by up to half a year
+                LocalDate birthDate = LocalDate.ofEpochDay(
+                    profile.birthDays[random.nextInt(profile.birthDays.length)] + random.nextInt(365) - 182);
+                writer.row(csv, ssn(i), first, middle.isEmpty() ? null : middle, last, budget, phone(random),
+                    email, birthDate);
+            }
+            writer.commit();
+        }
+        return csvDir == null ? null : csv.toString();
+    }
+
+    // Residents are spread over the tenants by a fixed permutation, so a property's residents are not
+    // neighbours in SSN order
+    private String residences(SplittableRandom random, int from, int to) throws SQLException {
+        long stride = permutationStride();
+        long resident = residentStart[from / chunkSize];
+        StringBuilder csv = new StringBuilder();
+        // LivesIn and LeasesFrom rows of a chunk commit together
+        try (Writer writer = new Writer("INSERT INTO LivesIn (SSN, PID) VALUES (?, ?)",
+                "INSERT INTO LeasesFrom (SSN, PID, RentAgreement) VALUES (?, ?, ?)")) {
+            long offset = Math.floorMod(seed, (long) tenantCount);
+            for (int i = from; i < to && resident < tenantCount; i++) {
+                for (int r = 0; r < occupancy[i] && resident < tenantCount; r++, resident++) {
+                    String ssn = ssn((int) ((resident * stride + offset) % tenantCount));
+                    writer.row(csv, ssn, pidBase + i);
+                    writer.row(1, null, ssn, pidBase + i, DataSeeder.RENT_AGREEMENT);
+                }
+            }
+            writer.commit();
+        }
+        return csvDir == null ? null : csv.toString();
+    }
+
+    // A stride coprime with the tenant count steps through every tenant exactly once
+    private long permutationStride() {
+        long stride = Math.max(1, (long) (tenantCount * 0.6180339887));
+        while (gcd(stride, tenantCount) != 1) {
+            stride++;
+        }
+        return stride;
+    }
+
+    private static long gcd(long a, long b) {
+        return b == 0 ? a : gcd(b, a % b);
+    }
+
+    static String ssn(int i) {
+        return String.format("9%02d-%02d-%04d", i / 1_000_000, i / 10_000 % 100, i % 10_000);
+    }
+
+    private static String phone(SplittableRandom random) {
+        return String.format("%03d-%03d-%04d", 200 + random.nextInt(800), random.nextInt(1000), random.nextInt(10000));
+    }
+
+    /**
+     * Writes one chunk's rows as JDBC batches in a single transaction, or as CSV lines when generating files.
+     * Each of the statements given gets its own batch; all of them commit together.
+     */
+    private final class Writer implements AutoCloseable {
+        private final Connection conn;
+        private final PreparedStatement[] stmts;
+        private final boolean originalAutoCommit;
+
+        Writer(String... sqls) throws SQLException {
+            stmts = new PreparedStatement[sqls.length];
+            if (csvDir != null) {
+                conn = null;
+                originalAutoCommit = true;
+                return;
+            }
+            conn = DBConnection.getInstance().getConnection();
+            originalAutoCommit = conn.getAutoCommit();
+            conn.setAutoCommit(false);
+            for (int i = 0; i < sqls.length; i++) {
+                stmts[i] = conn.prepareStatement(sqls[i]);
+            }
+        }
+
+        void row(StringBuilder csv, Object... values) throws SQLException {
+            row(0, csv, values);
+        }
+
+        /**
+         * Add a row to a statement's batch, or append it to csv if given.
+         */
+        void row(int statement, StringBuilder csv, Object... values) throws SQLException {
+            if (conn == null) {
+                if (csv != null) {
+                    for (int i = 0; i < values.length; i++) {
+                        if (i > 0) {
+                            csv.append(',');
+                        }
+                        csv.append(toCsv(values[i]));
+                    }
+                    csv.append('\n');
+                }
+                return;
+            }
+            PreparedStatement stmt = stmts[statement];
+            for (int i = 0; i < values.length; i++) {
+                Object v = values[i];
+                stmt.setObject(i + 1, v instanceof LocalDate d ? Date.valueOf(d) : v);
+            }
+            stmt.addBatch();
+        }
+
+        void commit() throws SQLException {
+            if (conn == null) {
+                return;
+            }
+            try {
+                for (PreparedStatement stmt : stmts) {
+                    stmt.executeBatch();
+                }
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
+        }
+
+        @Override
+        public void close() throws SQLException {
+            if (conn == null) {
+                return;
+            }
+            try {
+                for (PreparedStatement stmt : stmts) {
+                    stmt.close();
+                }
+                conn.setAutoCommit(originalAutoCommit);
+            } finally {
+                conn.close();
+            }
+        }
+
+        private String toCsv(Object v) {
+            if (v == null) {
+                return "";
+            }
+            if (v instanceof Boolean b) {
+                return b ? "1" : "0";
+            }
+            String s = v.toString();
+            return s.indexOf(',') >= 0 || s.indexOf('"') >= 0 ? '"' + s.replace("\"", "\"\"") + '"' : s;
+        }
+    }
+
+    public static void main(String[] args) {
+        double scale = 1;
+        long seed = 42;
+        int threads = Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+        int chunkSize = 5000;
+        Path dataDir = Paths.get("data");
+        Path csvDir = null;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--scale" -> scale = Double.parseDouble(args[++i]);
+                case "--seed" -> seed = Long.parseLong(args[++i]);
+                case "--threads" -> threads = Integer.parseInt(args[++i]);
+                case "--chunk" -> chunkSize = Integer.parseInt(args[++i]);
+                case "--data" -> dataDir = Paths.get(args[++i]);
+                case "--csv" -> csvDir = Paths.get(args[++i]);
+                default -> System.err.println("Ignoring unknown option " + args[i]);
+            }
+        }
+
+        try {
+            if (csvDir == null) {
+                DBConnection.getInstance().connect();
+            }
+            long start = System.nanoTime();
+            SyntheticDataGenerator generator = new SyntheticDataGenerator(
+                DataProfile.load(dataDir), scale, seed, threads, chunkSize, csvDir);
+            generator.generate();
+            System.out.printf("Generated %d landlords, %d properties, %d tenants and %d residences "
+                + "(scale %s, seed %d) in %d ms%n", generator.getLandlordCount(), generator.getPropertyCount(),
+                generator.getTenantCount(), generator.getResidenceCount(), scale, seed,
+                (System.nanoTime() - start) / 1_000_000);
+        } catch (IOException | SQLException e) {
+            System.err.println("Generation failed: " + e.getMessage());
+            e.printStackTrace();
+        } finally {
+            if (csvDir == null) {
+                try {
+                    DBConnection.getInstance().disconnect();
+                } catch (SQLException e) {
+                    e.printStackTrace();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,68 @@
+/**
+ * Checks that a write landing while QueryResultCache is refreshing an entry does not lose the entry: the
+ * stale result is discarded, and the refresh is queued again so the next reader is still served from memory.
+ * The loader is a stub, so no database is needed.
+ *
+ * Usage: compile with the sources, then run dao.QueryResultCacheTest. Exits with status 1 on failure.
+ *
+ * Date Last Modified: October 18, 2026
+ */
+package dao;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class QueryResultCacheTest {
+
+    private static int failures = 0;
+
+    public static void main(String[] args) throws Exception {
+        writeDuringRefresh();
+        if (failures > 0) {
+            System.exit(1);
+        }
+        System.out.println("QueryResultCacheTest passed");
+    }
+
+    static void writeDuringRefresh() throws Exception {
+        QueryResultCache cache = QueryResultCache.getInstance();
+        cache.setEnabled(true);
+        cache.setBackgroundRefresh(true);
+        DataChangeBus bus = DataChangeBus.getInstance();
+
+        // The second load is the background refresh; a write commits while it runs
+        AtomicInteger loads = new AtomicInteger();
+        QueryResultCache.Loader<Integer> loader = () -> {
+            int n = loads.incrementAndGet();
+            if (n == 2) {
+                bus.publish(DataChange.Table.PROPERTY, DataChange.Kind.UPDATE, List.of(1));
+            }
+            return List.of(n);
+        };
+        Set<DataChange.Table> dependsOn = Set.of(DataChange.Table.PROPERTY);
+
+        cache.get("QueryResultCacheTest.writeDuringRefresh", List.of(), dependsOn, loader);
+        bus.publish(DataChange.Table.PROPERTY, DataChange.Kind.UPDATE, List.of(1));
+
+        // Refresh (discarded), then the requeued refresh; each waits 500 ms
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (loads.get() < 3 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+        Thread.sleep(100); // Let the last refresh store its result
+
+        long hits = cache.getHits();
+        List<Integer> rows = cache.get("QueryResultCacheTest.writeDuringRefresh", List.of(), dependsOn, loader);
+        check("the write during the refresh queues another refresh", loads.get() == 3);
+        check("the reader is served from the cache", cache.getHits() == hits + 1);
+        check("the reader sees the result computed after the write", rows.equals(List.of(3)));
+    }
+
+    private static void check(String what, boolean ok) {
+        if (!ok) {
+            failures++;
+            System.err.println("FAILED: " + what);
+        }
+    }
+}